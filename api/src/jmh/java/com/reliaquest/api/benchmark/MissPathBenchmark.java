@@ -0,0 +1,106 @@
+package com.reliaquest.api.benchmark;
+
+import com.reliaquest.api.controller.dto.EmployeeCreationInput;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.impl.EmployeeServiceImpl;
+import com.reliaquest.api.service.impl.EmployeeTableLookup;
+import com.reliaquest.api.util.RateLimitedLog;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cost of {@link EmployeeServiceImpl#getEmployeeById} as the share of unknown ids grows. The miss warning goes through
+ * a rate-limited log, so the per-call cost should stay roughly flat from 0% to 100% misses.
+ *
+ * <p>The other three benchmarks isolate the logging: each does the same bare table lookup, without the service's lock
+ * or its own miss log, and then logs nothing, warns through a rate-limited log configured like the service's, or
+ * warns unconditionally on every miss.
+ *
+ * <p>Run with {@code ./gradlew :api:jmh}. Log output goes to {@code build/jmh-logs} through an async appender (see
+ * {@code src/jmh/resources/logback.xml}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(4)
+public class MissPathBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(MissPathBenchmark.class);
+    private static final RateLimitedLog MISSING_ID_LOG =
+            new RateLimitedLog(log, org.slf4j.event.Level.WARN, 10, Duration.ofSeconds(1));
+    private static final int EMPLOYEES = 10_000;
+    private static final int IDS = 1 << 14;
+
+    @Param({"0", "50", "100"})
+    public int missPercent;
+
+    private EmployeeServiceImpl service;
+    private String[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = new EmployeeServiceImpl();
+        final String[] known = new String[EMPLOYEES];
+        for (int i = 0; i < EMPLOYEES; i++) {
+            known[i] = service.createEmployee(new EmployeeCreationInput(
+                            "Employee " + i, 50_000 + i, 20 + i % 45, "Engineer", "employee" + i + "@company.com"))
+                    .id();
+        }
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        ids = new String[IDS];
+        for (int i = 0; i < IDS; i++) {
+            ids[i] = random.nextInt(100) < missPercent
+                    ? UUID.randomUUID().toString()
+                    : known[random.nextInt(EMPLOYEES)];
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next = ThreadLocalRandom.current().nextInt(IDS);
+
+        String advance(String[] ids) {
+            return ids[next++ & (IDS - 1)];
+        }
+    }
+
+    @Benchmark
+    public Employee lookup(Cursor cursor) {
+        return service.getEmployeeById(cursor.advance(ids));
+    }
+
+    @Benchmark
+    public Employee lookupWithoutLog(Cursor cursor) {
+        return EmployeeTableLookup.get(service, cursor.advance(ids));
+    }
+
+    @Benchmark
+    public Employee lookupWithRateLimitedWarn(Cursor cursor) {
+        final String id = cursor.advance(ids);
+        final Employee employee = EmployeeTableLookup.get(service, id);
+        if (employee == null) MISSING_ID_LOG.log("No employee found with id {}", id);
+        return employee;
+    }
+
+    @Benchmark
+    public Employee lookupWithPlainWarn(Cursor cursor) {
+        final String id = cursor.advance(ids);
+        final Employee employee = EmployeeTableLookup.get(service, id);
+        if (employee == null) log.warn("No employee found with id {}", id);
+        return employee;
+    }
+}
@@ -0,0 +1,103 @@
+package com.reliaquest.api.benchmark;
+
+import com.reliaquest.api.controller.dto.EmployeeCreationInput;
+import com.reliaquest.api.controller.impl.EmployeeControllerImpl;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.impl.EmployeeServiceImpl;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Bytes allocated per request on each {@code IEmployeeController} endpoint, calling {@link EmployeeControllerImpl}
+ * directly over an in-memory {@link EmployeeServiceImpl} of fixed size. JSON serialization and the servlet stack are
+ * left out, so the numbers are what the api's own code allocates.
+ *
+ * <p>Run with {@code ./gradlew :api:allocationCheck}, which runs this benchmark with the GC profiler and fails when a
+ * benchmark's {@code gc.alloc.rate.norm} exceeds its budget in {@code api/allocation-budgets.properties}. Only
+ * {@code getAllEmployees} is expected to grow with the store; every other endpoint should allocate a constant amount.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RequestAllocationBenchmark {
+
+    @Param({"1000", "100000"})
+    public int employees;
+
+    private EmployeeControllerImpl controller;
+    private String knownId;
+    private String unknownId;
+    private String uniqueNameFragment;
+    private EmployeeCreationInput creationInput;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final EmployeeServiceImpl service = new EmployeeServiceImpl();
+        controller = new EmployeeControllerImpl(service);
+        for (int i = 0; i < employees; i++) {
+            final Employee employee = service.createEmployee(new EmployeeCreationInput(
+                    "Employee " + i + ".",
+                    50_000 + i % 10_000,
+                    20 + i % 45,
+                    "Engineer",
+                    "employee" + i + "@company.com"));
+            if (i == employees / 2) {
+                knownId = employee.id();
+                uniqueNameFragment = employee.employee_name();
+            }
+        }
+        unknownId = UUID.randomUUID().toString();
+        creationInput =
+                new EmployeeCreationInput("Jill Jenkins", 139_082, 48, "Financial Advisor", "jillj@company.com");
+    }
+
+    @Benchmark
+    public ResponseEntity<List<Employee>> getAllEmployees() {
+        return controller.getAllEmployees();
+    }
+
+    @Benchmark
+    public ResponseEntity<List<Employee>> getEmployeesByNameSearch() {
+        return controller.getEmployeesByNameSearch(uniqueNameFragment);
+    }
+
+    @Benchmark
+    public ResponseEntity<Employee> getEmployeeById() {
+        return controller.getEmployeeById(knownId);
+    }
+
+    @Benchmark
+    public ResponseEntity<Employee> getEmployeeByIdUnknown() {
+        return controller.getEmployeeById(unknownId);
+    }
+
+    @Benchmark
+    public ResponseEntity<Integer> getHighestSalaryOfEmployees() {
+        return controller.getHighestSalaryOfEmployees();
+    }
+
+    @Benchmark
+    public ResponseEntity<List<String>> getTopTenHighestEarningEmployeeNames() {
+        return controller.getTopTenHighestEarningEmployeeNames();
+    }
+
+    /**
+     * Creates an employee and deletes it again, so the store keeps its size across invocations.
+     */
+    @Benchmark
+    public ResponseEntity<String> createAndDeleteEmployee() {
+        final ResponseEntity<Employee> created = controller.createEmployee(creationInput);
+        return controller.deleteEmployeeById(created.getBody().id());
+    }
+}
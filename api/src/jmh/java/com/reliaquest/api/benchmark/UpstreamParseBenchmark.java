@@ -0,0 +1,93 @@
+package com.reliaquest.api.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.client.StreamingEmployeeParser;
+import com.reliaquest.api.client.UpstreamResponse;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.impl.EmployeeServiceImpl;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Parsing a full upstream employee list: data binding into a list, a tree then converted to a list, and the
+ * {@link StreamingEmployeeParser} into a sink or a snapshot builder. Run with the GC profiler (configured in
+ * {@code build.gradle}) to compare allocation per operation as well as time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class UpstreamParseBenchmark {
+
+    private static final TypeReference<UpstreamResponse<List<Employee>>> ENVELOPE = new TypeReference<>() {};
+    private static final TypeReference<List<Employee>> EMPLOYEE_LIST = new TypeReference<>() {};
+
+    @Param({"10000", "1000000"})
+    public int rows;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final StreamingEmployeeParser parser = new StreamingEmployeeParser(objectMapper.getFactory());
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final StringBuilder json = new StringBuilder(rows * 200).append("{\"data\":[");
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) json.append(',');
+            json.append("{\"id\":\"")
+                    .append(UUID.randomUUID())
+                    .append("\",\"employee_name\":\"Employee ")
+                    .append(i)
+                    .append("\",\"employee_salary\":")
+                    .append(30_000 + i % 200_000)
+                    .append(",\"employee_age\":")
+                    .append(18 + i % 50)
+                    .append(",\"employee_title\":\"Title ")
+                    .append(i % 100)
+                    .append("\",\"employee_email\":\"employee")
+                    .append(i)
+                    .append("@company.com\"}");
+        }
+        payload = json.append("],\"status\":\"Successfully processed request.\"}")
+                .toString()
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public UpstreamResponse<List<Employee>> dataBinding() throws IOException {
+        return objectMapper.readValue(payload, ENVELOPE);
+    }
+
+    @Benchmark
+    public List<Employee> treeThenConvert() throws IOException {
+        final JsonNode tree = objectMapper.readTree(payload);
+        return objectMapper.convertValue(tree.get("data"), EMPLOYEE_LIST);
+    }
+
+    @Benchmark
+    public UpstreamResponse<Integer> streaming(Blackhole blackhole) throws IOException {
+        return parser.readEnvelope(new ByteArrayInputStream(payload), blackhole::consume);
+    }
+
+    @Benchmark
+    public EmployeeServiceImpl.SnapshotBuilder streamingIntoSnapshot() throws IOException {
+        final EmployeeServiceImpl.SnapshotBuilder snapshot = new EmployeeServiceImpl().newSnapshot();
+        parser.readEnvelope(new ByteArrayInputStream(payload), snapshot::add);
+        return snapshot;
+    }
+}
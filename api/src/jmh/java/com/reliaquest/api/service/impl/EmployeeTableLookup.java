@@ -0,0 +1,16 @@
+package com.reliaquest.api.service.impl;
+
+import com.reliaquest.api.model.Employee;
+
+/**
+ * Reads {@link EmployeeServiceImpl}'s table directly, for benchmarks that need a lookup without the service's own miss
+ * logging. Skips the service's lock, so only use it on a service that is no longer written to.
+ */
+public final class EmployeeTableLookup {
+
+    private EmployeeTableLookup() {}
+
+    public static Employee get(EmployeeServiceImpl service, String id) {
+        return service.mockEmployeeTable.get(id);
+    }
+}
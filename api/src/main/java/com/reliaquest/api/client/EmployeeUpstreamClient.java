@@ -0,0 +1,191 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.util.UuidKeyedMap;
+import com.reliaquest.api.web.UpstreamTimingInterceptor;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Calls the mock employee server and unwraps its {@link UpstreamResponse} envelope. Employee lists are read with a
+ * {@link StreamingEmployeeParser}, straight from the response body.
+ */
+@Component
+public class EmployeeUpstreamClient {
+
+    private static final ParameterizedTypeReference<UpstreamResponse<List<UpstreamBatchResult>>> BATCH_RESULTS =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<UpstreamResponse<Employee>> EMPLOYEE =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<UpstreamResponse<Boolean>> DELETED =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<UpstreamResponse<List<UpstreamRangeDigest>>> RANGE_DIGESTS =
+            new ParameterizedTypeReference<>() {};
+
+    private final RestClient client;
+    private final StreamingEmployeeParser parser;
+
+    public EmployeeUpstreamClient(
+            UpstreamProperties properties, RestClient.Builder restClientBuilder, ObjectMapper objectMapper) {
+        final var requestFactory = new JdkClientHttpRequestFactory(
+                HttpClient.newBuilder().connectTimeout(properties.timeout()).build());
+        requestFactory.setReadTimeout(properties.timeout());
+        this.client = restClientBuilder
+                .clone()
+                .baseUrl(properties.baseUrl())
+                .requestFactory(requestFactory)
+                .requestInterceptor(new UpstreamTimingInterceptor())
+                .build();
+        this.parser = new StreamingEmployeeParser(objectMapper.getFactory());
+    }
+
+    public List<Employee> getAllEmployees() {
+        final List<Employee> employees = new ArrayList<>();
+        getAllEmployees(employees::add);
+        return employees;
+    }
+
+    /**
+     * Streams every employee to {@code sink} while the response is still being read.
+     *
+     * @return the number of employees passed to {@code sink}
+     */
+    public int getAllEmployees(Consumer<Employee> sink) {
+        return readEmployeeList(client.get(), sink);
+    }
+
+    /**
+     * Digests of id ranges at one level of upstream's Merkle tree; see {@code RangeDigestTree}.
+     *
+     * @return one digest per node, in the order requested
+     */
+    public List<UpstreamRangeDigest> getRangeDigests(int level, Collection<Integer> nodes) {
+        final UpstreamResponse<List<UpstreamRangeDigest>> response = client.get()
+                .uri(uri -> uri.path("/digest")
+                        .queryParam("level", level)
+                        .queryParam("nodes", joined(nodes))
+                        .build())
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .body(RANGE_DIGESTS);
+        if (response == null || response.data() == null || response.data().size() != nodes.size()) {
+            throw new IllegalStateException("Upstream returned no digests"
+                    + (response == null || response.error() == null ? "" : ": " + response.error()));
+        }
+        return response.data();
+    }
+
+    /**
+     * Streams every employee whose id falls in one of the given ranges at {@code level} to {@code sink}.
+     *
+     * @return the number of employees passed to {@code sink}
+     */
+    public int getEmployeesInRanges(int level, Collection<Integer> nodes, Consumer<Employee> sink) {
+        return readEmployeeList(
+                client.get()
+                        .uri(uri -> uri.path("/range")
+                                .queryParam("level", level)
+                                .queryParam("nodes", joined(nodes))
+                                .build()),
+                sink);
+    }
+
+    /**
+     * Creates the employees on upstream in one request, under their existing ids. Upstream applies a create for an id
+     * it already holds only once, so a batch can safely be sent again.
+     *
+     * @return one result per employee, in order
+     */
+    public List<UpstreamBatchResult> createEmployees(List<Employee> employees) {
+        final UpstreamResponse<List<UpstreamBatchResult>> response = client.post()
+                .uri("/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(employees.stream().map(UpstreamCreateInput::from).toList())
+                .retrieve()
+                .body(BATCH_RESULTS);
+        if (response == null || response.data() == null || response.data().size() != employees.size()) {
+            throw new IllegalStateException("Upstream returned no result for the batch"
+                    + (response == null || response.error() == null ? "" : ": " + response.error()));
+        }
+        return response.data();
+    }
+
+    /**
+     * @return the employee, or {@code null} if upstream has none with that id
+     */
+    public Employee getEmployeeById(String id) {
+        if (!UuidKeyedMap.isCanonical(id)) {
+            // Upstream ids are UUIDs, and upstream answers any other path with a server error rather than a 404
+            return null;
+        }
+        final UpstreamResponse<Employee> response = client.get()
+                .uri("/{id}", id)
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .onStatus(status -> status.value() == 404, (request, clientResponse) -> {})
+                .body(EMPLOYEE);
+        return response == null ? null : response.data();
+    }
+
+    /**
+     * Creates the employee on upstream under its existing id.
+     *
+     * @return the employee as upstream stored it
+     */
+    public Employee createEmployee(Employee employee) {
+        final UpstreamResponse<Employee> response = client.post()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(UpstreamCreateInput.from(employee))
+                .retrieve()
+                .body(EMPLOYEE);
+        if (response == null || response.data() == null) {
+            throw new IllegalStateException("Upstream returned no employee for the create"
+                    + (response == null || response.error() == null ? "" : ": " + response.error()));
+        }
+        return response.data();
+    }
+
+    /**
+     * @return {@code true} if upstream removed an employee with that id, {@code false} if it had none
+     */
+    public boolean deleteEmployeeById(String id) {
+        if (!UuidKeyedMap.isCanonical(id)) {
+            return false;
+        }
+        final UpstreamResponse<Boolean> response =
+                client.delete().uri("/{id}", id).retrieve().body(DELETED);
+        return response != null && Boolean.TRUE.equals(response.data());
+    }
+
+    private int readEmployeeList(RestClient.RequestHeadersSpec<?> request, Consumer<Employee> sink) {
+        final UpstreamResponse<Integer> response =
+                request.accept(MediaType.APPLICATION_JSON).exchange((clientRequest, clientResponse) -> {
+                    if (clientResponse.getStatusCode().isError()) {
+                        throw new IllegalStateException("Upstream responded with " + clientResponse.getStatusCode());
+                    }
+                    try (InputStream body = clientResponse.getBody()) {
+                        return parser.readEnvelope(body, sink);
+                    }
+                });
+        if (response == null || response.data() == null) {
+            throw new IllegalStateException("Upstream returned no employee list"
+                    + (response == null || response.error() == null ? "" : ": " + response.error()));
+        }
+        return response.data();
+    }
+
+    private static String joined(Collection<Integer> nodes) {
+        return nodes.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+}
@@ -0,0 +1,120 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.reliaquest.api.model.Employee;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+/**
+ * Reads employee lists token by token and hands each {@link Employee} to a consumer as soon as its object closes, so
+ * a payload of any size is never held as a tree, a {@code Map} or a list. Field names are matched against the
+ * parser's canonicalized names and unknown fields are skipped. An employee missing a required field fails the whole
+ * read, as it does with data binding.
+ */
+public class StreamingEmployeeParser {
+
+    private final JsonFactory jsonFactory;
+
+    public StreamingEmployeeParser(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    /**
+     * Reads an upstream envelope, {@code {"data":[...],"status":...,"error":...}}, passing every employee in
+     * {@code data} to {@code sink}.
+     *
+     * @return the envelope, with {@code data} holding the number of employees read, or {@code null} if {@code data}
+     *     was missing or {@code null}
+     */
+    public UpstreamResponse<Integer> readEnvelope(InputStream in, Consumer<Employee> sink) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(in)) {
+            expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+            Integer count = null;
+            String status = null;
+            String error = null;
+            String field;
+            while ((field = parser.nextFieldName()) != null) {
+                final JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "data" -> count = value == JsonToken.VALUE_NULL ? null : readEmployees(parser, sink);
+                    case "status" -> status = parser.getValueAsString();
+                    case "error" -> error = parser.getValueAsString();
+                    default -> parser.skipChildren();
+                }
+            }
+            expect(parser, parser.currentToken(), JsonToken.END_OBJECT);
+            return new UpstreamResponse<>(count, status, error);
+        }
+    }
+
+    /**
+     * Reads a bare JSON array of employees, as written to the snapshot file.
+     *
+     * @return the number of employees read
+     */
+    public int readArray(InputStream in, Consumer<Employee> sink) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(in)) {
+            parser.nextToken();
+            return readEmployees(parser, sink);
+        }
+    }
+
+    /**
+     * Reads a single employee object, such as one line of an NDJSON file.
+     */
+    public Employee readEmployee(String json) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+            return readEmployee(parser);
+        }
+    }
+
+    private static int readEmployees(JsonParser parser, Consumer<Employee> sink) throws IOException {
+        expect(parser, parser.currentToken(), JsonToken.START_ARRAY);
+        int count = 0;
+        JsonToken token;
+        while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+            sink.accept(readEmployee(parser));
+            count++;
+        }
+        expect(parser, token, JsonToken.END_ARRAY);
+        return count;
+    }
+
+    private static Employee readEmployee(JsonParser parser) throws IOException {
+        String id = null;
+        String name = null;
+        int salary = 0;
+        int age = 0;
+        String title = null;
+        String email = null;
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            parser.nextToken();
+            switch (field) {
+                case "id" -> id = parser.getValueAsString();
+                case "employee_name" -> name = parser.getValueAsString();
+                case "employee_salary" -> salary = parser.getValueAsInt();
+                case "employee_age" -> age = parser.getValueAsInt();
+                case "employee_title" -> title = parser.getValueAsString();
+                case "employee_email" -> email = parser.getValueAsString();
+                default -> parser.skipChildren();
+            }
+        }
+        expect(parser, parser.currentToken(), JsonToken.END_OBJECT);
+        if (id == null || name == null || title == null || email == null) {
+            throw new JsonParseException(parser, "Employee " + id + " is missing a required field");
+        }
+        return new Employee(id, name, salary, age, title, email);
+    }
+
+    private static void expect(JsonParser parser, JsonToken actual, JsonToken expected) throws JsonParseException {
+        if (actual != expected) {
+            throw new JsonParseException(parser, "Expected " + expected + " but found " + actual);
+        }
+    }
+}
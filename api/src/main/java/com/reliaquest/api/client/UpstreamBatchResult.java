@@ -0,0 +1,14 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.reliaquest.api.model.Employee;
+
+/**
+ * Outcome of one item of a batch request to the mock employee server.
+ *
+ * @param index position of the item in the request
+ * @param data the created employee, or {@code null} if the item was rejected
+ * @param error why the item was rejected, or {@code null} if it succeeded
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record UpstreamBatchResult(int index, Employee data, String error) {}
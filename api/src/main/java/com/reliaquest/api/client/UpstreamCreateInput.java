@@ -0,0 +1,19 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.model.Employee;
+
+/**
+ * Request body for creating an employee on the mock employee server under an id and email chosen by this service.
+ */
+public record UpstreamCreateInput(String id, String name, int salary, int age, String title, String email) {
+
+    public static UpstreamCreateInput from(Employee employee) {
+        return new UpstreamCreateInput(
+                employee.id(),
+                employee.employee_name(),
+                employee.employee_salary(),
+                employee.employee_age(),
+                employee.employee_title(),
+                employee.employee_email());
+    }
+}
@@ -0,0 +1,16 @@
+package com.reliaquest.api.client;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Connection settings for the mock employee server that backs this api.
+ *
+ * @param baseUrl URL of the server's employee resource
+ * @param timeout connect and read timeout for calls to the server
+ */
+@ConfigurationProperties(prefix = "api.upstream")
+public record UpstreamProperties(
+        @DefaultValue("http://localhost:8112/api/v1/employee") String baseUrl,
+        @DefaultValue("5s") Duration timeout) {}
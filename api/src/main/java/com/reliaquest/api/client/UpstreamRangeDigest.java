@@ -0,0 +1,9 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Upstream's summary of the employees in one id range: their count and the wrapping sum of their content hashes.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record UpstreamRangeDigest(int node, int count, long hash) {}
@@ -0,0 +1,9 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Envelope wrapping every response body of the mock employee server.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record UpstreamResponse<T>(T data, String status, String error) {}
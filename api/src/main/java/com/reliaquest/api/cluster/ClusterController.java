@@ -0,0 +1,151 @@
+package com.reliaquest.api.cluster;
+
+import com.reliaquest.api.controller.dto.EmployeeQuery;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeLookup;
+import com.reliaquest.api.model.SyncStatus;
+import com.reliaquest.api.model.TitleTotals;
+import com.reliaquest.api.service.impl.EmployeeServiceImpl;
+import com.reliaquest.api.service.writebehind.WriteBehindFullException;
+import java.util.List;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Member-to-member endpoints. Unlike the public API, these only ever read or write this instance's own partition,
+ * which keeps forwarded requests from being forwarded again. {@link ClusterMemberInterceptor} admits only other
+ * members and loopback.
+ */
+@RestController
+@RequestMapping(ClusterController.BASE_PATH)
+@ConditionalOnProperty(prefix = "api.cluster", name = "enabled", havingValue = "true")
+public class ClusterController {
+
+    static final String BASE_PATH = "/internal/cluster";
+
+    private final EmployeeServiceImpl localEmployeeService;
+    private final ClusterEmployeeService clusterEmployeeService;
+
+    public ClusterController(EmployeeServiceImpl localEmployeeService, ClusterEmployeeService clusterEmployeeService) {
+        this.localEmployeeService = localEmployeeService;
+        this.clusterEmployeeService = clusterEmployeeService;
+    }
+
+    @GetMapping("/employees")
+    public List<Employee> getAllEmployees() {
+        return localEmployeeService.getAllEmployees();
+    }
+
+    @GetMapping("/employees/search/{searchString}")
+    public List<Employee> getEmployeesByNameSearch(@PathVariable String searchString) {
+        return localEmployeeService.getEmployeesByNameSearch(searchString);
+    }
+
+    @GetMapping("/employees/search/fuzzy/{searchString}")
+    public List<Employee> getEmployeesByFuzzyNameSearch(
+            @PathVariable String searchString, @RequestParam int maxDistance, @RequestParam int limit) {
+        return localEmployeeService.getEmployeesByFuzzyNameSearch(searchString, maxDistance, limit);
+    }
+
+    /**
+     * @param since inclusive lower bound in epoch milliseconds
+     * @param until exclusive upper bound in epoch milliseconds
+     */
+    @GetMapping("/employees/created")
+    public List<Employee> getEmployeesCreatedBetween(
+            @RequestParam long since, @RequestParam long until, @RequestParam int limit) {
+        return localEmployeeService.getEmployeesCreatedBetween(since, until, limit);
+    }
+
+    @PostMapping("/employees/query")
+    public List<Employee> queryEmployees(@RequestBody EmployeeQuery query) {
+        return localEmployeeService.queryEmployees(query);
+    }
+
+    @GetMapping("/employees/{id}")
+    public ResponseEntity<Employee> getEmployeeById(@PathVariable String id) {
+        final Employee employee = localEmployeeService.getEmployeeById(id);
+        return employee == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(employee);
+    }
+
+    @PostMapping("/employees/lookup")
+    public EmployeeLookup getEmployeesByIds(@RequestBody List<String> ids) {
+        return localEmployeeService.getEmployeesByIds(ids);
+    }
+
+    @GetMapping("/employees/highestSalary")
+    public ResponseEntity<Integer> getHighestSalaryOfEmployees() {
+        final Integer salary = localEmployeeService.getHighestSalaryOfEmployees();
+        return salary == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(salary);
+    }
+
+    @GetMapping("/employees/topEarners")
+    public List<Employee> getTopEarners(@RequestParam(defaultValue = "10") int limit) {
+        return localEmployeeService.getTopEarners(limit);
+    }
+
+    @GetMapping("/aggregates/titles")
+    public List<TitleTotals> getTitleTotals() {
+        return localEmployeeService.getTitleTotals();
+    }
+
+    @GetMapping("/aggregates/titles/{title}")
+    public ResponseEntity<TitleTotals> getTitleTotals(@PathVariable String title) {
+        final TitleTotals totals = localEmployeeService.getTitleTotals(title);
+        return totals == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(totals);
+    }
+
+    /**
+     * Stores an employee another member created for this one to own, queuing it for upstream here.
+     */
+    @PostMapping("/employees")
+    public ResponseEntity<Void> addCreatedEmployee(@RequestBody Employee employee) {
+        try {
+            localEmployeeService.addCreatedEmployee(employee);
+        } catch (WriteBehindFullException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, e.getRetryAfterSeconds())
+                    .build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/employees/{id}/sync")
+    public ResponseEntity<SyncStatus> getSyncStatus(@PathVariable String id) {
+        final SyncStatus status = localEmployeeService.getSyncStatus(id);
+        return status == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(status);
+    }
+
+    @PutMapping("/employees")
+    public ResponseEntity<Void> putEmployee(@RequestBody Employee employee) {
+        localEmployeeService.putEmployee(employee);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/employees/{id}")
+    public boolean deleteEmployeeById(@PathVariable String id) {
+        return localEmployeeService.deleteEmployeeById(id);
+    }
+
+    /**
+     * Hands every locally held employee that this member no longer owns to its owner. Run on each member after the
+     * member list changes.
+     *
+     * @return number of employees moved
+     */
+    @PostMapping("/rebalance")
+    public int rebalance() {
+        return clusterEmployeeService.rebalance();
+    }
+}
@@ -0,0 +1,363 @@
+package com.reliaquest.api.cluster;
+
+import com.reliaquest.api.controller.dto.EmployeeCreationInput;
+import com.reliaquest.api.controller.dto.EmployeeQuery;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeLookup;
+import com.reliaquest.api.model.SyncStatus;
+import com.reliaquest.api.model.TitleAggregate;
+import com.reliaquest.api.model.TitleTotals;
+import com.reliaquest.api.service.IEmployeeService;
+import com.reliaquest.api.service.impl.EmployeeServiceImpl;
+import com.reliaquest.api.service.index.FuzzyNameIndex;
+import com.reliaquest.api.web.RequestTiming;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+/**
+ * {@link IEmployeeService} for cluster mode. Employee ids are partitioned across members with a
+ * {@link ConsistentHashRing}: lookups, creates and deletes go to the owning member, while list, search, top-N and
+ * aggregate queries are sent to every member in parallel and the partial results merged. A member that fails to
+ * answer is logged and left out, so those queries degrade to partial results rather than failing outright.
+ */
+@Slf4j
+@Primary
+@Service
+@ConditionalOnProperty(prefix = "api.cluster", name = "enabled", havingValue = "true")
+public class ClusterEmployeeService implements IEmployeeService {
+
+    private final EmployeeServiceImpl localEmployeeService;
+    private final ClusterPeerClient peerClient;
+    private final ConsistentHashRing ring;
+    private final String self;
+    private final ExecutorService scatterExecutor;
+
+    public ClusterEmployeeService(
+            EmployeeServiceImpl localEmployeeService, ClusterPeerClient peerClient, ClusterProperties properties) {
+        if (!properties.members().contains(properties.self())) {
+            throw new IllegalStateException(
+                    "api.cluster.self (" + properties.self() + ") must be one of api.cluster.members");
+        }
+        this.localEmployeeService = localEmployeeService;
+        this.peerClient = peerClient;
+        this.ring = new ConsistentHashRing(properties.members(), properties.virtualNodes());
+        this.self = properties.self();
+        this.scatterExecutor = Executors.newFixedThreadPool(Math.max(1, properties.members().size() - 1), runnable -> {
+            final var thread = new Thread(runnable, "cluster-scatter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("Joined cluster as {} with members {}", self, ring.members());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scatterExecutor.shutdownNow();
+    }
+
+    @Override
+    public List<Employee> getAllEmployees() {
+        return concat(gather(
+                "getAllEmployees", localEmployeeService::getAllEmployees, peerClient::getAllEmployees));
+    }
+
+    @Override
+    public List<Employee> getEmployeesByNameSearch(String searchString) {
+        return concat(gather(
+                "getEmployeesByNameSearch",
+                () -> localEmployeeService.getEmployeesByNameSearch(searchString),
+                member -> peerClient.getEmployeesByNameSearch(member, searchString)));
+    }
+
+    /**
+     * Searches every member's name index. Each returns its {@code limit} closest matches, so the cluster's closest
+     * {@code limit} are among them; they are ranked again by indexing just those candidates and repeating the search,
+     * which orders them exactly as one member holding every employee would.
+     */
+    @Override
+    public List<Employee> getEmployeesByFuzzyNameSearch(String searchString, int maxDistance, int limit) {
+        final FuzzyNameIndex candidates = new FuzzyNameIndex();
+        concat(gather(
+                        "getEmployeesByFuzzyNameSearch",
+                        () -> localEmployeeService.getEmployeesByFuzzyNameSearch(searchString, maxDistance, limit),
+                        member -> peerClient.getEmployeesByFuzzyNameSearch(member, searchString, maxDistance, limit)))
+                .forEach(candidates::add);
+        return candidates.search(searchString, maxDistance, limit);
+    }
+
+    /**
+     * Runs the query against every member's indexes. Each returns at most {@code query.limit()} matches in the
+     * requested order, so the first {@code query.limit()} of their union in that order are the cluster's answer.
+     */
+    @Override
+    public List<Employee> queryEmployees(EmployeeQuery query) {
+        Stream<Employee> matches = concat(gather(
+                        "queryEmployees",
+                        () -> localEmployeeService.queryEmployees(query),
+                        member -> peerClient.queryEmployees(member, query)))
+                .stream();
+        final Comparator<Employee> comparator = query.comparator();
+        if (comparator != null) matches = matches.sorted(comparator);
+        return matches.limit(query.limit()).toList();
+    }
+
+    @Override
+    public Employee getEmployeeById(String id) {
+        final String owner = ring.ownerOf(id);
+        return self.equals(owner)
+                ? localEmployeeService.getEmployeeById(id)
+                : peerClient.getEmployeeById(owner, id);
+    }
+
+    /**
+     * Groups the ids by owner and resolves each group with one call, remote groups in parallel. Unlike the scattered
+     * list queries, a member that fails to answer fails the whole lookup, since its ids cannot be reported missing.
+     */
+    @Override
+    public EmployeeLookup getEmployeesByIds(Collection<String> ids) {
+        final Set<String> requested = new LinkedHashSet<>(ids);
+        final Map<String, List<String>> idsByOwner = new HashMap<>();
+        for (final String id : requested) {
+            idsByOwner.computeIfAbsent(ring.ownerOf(id), owner -> new ArrayList<>()).add(id);
+        }
+        final List<CompletableFuture<EmployeeLookup>> remote = new ArrayList<>();
+        idsByOwner.forEach((owner, ownedIds) -> {
+            if (!self.equals(owner)) {
+                remote.add(CompletableFuture.supplyAsync(
+                        () -> peerClient.getEmployeesByIds(owner, ownedIds), scatterExecutor));
+            }
+        });
+
+        final Map<String, Employee> resolved = new HashMap<>();
+        final List<String> localIds = idsByOwner.get(self);
+        if (localIds != null) {
+            resolved.putAll(localEmployeeService.getEmployeesByIds(localIds).found());
+        }
+        final long waitStart = RequestTiming.start();
+        try {
+            remote.forEach(future -> resolved.putAll(future.join().found()));
+        } finally {
+            RequestTiming.stop(RequestTiming.Phase.UPSTREAM, waitStart);
+        }
+
+        final Map<String, Employee> found = new LinkedHashMap<>();
+        final List<String> missing = new ArrayList<>();
+        for (final String id : requested) {
+            final Employee employee = resolved.get(id);
+            if (employee != null) found.put(id, employee);
+            else missing.add(id);
+        }
+        return new EmployeeLookup(found, missing);
+    }
+
+    @Override
+    public Integer getHighestSalaryOfEmployees() {
+        return gather(
+                        "getHighestSalaryOfEmployees",
+                        localEmployeeService::getHighestSalaryOfEmployees,
+                        peerClient::getHighestSalaryOfEmployees)
+                .stream()
+                .filter(Objects::nonNull)
+                .max(Integer::compareTo)
+                .orElse(null);
+    }
+
+    @Override
+    public List<String> getTopTenHighestEarningEmployeeNames() {
+        return concat(gather(
+                        "getTopTenHighestEarningEmployeeNames",
+                        () -> localEmployeeService.getTopEarners(10),
+                        member -> peerClient.getTopEarners(member, 10)))
+                .stream()
+                .sorted(Comparator.comparingInt(Employee::employee_salary).reversed())
+                .limit(10)
+                .map(Employee::employee_name)
+                .toList();
+    }
+
+    /**
+     * Asks every member for its oldest {@code limit} employees in the interval, each read from its created index in id
+     * order, and merges the lists by id until {@code limit} are taken.
+     */
+    @Override
+    public List<Employee> getEmployeesCreatedBetween(long sinceMillis, long untilMillis, int limit) {
+        return mergeById(
+                gather(
+                        "getEmployeesCreatedBetween",
+                        () -> localEmployeeService.getEmployeesCreatedBetween(sinceMillis, untilMillis, limit),
+                        member -> peerClient.getEmployeesCreatedBetween(member, sinceMillis, untilMillis, limit)),
+                limit);
+    }
+
+    /**
+     * Merges every member's per-title totals, which unlike the averages derived from them combine exactly.
+     */
+    @Override
+    public List<TitleAggregate> getTitleAggregates() {
+        final Map<String, TitleTotals> merged = new TreeMap<>();
+        gather("getTitleAggregates", localEmployeeService::getTitleTotals, peerClient::getTitleTotals).stream()
+                .filter(Objects::nonNull)
+                .flatMap(List::stream)
+                .forEach(totals -> merged.merge(totals.title(), totals, TitleTotals::merge));
+        return merged.values().stream().map(TitleTotals::toAggregate).toList();
+    }
+
+    @Override
+    public TitleAggregate getTitleAggregate(String title) {
+        return gather(
+                        "getTitleAggregate",
+                        () -> localEmployeeService.getTitleTotals(title),
+                        member -> peerClient.getTitleTotals(member, title))
+                .stream()
+                .filter(Objects::nonNull)
+                .reduce(TitleTotals::merge)
+                .map(TitleTotals::toAggregate)
+                .orElse(null);
+    }
+
+    /**
+     * Generates the employee and its id here, then stores it on whichever member owns that id. With write-behind
+     * enabled, the owner queues the create for upstream, so that its sync status and any delete of it are handled
+     * where the create is queued.
+     */
+    @Override
+    public Employee createEmployee(EmployeeCreationInput employeeInput) {
+        final Employee employee = Employee.fromCreationInput(employeeInput);
+        final String owner = ring.ownerOf(employee.id());
+        if (self.equals(owner)) {
+            localEmployeeService.addCreatedEmployee(employee);
+        } else {
+            peerClient.addCreatedEmployee(owner, employee);
+        }
+        return employee;
+    }
+
+    /**
+     * Asks the owner, which queued the create. A create still queued on a member the employee was moved away from by
+     * {@link #rebalance()} is reported by the new owner as synced.
+     */
+    @Override
+    public SyncStatus getSyncStatus(String id) {
+        final String owner = ring.ownerOf(id);
+        return self.equals(owner)
+                ? localEmployeeService.getSyncStatus(id)
+                : peerClient.getSyncStatus(owner, id);
+    }
+
+    @Override
+    public boolean deleteEmployeeById(String id) {
+        final String owner = ring.ownerOf(id);
+        return self.equals(owner)
+                ? localEmployeeService.deleteEmployeeById(id)
+                : peerClient.deleteEmployeeById(owner, id);
+    }
+
+    /**
+     * Moves every locally held employee owned by another member to that member. Creates of them still queued for
+     * upstream stay queued here.
+     *
+     * @return number of employees moved
+     */
+    public int rebalance() {
+        int moved = 0;
+        for (final Employee employee : localEmployeeService.getAllEmployees()) {
+            final String owner = ring.ownerOf(employee.id());
+            if (self.equals(owner)) {
+                continue;
+            }
+            try {
+                peerClient.putEmployee(owner, employee);
+                localEmployeeService.removeEmployee(employee.id());
+                moved++;
+            } catch (RuntimeException e) {
+                log.warn("Failed to hand employee {} to {}: {}", employee.id(), owner, e.getMessage());
+            }
+        }
+        log.info("Rebalance moved {} employees off {}", moved, self);
+        return moved;
+    }
+
+    /**
+     * Runs {@code local} on this member and {@code remote} against every other member in parallel.
+     *
+     * @return the results of every member that answered
+     */
+    private <T> List<T> gather(String operation, Supplier<T> local, Function<String, T> remote) {
+        final List<CompletableFuture<T>> futures = new ArrayList<>();
+        for (final String member : ring.members()) {
+            if (self.equals(member)) {
+                continue;
+            }
+            futures.add(CompletableFuture.supplyAsync(() -> remote.apply(member), scatterExecutor)
+                    .exceptionally(e -> {
+                        log.warn("Cluster member {} failed {}, returning partial results: {}", member, operation, e);
+                        return null;
+                    }));
+        }
+        final List<T> results = new ArrayList<>(futures.size() + 1);
+        results.add(local.get());
+        // Peers are called on scatter threads, so the request thread's upstream time is the wait for their answers
+        final long waitStart = RequestTiming.start();
+        futures.forEach(future -> results.add(future.join()));
+        RequestTiming.stop(RequestTiming.Phase.UPSTREAM, waitStart);
+        return results;
+    }
+
+    /**
+     * Merges partitions that are each sorted by id by repeatedly taking the smallest remaining head, stopping after
+     * {@code limit}, so the work grows with the result rather than with the partitions' total size.
+     */
+    private static List<Employee> mergeById(List<List<Employee>> partitions, int limit) {
+        final PriorityQueue<PartitionHead> heads =
+                new PriorityQueue<>(Comparator.comparing(head -> head.employee().id()));
+        for (final List<Employee> partition : partitions) {
+            if (partition != null) {
+                PartitionHead.advance(partition.iterator(), heads);
+            }
+        }
+        final List<Employee> merged = new ArrayList<>();
+        while (merged.size() < limit && !heads.isEmpty()) {
+            final PartitionHead head = heads.poll();
+            merged.add(head.employee());
+            PartitionHead.advance(head.rest(), heads);
+        }
+        return merged;
+    }
+
+    private static List<Employee> concat(List<List<Employee>> partitions) {
+        final List<Employee> employees = new ArrayList<>();
+        partitions.stream().filter(Objects::nonNull).forEach(employees::addAll);
+        return employees;
+    }
+
+    private record PartitionHead(Employee employee, Iterator<Employee> rest) {
+
+        static void advance(Iterator<Employee> partition, PriorityQueue<PartitionHead> heads) {
+            if (partition.hasNext()) {
+                heads.add(new PartitionHead(partition.next(), partition));
+            }
+        }
+    }
+}
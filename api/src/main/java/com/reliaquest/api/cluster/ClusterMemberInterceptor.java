@@ -0,0 +1,71 @@
+package com.reliaquest.api.cluster;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Rejects {@link ClusterController} requests that come from neither a cluster member nor loopback. The member
+ * endpoints read and overwrite this instance's partition without any other check, and are served on the public port,
+ * so only the addresses the member URLs resolve to may call them.
+ *
+ * <p>Member host names are resolved once, when the interceptor is created; a member whose address changes is only
+ * admitted after a restart. Requests arriving through a proxy carry the proxy's address, so members must call each
+ * other directly.
+ */
+@Slf4j
+public class ClusterMemberInterceptor implements HandlerInterceptor {
+
+    public static final String PATH_PATTERN = ClusterController.BASE_PATH + "/**";
+
+    private final Set<InetAddress> memberAddresses;
+
+    public ClusterMemberInterceptor(Collection<String> members) {
+        this.memberAddresses = resolve(members);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (isMember(request.getRemoteAddr())) {
+            return true;
+        }
+        response.setStatus(HttpStatus.FORBIDDEN.value());
+        return false;
+    }
+
+    boolean isMember(String remoteAddress) {
+        try {
+            // getRemoteAddr is a literal address, so this does not resolve anything
+            final var address = InetAddress.getByName(remoteAddress);
+            return address.isLoopbackAddress() || memberAddresses.contains(address);
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+
+    private static Set<InetAddress> resolve(Collection<String> members) {
+        final Set<InetAddress> addresses = new HashSet<>();
+        for (final String member : members) {
+            final String host = URI.create(member).getHost();
+            if (host == null) {
+                log.warn("Cluster member {} has no host; requests from it will be rejected", member);
+                continue;
+            }
+            try {
+                addresses.addAll(List.of(InetAddress.getAllByName(host)));
+            } catch (UnknownHostException e) {
+                log.warn("Could not resolve cluster member {}; requests from it will be rejected", member);
+            }
+        }
+        return Set.copyOf(addresses);
+    }
+}
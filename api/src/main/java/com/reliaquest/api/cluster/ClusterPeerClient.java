@@ -0,0 +1,209 @@
+package com.reliaquest.api.cluster;
+
+import com.reliaquest.api.controller.dto.EmployeeQuery;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeLookup;
+import com.reliaquest.api.model.SyncStatus;
+import com.reliaquest.api.model.TitleTotals;
+import com.reliaquest.api.service.writebehind.WriteBehindFullException;
+import com.reliaquest.api.web.UpstreamTimingInterceptor;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Calls the {@link ClusterController} endpoints of other cluster members. Every call operates only on the partition
+ * held by the member it is sent to.
+ */
+@Component
+@ConditionalOnProperty(prefix = "api.cluster", name = "enabled", havingValue = "true")
+public class ClusterPeerClient {
+
+    private static final ParameterizedTypeReference<List<Employee>> EMPLOYEE_LIST =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<List<TitleTotals>> TITLE_TOTALS_LIST =
+            new ParameterizedTypeReference<>() {};
+
+    private final Map<String, RestClient> clients;
+
+    public ClusterPeerClient(ClusterProperties properties, RestClient.Builder restClientBuilder) {
+        final var requestFactory = new JdkClientHttpRequestFactory(
+                HttpClient.newBuilder().connectTimeout(properties.timeout()).build());
+        requestFactory.setReadTimeout(properties.timeout());
+        this.clients = properties.members().stream()
+                .collect(Collectors.toUnmodifiableMap(Function.identity(), member -> restClientBuilder
+                        .clone()
+                        .baseUrl(member + ClusterController.BASE_PATH)
+                        .requestFactory(requestFactory)
+                        .requestInterceptor(new UpstreamTimingInterceptor())
+                        .build()));
+    }
+
+    public List<Employee> getAllEmployees(String member) {
+        return client(member).get().uri("/employees").retrieve().body(EMPLOYEE_LIST);
+    }
+
+    public List<Employee> getEmployeesByNameSearch(String member, String searchString) {
+        return client(member)
+                .get()
+                .uri("/employees/search/{searchString}", searchString)
+                .retrieve()
+                .body(EMPLOYEE_LIST);
+    }
+
+    public List<Employee> getEmployeesByFuzzyNameSearch(
+            String member, String searchString, int maxDistance, int limit) {
+        return client(member)
+                .get()
+                .uri(builder -> builder.path("/employees/search/fuzzy/{searchString}")
+                        .queryParam("maxDistance", maxDistance)
+                        .queryParam("limit", limit)
+                        .build(searchString))
+                .retrieve()
+                .body(EMPLOYEE_LIST);
+    }
+
+    public List<Employee> getEmployeesCreatedBetween(String member, long sinceMillis, long untilMillis, int limit) {
+        return client(member)
+                .get()
+                .uri(builder -> builder.path("/employees/created")
+                        .queryParam("since", sinceMillis)
+                        .queryParam("until", untilMillis)
+                        .queryParam("limit", limit)
+                        .build())
+                .retrieve()
+                .body(EMPLOYEE_LIST);
+    }
+
+    public List<Employee> queryEmployees(String member, EmployeeQuery query) {
+        return client(member)
+                .post()
+                .uri("/employees/query")
+                .body(query)
+                .retrieve()
+                .body(EMPLOYEE_LIST);
+    }
+
+    public Employee getEmployeeById(String member, String id) {
+        return client(member).get().uri("/employees/{id}", id).exchange((request, response) -> {
+            if (response.getStatusCode().value() == HttpStatus.NOT_FOUND.value()) {
+                return null;
+            }
+            if (response.getStatusCode().isError()) {
+                throw new IllegalStateException(
+                        "Cluster member " + member + " responded with " + response.getStatusCode());
+            }
+            return response.bodyTo(Employee.class);
+        });
+    }
+
+    public EmployeeLookup getEmployeesByIds(String member, List<String> ids) {
+        return client(member)
+                .post()
+                .uri("/employees/lookup")
+                .body(ids)
+                .retrieve()
+                .body(EmployeeLookup.class);
+    }
+
+    public Integer getHighestSalaryOfEmployees(String member) {
+        return client(member).get().uri("/employees/highestSalary").exchange((request, response) -> {
+            if (response.getStatusCode().value() == HttpStatus.NOT_FOUND.value()) {
+                return null;
+            }
+            if (response.getStatusCode().isError()) {
+                throw new IllegalStateException(
+                        "Cluster member " + member + " responded with " + response.getStatusCode());
+            }
+            return response.bodyTo(Integer.class);
+        });
+    }
+
+    public List<Employee> getTopEarners(String member, int limit) {
+        return client(member)
+                .get()
+                .uri(builder -> builder.path("/employees/topEarners")
+                        .queryParam("limit", limit)
+                        .build())
+                .retrieve()
+                .body(EMPLOYEE_LIST);
+    }
+
+    public List<TitleTotals> getTitleTotals(String member) {
+        return client(member).get().uri("/aggregates/titles").retrieve().body(TITLE_TOTALS_LIST);
+    }
+
+    public TitleTotals getTitleTotals(String member, String title) {
+        return client(member).get().uri("/aggregates/titles/{title}", title).exchange((request, response) -> {
+            if (response.getStatusCode().value() == HttpStatus.NOT_FOUND.value()) {
+                return null;
+            }
+            if (response.getStatusCode().isError()) {
+                throw new IllegalStateException(
+                        "Cluster member " + member + " responded with " + response.getStatusCode());
+            }
+            return response.bodyTo(TitleTotals.class);
+        });
+    }
+
+    /**
+     * Hands a newly created employee to the member that owns it, which queues it for upstream.
+     *
+     * @throws WriteBehindFullException if the member's write-behind queue is full
+     */
+    public void addCreatedEmployee(String member, Employee employee) {
+        client(member).post().uri("/employees").body(employee).exchange((request, response) -> {
+            if (response.getStatusCode().value() == HttpStatus.SERVICE_UNAVAILABLE.value()) {
+                final String retryAfter = response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+                throw new WriteBehindFullException(
+                        "Write-behind queue of cluster member " + member + " is full",
+                        Duration.ofSeconds(retryAfter == null ? 1 : Long.parseLong(retryAfter)));
+            }
+            if (response.getStatusCode().isError()) {
+                throw new IllegalStateException(
+                        "Cluster member " + member + " responded with " + response.getStatusCode());
+            }
+            return null;
+        });
+    }
+
+    public SyncStatus getSyncStatus(String member, String id) {
+        return client(member).get().uri("/employees/{id}/sync", id).exchange((request, response) -> {
+            if (response.getStatusCode().value() == HttpStatus.NOT_FOUND.value()) {
+                return null;
+            }
+            if (response.getStatusCode().isError()) {
+                throw new IllegalStateException(
+                        "Cluster member " + member + " responded with " + response.getStatusCode());
+            }
+            return response.bodyTo(SyncStatus.class);
+        });
+    }
+
+    public void putEmployee(String member, Employee employee) {
+        client(member).put().uri("/employees").body(employee).retrieve().toBodilessEntity();
+    }
+
+    public boolean deleteEmployeeById(String member, String id) {
+        return Boolean.TRUE.equals(
+                client(member).delete().uri("/employees/{id}", id).retrieve().body(Boolean.class));
+    }
+
+    private RestClient client(String member) {
+        final var client = clients.get(member);
+        if (client == null) {
+            throw new IllegalArgumentException("Unknown cluster member: " + member);
+        }
+        return client;
+    }
+}
@@ -0,0 +1,28 @@
+package com.reliaquest.api.cluster;
+
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for running several api instances as one partitioned store.
+ *
+ * @param enabled whether this instance joins a cluster; a standalone instance owns every id
+ * @param self base URL other members use to reach this instance; must be listed in {@code members}
+ * @param members base URLs of every instance in the cluster, including this one
+ * @param virtualNodes points each member places on the hash ring; more points give a more even split
+ * @param timeout connect and read timeout for calls to other members
+ */
+@ConfigurationProperties(prefix = "api.cluster")
+public record ClusterProperties(
+        @DefaultValue("false") boolean enabled,
+        String self,
+        List<String> members,
+        @DefaultValue("128") int virtualNodes,
+        @DefaultValue("2s") Duration timeout) {
+
+    public ClusterProperties {
+        members = members == null ? List.of() : List.copyOf(members);
+    }
+}
@@ -0,0 +1,82 @@
+package com.reliaquest.api.cluster;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Immutable consistent-hash ring mapping employee ids to cluster members. Each member places {@code virtualNodes}
+ * points on a 64-bit ring and owns the keys that hash between its points and the previous ones, so adding or removing
+ * a member only moves roughly {@code 1 / members} of the keys.
+ */
+public class ConsistentHashRing {
+
+    private final List<String> members;
+    private final long[] points;
+    private final String[] owners;
+
+    public ConsistentHashRing(Collection<String> members, int virtualNodes) {
+        if (members.isEmpty()) {
+            throw new IllegalArgumentException("A hash ring needs at least one member");
+        }
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("virtualNodes must be positive");
+        }
+        this.members = List.copyOf(members);
+
+        final int size = this.members.size() * virtualNodes;
+        final long[] hashes = new long[size];
+        final String[] names = new String[size];
+        int i = 0;
+        for (final String member : this.members) {
+            for (int v = 0; v < virtualNodes; v++) {
+                hashes[i] = hash(member + "#" + v);
+                names[i] = member;
+                i++;
+            }
+        }
+
+        final Integer[] order = new Integer[size];
+        Arrays.setAll(order, index -> index);
+        Arrays.sort(order, (a, b) -> Long.compare(hashes[a], hashes[b]));
+        this.points = new long[size];
+        this.owners = new String[size];
+        for (int j = 0; j < size; j++) {
+            points[j] = hashes[order[j]];
+            owners[j] = names[order[j]];
+        }
+    }
+
+    public List<String> members() {
+        return members;
+    }
+
+    /**
+     * @return the member owning {@code key}: the first point at or after the key's hash, wrapping around the ring.
+     */
+    public String ownerOf(String key) {
+        int index = Arrays.binarySearch(points, hash(key));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    /**
+     * 64-bit FNV-1a followed by the MurmurHash3 finalizer, which spreads the near-identical keys produced for virtual
+     * nodes evenly around the ring.
+     */
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,81 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.cluster.ClusterMemberInterceptor;
+import com.reliaquest.api.cluster.ClusterProperties;
+import com.reliaquest.api.util.RateLimitedLog;
+import com.reliaquest.api.web.AdaptiveConcurrencyLimiter;
+import com.reliaquest.api.web.ConcurrencyLimitInterceptor;
+import com.reliaquest.api.web.ServerTimingFilter;
+import com.reliaquest.api.web.SlowRequestLog;
+import com.reliaquest.api.web.StartupTimer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Slf4j
+@Configuration
+public class ApiConfiguration implements WebMvcConfigurer {
+
+    private final ConcurrencyLimitProperties concurrencyLimitProperties;
+    private final ClusterProperties clusterProperties;
+    private final StartupTimer startupTimer;
+
+    public ApiConfiguration(
+            ConcurrencyLimitProperties concurrencyLimitProperties,
+            ClusterProperties clusterProperties,
+            NearCacheProperties nearCacheProperties,
+            StartupTimer startupTimer) {
+        // Both modes replace the local store with a @Primary service; fail here rather than on the ambiguous injection
+        if (clusterProperties.enabled() && nearCacheProperties.enabled()) {
+            throw new IllegalStateException(
+                    "api.cluster.enabled and api.near-cache.enabled cannot both be set: cluster mode partitions"
+                            + " locally held employees, while the near cache holds none");
+        }
+        this.concurrencyLimitProperties = concurrencyLimitProperties;
+        this.clusterProperties = clusterProperties;
+        this.startupTimer = startupTimer;
+    }
+
+    @Bean
+    public SlowRequestLog slowRequestLog(RequestTimingProperties requestTimingProperties) {
+        return new SlowRequestLog(requestTimingProperties.slowRequests());
+    }
+
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(
+            RequestTimingProperties requestTimingProperties, SlowRequestLog slowRequestLog) {
+        final var registration = new FilterRegistrationBean<>(new ServerTimingFilter(slowRequestLog));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        registration.setEnabled(requestTimingProperties.enabled());
+        return registration;
+    }
+
+    /**
+     * Writes out the suppressed-message counts of rate-limited logs while logging is still running.
+     */
+    @PreDestroy
+    public void flushRateLimitedLogs() {
+        RateLimitedLog.flushAll();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(startupTimer).excludePathPatterns("/internal/**");
+        if (concurrencyLimitProperties.enabled()) {
+            log.info("Adaptive concurrency limit enabled: {}", concurrencyLimitProperties);
+            registry.addInterceptor(new ConcurrencyLimitInterceptor(
+                            new AdaptiveConcurrencyLimiter(concurrencyLimitProperties),
+                            concurrencyLimitProperties.retryAfter()))
+                    .excludePathPatterns("/internal/**");
+        }
+        if (clusterProperties.enabled()) {
+            registry.addInterceptor(new ClusterMemberInterceptor(clusterProperties.members()))
+                    .addPathPatterns(ClusterMemberInterceptor.PATH_PATTERN);
+        }
+    }
+}
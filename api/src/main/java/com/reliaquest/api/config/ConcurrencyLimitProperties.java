@@ -0,0 +1,31 @@
+package com.reliaquest.api.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the adaptive concurrency limit in front of the employee endpoints.
+ *
+ * @param enabled whether requests are admitted through the limiter at all
+ * @param initialLimit in-flight limit before any latency has been observed
+ * @param minLimit floor the limit never drops below
+ * @param maxLimit ceiling the limit never grows above
+ * @param tolerance how much slower than the no-load latency a request may be before the limit shrinks
+ * @param smoothing weight of each new limit estimate, between 0 and 1
+ * @param baselineWindow number of recent requests, roughly, whose average latency is the baseline requests are
+ *     compared with
+ * @param shedFirstShare fraction of the limit that requests marked {@code @ShedFirst} may occupy
+ * @param retryAfter value of the {@code Retry-After} header sent with rejections
+ */
+@ConfigurationProperties(prefix = "api.concurrency-limit")
+public record ConcurrencyLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("20") int initialLimit,
+        @DefaultValue("4") int minLimit,
+        @DefaultValue("200") int maxLimit,
+        @DefaultValue("1.5") double tolerance,
+        @DefaultValue("0.2") double smoothing,
+        @DefaultValue("600") int baselineWindow,
+        @DefaultValue("0.7") double shedFirstShare,
+        @DefaultValue("1s") Duration retryAfter) {}
@@ -0,0 +1,21 @@
+package com.reliaquest.api.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for bulk exports of the employee store.
+ *
+ * @param directory where export files are written; created on first use
+ * @param chunkBytes size of the buffer rows are encoded into before each write to the output channel
+ * @param maxStreams number of export responses that may be written at once; further requests are rejected
+ * @param retryAfter value of the {@code Retry-After} header sent with those rejections
+ */
+@ConfigurationProperties(prefix = "api.export")
+public record ExportProperties(
+        @DefaultValue("build/api-export") Path directory,
+        @DefaultValue("65536") int chunkBytes,
+        @DefaultValue("4") int maxStreams,
+        @DefaultValue("5s") Duration retryAfter) {}
@@ -0,0 +1,24 @@
+package com.reliaquest.api.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for serving employees from upstream on demand, through a bounded per-employee cache, instead of holding
+ * every employee locally.
+ *
+ * @param enabled whether this instance reads employees from upstream through the near cache
+ * @param maxEntries most employees cached at once; also sizes the frequency sketch when bounded by bytes
+ * @param maxBytes when positive, bound the cache by the estimated heap its employees retain instead of by
+ *     {@code maxEntries}
+ * @param expireAfterWrite how long a cached employee is served before it is read from upstream again
+ * @param lookupConcurrency most employees read from upstream at once for lookups of several ids, across all requests
+ */
+@ConfigurationProperties(prefix = "api.near-cache")
+public record NearCacheProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("10000") int maxEntries,
+        @DefaultValue("0") long maxBytes,
+        @DefaultValue("30s") Duration expireAfterWrite,
+        @DefaultValue("16") int lookupConcurrency) {}
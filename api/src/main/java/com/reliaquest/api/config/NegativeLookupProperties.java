@@ -0,0 +1,22 @@
+package com.reliaquest.api.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for answering lookups of unknown employee ids without touching the store.
+ *
+ * @param enabled whether lookups and deletes consult the negative-lookup layer at all
+ * @param expectedEmployees number of ids the Bloom filter is sized for initially; it is rebuilt larger when exceeded
+ * @param falsePositiveRate target rate at which the Bloom filter reports an unknown id as possibly present
+ * @param ttl how long an id that passed the filter but was not found is answered as missing without a lookup
+ * @param maxCachedMisses upper bound on the number of such ids remembered at once
+ */
+@ConfigurationProperties(prefix = "api.negative-lookup")
+public record NegativeLookupProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("10000") int expectedEmployees,
+        @DefaultValue("0.01") double falsePositiveRate,
+        @DefaultValue("5s") Duration ttl,
+        @DefaultValue("10000") int maxCachedMisses) {}
@@ -0,0 +1,23 @@
+package com.reliaquest.api.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for periodically repairing the local store where it has drifted from upstream.
+ *
+ * @param enabled whether reconciliation runs at all
+ * @param interval time between the end of one run and the start of the next
+ * @param depth level of the finest id ranges compared; {@code 2^depth} ranges, at most 20
+ * @param levelsPerRequest levels descended per round trip; each differing range is split into
+ *     {@code 2^levelsPerRequest} ranges compared together
+ * @param maxNodesPerRequest most ranges named in one request to upstream
+ */
+@ConfigurationProperties(prefix = "api.reconcile")
+public record ReconcileProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("1m") Duration interval,
+        @DefaultValue("12") int depth,
+        @DefaultValue("4") int levelsPerRequest,
+        @DefaultValue("256") int maxNodesPerRequest) {}
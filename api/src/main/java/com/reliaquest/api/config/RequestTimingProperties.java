@@ -0,0 +1,14 @@
+package com.reliaquest.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for per-request phase timing.
+ *
+ * @param enabled whether responses carry a {@code Server-Timing} header and slow requests are recorded
+ * @param slowRequests number of slowest requests kept for {@code /internal/diagnostics/slow-requests}
+ */
+@ConfigurationProperties(prefix = "api.request-timing")
+public record RequestTimingProperties(
+        @DefaultValue("true") boolean enabled, @DefaultValue("32") int slowRequests) {}
@@ -0,0 +1,20 @@
+package com.reliaquest.api.config;
+
+import java.nio.file.Path;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for warm-loading the employee store at startup.
+ *
+ * @param enabled whether to fill the store before the instance starts serving
+ * @param path local snapshot file, read first if it exists; {@code null} to always fetch from upstream
+ * @param fetchUpstream whether to fetch the full employee list from upstream when no snapshot can be read
+ * @param saveOnShutdown whether to write the store to {@code path} when the instance shuts down
+ */
+@ConfigurationProperties(prefix = "api.snapshot")
+public record SnapshotProperties(
+        @DefaultValue("false") boolean enabled,
+        Path path,
+        @DefaultValue("true") boolean fetchUpstream,
+        @DefaultValue("true") boolean saveOnShutdown) {}
@@ -0,0 +1,29 @@
+package com.reliaquest.api.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for accepting creates locally and pushing them to upstream in the background.
+ *
+ * @param enabled whether creates are queued for upstream at all
+ * @param journal file recording queued creates until upstream has them, so they survive a restart
+ * @param fsync whether every journal write is forced to disk before the create is acknowledged
+ * @param capacity most creates waiting for upstream at once; creates beyond it are refused
+ * @param batchSize most creates sent to upstream in one request
+ * @param flushInterval how often the queue is checked for creates to send
+ * @param initialBackoff wait after the first failed request before the next one
+ * @param maxBackoff longest wait between requests while upstream keeps failing
+ */
+@ConfigurationProperties(prefix = "api.write-behind")
+public record WriteBehindProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("build/api-write-behind/journal.log") Path journal,
+        @DefaultValue("true") boolean fsync,
+        @DefaultValue("10000") int capacity,
+        @DefaultValue("100") int batchSize,
+        @DefaultValue("200ms") Duration flushInterval,
+        @DefaultValue("1s") Duration initialBackoff,
+        @DefaultValue("1m") Duration maxBackoff) {}
@@ -0,0 +1,74 @@
+package com.reliaquest.api.controller.dto;
+
+import com.reliaquest.api.model.Employee;
+import java.util.Comparator;
+import java.util.Locale;
+
+/**
+ * Multi-criteria employee filter. Every criterion is optional; {@code null} means unconstrained. Ranges are inclusive,
+ * {@code title} matches case-insensitively anywhere in the title, and {@code name} matches anywhere in the name, in
+ * the same way as the name search.
+ */
+public record EmployeeQuery(
+        Integer minSalary,
+        Integer maxSalary,
+        Integer minAge,
+        Integer maxAge,
+        String title,
+        String name,
+        SortField sort,
+        boolean descending,
+        int limit) {
+
+    public static final int MAX_LIMIT = 1000;
+
+    public EmployeeQuery {
+        if (minSalary != null && maxSalary != null && minSalary > maxSalary)
+            throw new IllegalArgumentException("minSalary must not exceed maxSalary");
+        if (minAge != null && maxAge != null && minAge > maxAge)
+            throw new IllegalArgumentException("minAge must not exceed maxAge");
+        if (limit < 1 || limit > MAX_LIMIT)
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        if (title != null && title.isBlank()) title = null;
+        if (name != null && name.isBlank()) name = null;
+    }
+
+    public boolean matches(Employee employee) {
+        return inRange(employee.employee_salary(), minSalary, maxSalary)
+                && inRange(employee.employee_age(), minAge, maxAge)
+                && (title == null
+                        || employee.employee_title().toLowerCase(Locale.ROOT).contains(title.toLowerCase(Locale.ROOT)))
+                && (name == null || employee.employee_name().contains(name));
+    }
+
+    /**
+     * @return ordering requested by {@link #sort()} and {@link #descending()}, ties broken by id, or {@code null} if
+     *         no sort was requested.
+     */
+    public Comparator<Employee> comparator() {
+        if (sort == null) {
+            return null;
+        }
+        final Comparator<Employee> byField =
+                switch (sort) {
+                    case NAME -> Comparator.comparing(Employee::employee_name);
+                    case SALARY -> Comparator.comparingInt(Employee::employee_salary);
+                    case AGE -> Comparator.comparingInt(Employee::employee_age);
+                };
+        return (descending ? byField.reversed() : byField).thenComparing(Employee::id);
+    }
+
+    private static boolean inRange(int value, Integer min, Integer max) {
+        return (min == null || value >= min) && (max == null || value <= max);
+    }
+
+    public enum SortField {
+        NAME,
+        SALARY,
+        AGE;
+
+        public static SortField parse(String value) {
+            return value == null || value.isBlank() ? null : valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+}
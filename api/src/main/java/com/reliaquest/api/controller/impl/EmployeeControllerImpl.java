@@ -2,19 +2,50 @@ package com.reliaquest.api.controller.impl;
 
 import com.reliaquest.api.controller.IEmployeeController;
 import com.reliaquest.api.controller.dto.EmployeeCreationInput;
+import com.reliaquest.api.controller.dto.EmployeeQuery;
 import com.reliaquest.api.controller.exception.EmployeeValidationException;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeLookup;
+import com.reliaquest.api.model.SyncStatus;
+import com.reliaquest.api.model.TitleAggregate;
 import com.reliaquest.api.service.IEmployeeService;
+import com.reliaquest.api.service.index.FuzzyNameIndex;
+import com.reliaquest.api.service.writebehind.WriteBehindFullException;
+import com.reliaquest.api.util.RateLimitedLog;
+import com.reliaquest.api.web.RequestTiming;
+import com.reliaquest.api.web.ShedFirst;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.regex.Pattern;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.event.Level;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 
 @Slf4j
 @Controller
 public class EmployeeControllerImpl implements IEmployeeController<Employee, EmployeeCreationInput> {
 
+    /**
+     * Largest number of ids accepted by {@link #getEmployeesByIds(List)}.
+     */
+    public static final int MAX_LOOKUP_IDS = 1000;
+
+    private static final Pattern EMAIL =
+            Pattern.compile("^[A-Za-z0-9_-]+(\\.[A-Za-z0-9_-]+)*@[A-Za-z0-9-]+(\\.[A-Za-z0-9-]+)*$");
+
+    private static final RateLimitedLog MISSING_DELETE_LOG =
+            new RateLimitedLog(log, Level.WARN, 10, Duration.ofSeconds(1));
+
     private final IEmployeeService employeeService;
 
     public EmployeeControllerImpl(IEmployeeService employeeService) {
@@ -28,6 +59,7 @@ public class EmployeeControllerImpl implements IEmployeeController<Employee, Emp
      *         or an internal server error response if retrieval fails.
      */
     @Override
+    @ShedFirst
     public ResponseEntity<List<Employee>> getAllEmployees() {
         try {
             return ResponseEntity.ok(employeeService.getAllEmployees());
@@ -46,6 +78,7 @@ public class EmployeeControllerImpl implements IEmployeeController<Employee, Emp
      *         or an internal server error response if retrieval fails.
      */
     @Override
+    @ShedFirst
     public ResponseEntity<List<Employee>> getEmployeesByNameSearch(String searchString) {
         if (searchString == null || searchString.isBlank()) {
             log.error("Invalid search string for name search.");
@@ -62,6 +95,47 @@ public class EmployeeControllerImpl implements IEmployeeController<Employee, Emp
         }
     }
 
+    /**
+     * Retrieves employees whose names approximately match the provided search string, closest match first.
+     *
+     * @param searchString the text used to match employee names, case-insensitively; must not be null or blank
+     * @param maxDistance largest number of typos tolerated per word of the search string
+     * @param limit maximum number of employees to return
+     * @return a {@link ResponseEntity} containing a list of matching {@link Employee} objects,
+     *         a bad request response if the parameters are invalid,
+     *         a not implemented response if the service in use does not support it,
+     *         or an internal server error response if retrieval fails.
+     */
+    @GetMapping("/search/fuzzy/{searchString}")
+    @ShedFirst
+    public ResponseEntity<List<Employee>> getEmployeesByFuzzyNameSearch(
+            @PathVariable String searchString,
+            @RequestParam(defaultValue = "2") int maxDistance,
+            @RequestParam(defaultValue = "20") int limit) {
+        if (searchString == null
+                || searchString.isBlank()
+                || maxDistance < 0
+                || maxDistance > FuzzyNameIndex.MAX_DISTANCE
+                || limit < 1
+                || limit > EmployeeQuery.MAX_LIMIT) {
+            log.error("Invalid parameters for fuzzy name search.");
+            return ResponseEntity.badRequest().build();
+        }
+
+        try {
+            List<Employee> employees =
+                    employeeService.getEmployeesByFuzzyNameSearch(searchString, maxDistance, limit);
+            if (employees.isEmpty()) return ResponseEntity.notFound().build();
+            return ResponseEntity.ok(employees);
+        } catch (UnsupportedOperationException e) {
+            log.error("Failed to get employees by fuzzy name - {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).build();
+        } catch (Exception e) {
+            log.error("Failed to get employees by fuzzy name", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     /**
      * Retrieves a single employee by their unique identifier.
      *
@@ -87,6 +161,59 @@ public class EmployeeControllerImpl implements IEmployeeController<Employee, Emp
         }
     }
 
+    /**
+     * Reports whether an employee created through this API has reached the upstream server.
+     *
+     * @param id the employee's ID; must not be null or blank
+     * @return a {@link ResponseEntity} containing the employee's {@link SyncStatus},
+     *         a bad request response if the ID is invalid,
+     *         a not found response if the employee does not exist or creates are not pushed upstream,
+     *         or an internal server error response if retrieval fails.
+     */
+    @GetMapping("/{id}/sync")
+    public ResponseEntity<SyncStatus> getSyncStatus(@PathVariable String id) {
+        if (id == null || id.isBlank()) {
+            log.error("Invalid employee id.");
+            return ResponseEntity.badRequest().build();
+        }
+
+        try {
+            SyncStatus status = employeeService.getSyncStatus(id);
+            if (status == null) return ResponseEntity.notFound().build();
+            return ResponseEntity.ok(status);
+        } catch (Exception e) {
+            log.error("Failed to get sync status of employee", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * Retrieves several employees by their unique identifiers in one request.
+     *
+     * @param ids the employees' IDs, at most {@link #MAX_LOOKUP_IDS}; none may be null or blank
+     * @return a {@link ResponseEntity} containing an {@link EmployeeLookup} with the found employees by id and the
+     *         ids that matched no employee,
+     *         a bad request response if the IDs are invalid,
+     *         or an internal server error response if retrieval fails.
+     */
+    @PostMapping("/lookup")
+    public ResponseEntity<EmployeeLookup> getEmployeesByIds(@RequestBody List<String> ids) {
+        if (ids == null
+                || ids.isEmpty()
+                || ids.size() > MAX_LOOKUP_IDS
+                || ids.stream().anyMatch(id -> id == null || id.isBlank())) {
+            log.error("Invalid employee ids for lookup.");
+            return ResponseEntity.badRequest().build();
+        }
+
+        try {
+            return ResponseEntity.ok(employeeService.getEmployeesByIds(ids));
+        } catch (Exception e) {
+            log.error("Failed to get employees by ids", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     /**
      * Retrieves the highest salary among all employees.
      *
@@ -94,6 +221,7 @@ public class EmployeeControllerImpl implements IEmployeeController<Employee, Emp
      *         or an internal server error response if retrieval fails.
      */
     @Override
+    @ShedFirst
     public ResponseEntity<Integer> getHighestSalaryOfEmployees() {
         try {
             Integer salary = employeeService.getHighestSalaryOfEmployees();
@@ -112,6 +240,7 @@ public class EmployeeControllerImpl implements IEmployeeController<Employee, Emp
      *         or an internal server error response if retrieval fails.
      */
     @Override
+    @ShedFirst
     public ResponseEntity<List<String>> getTopTenHighestEarningEmployeeNames() {
         try {
             return ResponseEntity.ok(employeeService.getTopTenHighestEarningEmployeeNames());
@@ -121,25 +250,183 @@ public class EmployeeControllerImpl implements IEmployeeController<Employee, Emp
         }
     }
 
+    /**
+     * Retrieves employees matching every supplied criterion. All criteria are optional; ranges are inclusive.
+     *
+     * @param sort one of {@code name}, {@code salary} or {@code age}; results are unordered when absent
+     * @param limit maximum number of employees to return, between 1 and {@link EmployeeQuery#MAX_LIMIT}
+     * @return a {@link ResponseEntity} containing the matching {@link Employee} objects,
+     *         a bad request response if the criteria are invalid,
+     *         a not implemented response if the service in use does not support it,
+     *         or an internal server error response if retrieval fails.
+     */
+    @GetMapping("/query")
+    @ShedFirst
+    public ResponseEntity<List<Employee>> queryEmployees(
+            @RequestParam(required = false) Integer minSalary,
+            @RequestParam(required = false) Integer maxSalary,
+            @RequestParam(required = false) Integer minAge,
+            @RequestParam(required = false) Integer maxAge,
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "false") boolean descending,
+            @RequestParam(defaultValue = "100") int limit) {
+        EmployeeQuery query;
+        try {
+            query = new EmployeeQuery(
+                    minSalary,
+                    maxSalary,
+                    minAge,
+                    maxAge,
+                    title,
+                    name,
+                    EmployeeQuery.SortField.parse(sort),
+                    descending,
+                    limit);
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid employee query - {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+
+        try {
+            List<Employee> employees = employeeService.queryEmployees(query);
+            if (employees.isEmpty()) return ResponseEntity.notFound().build();
+            return ResponseEntity.ok(employees);
+        } catch (UnsupportedOperationException e) {
+            log.error("Failed to query employees - {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).build();
+        } catch (Exception e) {
+            log.error("Failed to query employees", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * Retrieves employees created within a time interval, oldest first.
+     *
+     * @param since inclusive lower bound as an ISO-8601 instant, e.g. {@code 2024-05-01T00:00:00Z}
+     * @param until exclusive upper bound as an ISO-8601 instant; unbounded when absent
+     * @param limit maximum number of employees to return, between 1 and {@link EmployeeQuery#MAX_LIMIT}
+     * @return a {@link ResponseEntity} containing the matching {@link Employee} objects,
+     *         a bad request response if the parameters are invalid,
+     *         a not implemented response if the service in use does not support it,
+     *         or an internal server error response if retrieval fails.
+     */
+    @GetMapping("/created")
+    public ResponseEntity<List<Employee>> getEmployeesCreatedBetween(
+            @RequestParam String since,
+            @RequestParam(required = false) String until,
+            @RequestParam(defaultValue = "100") int limit) {
+        long sinceMillis;
+        long untilMillis;
+        try {
+            sinceMillis = Instant.parse(since).toEpochMilli();
+            untilMillis = until == null ? Long.MAX_VALUE : Instant.parse(until).toEpochMilli();
+        } catch (DateTimeParseException | ArithmeticException e) {
+            log.error("Invalid time range for created employees - {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+        if (limit < 1 || limit > EmployeeQuery.MAX_LIMIT) {
+            log.error("Invalid limit for created employees.");
+            return ResponseEntity.badRequest().build();
+        }
+
+        try {
+            List<Employee> employees = employeeService.getEmployeesCreatedBetween(sinceMillis, untilMillis, limit);
+            if (employees.isEmpty()) return ResponseEntity.notFound().build();
+            return ResponseEntity.ok(employees);
+        } catch (UnsupportedOperationException e) {
+            log.error("Failed to get employees by creation time - {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).build();
+        } catch (Exception e) {
+            log.error("Failed to get employees by creation time", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * Retrieves headcount, salary and age statistics for every job title.
+     *
+     * @return a {@link ResponseEntity} containing one {@link TitleAggregate} per title,
+     *         a not found response if there are no employees,
+     *         a not implemented response if the service in use does not support it,
+     *         or an internal server error response if retrieval fails.
+     */
+    @GetMapping("/aggregates/titles")
+    public ResponseEntity<List<TitleAggregate>> getTitleAggregates() {
+        try {
+            List<TitleAggregate> aggregates = employeeService.getTitleAggregates();
+            if (aggregates.isEmpty()) return ResponseEntity.notFound().build();
+            return ResponseEntity.ok(aggregates);
+        } catch (UnsupportedOperationException e) {
+            log.error("Failed to get title aggregates - {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).build();
+        } catch (Exception e) {
+            log.error("Failed to get title aggregates", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * Retrieves headcount, salary and age statistics for a single job title.
+     *
+     * @param title the exact job title; must not be null or blank
+     * @return a {@link ResponseEntity} containing the title's {@link TitleAggregate},
+     *         a bad request response if the title is invalid,
+     *         a not found response if no employee holds the title,
+     *         a not implemented response if the service in use does not support it,
+     *         or an internal server error response if retrieval fails.
+     */
+    @GetMapping("/aggregates/titles/{title}")
+    public ResponseEntity<TitleAggregate> getTitleAggregate(@PathVariable String title) {
+        if (title == null || title.isBlank()) {
+            log.error("Invalid title for aggregate lookup.");
+            return ResponseEntity.badRequest().build();
+        }
+
+        try {
+            TitleAggregate aggregate = employeeService.getTitleAggregate(title);
+            if (aggregate == null) return ResponseEntity.notFound().build();
+            return ResponseEntity.ok(aggregate);
+        } catch (UnsupportedOperationException e) {
+            log.error("Failed to get aggregate for title - {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).build();
+        } catch (Exception e) {
+            log.error("Failed to get aggregate for title", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     /**
      * Creates a new employee using the provided input data.
      *
      * @param input the data required to create a new employee; must pass validation
      * @return a {@link ResponseEntity} containing the created {@link Employee},
      *         a bad request response if validation fails,
+     *         a service unavailable response with a {@code Retry-After} header if too many creates are waiting for
+     *         upstream,
      *         or an internal server error response if creation fails.
      */
     @Override
     public ResponseEntity<Employee> createEmployee(EmployeeCreationInput input) {
+        final long validationStart = RequestTiming.start();
         try {
             validateEmployeeCreationInput(input);
         } catch (Exception e) {
             log.error("Invalid input to create employee - {}", e.getMessage());
             return ResponseEntity.badRequest().build();
+        } finally {
+            RequestTiming.stop(RequestTiming.Phase.VALIDATION, validationStart);
         }
 
         try {
             return ResponseEntity.ok(employeeService.createEmployee(input));
+        } catch (WriteBehindFullException e) {
+            log.warn("Rejecting create: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, e.getRetryAfterSeconds())
+                    .build();
         } catch (Exception e) {
             log.error("Failed to create new employee", e);
             return ResponseEntity.internalServerError().build();
@@ -166,7 +453,7 @@ public class EmployeeControllerImpl implements IEmployeeController<Employee, Emp
 
         try {
             if (employeeService.getEmployeeById(id) == null) {
-                log.warn("Employee with id {} doesn't exist.", id);
+                MISSING_DELETE_LOG.log("Employee with id {} doesn't exist.", id);
                 return ResponseEntity.notFound().build();
             }
             if (employeeService.deleteEmployeeById(id)) {
@@ -195,9 +482,6 @@ public class EmployeeControllerImpl implements IEmployeeController<Employee, Emp
         if (email == null || email.isBlank()) {
             return false;
         }
-        return Pattern.compile(
-                        "^[A-Za-z0-9_-]+(\\.[A-Za-z0-9_-]+)*@[A-Za-z0-9-]+(\\.[A-Za-z0-9-]+)*$")
-                .matcher(email)
-                .matches();
+        return EMAIL.matcher(email).matches();
     }
 }
@@ -0,0 +1,201 @@
+package com.reliaquest.api.controller.impl;
+
+import com.reliaquest.api.config.ExportProperties;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.export.EmployeeExporter;
+import com.reliaquest.api.service.export.ExportFormat;
+import com.reliaquest.api.web.ShedFirst;
+import jakarta.servlet.http.HttpServletRequest;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Bulk export of every employee as CSV or NDJSON, streamed rather than built as one response body.
+ *
+ * <p>Streamed responses are written on the MVC task executor after the handler returns, outside the concurrency limit
+ * that guards the container threads, so they are bounded here instead: at most {@code maxStreams} are written at once,
+ * and further requests are rejected with {@code 503 Service Unavailable} and a {@code Retry-After} header. Files sent
+ * with {@code sendfile} do not occupy an application thread and are not counted.
+ */
+@Slf4j
+@Controller
+public class EmployeeExportController {
+
+    /**
+     * Request attributes through which Tomcat sends a file with {@code sendfile}, straight from the page cache to the
+     * socket, after the handler returns.
+     */
+    static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final EmployeeExporter exporter;
+    private final Semaphore streams;
+    private final String retryAfterSeconds;
+
+    public EmployeeExportController(EmployeeExporter exporter, ExportProperties properties) {
+        this.exporter = exporter;
+        this.streams = new Semaphore(properties.maxStreams());
+        this.retryAfterSeconds = String.valueOf(Math.max(1, properties.retryAfter().toSeconds()));
+    }
+
+    /**
+     * Streams every employee, as of the time of the request, in the given format.
+     *
+     * @param format {@code csv} or {@code ndjson}
+     * @return a {@link ResponseEntity} whose body is written as the employees are encoded,
+     *         a bad request response if the format is unknown,
+     *         a service unavailable response if {@code maxStreams} exports are already being written,
+     *         or an internal server error response if the snapshot cannot be taken.
+     */
+    @GetMapping("/export")
+    @ShedFirst
+    public ResponseEntity<StreamingResponseBody> exportEmployees(@RequestParam(defaultValue = "ndjson") String format) {
+        final ExportFormat exportFormat = parseFormat(format);
+        if (exportFormat == null) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        if (!streams.tryAcquire()) {
+            return busy();
+        }
+
+        final List<Employee> employees;
+        try {
+            employees = exporter.snapshot();
+        } catch (Exception e) {
+            streams.release();
+            log.error("Failed to take export snapshot", e);
+            return ResponseEntity.internalServerError().build();
+        }
+        return ResponseEntity.ok().headers(exportHeaders(exportFormat)).body(out -> {
+            try {
+                exporter.write(employees, exportFormat, Channels.newChannel(out));
+            } finally {
+                streams.release();
+            }
+        });
+    }
+
+    /**
+     * Writes every employee, as of now, to a new export file in the given format.
+     *
+     * @param format {@code csv} or {@code ndjson}
+     * @return a {@link ResponseEntity} describing the written {@link EmployeeExporter.ExportFile},
+     *         a bad request response if the format is unknown,
+     *         or an internal server error response if the file cannot be written.
+     */
+    @PostMapping("/export/file")
+    @ShedFirst
+    public ResponseEntity<EmployeeExporter.ExportFile> writeExportFile(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        final ExportFormat exportFormat = parseFormat(format);
+        if (exportFormat == null) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        try {
+            return ResponseEntity.ok(exporter.exportToFile(exportFormat));
+        } catch (Exception e) {
+            log.error("Failed to write export file", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * Sends the most recently written export file in the given format. The file is sent with {@code sendfile} when
+     * the container supports it, and otherwise with {@link FileChannel#transferTo}.
+     *
+     * @param format {@code csv} or {@code ndjson}
+     * @return a {@link ResponseEntity} with the file as its body,
+     *         a bad request response if the format is unknown,
+     *         a not found response if no file has been written in that format,
+     *         a service unavailable response if it would be copied and {@code maxStreams} exports are already being
+     *         written,
+     *         or an internal server error response if the file cannot be opened.
+     */
+    @GetMapping("/export/file")
+    public ResponseEntity<StreamingResponseBody> getExportFile(
+            @RequestParam(defaultValue = "ndjson") String format, HttpServletRequest request) {
+        final ExportFormat exportFormat = parseFormat(format);
+        if (exportFormat == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        final EmployeeExporter.ExportFile file = exporter.latest(exportFormat);
+        if (file == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        final HttpHeaders headers = exportHeaders(exportFormat);
+        headers.setContentLength(file.bytes());
+        try {
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+                request.setAttribute(SENDFILE_FILENAME, file.path().toRealPath().toString());
+                request.setAttribute(SENDFILE_START, 0L);
+                request.setAttribute(SENDFILE_END, file.bytes());
+                return ResponseEntity.ok().headers(headers).build();
+            }
+            if (!streams.tryAcquire()) {
+                return busy();
+            }
+            final FileChannel channel;
+            try {
+                // Opened now so that the file sent is the one described by the headers, whatever is exported meanwhile
+                channel = FileChannel.open(file.path(), StandardOpenOption.READ);
+            } catch (Exception e) {
+                streams.release();
+                throw e;
+            }
+            return ResponseEntity.ok().headers(headers).body(out -> {
+                try (channel) {
+                    EmployeeExporter.transfer(channel, file.bytes(), Channels.newChannel(out));
+                } finally {
+                    streams.release();
+                }
+            });
+        } catch (Exception e) {
+            log.error("Failed to open export file {}", file.path(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    private <T> ResponseEntity<T> busy() {
+        log.debug("Rejecting export while the maximum number are being written");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds)
+                .build();
+    }
+
+    private static ExportFormat parseFormat(String format) {
+        try {
+            return ExportFormat.parse(format);
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid export format {}", format);
+            return null;
+        }
+    }
+
+    private static HttpHeaders exportHeaders(ExportFormat format) {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(format.mediaType()));
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename("employees" + format.extension())
+                .build());
+        return headers;
+    }
+}
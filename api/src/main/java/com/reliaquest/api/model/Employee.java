@@ -1,8 +1,8 @@
 package com.reliaquest.api.model;
 
 import com.reliaquest.api.controller.dto.EmployeeCreationInput;
+import com.reliaquest.api.util.UuidV7Generator;
 import java.util.Objects;
-import java.util.UUID;
 
 public record Employee(
         String id,
@@ -20,6 +20,6 @@ public record Employee(
 
     public static Employee fromCreationInput(EmployeeCreationInput input) {
         return new Employee(
-                UUID.randomUUID().toString(), input.name(), input.salary(), input.age(), input.title(), input.email());
+                UuidV7Generator.nextId(), input.name(), input.salary(), input.age(), input.title(), input.email());
     }
 }
@@ -0,0 +1,12 @@
+package com.reliaquest.api.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of looking up several employees by id at once.
+ *
+ * @param found employees that exist, by id, in the order their ids were requested
+ * @param missing requested ids with no employee, in request order
+ */
+public record EmployeeLookup(Map<String, Employee> found, List<String> missing) {}
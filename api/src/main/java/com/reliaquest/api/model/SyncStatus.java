@@ -0,0 +1,29 @@
+package com.reliaquest.api.model;
+
+/**
+ * Whether an employee created here has reached upstream.
+ *
+ * @param attempts number of requests to upstream that included the employee and failed as a whole
+ * @param error why upstream rejected the employee, for {@link State#FAILED}
+ */
+public record SyncStatus(String id, State state, int attempts, String error) {
+
+    public enum State {
+        /**
+         * Accepted here and queued; not yet confirmed by upstream.
+         */
+        PENDING,
+        /**
+         * Held by upstream.
+         */
+        SYNCED,
+        /**
+         * Rejected by upstream; it will not be sent again.
+         */
+        FAILED
+    }
+
+    public static SyncStatus synced(String id) {
+        return new SyncStatus(id, State.SYNCED, 0, null);
+    }
+}
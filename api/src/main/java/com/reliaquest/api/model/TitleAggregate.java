@@ -0,0 +1,7 @@
+package com.reliaquest.api.model;
+
+/**
+ * Salary and age statistics for all employees sharing a job title.
+ */
+public record TitleAggregate(
+        String title, int headcount, double averageSalary, int minSalary, int maxSalary, double averageAge) {}
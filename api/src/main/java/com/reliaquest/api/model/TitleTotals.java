@@ -0,0 +1,31 @@
+package com.reliaquest.api.model;
+
+/**
+ * Raw totals behind a {@link TitleAggregate}. Unlike the averages they yield, totals from disjoint sets of employees
+ * can be merged, so each cluster member reports these for its own partition.
+ */
+public record TitleTotals(String title, int headcount, long salarySum, int minSalary, int maxSalary, long ageSum) {
+
+    /**
+     * @return totals over the employees of both, which must hold the same title and no common employee
+     */
+    public TitleTotals merge(TitleTotals other) {
+        return new TitleTotals(
+                title,
+                headcount + other.headcount,
+                salarySum + other.salarySum,
+                Math.min(minSalary, other.minSalary),
+                Math.max(maxSalary, other.maxSalary),
+                ageSum + other.ageSum);
+    }
+
+    public TitleAggregate toAggregate() {
+        return new TitleAggregate(
+                title,
+                headcount,
+                (double) salarySum / headcount,
+                minSalary,
+                maxSalary,
+                (double) ageSum / headcount);
+    }
+}
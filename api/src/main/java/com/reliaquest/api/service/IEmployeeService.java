@@ -1,8 +1,22 @@
 package com.reliaquest.api.service;
 
 import com.reliaquest.api.controller.dto.EmployeeCreationInput;
+import com.reliaquest.api.controller.dto.EmployeeQuery;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeLookup;
+import com.reliaquest.api.model.SyncStatus;
+import com.reliaquest.api.model.TitleAggregate;
+import com.reliaquest.api.service.aggregate.TitleAggregates;
+import com.reliaquest.api.service.index.FuzzyNameIndex;
+import com.reliaquest.api.util.UuidV7Generator;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 public interface IEmployeeService { // TODO: add documentation
     /**
@@ -20,6 +34,22 @@ public interface IEmployeeService { // TODO: add documentation
      */
     List<Employee> getEmployeesByNameSearch(String searchString);
 
+    /**
+     * Retrieves employees whose names approximately match the given search string, tolerating typos.
+     * The default implementation indexes {@link #getAllEmployees()} for the call; stores that keep a
+     * {@link FuzzyNameIndex} current override it.
+     *
+     * @param searchString one or more name fragments, matched case-insensitively
+     * @param maxDistance largest edit distance tolerated per fragment, at most {@link FuzzyNameIndex#MAX_DISTANCE}
+     * @param limit maximum number of employees to return
+     * @return matching {@link Employee} objects, closest match first.
+     */
+    default List<Employee> getEmployeesByFuzzyNameSearch(String searchString, int maxDistance, int limit) {
+        FuzzyNameIndex index = new FuzzyNameIndex();
+        getAllEmployees().forEach(index::add);
+        return index.search(searchString, maxDistance, limit);
+    }
+
     /**
      * Retrieves a single employee by their unique identifier.
      *
@@ -28,6 +58,24 @@ public interface IEmployeeService { // TODO: add documentation
      */
     Employee getEmployeeById(String id);
 
+    /**
+     * Retrieves several employees by id in one call. Duplicate ids are looked up once. The default implementation
+     * calls {@link #getEmployeeById(String)} per id; stores override it to resolve every id in one pass.
+     *
+     * @param ids the employees' IDs
+     * @return the {@link EmployeeLookup} splitting the ids into found employees and missing ids.
+     */
+    default EmployeeLookup getEmployeesByIds(Collection<String> ids) {
+        Map<String, Employee> found = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String id : new LinkedHashSet<>(ids)) {
+            Employee employee = getEmployeeById(id);
+            if (employee == null) missing.add(id);
+            else found.put(id, employee);
+        }
+        return new EmployeeLookup(found, missing);
+    }
+
     /**
      * Determines the highest salary among all employees.
      *
@@ -43,6 +91,67 @@ public interface IEmployeeService { // TODO: add documentation
      */
     List<String> getTopTenHighestEarningEmployeeNames();
 
+    /**
+     * Retrieves employees matching every criterion of the query, sorted and limited as requested.
+     * The default implementation filters {@link #getAllEmployees()}; stores with secondary indexes override it.
+     *
+     * @param query the criteria, sort order and limit
+     * @return at most {@code query.limit()} matching {@link Employee} objects.
+     */
+    default List<Employee> queryEmployees(EmployeeQuery query) {
+        Stream<Employee> matches = getAllEmployees().stream().filter(query::matches);
+        Comparator<Employee> comparator = query.comparator();
+        if (comparator != null) matches = matches.sorted(comparator);
+        return matches.limit(query.limit()).toList();
+    }
+
+    /**
+     * Retrieves employees created within a time interval, based on the timestamp in their time-ordered ids.
+     * Employees whose ids carry no timestamp are never returned. The default implementation filters
+     * {@link #getAllEmployees()}; stores with an ordered id index override it.
+     *
+     * @param sinceMillis inclusive lower bound in epoch milliseconds
+     * @param untilMillis exclusive upper bound in epoch milliseconds
+     * @param limit maximum number of employees to return
+     * @return matching {@link Employee} objects, oldest first.
+     */
+    default List<Employee> getEmployeesCreatedBetween(long sinceMillis, long untilMillis, int limit) {
+        return getAllEmployees().stream()
+                .filter(employee -> {
+                    long createdAt = UuidV7Generator.timestampOf(employee.id());
+                    return createdAt >= 0 && createdAt >= sinceMillis && createdAt < untilMillis;
+                })
+                .sorted(Comparator.comparing(Employee::id))
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Retrieves headcount, salary and age statistics grouped by job title.
+     * The default implementation aggregates {@link #getAllEmployees()}; stores that maintain
+     * {@link TitleAggregates} incrementally override it.
+     *
+     * @return one {@link TitleAggregate} per title, ordered by title.
+     */
+    default List<TitleAggregate> getTitleAggregates() {
+        TitleAggregates aggregates = new TitleAggregates();
+        getAllEmployees().forEach(aggregates::add);
+        return aggregates.getAll();
+    }
+
+    /**
+     * Retrieves headcount, salary and age statistics for a single job title.
+     *
+     * @param title the exact job title
+     * @return the title's {@link TitleAggregate}, or {@code null} if no employee holds it.
+     */
+    default TitleAggregate getTitleAggregate(String title) {
+        return getTitleAggregates().stream()
+                .filter(aggregate -> aggregate.title().equals(title))
+                .findFirst()
+                .orElse(null);
+    }
+
     /**
      * Creates a new employee using the provided input data and stores it in the mock table.
      *
@@ -51,6 +160,18 @@ public interface IEmployeeService { // TODO: add documentation
      */
     Employee createEmployee(EmployeeCreationInput employeeInput);
 
+    /**
+     * Reports whether an employee created through this service has reached upstream. The default implementation
+     * does not push creates to upstream and reports nothing.
+     *
+     * @param id the employee's ID
+     * @return the employee's {@link SyncStatus}, or {@code null} if creates are not pushed to upstream or the
+     *         employee does not exist.
+     */
+    default SyncStatus getSyncStatus(String id) {
+        return null;
+    }
+
     /**
      * Deletes an employee with the given identifier.
      *
@@ -0,0 +1,126 @@
+package com.reliaquest.api.service.aggregate;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.TitleAggregate;
+import com.reliaquest.api.model.TitleTotals;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-title salary and age statistics, maintained incrementally as employees are added and removed rather than
+ * computed by scanning. Counts and sums update in constant time; min and max come from a per-title salary multiset so
+ * they stay correct when the current extreme is removed, at logarithmic cost in the number of distinct salaries.
+ *
+ * <p>Mutations must be serialized by the owning store. Reads may run concurrently with each other but not with
+ * mutations; the full group table is cached until the next mutation.
+ */
+public class TitleAggregates {
+
+    private final Map<String, Accumulator> accumulators = new HashMap<>();
+    private volatile List<TitleAggregate> snapshot = List.of();
+
+    public void add(Employee employee) {
+        accumulators
+                .computeIfAbsent(employee.employee_title(), ignored -> new Accumulator())
+                .add(employee);
+        snapshot = null;
+    }
+
+    public void remove(Employee employee) {
+        final Accumulator accumulator = accumulators.get(employee.employee_title());
+        if (accumulator != null && accumulator.remove(employee)) {
+            if (accumulator.headcount == 0) {
+                accumulators.remove(employee.employee_title());
+            }
+            snapshot = null;
+        }
+    }
+
+    public void clear() {
+        accumulators.clear();
+        snapshot = null;
+    }
+
+    /**
+     * @return statistics for every title, ordered by title
+     */
+    public List<TitleAggregate> getAll() {
+        List<TitleAggregate> aggregates = snapshot;
+        if (aggregates == null) {
+            aggregates = accumulators.entrySet().stream()
+                    .map(entry -> entry.getValue().toAggregate(entry.getKey()))
+                    .sorted(Comparator.comparing(TitleAggregate::title))
+                    .toList();
+            snapshot = aggregates;
+        }
+        return aggregates;
+    }
+
+    /**
+     * @return statistics for the given title, or {@code null} if no employee holds it
+     */
+    public TitleAggregate get(String title) {
+        final Accumulator accumulator = accumulators.get(title);
+        return accumulator == null ? null : accumulator.toAggregate(title);
+    }
+
+    /**
+     * @return totals for every title, ordered by title, for merging with another store's
+     */
+    public List<TitleTotals> getAllTotals() {
+        return accumulators.entrySet().stream()
+                .map(entry -> entry.getValue().toTotals(entry.getKey()))
+                .sorted(Comparator.comparing(TitleTotals::title))
+                .toList();
+    }
+
+    /**
+     * @return totals for the given title, or {@code null} if no employee holds it
+     */
+    public TitleTotals getTotals(String title) {
+        final Accumulator accumulator = accumulators.get(title);
+        return accumulator == null ? null : accumulator.toTotals(title);
+    }
+
+    private static final class Accumulator {
+        private int headcount;
+        private long salarySum;
+        private long ageSum;
+        private final TreeMap<Integer, Integer> salaries = new TreeMap<>();
+
+        void add(Employee employee) {
+            headcount++;
+            salarySum += employee.employee_salary();
+            ageSum += employee.employee_age();
+            salaries.merge(employee.employee_salary(), 1, Integer::sum);
+        }
+
+        boolean remove(Employee employee) {
+            final int salary = employee.employee_salary();
+            final Integer count = salaries.get(salary);
+            if (count == null) {
+                return false;
+            }
+            if (count == 1) {
+                salaries.remove(salary);
+            } else {
+                salaries.put(salary, count - 1);
+            }
+            headcount--;
+            salarySum -= salary;
+            ageSum -= employee.employee_age();
+            return true;
+        }
+
+        TitleAggregate toAggregate(String title) {
+            return toTotals(title).toAggregate();
+        }
+
+        TitleTotals toTotals(String title) {
+            return new TitleTotals(title, headcount, salarySum, salaries.firstKey(), salaries.lastKey(), ageSum);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.reliaquest.api.service.cache;
+
+import com.reliaquest.api.config.NearCacheProperties;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.util.WTinyLfuCache;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded cache of employees read from upstream by id, kept in a {@link WTinyLfuCache} so that a heap too small for
+ * every employee holds the ones looked up most often. It is bounded by entry count, or by the heap its employees are
+ * estimated to retain when {@code maxBytes} is set, and entries expire a fixed time after they were read.
+ *
+ * <p>Employees are read from upstream without holding any lock, so a delete can land between the read and
+ * {@link #put}. Every {@link #invalidate} therefore leaves a tombstone with an increasing stamp, and a read of that id
+ * started before the stamp is not cached; reads of other ids are unaffected. Only the latest {@code MAX_TOMBSTONES}
+ * are kept, and a read started before the newest one dropped is not cached at all. When disabled, nothing is cached
+ * and every lookup misses.
+ */
+@Slf4j
+@Component
+public class EmployeeNearCache {
+
+    /**
+     * Rough per-entry cost of the cache's own bookkeeping: its list node, the hash table entry and the table slot.
+     */
+    private static final long ENTRY_OVERHEAD_BYTES = 96;
+
+    /**
+     * Invalidations remembered per id. Only a read still in flight after this many later deletes loses its put.
+     */
+    static final int MAX_TOMBSTONES = 4096;
+
+    /**
+     * @param boundedBy {@code "entries"} or {@code "bytes"}
+     * @param weightedSize current size in the unit the cache is bounded by
+     * @param maximumWeight capacity in that unit
+     * @param estimatedBytes heap the cached employees and their entries are estimated to retain
+     * @param sketchBytes memory held by the frequency sketch
+     * @param evictions employees dropped to stay within the capacity, including ones never admitted
+     * @param expirations employees dropped because they were read after expiring
+     * @param invalidations employees dropped by local creates and deletes
+     */
+    public record Stats(
+            boolean enabled,
+            String boundedBy,
+            int entries,
+            long weightedSize,
+            long maximumWeight,
+            long estimatedBytes,
+            long sketchBytes,
+            long hits,
+            long misses,
+            double hitRate,
+            long evictions,
+            long expirations,
+            long invalidations) {}
+
+    private final NearCacheProperties properties;
+    private final WTinyLfuCache<String, Employee> cache;
+    private final LongAdder invalidations = new LongAdder();
+
+    /*
+     * Guarded by this. Stamps count invalidations; tombstones map ids to the stamp of their latest invalidation, oldest
+     * first, and reads started before droppedBefore may have missed a tombstone that was dropped.
+     */
+    private final Map<String, Long> tombstones = new LinkedHashMap<>();
+    private long stamp;
+    private long droppedBefore;
+
+    @Autowired
+    public EmployeeNearCache(NearCacheProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    EmployeeNearCache(NearCacheProperties properties, LongSupplier nanoClock) {
+        this.properties = properties;
+        if (!properties.enabled()) {
+            this.cache = null;
+            return;
+        }
+        this.cache = boundedByBytes()
+                ? new WTinyLfuCache<>(
+                        properties.maxBytes(),
+                        EmployeeNearCache::estimateBytes,
+                        properties.maxEntries(),
+                        properties.expireAfterWrite(),
+                        nanoClock)
+                : new WTinyLfuCache<>(
+                        properties.maxEntries(),
+                        employee -> 1,
+                        properties.maxEntries(),
+                        properties.expireAfterWrite(),
+                        nanoClock);
+        log.info("Near cache enabled: {}", properties);
+    }
+
+    /**
+     * @return a cache that holds nothing
+     */
+    public static EmployeeNearCache disabled() {
+        return new EmployeeNearCache(new NearCacheProperties(false, 1, 0, Duration.ZERO, 1));
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * @return the cached employee, or {@code null} if it has to be read from upstream
+     */
+    public Employee get(String id) {
+        return cache == null ? null : cache.get(id);
+    }
+
+    /**
+     * @return token to pass to {@link #put} for an employee about to be read from upstream
+     */
+    public synchronized long stamp() {
+        return stamp;
+    }
+
+    /**
+     * Caches an employee read from upstream, unless its id was invalidated since the read began.
+     *
+     * @param readStamp the {@link #stamp} taken before the read
+     */
+    public synchronized void put(Employee employee, long readStamp) {
+        if (cache == null || readStamp < droppedBefore) {
+            return;
+        }
+        final Long invalidated = tombstones.get(employee.id());
+        if (invalidated == null || invalidated <= readStamp) {
+            cache.put(employee.id(), employee);
+        }
+    }
+
+    /**
+     * Drops {@code id} from the cache and keeps reads of it already in flight from caching it again.
+     */
+    public synchronized void invalidate(String id) {
+        if (cache == null) {
+            return;
+        }
+        // Re-inserted so the tombstones stay ordered by stamp
+        tombstones.remove(id);
+        tombstones.put(id, ++stamp);
+        if (tombstones.size() > MAX_TOMBSTONES) {
+            final var oldest = tombstones.entrySet().iterator();
+            droppedBefore = oldest.next().getValue();
+            oldest.remove();
+        }
+        cache.invalidate(id);
+        invalidations.increment();
+    }
+
+    public Stats stats() {
+        if (cache == null) {
+            return new Stats(false, null, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+        }
+        final WTinyLfuCache.Stats stats = cache.stats();
+        return new Stats(
+                true,
+                boundedByBytes() ? "bytes" : "entries",
+                stats.entries(),
+                stats.weightedSize(),
+                stats.maximumWeight(),
+                boundedByBytes() ? stats.weightedSize() : cache.sumOf(EmployeeNearCache::estimateBytes),
+                stats.sketchBytes(),
+                stats.hits(),
+                stats.misses(),
+                stats.hitRate(),
+                stats.evictions(),
+                stats.expirations(),
+                invalidations.sum());
+    }
+
+    /**
+     * Estimates the heap retained by a cached employee, assuming compressed references and strings that fit one byte
+     * per character.
+     */
+    static long estimateBytes(Employee employee) {
+        return ENTRY_OVERHEAD_BYTES
+                + 40 // the record: header, four references and two ints
+                + stringBytes(employee.id())
+                + stringBytes(employee.employee_name())
+                + stringBytes(employee.employee_title())
+                + stringBytes(employee.employee_email());
+    }
+
+    private static long stringBytes(String value) {
+        // String object plus its byte array header and contents, padded to 8 bytes
+        return value == null ? 0 : 24 + ((16 + value.length() + 7) & ~7L);
+    }
+
+    private boolean boundedByBytes() {
+        return properties.maxBytes() > 0;
+    }
+}
@@ -0,0 +1,194 @@
+package com.reliaquest.api.service.cache;
+
+import com.reliaquest.api.config.NegativeLookupProperties;
+import com.reliaquest.api.util.CountingBloomFilter;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tells lookups of unknown ids apart from lookups of stored ones before the store is consulted. A
+ * {@link CountingBloomFilter} over every stored id answers most unknown ids outright; ids that get past it but are
+ * then not found (false positives) are remembered for a short TTL so repeated lookups of them are answered
+ * directly too.
+ *
+ * <p>The owning store calls {@link #added}, {@link #removed}, {@link #recordMiss} and {@link #rebuild} under its own
+ * lock, {@code recordMiss} under the read lock and the others under the write lock, so a miss can never be recorded
+ * for an id that a concurrent write has just stored. {@link #isKnownAbsent} is lock-free. When disabled, every
+ * method is a no-op and nothing is ever reported absent.
+ */
+@Slf4j
+@Component
+public class NegativeLookupCache {
+
+    /**
+     * @param trackedIds ids currently in the Bloom filter
+     * @param capacity ids the Bloom filter is sized for
+     * @param filterBytes memory held by the Bloom filter counters
+     * @param cachedMisses ids currently remembered as missing
+     * @param expectedFalsePositiveRate false-positive rate predicted from the filter's size and fill
+     * @param observedFalsePositiveRate share of unknown-id lookups that got past the filter
+     * @param definiteMisses lookups answered by the Bloom filter
+     * @param negativeCacheHits lookups answered by a remembered miss
+     * @param falsePositives lookups that got past the filter and found nothing
+     */
+    public record Stats(
+            boolean enabled,
+            long trackedIds,
+            int capacity,
+            int hashFunctions,
+            long filterBytes,
+            int cachedMisses,
+            double expectedFalsePositiveRate,
+            double observedFalsePositiveRate,
+            long definiteMisses,
+            long negativeCacheHits,
+            long falsePositives) {}
+
+    private final NegativeLookupProperties properties;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+
+    private volatile CountingBloomFilter filter;
+    private final Map<String, Long> missExpiryNanos = new ConcurrentHashMap<>();
+
+    private final LongAdder definiteMisses = new LongAdder();
+    private final LongAdder negativeCacheHits = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    @Autowired
+    public NegativeLookupCache(NegativeLookupProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    NegativeLookupCache(NegativeLookupProperties properties, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.ttlNanos = properties.ttl().toNanos();
+        this.nanoClock = nanoClock;
+        this.filter = properties.enabled()
+                ? new CountingBloomFilter(properties.expectedEmployees(), properties.falsePositiveRate())
+                : null;
+    }
+
+    /**
+     * @return a cache that never reports an id absent
+     */
+    public static NegativeLookupCache disabled() {
+        return new NegativeLookupCache(new NegativeLookupProperties(false, 1, 0.5, Duration.ZERO, 0));
+    }
+
+    public boolean isEnabled() {
+        return filter != null;
+    }
+
+    /**
+     * @return {@code true} if {@code id} is certainly not stored, {@code false} if it has to be looked up
+     */
+    public boolean isKnownAbsent(String id) {
+        final CountingBloomFilter current = filter;
+        if (current == null) {
+            return false;
+        }
+        if (!current.mightContain(id)) {
+            definiteMisses.increment();
+            return true;
+        }
+        final Long expiresAt = missExpiryNanos.get(id);
+        if (expiresAt != null) {
+            if (nanoClock.getAsLong() - expiresAt < 0) {
+                negativeCacheHits.increment();
+                return true;
+            }
+            missExpiryNanos.remove(id, expiresAt);
+        }
+        return false;
+    }
+
+    /**
+     * Records that {@code id} got past {@link #isKnownAbsent} but was not found.
+     */
+    public void recordMiss(String id) {
+        if (filter == null) {
+            return;
+        }
+        falsePositives.increment();
+        final long now = nanoClock.getAsLong();
+        if (missExpiryNanos.size() >= properties.maxCachedMisses()) {
+            missExpiryNanos.values().removeIf(expiresAt -> now - expiresAt >= 0);
+            if (missExpiryNanos.size() >= properties.maxCachedMisses()) {
+                return;
+            }
+        }
+        missExpiryNanos.put(id, now + ttlNanos);
+    }
+
+    /**
+     * Records that {@code id} is about to be stored. Must be called before the id becomes visible in the store.
+     *
+     * @return {@code true} if the filter now holds more ids than it was sized for and should be
+     *     {@link #rebuild rebuilt}
+     */
+    public boolean added(String id) {
+        final CountingBloomFilter current = filter;
+        if (current == null) {
+            return false;
+        }
+        current.add(id);
+        missExpiryNanos.remove(id);
+        return current.size() > current.capacity();
+    }
+
+    /**
+     * Records that {@code id}, previously {@link #added}, has been removed from the store.
+     */
+    public void removed(String id) {
+        final CountingBloomFilter current = filter;
+        if (current != null) {
+            current.remove(id);
+        }
+    }
+
+    /**
+     * Replaces the filter with one built from {@code ids}, sized with room for the store to double, and forgets every
+     * remembered miss.
+     */
+    public void rebuild(Collection<String> ids) {
+        if (filter == null) {
+            return;
+        }
+        final int capacity =
+                Math.max(properties.expectedEmployees(), (int) Math.min(Integer.MAX_VALUE, 2L * ids.size()));
+        final CountingBloomFilter rebuilt = new CountingBloomFilter(capacity, properties.falsePositiveRate());
+        ids.forEach(rebuilt::add);
+        filter = rebuilt;
+        missExpiryNanos.clear();
+        log.debug("Rebuilt negative-lookup filter for {} ids ({} bytes)", ids.size(), rebuilt.memoryBytes());
+    }
+
+    public Stats stats() {
+        final CountingBloomFilter current = filter;
+        if (current == null) {
+            return new Stats(false, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+        }
+        final long definite = definiteMisses.sum();
+        final long passed = falsePositives.sum();
+        return new Stats(
+                true,
+                current.size(),
+                current.capacity(),
+                current.hashFunctions(),
+                current.memoryBytes(),
+                missExpiryNanos.size(),
+                current.expectedFalsePositiveRate(),
+                definite + passed == 0 ? 0 : (double) passed / (definite + passed),
+                definite,
+                negativeCacheHits.sum(),
+                passed);
+    }
+}
@@ -0,0 +1,224 @@
+package com.reliaquest.api.service.export;
+
+import com.reliaquest.api.config.ExportProperties;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.IEmployeeService;
+import com.reliaquest.api.util.UuidV7Generator;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes the employee store as CSV or NDJSON to any {@link WritableByteChannel}, an HTTP response or a file.
+ *
+ * <p>An export works from a snapshot: the list of employee references returned by
+ * {@link IEmployeeService#getAllEmployees()}, copied under the store's read lock. Employees are immutable, so the
+ * export is consistent as of that instant, and writers are held up only for the copy, not while rows are written.
+ * Rows are encoded one at a time into a single {@code chunkBytes} buffer that is written to the channel each time it
+ * fills, so the heap never holds more than one row of text and one chunk of bytes, whatever the size of the store.
+ *
+ * <p>Export files are written to a temporary file and moved into place once complete, under a new name each time.
+ * The previous file for a format is kept until the next export completes, so a response still sending it is not cut
+ * short. Files left in the directory by earlier runs, including partial ones, are deleted before the first export
+ * to file; instances sharing a host therefore need directories of their own.
+ */
+@Slf4j
+@Component
+public class EmployeeExporter {
+
+    /**
+     * @param employees number of employees written
+     * @param bytes size of the file
+     * @param writtenAt when the snapshot the file was written from was taken
+     */
+    public record ExportFile(ExportFormat format, Path path, int employees, long bytes, Instant writtenAt) {}
+
+    private static final int MIN_CHUNK_BYTES = 16;
+    private static final String FILE_PREFIX = "employees-";
+
+    private final IEmployeeService employeeService;
+    private final Path directory;
+    private final int chunkBytes;
+    private final Instant startedAt = Instant.now();
+    private boolean cleanedUp;
+
+    private final Map<ExportFormat, ExportFile> latest = new ConcurrentHashMap<>();
+    private final Map<ExportFormat, ExportFile> retired = new ConcurrentHashMap<>();
+
+    public EmployeeExporter(IEmployeeService employeeService, ExportProperties properties) {
+        if (properties.chunkBytes() < MIN_CHUNK_BYTES) {
+            throw new IllegalArgumentException("chunkBytes must be at least " + MIN_CHUNK_BYTES);
+        }
+        this.employeeService = employeeService;
+        this.directory = properties.directory();
+        this.chunkBytes = properties.chunkBytes();
+    }
+
+    /**
+     * @return the employees to export, as of now
+     */
+    public List<Employee> snapshot() {
+        return employeeService.getAllEmployees();
+    }
+
+    /**
+     * Writes {@code employees} to {@code channel} in {@code format}. The channel is not closed.
+     *
+     * @return number of bytes written
+     */
+    public long write(Collection<Employee> employees, ExportFormat format, WritableByteChannel channel)
+            throws IOException {
+        final ChunkedWriter writer = new ChunkedWriter(channel, chunkBytes);
+        final StringBuilder line = new StringBuilder(256);
+        format.appendHeader(line);
+        writer.write(line);
+        for (final Employee employee : employees) {
+            line.setLength(0);
+            format.appendLine(line, employee);
+            writer.write(line);
+        }
+        return writer.finish();
+    }
+
+    /**
+     * Writes a snapshot of the store to a new file in the export directory, replacing the latest export file for
+     * {@code format}. Exports to file run one at a time.
+     */
+    public synchronized ExportFile exportToFile(ExportFormat format) throws IOException {
+        Files.createDirectories(directory);
+        if (!cleanedUp) {
+            deleteEarlierFiles();
+            cleanedUp = true;
+        }
+        final Instant writtenAt = Instant.now();
+        final List<Employee> employees = snapshot();
+        final Path temp = Files.createTempFile(directory, FILE_PREFIX, format.extension() + ".tmp");
+        final long bytes;
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            bytes = write(employees, format, channel);
+            channel.force(false);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        final Path path = directory.resolve(FILE_PREFIX + UuidV7Generator.nextId() + format.extension());
+        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE);
+
+        final ExportFile file = new ExportFile(format, path, employees.size(), bytes, writtenAt);
+        final ExportFile previous = latest.put(format, file);
+        final ExportFile expired = previous == null ? retired.remove(format) : retired.put(format, previous);
+        if (expired != null) {
+            Files.deleteIfExists(expired.path());
+        }
+        log.info("Exported {} employees as {} to {} ({} bytes)", employees.size(), format, path, bytes);
+        return file;
+    }
+
+    /*
+     * Files last modified before this instance started cannot be ones it wrote, or be in the middle of being written.
+     */
+    private void deleteEarlierFiles() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, FILE_PREFIX + "*")) {
+            for (final Path file : files) {
+                if (Files.getLastModifiedTime(file).toInstant().isBefore(startedAt)) {
+                    log.info("Deleting export file {} left by an earlier run", file);
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the most recent export file for {@code format}, or {@code null} if none was written by this instance
+     */
+    public ExportFile latest(ExportFormat format) {
+        return latest.get(format);
+    }
+
+    /**
+     * Copies {@code size} bytes from the start of {@code source} to {@code target} with
+     * {@link FileChannel#transferTo}, which the operating system performs without copying through the heap when the
+     * target is a file or socket channel.
+     */
+    public static void transfer(FileChannel source, long size, WritableByteChannel target) throws IOException {
+        long position = 0;
+        while (position < size) {
+            position += source.transferTo(position, size - position, target);
+        }
+    }
+
+    /**
+     * Encodes text as UTF-8 into a fixed buffer, writing the buffer to the channel whenever it fills.
+     */
+    private static final class ChunkedWriter {
+
+        private final WritableByteChannel channel;
+        private final ByteBuffer buffer;
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8
+                .newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private long bytes;
+
+        ChunkedWriter(WritableByteChannel channel, int chunkBytes) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocateDirect(chunkBytes);
+        }
+
+        void write(CharSequence text) throws IOException {
+            encode(CharBuffer.wrap(text), false);
+        }
+
+        /**
+         * @return total number of bytes written
+         */
+        long finish() throws IOException {
+            encode(CharBuffer.allocate(0), true);
+            while (encoder.flush(buffer).isOverflow()) {
+                drain();
+            }
+            drain();
+            return bytes;
+        }
+
+        private void encode(CharBuffer chars, boolean endOfInput) throws IOException {
+            while (true) {
+                final CoderResult result = encoder.encode(chars, buffer, endOfInput);
+                if (result.isUnderflow()) {
+                    return;
+                }
+                if (result.isOverflow()) {
+                    drain();
+                } else {
+                    result.throwException();
+                }
+            }
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                bytes += channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.reliaquest.api.service.export;
+
+import com.reliaquest.api.model.Employee;
+import java.util.Locale;
+
+/**
+ * Line-oriented formats an export can be written in. Each employee is one line, so a reader can process an export of
+ * any size as it arrives.
+ */
+public enum ExportFormat {
+    /**
+     * RFC 4180 comma-separated values with a header line. Fields containing a comma, quote or line break are quoted.
+     */
+    CSV("text/csv", ".csv") {
+        @Override
+        public void appendHeader(StringBuilder line) {
+            line.append("id,employee_name,employee_salary,employee_age,employee_title,employee_email\r\n");
+        }
+
+        @Override
+        public void appendLine(StringBuilder line, Employee employee) {
+            appendCsv(line, employee.id());
+            line.append(',');
+            appendCsv(line, employee.employee_name());
+            line.append(',').append(employee.employee_salary());
+            line.append(',').append(employee.employee_age());
+            line.append(',');
+            appendCsv(line, employee.employee_title());
+            line.append(',');
+            appendCsv(line, employee.employee_email());
+            line.append("\r\n");
+        }
+    },
+
+    /**
+     * Newline-delimited JSON: one employee object per line, with the same field names as the API's responses.
+     */
+    NDJSON("application/x-ndjson", ".ndjson") {
+        @Override
+        public void appendHeader(StringBuilder line) {}
+
+        @Override
+        public void appendLine(StringBuilder line, Employee employee) {
+            line.append("{\"id\":");
+            appendJson(line, employee.id());
+            line.append(",\"employee_name\":");
+            appendJson(line, employee.employee_name());
+            line.append(",\"employee_salary\":").append(employee.employee_salary());
+            line.append(",\"employee_age\":").append(employee.employee_age());
+            line.append(",\"employee_title\":");
+            appendJson(line, employee.employee_title());
+            line.append(",\"employee_email\":");
+            appendJson(line, employee.employee_email());
+            line.append("}\n");
+        }
+    };
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final String mediaType;
+    private final String extension;
+
+    ExportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String mediaType() {
+        return mediaType;
+    }
+
+    /**
+     * @return file name extension, including the leading dot
+     */
+    public String extension() {
+        return extension;
+    }
+
+    /**
+     * @param name format name, case-insensitive
+     * @throws IllegalArgumentException if no format has that name
+     */
+    public static ExportFormat parse(String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Appends whatever precedes the first employee, including its line break; nothing for formats without a header.
+     */
+    public abstract void appendHeader(StringBuilder line);
+
+    /**
+     * Appends one employee, including the trailing line break.
+     */
+    public abstract void appendLine(StringBuilder line, Employee employee);
+
+    private static void appendCsv(StringBuilder line, String value) {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            final char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (!quote) {
+            line.append(value);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == '"') line.append('"');
+            line.append(c);
+        }
+        line.append('"');
+    }
+
+    private static void appendJson(StringBuilder line, String value) {
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            switch (c) {
+                case '"' -> line.append("\\\"");
+                case '\\' -> line.append("\\\\");
+                case '\n' -> line.append("\\n");
+                case '\r' -> line.append("\\r");
+                case '\t' -> line.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        line.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                    } else {
+                        line.append(c);
+                    }
+                }
+            }
+        }
+        line.append('"');
+    }
+}
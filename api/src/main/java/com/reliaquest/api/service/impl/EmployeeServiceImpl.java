@@ -1,68 +1,539 @@
 package com.reliaquest.api.service.impl;
 
 import com.reliaquest.api.controller.dto.EmployeeCreationInput;
+import com.reliaquest.api.controller.dto.EmployeeQuery;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeLookup;
+import com.reliaquest.api.model.SyncStatus;
+import com.reliaquest.api.model.TitleAggregate;
+import com.reliaquest.api.model.TitleTotals;
 import com.reliaquest.api.service.IEmployeeService;
+import com.reliaquest.api.service.aggregate.TitleAggregates;
+import com.reliaquest.api.service.cache.NegativeLookupCache;
+import com.reliaquest.api.service.index.EmployeeIndexes;
+import com.reliaquest.api.service.writebehind.WriteBehindQueue;
+import com.reliaquest.api.util.RateLimitedLog;
+import com.reliaquest.api.util.UuidKeyedMap;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.event.Level;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 @Slf4j
 @Service
 public class EmployeeServiceImpl implements IEmployeeService {
 
-    final Map<String, Employee> mockEmployeeTable = new HashMap<>();
+    private static final RateLimitedLog MISSING_ID_LOG =
+            new RateLimitedLog(log, Level.WARN, 10, Duration.ofSeconds(1));
+    private static final RateLimitedLog MISSING_DELETE_LOG =
+            new RateLimitedLog(log, Level.WARN, 10, Duration.ofSeconds(1));
 
+    /**
+     * Employees by id. Ids are UUID strings, so the table stores each key as two longs rather than as a string entry;
+     * see {@link UuidKeyedMap}. Replaced, together with the indexes and aggregates, when a snapshot is committed.
+     */
+    Map<String, Employee> mockEmployeeTable = new UuidKeyedMap<>();
+
+    /**
+     * Secondary indexes over {@link #mockEmployeeTable}, kept in step with it under {@link #lock}.
+     */
+    private EmployeeIndexes indexes = new EmployeeIndexes();
+
+    /**
+     * Per-title statistics over {@link #mockEmployeeTable}, kept in step with it under {@link #lock}.
+     */
+    private TitleAggregates titleAggregates = new TitleAggregates();
+
+    /**
+     * Answers lookups of unknown ids without taking {@link #lock}; updated with {@link #mockEmployeeTable} under it.
+     */
+    private final NegativeLookupCache negativeLookups;
+
+    /**
+     * Creates and deletes made here that upstream does not have yet. Creates are stored as soon as they are queued, and
+     * kept through snapshot loads that do not include them; employees whose delete is queued are left out of them.
+     */
+    private final WriteBehindQueue writeBehind;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public EmployeeServiceImpl() {
+        this(NegativeLookupCache.disabled());
+    }
+
+    public EmployeeServiceImpl(NegativeLookupCache negativeLookups) {
+        this(negativeLookups, WriteBehindQueue.disabled());
+    }
+
+    @Autowired
+    public EmployeeServiceImpl(NegativeLookupCache negativeLookups, WriteBehindQueue writeBehind) {
+        this.negativeLookups = negativeLookups;
+        this.writeBehind = writeBehind;
+        final List<Employee> pending = writeBehind.pending();
+        if (!pending.isEmpty()) {
+            lock.writeLock().lock();
+            try {
+                // Not the overridable putEmployee: an override would run before the subclass's fields are set
+                pending.forEach(this::store);
+                negativeLookups.rebuild(mockEmployeeTable.keySet());
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * @return an unmodifiable copy of the stored employees
+     */
     @Override
     public List<Employee> getAllEmployees() {
-        return new ArrayList<>(mockEmployeeTable.values());
+        lock.readLock().lock();
+        try {
+            // One copy of the references; new ArrayList<>(values()) and List.copyOf would copy them twice
+            return Collections.unmodifiableList(Arrays.asList(mockEmployeeTable.values().toArray(new Employee[0])));
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     @Override
     public List<Employee> getEmployeesByNameSearch(String searchString) {
-        return mockEmployeeTable.values().stream()
-                .filter(employee -> employee.employee_name().contains(searchString))
-                .toList();
+        lock.readLock().lock();
+        try {
+            final List<Employee> matches = new ArrayList<>();
+            for (final Employee employee : mockEmployeeTable.values()) {
+                if (employee.employee_name().contains(searchString)) {
+                    matches.add(employee);
+                }
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Employee> getEmployeesByFuzzyNameSearch(String searchString, int maxDistance, int limit) {
+        lock.readLock().lock();
+        try {
+            return indexes.fuzzyNameSearch(searchString, maxDistance, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     @Override
     public Employee getEmployeeById(String id) {
-        if (!mockEmployeeTable.containsKey(id)) log.warn("No employee found with id {}", id);
-        return mockEmployeeTable.get(id);
+        if (negativeLookups.isKnownAbsent(id)) {
+            MISSING_ID_LOG.log("No employee found with id {}", id);
+            return null;
+        }
+        Employee employee;
+        lock.readLock().lock();
+        try {
+            employee = mockEmployeeTable.get(id);
+            if (employee == null) negativeLookups.recordMiss(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (employee == null) MISSING_ID_LOG.log("No employee found with id {}", id);
+        return employee;
+    }
+
+    @Override
+    public EmployeeLookup getEmployeesByIds(Collection<String> ids) {
+        final Set<String> requested = new LinkedHashSet<>(ids);
+        final Map<String, Employee> found = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            for (final String id : requested) {
+                if (negativeLookups.isKnownAbsent(id)) {
+                    continue;
+                }
+                final Employee employee = mockEmployeeTable.get(id);
+                if (employee != null) {
+                    found.put(id, employee);
+                } else {
+                    negativeLookups.recordMiss(id);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        final List<String> missing = requested.stream().filter(id -> !found.containsKey(id)).toList();
+        return new EmployeeLookup(found, missing);
     }
 
     @Override
     public Integer getHighestSalaryOfEmployees() {
-        Integer salary =  mockEmployeeTable.values().stream()
-                .map(Employee::employee_salary)
-                .max(Integer::compareTo)
-                .orElse(null);
+        Integer salary = null;
+        lock.readLock().lock();
+        try {
+            if (!mockEmployeeTable.isEmpty()) {
+                int highest = Integer.MIN_VALUE;
+                for (final Employee employee : mockEmployeeTable.values()) {
+                    highest = Math.max(highest, employee.employee_salary());
+                }
+                salary = highest;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
         if (salary == null) log.warn("No salaries found.");
         return salary;
     }
 
     @Override
     public List<String> getTopTenHighestEarningEmployeeNames() {
-        return mockEmployeeTable.values().stream()
-                .sorted(Comparator.comparingInt(Employee::employee_salary).reversed())
-                .limit(10)
-                .map(Employee::employee_name)
-                .toList();
+        final List<Employee> topEarners = getTopEarners(10);
+        final List<String> names = new ArrayList<>(topEarners.size());
+        for (final Employee employee : topEarners) {
+            names.add(employee.employee_name());
+        }
+        return names;
+    }
+
+    /**
+     * Retrieves the highest-earning employees, sorted by salary in descending order. Employees with equal salaries
+     * keep the table's iteration order.
+     *
+     * <p>Selects them in one pass into an array of {@code limit} slots rather than sorting the whole table, so a call
+     * allocates only the result.
+     *
+     * @param limit maximum number of employees to return
+     * @return at most {@code limit} employees.
+     */
+    public List<Employee> getTopEarners(int limit) {
+        lock.readLock().lock();
+        try {
+            final Employee[] top = new Employee[Math.max(0, Math.min(limit, mockEmployeeTable.size()))];
+            int count = 0;
+            for (final Employee employee : mockEmployeeTable.values()) {
+                final int salary = employee.employee_salary();
+                if (count == top.length && (count == 0 || salary <= top[count - 1].employee_salary())) {
+                    continue;
+                }
+                int position = Math.min(count, top.length - 1);
+                while (position > 0 && top[position - 1].employee_salary() < salary) {
+                    top[position] = top[position - 1];
+                    position--;
+                }
+                top[position] = employee;
+                count = Math.min(count + 1, top.length);
+            }
+            return List.of(top);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Employee> queryEmployees(EmployeeQuery query) {
+        lock.readLock().lock();
+        try {
+            return indexes.execute(query, mockEmployeeTable.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Employee> getEmployeesCreatedBetween(long sinceMillis, long untilMillis, int limit) {
+        lock.readLock().lock();
+        try {
+            return indexes.createdBetween(sinceMillis, untilMillis, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<TitleAggregate> getTitleAggregates() {
+        lock.readLock().lock();
+        try {
+            return titleAggregates.getAll();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public TitleAggregate getTitleAggregate(String title) {
+        lock.readLock().lock();
+        try {
+            return titleAggregates.get(title);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retrieves the totals behind {@link #getTitleAggregates()}, which unlike the aggregates can be merged with
+     * another store's.
+     *
+     * @return one {@link TitleTotals} per title, ordered by title.
+     */
+    public List<TitleTotals> getTitleTotals() {
+        lock.readLock().lock();
+        try {
+            return titleAggregates.getAllTotals();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param title the exact job title
+     * @return the title's {@link TitleTotals}, or {@code null} if no employee holds it.
+     */
+    public TitleTotals getTitleTotals(String title) {
+        lock.readLock().lock();
+        try {
+            return titleAggregates.getTotals(title);
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     @Override
     public Employee createEmployee(EmployeeCreationInput employeeInput) {
         Employee newEmployee = Employee.fromCreationInput(employeeInput);
-        mockEmployeeTable.put(newEmployee.id(), newEmployee);
+        addCreatedEmployee(newEmployee);
         return newEmployee;
     }
 
+    /**
+     * Stores a newly created employee, generated here or by another cluster member for this one to own. With
+     * write-behind enabled, it is queued for upstream before it is stored, so a create that cannot be queued is not
+     * stored either.
+     *
+     * @throws com.reliaquest.api.service.writebehind.WriteBehindFullException if the write-behind queue is full
+     */
+    public void addCreatedEmployee(Employee employee) {
+        writeBehind.enqueue(employee);
+        putEmployee(employee);
+    }
+
+    @Override
+    public SyncStatus getSyncStatus(String id) {
+        if (!writeBehind.isEnabled()) {
+            return null;
+        }
+        final SyncStatus status = writeBehind.status(id);
+        if (status != null) {
+            return status;
+        }
+        return getEmployeeById(id) != null ? SyncStatus.synced(id) : null;
+    }
+
+    /**
+     * Stores an employee created elsewhere, e.g. by another cluster member, under its existing id.
+     *
+     * @param employee the employee to store; replaces any employee with the same id
+     */
+    public void putEmployee(Employee employee) {
+        lock.writeLock().lock();
+        try {
+            // Added to the negative-lookup filter first: lock-free readers must never see a stored id reported absent
+            final boolean filterFull = negativeLookups.added(employee.id());
+            if (store(employee) != null) {
+                negativeLookups.removed(employee.id());
+            }
+            if (filterFull) {
+                negativeLookups.rebuild(mockEmployeeTable.keySet());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Starts a bulk load that replaces the whole store once committed. The new table and its indexes are built without
+     * holding the lock and swapped in under a single write lock acquisition, so reads carry on against the old store
+     * for the whole load.
+     *
+     * @return a builder to add employees to and then commit
+     */
+    public SnapshotBuilder newSnapshot() {
+        return new SnapshotBuilder();
+    }
+
+    private Employee store(Employee employee) {
+        return store(mockEmployeeTable, indexes, titleAggregates, employee);
+    }
+
+    private static Employee store(
+            Map<String, Employee> table, EmployeeIndexes indexes, TitleAggregates titleAggregates, Employee employee) {
+        final Employee previous = table.put(employee.id(), employee);
+        if (previous != null) {
+            indexes.remove(previous);
+            titleAggregates.remove(previous);
+        }
+        indexes.add(employee);
+        titleAggregates.add(employee);
+        return previous;
+    }
+
+    private Employee unstore(String id) {
+        final Employee removed = mockEmployeeTable.remove(id);
+        if (removed != null) {
+            negativeLookups.removed(id);
+            indexes.remove(removed);
+            titleAggregates.remove(removed);
+        }
+        return removed;
+    }
+
+    /**
+     * Applies the repairs found by reconciling the store against upstream, under a single write lock acquisition.
+     * Creates still waiting for upstream are never removed, and employees whose delete is still waiting are never
+     * stored again.
+     *
+     * @param additions employees to store that were not stored when the comparison was made
+     * @param replacements employees to store in place of ones stored under the same id when the comparison was made;
+     *     one deleted here since is not stored again
+     * @param removals ids of employees to remove
+     * @return number of employees stored, replaced or removed
+     */
+    public int repair(Collection<Employee> additions, Collection<Employee> replacements, Collection<String> removals) {
+        final Set<String> pending = new HashSet<>();
+        writeBehind.pending().forEach(employee -> pending.add(employee.id()));
+        final Set<String> deleted = new HashSet<>(writeBehind.pendingDeletes());
+        int changed = 0;
+        lock.writeLock().lock();
+        try {
+            boolean filterFull = false;
+            for (final Employee employee : additions) {
+                if (deleted.contains(employee.id()) || employee.equals(mockEmployeeTable.get(employee.id()))) {
+                    continue;
+                }
+                filterFull |= negativeLookups.added(employee.id());
+                if (store(employee) != null) {
+                    negativeLookups.removed(employee.id());
+                }
+                changed++;
+            }
+            for (final Employee employee : replacements) {
+                final Employee current = mockEmployeeTable.get(employee.id());
+                if (current == null || current.equals(employee)) {
+                    continue;
+                }
+                // Already stored, so already in the negative-lookup filter
+                store(employee);
+                changed++;
+            }
+            for (final String id : removals) {
+                if (!pending.contains(id) && unstore(id) != null) {
+                    changed++;
+                }
+            }
+            if (filterFull) {
+                negativeLookups.rebuild(mockEmployeeTable.keySet());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return changed;
+    }
+
+    /**
+     * Removes the employee and, with write-behind enabled, queues its delete for upstream; if its create is still
+     * waiting and was never sent, the create is cancelled instead.
+     */
     @Override
     public boolean deleteEmployeeById(String id) {
-        if (!mockEmployeeTable.containsKey(id)) {
-            log.warn("No employee with id {} exists. Skipping delete.", id);
+        if (negativeLookups.isKnownAbsent(id)) {
+            MISSING_DELETE_LOG.log("No employee with id {} exists. Skipping delete.", id);
             return true;
         }
-        return mockEmployeeTable.remove(id) != null;
+        boolean stored;
+        lock.readLock().lock();
+        try {
+            stored = mockEmployeeTable.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+        // Before the store changes, so that if the delete cannot be journaled the employee is still there
+        if (stored) {
+            writeBehind.delete(id);
+        }
+        Employee removed;
+        lock.writeLock().lock();
+        try {
+            removed = unstore(id);
+            if (removed == null) {
+                negativeLookups.recordMiss(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (removed == null) MISSING_DELETE_LOG.log("No employee with id {} exists. Skipping delete.", id);
+        return true;
+    }
+
+    /**
+     * Removes an employee handed to another cluster member. Unlike {@link #deleteEmployeeById(String)}, a create of it
+     * still waiting for upstream stays queued.
+     *
+     * @return the removed employee, or {@code null} if none was stored under {@code id}
+     */
+    public Employee removeEmployee(String id) {
+        lock.writeLock().lock();
+        try {
+            return unstore(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Builds the table, indexes and aggregates for {@link #newSnapshot()} as employees are added, so nothing but the
+     * new store itself is held while loading. The old store stays in place, and in use, until the commit. Not
+     * thread-safe.
+     */
+    public class SnapshotBuilder {
+
+        private final Map<String, Employee> table = new UuidKeyedMap<>();
+        private final EmployeeIndexes snapshotIndexes = new EmployeeIndexes();
+        private final TitleAggregates snapshotAggregates = new TitleAggregates();
+
+        private SnapshotBuilder() {}
+
+        public SnapshotBuilder add(Employee employee) {
+            store(table, snapshotIndexes, snapshotAggregates, employee);
+            return this;
+        }
+
+        /**
+         * Replaces the contents of the store with the collected employees and any creates still waiting for upstream,
+         * leaving out employees whose delete is still waiting. The builder must not be used afterwards.
+         *
+         * @return number of employees now stored
+         */
+        public int commit() {
+            lock.writeLock().lock();
+            try {
+                // Read under the lock, so a create queued during the load is not lost
+                writeBehind.pending().forEach(this::add);
+                for (final String id : writeBehind.pendingDeletes()) {
+                    final Employee deleted = table.remove(id);
+                    if (deleted != null) {
+                        snapshotIndexes.remove(deleted);
+                        snapshotAggregates.remove(deleted);
+                    }
+                }
+                mockEmployeeTable = table;
+                indexes = snapshotIndexes;
+                titleAggregates = snapshotAggregates;
+                negativeLookups.rebuild(mockEmployeeTable.keySet());
+                return mockEmployeeTable.size();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
     }
 }
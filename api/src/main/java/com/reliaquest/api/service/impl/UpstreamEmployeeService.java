@@ -0,0 +1,219 @@
+package com.reliaquest.api.service.impl;
+
+import com.reliaquest.api.client.EmployeeUpstreamClient;
+import com.reliaquest.api.config.NearCacheProperties;
+import com.reliaquest.api.controller.dto.EmployeeCreationInput;
+import com.reliaquest.api.controller.dto.EmployeeQuery;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeLookup;
+import com.reliaquest.api.model.TitleAggregate;
+import com.reliaquest.api.service.IEmployeeService;
+import com.reliaquest.api.service.cache.EmployeeNearCache;
+import com.reliaquest.api.util.RateLimitedLog;
+import com.reliaquest.api.web.RequestTiming;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.event.Level;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+/**
+ * {@link IEmployeeService} for employee sets too large to hold on every instance. Nothing is stored locally: every
+ * call goes to upstream, except lookups by id, which are answered from an {@link EmployeeNearCache} of the employees
+ * looked up most often. Creates made here are cached as upstream returned them and deletes drop the employee from the
+ * cache; changes made elsewhere are seen once the cached copy expires. A lookup of several ids fetches the ones not
+ * cached in parallel, at most {@code lookupConcurrency} at a time across all requests.
+ *
+ * <p>Queries that other stores answer from local indexes or aggregates, and that would have to read every employee
+ * from upstream on each request here, are not supported and throw {@link UnsupportedOperationException}.
+ *
+ * <p>Replaces {@link EmployeeServiceImpl} when {@code api.near-cache.enabled} is set. Not combined with cluster mode,
+ * which partitions locally held employees instead; {@link com.reliaquest.api.config.ApiConfiguration} refuses to
+ * start with both.
+ */
+@Slf4j
+@Primary
+@Service
+@ConditionalOnProperty(prefix = "api.near-cache", name = "enabled", havingValue = "true")
+public class UpstreamEmployeeService implements IEmployeeService {
+
+    private static final RateLimitedLog MISSING_ID_LOG =
+            new RateLimitedLog(log, Level.WARN, 10, Duration.ofSeconds(1));
+    private static final RateLimitedLog MISSING_DELETE_LOG =
+            new RateLimitedLog(log, Level.WARN, 10, Duration.ofSeconds(1));
+
+    private final EmployeeUpstreamClient upstreamClient;
+    private final EmployeeNearCache nearCache;
+    private final ExecutorService lookupExecutor;
+
+    public UpstreamEmployeeService(
+            EmployeeUpstreamClient upstreamClient, EmployeeNearCache nearCache, NearCacheProperties properties) {
+        this.upstreamClient = upstreamClient;
+        this.nearCache = nearCache;
+        this.lookupExecutor = Executors.newFixedThreadPool(Math.max(1, properties.lookupConcurrency()), runnable -> {
+            final var thread = new Thread(runnable, "near-cache-lookup");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        lookupExecutor.shutdownNow();
+    }
+
+    @Override
+    public List<Employee> getAllEmployees() {
+        return upstreamClient.getAllEmployees();
+    }
+
+    @Override
+    public List<Employee> getEmployeesByNameSearch(String searchString) {
+        return getAllEmployees().stream()
+                .filter(employee -> employee.employee_name().contains(searchString))
+                .toList();
+    }
+
+    @Override
+    public List<Employee> getEmployeesByFuzzyNameSearch(String searchString, int maxDistance, int limit) {
+        throw unsupported("Fuzzy name search");
+    }
+
+    @Override
+    public Employee getEmployeeById(String id) {
+        final Employee cached = nearCache.get(id);
+        return cached != null ? cached : fetch(id);
+    }
+
+    /**
+     * Answers cached ids straight away and fetches the rest from upstream in parallel. A fetch that fails fails the
+     * whole lookup, since its id cannot be reported missing.
+     */
+    @Override
+    public EmployeeLookup getEmployeesByIds(Collection<String> ids) {
+        final Map<String, Employee> resolved = new HashMap<>();
+        final Map<String, CompletableFuture<Employee>> fetches = new HashMap<>();
+        final Set<String> requested = new LinkedHashSet<>(ids);
+        for (final String id : requested) {
+            final Employee cached = nearCache.get(id);
+            if (cached != null) {
+                resolved.put(id, cached);
+            } else {
+                fetches.put(id, CompletableFuture.supplyAsync(() -> fetch(id), lookupExecutor));
+            }
+        }
+        // Fetches run on lookup threads, so the request thread's upstream time is the wait for their answers
+        final long waitStart = RequestTiming.start();
+        try {
+            fetches.forEach((id, fetch) -> {
+                final Employee employee = fetch.join();
+                if (employee != null) resolved.put(id, employee);
+            });
+        } finally {
+            RequestTiming.stop(RequestTiming.Phase.UPSTREAM, waitStart);
+        }
+
+        final Map<String, Employee> found = new LinkedHashMap<>();
+        final List<String> missing = new ArrayList<>();
+        for (final String id : requested) {
+            final Employee employee = resolved.get(id);
+            if (employee != null) found.put(id, employee);
+            else missing.add(id);
+        }
+        return new EmployeeLookup(found, missing);
+    }
+
+    /**
+     * Reads an employee from upstream and caches it, unless it was invalidated while the read was in flight.
+     */
+    private Employee fetch(String id) {
+        final long stamp = nearCache.stamp();
+        final Employee employee = upstreamClient.getEmployeeById(id);
+        if (employee == null) {
+            MISSING_ID_LOG.log("No employee found with id {}", id);
+            return null;
+        }
+        nearCache.put(employee, stamp);
+        return employee;
+    }
+
+    @Override
+    public Integer getHighestSalaryOfEmployees() {
+        final Integer salary = getAllEmployees().stream()
+                .map(Employee::employee_salary)
+                .max(Integer::compareTo)
+                .orElse(null);
+        if (salary == null) log.warn("No salaries found.");
+        return salary;
+    }
+
+    @Override
+    public List<String> getTopTenHighestEarningEmployeeNames() {
+        return getAllEmployees().stream()
+                .sorted(Comparator.comparingInt(Employee::employee_salary).reversed())
+                .limit(10)
+                .map(Employee::employee_name)
+                .toList();
+    }
+
+    @Override
+    public List<Employee> queryEmployees(EmployeeQuery query) {
+        throw unsupported("Employee queries");
+    }
+
+    @Override
+    public List<Employee> getEmployeesCreatedBetween(long sinceMillis, long untilMillis, int limit) {
+        throw unsupported("Lookups by creation time");
+    }
+
+    @Override
+    public List<TitleAggregate> getTitleAggregates() {
+        throw unsupported("Title aggregates");
+    }
+
+    @Override
+    public TitleAggregate getTitleAggregate(String title) {
+        throw unsupported("Title aggregates");
+    }
+
+    @Override
+    public Employee createEmployee(EmployeeCreationInput employeeInput) {
+        final Employee newEmployee = Employee.fromCreationInput(employeeInput);
+        final Employee created = upstreamClient.createEmployee(newEmployee);
+        // A freshly generated id has no read in flight to guard against
+        nearCache.put(created, nearCache.stamp());
+        return created;
+    }
+
+    @Override
+    public boolean deleteEmployeeById(String id) {
+        try {
+            if (!upstreamClient.deleteEmployeeById(id)) {
+                MISSING_DELETE_LOG.log("No employee with id {} exists. Skipping delete.", id);
+            }
+        } finally {
+            // Also when the outcome is unknown: upstream may have applied the delete before failing to answer
+            nearCache.invalidate(id);
+        }
+        return true;
+    }
+
+    private static UnsupportedOperationException unsupported(String operation) {
+        return new UnsupportedOperationException(
+                operation + " are not supported with api.near-cache.enabled, which holds no employees to index");
+    }
+}
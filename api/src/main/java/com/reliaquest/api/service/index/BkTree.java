@@ -0,0 +1,158 @@
+package com.reliaquest.api.service.index;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Burkhard-Keller tree over strings under Levenshtein distance, each key carrying a set of values. A search for keys
+ * within distance {@code k} of a query only descends into children whose edge distance lies in {@code [d - k, d + k]},
+ * by the triangle inequality, so most of the tree is never compared against.
+ *
+ * <p>Nodes cannot be unlinked without re-inserting their subtree, so a key whose last value is removed stays in the
+ * tree as a routing node; the tree is rebuilt from its live keys once such dead keys outnumber them. Not thread-safe.
+ */
+final class BkTree<V> {
+
+    private static final int MIN_REBUILD_SIZE = 64;
+
+    private final Map<String, Node<V>> nodesByKey = new HashMap<>();
+    private Node<V> root;
+    private int deadKeys;
+
+    void add(String key, V value) {
+        Node<V> node = nodesByKey.get(key);
+        if (node == null) {
+            node = new Node<>(key);
+            nodesByKey.put(key, node);
+            link(node);
+        } else if (node.values.isEmpty()) {
+            deadKeys--;
+        }
+        node.values.add(value);
+    }
+
+    void remove(String key, V value) {
+        final Node<V> node = nodesByKey.get(key);
+        if (node == null || !node.values.remove(value) || !node.values.isEmpty()) {
+            return;
+        }
+        if (++deadKeys > MIN_REBUILD_SIZE && deadKeys > nodesByKey.size() - deadKeys) {
+            rebuild();
+        }
+    }
+
+    void clear() {
+        nodesByKey.clear();
+        root = null;
+        deadKeys = 0;
+    }
+
+    /**
+     * Visits every value whose key lies within {@code maxDistance} of {@code query}.
+     */
+    void search(String query, int maxDistance, Visitor<V> visitor) {
+        if (root == null) {
+            return;
+        }
+        final Deque<Node<V>> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            final Node<V> node = pending.pop();
+            final int distance = levenshtein(query, node.key);
+            if (distance <= maxDistance) {
+                for (final V value : node.values) {
+                    visitor.visit(value, distance);
+                }
+            }
+            if (node.children != null) {
+                for (int edge = Math.max(1, distance - maxDistance); edge <= distance + maxDistance; edge++) {
+                    final Node<V> child = node.children.get(edge);
+                    if (child != null) {
+                        pending.push(child);
+                    }
+                }
+            }
+        }
+    }
+
+    private void link(Node<V> node) {
+        if (root == null) {
+            root = node;
+            return;
+        }
+        Node<V> parent = root;
+        while (true) {
+            final int distance = levenshtein(node.key, parent.key);
+            if (parent.children == null) {
+                parent.children = new HashMap<>();
+            }
+            final Node<V> child = parent.children.putIfAbsent(distance, node);
+            if (child == null) {
+                return;
+            }
+            parent = child;
+        }
+    }
+
+    private void rebuild() {
+        final List<Node<V>> live = new ArrayList<>(nodesByKey.size() - deadKeys);
+        for (final Node<V> node : nodesByKey.values()) {
+            if (!node.values.isEmpty()) {
+                live.add(node);
+            }
+        }
+        clear();
+        for (final Node<V> node : live) {
+            final Node<V> copy = new Node<>(node.key);
+            copy.values.addAll(node.values);
+            nodesByKey.put(copy.key, copy);
+            link(copy);
+        }
+    }
+
+    static int levenshtein(String a, String b) {
+        if (a.length() < b.length()) {
+            final String swap = a;
+            a = b;
+            b = swap;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            final char ca = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                final int substitution = previous[j - 1] + (ca == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            final int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    @FunctionalInterface
+    interface Visitor<V> {
+        void visit(V value, int distance);
+    }
+
+    private static final class Node<V> {
+        final String key;
+        final Set<V> values = new HashSet<>();
+        Map<Integer, Node<V>> children;
+
+        Node(String key) {
+            this.key = key;
+        }
+    }
+}
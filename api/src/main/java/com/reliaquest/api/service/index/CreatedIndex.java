@@ -0,0 +1,48 @@
+package com.reliaquest.api.service.index;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.util.UuidV7Generator;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Employees with time-ordered (version 7) ids, sorted by id and therefore by creation time, so "created between"
+ * lookups are a seek plus a sequential walk. Employees with other ids are not indexed. Not thread-safe; guarded by
+ * the owning store.
+ */
+public class CreatedIndex {
+
+    private final NavigableMap<String, Employee> entries = new TreeMap<>();
+
+    public void add(Employee employee) {
+        if (UuidV7Generator.timestampOf(employee.id()) >= 0) {
+            entries.put(employee.id(), employee);
+        }
+    }
+
+    public void remove(Employee employee) {
+        entries.remove(employee.id());
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * @param sinceMillis inclusive lower bound in epoch milliseconds
+     * @param untilMillis exclusive upper bound in epoch milliseconds
+     * @return employees created in the interval, oldest first
+     */
+    public Stream<Employee> stream(long sinceMillis, long untilMillis) {
+        if (sinceMillis >= untilMillis || sinceMillis > UuidV7Generator.MAX_TIMESTAMP || untilMillis <= 0) {
+            return Stream.empty();
+        }
+        NavigableMap<String, Employee> range =
+                entries.tailMap(UuidV7Generator.lowerBound(Math.max(0, sinceMillis)), true);
+        if (untilMillis <= UuidV7Generator.MAX_TIMESTAMP) {
+            range = range.headMap(UuidV7Generator.lowerBound(untilMillis), false);
+        }
+        return range.values().stream();
+    }
+}
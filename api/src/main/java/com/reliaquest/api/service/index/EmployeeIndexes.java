@@ -0,0 +1,141 @@
+package com.reliaquest.api.service.index;
+
+import com.reliaquest.api.controller.dto.EmployeeQuery;
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
+
+/**
+ * Secondary indexes over the employee table: sorted salary and age indexes for range criteria, a title dictionary for
+ * title fragments, a {@link FuzzyNameIndex} for typo-tolerant name search and a {@link CreatedIndex} for creation-time
+ * ranges. Queries are answered by {@link #execute}, which plans an access path, filters the candidates with the
+ * remaining criteria and applies sort and limit. Not thread-safe; the owning store must hold its write lock for
+ * {@link #add}, {@link #remove} and {@link #clear} and at least its read lock for queries.
+ */
+public class EmployeeIndexes {
+
+    private final RangeIndex salaryIndex = new RangeIndex(Employee::employee_salary);
+    private final RangeIndex ageIndex = new RangeIndex(Employee::employee_age);
+    private final TitleIndex titleIndex = new TitleIndex();
+    private final FuzzyNameIndex fuzzyNameIndex = new FuzzyNameIndex();
+    private final CreatedIndex createdIndex = new CreatedIndex();
+
+    public void add(Employee employee) {
+        salaryIndex.add(employee);
+        ageIndex.add(employee);
+        titleIndex.add(employee);
+        fuzzyNameIndex.add(employee);
+        createdIndex.add(employee);
+    }
+
+    public void remove(Employee employee) {
+        salaryIndex.remove(employee);
+        ageIndex.remove(employee);
+        titleIndex.remove(employee);
+        fuzzyNameIndex.remove(employee);
+        createdIndex.remove(employee);
+    }
+
+    public void clear() {
+        salaryIndex.clear();
+        ageIndex.clear();
+        titleIndex.clear();
+        fuzzyNameIndex.clear();
+        createdIndex.clear();
+    }
+
+    /**
+     * @see FuzzyNameIndex#search(String, int, int)
+     */
+    public List<Employee> fuzzyNameSearch(String searchString, int maxDistance, int limit) {
+        return fuzzyNameIndex.search(searchString, maxDistance, limit);
+    }
+
+    /**
+     * @return at most {@code limit} employees created in {@code [sinceMillis, untilMillis)}, oldest first
+     * @see CreatedIndex#stream(long, long)
+     */
+    public List<Employee> createdBetween(long sinceMillis, long untilMillis, int limit) {
+        return createdIndex.stream(sinceMillis, untilMillis).limit(limit).toList();
+    }
+
+    /**
+     * Chooses the cheapest access path for the query. Each index that can serve a criterion estimates how many
+     * employees it would visit, capped at the best estimate so far, so the cost of planning is bounded by the size of
+     * the winning candidate set rather than by the table.
+     *
+     * @param query the query to plan
+     * @param table every stored employee, scanned when no index is more selective
+     * @return the chosen access path and its estimated row count
+     */
+    public QueryPlan plan(EmployeeQuery query, Collection<Employee> table) {
+        QueryPlan best = new QueryPlan(AccessPath.FULL_SCAN, table.size());
+        if (query.minSalary() != null || query.maxSalary() != null) {
+            final long rows = salaryIndex.count(query.minSalary(), query.maxSalary(), best.estimatedRows());
+            if (rows < best.estimatedRows()) best = new QueryPlan(AccessPath.SALARY_RANGE, rows);
+        }
+        if (query.minAge() != null || query.maxAge() != null) {
+            final long rows = ageIndex.count(query.minAge(), query.maxAge(), best.estimatedRows());
+            if (rows < best.estimatedRows()) best = new QueryPlan(AccessPath.AGE_RANGE, rows);
+        }
+        if (query.title() != null) {
+            final long rows = titleIndex.count(query.title(), best.estimatedRows());
+            if (rows < best.estimatedRows()) best = new QueryPlan(AccessPath.TITLE, rows);
+        }
+        return best;
+    }
+
+    /**
+     * Executes the query against the indexes, falling back to {@code table} when the planner chooses a full scan.
+     *
+     * @return at most {@link EmployeeQuery#limit()} matching employees, in the requested order
+     */
+    public List<Employee> execute(EmployeeQuery query, Collection<Employee> table) {
+        final Stream<Employee> matches = candidates(plan(query, table), query, table).filter(query::matches);
+        final Comparator<Employee> comparator = query.comparator();
+        if (comparator == null) {
+            return matches.limit(query.limit()).toList();
+        }
+        return topN(matches, comparator, query.limit());
+    }
+
+    private Stream<Employee> candidates(QueryPlan plan, EmployeeQuery query, Collection<Employee> table) {
+        return switch (plan.accessPath()) {
+            case SALARY_RANGE -> salaryIndex.stream(query.minSalary(), query.maxSalary());
+            case AGE_RANGE -> ageIndex.stream(query.minAge(), query.maxAge());
+            case TITLE -> titleIndex.stream(query.title());
+            case FULL_SCAN -> table.stream();
+        };
+    }
+
+    /**
+     * Keeps the best {@code limit} employees in a bounded heap instead of sorting every match.
+     */
+    private static List<Employee> topN(Stream<Employee> matches, Comparator<Employee> comparator, int limit) {
+        final PriorityQueue<Employee> heap = new PriorityQueue<>(comparator.reversed());
+        matches.forEach(employee -> {
+            if (heap.size() < limit) {
+                heap.add(employee);
+            } else if (comparator.compare(employee, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(employee);
+            }
+        });
+        final List<Employee> result = new ArrayList<>(heap);
+        result.sort(comparator);
+        return result;
+    }
+
+    public enum AccessPath {
+        FULL_SCAN,
+        SALARY_RANGE,
+        AGE_RANGE,
+        TITLE
+    }
+
+    public record QueryPlan(AccessPath accessPath, long estimatedRows) {}
+}
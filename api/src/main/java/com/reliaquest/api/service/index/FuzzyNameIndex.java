@@ -0,0 +1,85 @@
+package com.reliaquest.api.service.index;
+
+import com.reliaquest.api.model.Employee;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Typo-tolerant name lookup. Employee names are split into lower-case tokens held in a {@link BkTree}; a search
+ * matches employees having, for every token of the search string, some name token within the allowed edit distance.
+ * Results are ranked by the summed distance, then by name. Not thread-safe; guarded by the owning store.
+ */
+public class FuzzyNameIndex {
+
+    public static final int MAX_DISTANCE = 3;
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final BkTree<Employee> tokens = new BkTree<>();
+
+    public void add(Employee employee) {
+        for (final String token : tokenize(employee.employee_name())) {
+            tokens.add(token, employee);
+        }
+    }
+
+    public void remove(Employee employee) {
+        for (final String token : tokenize(employee.employee_name())) {
+            tokens.remove(token, employee);
+        }
+    }
+
+    public void clear() {
+        tokens.clear();
+    }
+
+    /**
+     * @param searchString one or more name fragments, matched case-insensitively
+     * @param maxDistance largest edit distance tolerated per token, at most {@link #MAX_DISTANCE}
+     * @param limit maximum number of employees to return
+     * @return matching employees, closest first
+     */
+    public List<Employee> search(String searchString, int maxDistance, int limit) {
+        if (maxDistance < 0 || maxDistance > MAX_DISTANCE) {
+            throw new IllegalArgumentException("maxDistance must be between 0 and " + MAX_DISTANCE);
+        }
+        final List<String> queryTokens = tokenize(searchString);
+        if (queryTokens.isEmpty()) {
+            return List.of();
+        }
+        Map<Employee, Integer> scores = null;
+        for (final String queryToken : queryTokens) {
+            final Map<Employee, Integer> closest = new HashMap<>();
+            tokens.search(
+                    queryToken, maxDistance, (employee, distance) -> closest.merge(employee, distance, Math::min));
+            if (scores == null) {
+                scores = closest;
+            } else {
+                scores.keySet().retainAll(closest.keySet());
+                scores.replaceAll((employee, score) -> score + closest.get(employee));
+            }
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Employee, Integer>comparingByValue()
+                        .thenComparing(Map.Entry::getKey, Comparator.comparing(Employee::employee_name))
+                        .thenComparing(Map.Entry::getKey, Comparator.comparing(Employee::id)))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private static List<String> tokenize(String name) {
+        return TOKEN_SEPARATOR
+                .splitAsStream(name.toLowerCase(Locale.ROOT))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .toList();
+    }
+}
@@ -0,0 +1,70 @@
+package com.reliaquest.api.service.index;
+
+import com.reliaquest.api.model.Employee;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+
+/**
+ * Sorted index over one integer attribute of {@link Employee}, answering inclusive range lookups without touching
+ * employees outside the range. Not thread-safe; guarded by the owning store.
+ */
+public class RangeIndex {
+
+    private final ToIntFunction<Employee> attribute;
+    private final NavigableMap<Integer, Set<Employee>> entries = new TreeMap<>();
+
+    public RangeIndex(ToIntFunction<Employee> attribute) {
+        this.attribute = attribute;
+    }
+
+    public void add(Employee employee) {
+        entries.computeIfAbsent(attribute.applyAsInt(employee), ignored -> new HashSet<>())
+                .add(employee);
+    }
+
+    public void remove(Employee employee) {
+        final int key = attribute.applyAsInt(employee);
+        final Set<Employee> employees = entries.get(key);
+        if (employees != null && employees.remove(employee) && employees.isEmpty()) {
+            entries.remove(key);
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Counts employees within the range, giving up once the count exceeds {@code cap} so that estimating an
+     * unselective range stays cheap.
+     *
+     * @return the exact count, or {@code cap + 1} if it is larger than {@code cap}
+     */
+    public long count(Integer min, Integer max, long cap) {
+        long count = 0;
+        for (final Set<Employee> employees : range(min, max).values()) {
+            count += employees.size();
+            if (count > cap) {
+                return cap + 1;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return employees within the range, in ascending attribute order
+     */
+    public Stream<Employee> stream(Integer min, Integer max) {
+        return range(min, max).values().stream().flatMap(Collection::stream);
+    }
+
+    private NavigableMap<Integer, Set<Employee>> range(Integer min, Integer max) {
+        return entries.subMap(
+                min == null ? Integer.MIN_VALUE : min, true, max == null ? Integer.MAX_VALUE : max, true);
+    }
+}
@@ -0,0 +1,71 @@
+package com.reliaquest.api.service.index;
+
+import com.reliaquest.api.model.Employee;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Dictionary of distinct job titles. A title fragment is matched against the dictionary, which is far smaller than
+ * the employee table, and only employees holding a matching title are visited. Not thread-safe; guarded by the
+ * owning store.
+ */
+public class TitleIndex {
+
+    private final Map<String, Set<Employee>> entries = new HashMap<>();
+
+    public void add(Employee employee) {
+        entries.computeIfAbsent(key(employee.employee_title()), ignored -> new HashSet<>())
+                .add(employee);
+    }
+
+    public void remove(Employee employee) {
+        final String key = key(employee.employee_title());
+        final Set<Employee> employees = entries.get(key);
+        if (employees != null && employees.remove(employee) && employees.isEmpty()) {
+            entries.remove(key);
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Counts employees whose title contains {@code fragment}, giving up once the count exceeds {@code cap}.
+     *
+     * @return the exact count, or {@code cap + 1} if it is larger than {@code cap}
+     */
+    public long count(String fragment, long cap) {
+        final String needle = key(fragment);
+        long count = 0;
+        for (final Map.Entry<String, Set<Employee>> entry : entries.entrySet()) {
+            if (entry.getKey().contains(needle)) {
+                count += entry.getValue().size();
+                if (count > cap) {
+                    return cap + 1;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return employees whose title contains {@code fragment}, ignoring case
+     */
+    public Stream<Employee> stream(String fragment) {
+        final String needle = key(fragment);
+        return entries.entrySet().stream()
+                .filter(entry -> entry.getKey().contains(needle))
+                .map(Map.Entry::getValue)
+                .flatMap(Collection::stream);
+    }
+
+    private static String key(String title) {
+        return title.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,317 @@
+package com.reliaquest.api.service.reconcile;
+
+import com.reliaquest.api.client.EmployeeUpstreamClient;
+import com.reliaquest.api.client.UpstreamRangeDigest;
+import com.reliaquest.api.cluster.ClusterProperties;
+import com.reliaquest.api.config.ReconcileProperties;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.impl.EmployeeServiceImpl;
+import com.reliaquest.api.service.writebehind.WriteBehindQueue;
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Repairs the local store where it has drifted from upstream, e.g. through writes lost while upstream was
+ * rate-limiting or changes made directly on upstream, without reloading it. Both sides are summarized as a
+ * {@link RangeDigestTree}: upstream computes the digests of the ranges asked for, and the local tree is built from a
+ * copy of the store. A run compares the roots, then descends several levels per round trip into the ranges whose
+ * digests differ, and fetches only the employees in differing leaf ranges. When the stores agree a run costs one
+ * request for a single digest; when a handful of employees differ it moves those employees and a few digests per
+ * level.
+ *
+ * <p>Upstream is the source of truth, except for creates and deletes still waiting in the {@link WriteBehindQueue}:
+ * waiting creates are left out of the comparison and never removed, and employees whose delete is waiting, or who
+ * were deleted during the run, are not stored again. Only used with write-behind enabled, since otherwise creates and
+ * deletes made here never reach upstream and every run would undo them. Not used in cluster mode either, where each
+ * member holds only part of the store. Whether to run is checked at runtime rather than through a bean condition, so
+ * that the decision is not fixed at build time by Spring AOT processing.
+ */
+@Slf4j
+@Component
+public class EmployeeReconciler implements SmartInitializingSingleton {
+
+    /**
+     * @param differingRanges leaf ranges whose digests differed
+     * @param changed employees stored, replaced or removed locally
+     * @param requests requests sent to upstream
+     * @param digestsFetched range digests upstream returned
+     * @param employeesFetched employees upstream returned
+     */
+    public record Result(
+            int differingRanges,
+            int changed,
+            int requests,
+            int digestsFetched,
+            int employeesFetched,
+            long durationMillis) {}
+
+    /**
+     * @param failures runs that failed, e.g. because upstream was rate-limiting
+     * @param lastResult outcome of the last run that completed, or {@code null}
+     */
+    public record Stats(boolean enabled, long runs, long failures, Instant lastRunAt, Result lastResult) {}
+
+    /**
+     * Upstream's side of the comparison.
+     */
+    interface Upstream {
+
+        List<UpstreamRangeDigest> digests(int level, List<Integer> nodes);
+
+        void employeesIn(int level, List<Integer> nodes, Consumer<Employee> sink);
+    }
+
+    private final ReconcileProperties properties;
+    private final boolean enabled;
+    private final EmployeeServiceImpl employeeService;
+    private final WriteBehindQueue writeBehind;
+    private final Upstream upstream;
+
+    private final LongAdder runs = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private volatile Instant lastRunAt;
+    private volatile Result lastResult;
+
+    private ScheduledExecutorService worker;
+
+    @Autowired
+    public EmployeeReconciler(
+            ReconcileProperties properties,
+            ClusterProperties clusterProperties,
+            EmployeeServiceImpl employeeService,
+            WriteBehindQueue writeBehind,
+            EmployeeUpstreamClient upstreamClient) {
+        this(
+                properties,
+                !clusterProperties.enabled() && writeBehind.isEnabled(),
+                employeeService,
+                writeBehind,
+                new Upstream() {
+                    @Override
+                    public List<UpstreamRangeDigest> digests(int level, List<Integer> nodes) {
+                        return upstreamClient.getRangeDigests(level, nodes);
+                    }
+
+                    @Override
+                    public void employeesIn(int level, List<Integer> nodes, Consumer<Employee> sink) {
+                        upstreamClient.getEmployeesInRanges(level, nodes, sink);
+                    }
+                });
+        if (properties.enabled() && clusterProperties.enabled()) {
+            log.warn("Reconciliation is not supported in cluster mode and stays off");
+        } else if (properties.enabled() && !writeBehind.isEnabled()) {
+            log.warn("Reconciliation needs write-behind to send creates and deletes to upstream and stays off");
+        }
+    }
+
+    EmployeeReconciler(
+            ReconcileProperties properties,
+            boolean supported,
+            EmployeeServiceImpl employeeService,
+            WriteBehindQueue writeBehind,
+            Upstream upstream) {
+        if (properties.depth() < 1 || properties.depth() > 20) {
+            throw new IllegalArgumentException("api.reconcile.depth must be between 1 and 20");
+        }
+        if (properties.levelsPerRequest() < 1 || properties.maxNodesPerRequest() < 1) {
+            throw new IllegalArgumentException(
+                    "api.reconcile.levels-per-request and max-nodes-per-request must be positive");
+        }
+        this.properties = properties;
+        this.enabled = properties.enabled() && supported;
+        this.employeeService = employeeService;
+        this.writeBehind = writeBehind;
+        this.upstream = upstream;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+        worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final var thread = new Thread(runnable, "reconcile");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final long interval = properties.interval().toMillis();
+        worker.scheduleWithFixedDelay(this::reconcileQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("Reconciliation enabled: {}", properties);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (worker != null) {
+            worker.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Stats stats() {
+        return new Stats(enabled, runs.sum(), failures.sum(), lastRunAt, lastResult);
+    }
+
+    /**
+     * Compares the store with upstream and repairs the ranges that differ.
+     *
+     * @throws RuntimeException if upstream fails to answer; nothing has been repaired then
+     */
+    public synchronized Result reconcile() {
+        runs.increment();
+        lastRunAt = Instant.now();
+        final Result result;
+        try {
+            result = new Run().execute();
+        } catch (RuntimeException e) {
+            failures.increment();
+            throw e;
+        }
+        lastResult = result;
+        if (result.changed() > 0) {
+            log.info("Reconciled with upstream: {}", result);
+        } else {
+            log.debug("Reconciled with upstream: {}", result);
+        }
+        return result;
+    }
+
+    private void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            log.warn("Reconciliation with upstream failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * State of a single reconciliation run.
+     */
+    private class Run {
+
+        private final long start = System.nanoTime();
+        private final int depth = properties.depth();
+        private final List<Employee> local;
+        /**
+         * Ids of creates and deletes waiting for upstream when the run started.
+         */
+        private final Set<String> waiting = new HashSet<>();
+        private final RangeDigestTree tree;
+        private int requests;
+        private int digestsFetched;
+
+        Run() {
+            final Set<String> pending = new HashSet<>();
+            writeBehind.pending().forEach(employee -> pending.add(employee.id()));
+            this.local = employeeService.getAllEmployees().stream()
+                    .filter(employee -> !pending.contains(employee.id()))
+                    .toList();
+            waiting.addAll(pending);
+            // Read after the store: an employee deleted before that has its delete waiting or already upstream, and
+            // one deleted later is a replacement, which repair skips once the employee is gone
+            waiting.addAll(writeBehind.pendingDeletes());
+            this.tree = new RangeDigestTree(local, depth);
+        }
+
+        Result execute() {
+            int level = 0;
+            List<Integer> differing = differing(0, List.of(0));
+            while (!differing.isEmpty() && level < depth) {
+                final int next = Math.min(depth, level + properties.levelsPerRequest());
+                final int shift = next - level;
+                final List<Integer> children = new ArrayList<>(differing.size() << shift);
+                for (final int node : differing) {
+                    for (int child = node << shift; child < (node + 1) << shift; child++) {
+                        children.add(child);
+                    }
+                }
+                differing = differing(next, children);
+                level = next;
+            }
+            if (differing.isEmpty()) {
+                return result(0, 0, 0);
+            }
+
+            final Map<String, Employee> fetched = new HashMap<>();
+            for (final List<Integer> chunk : chunks(differing)) {
+                requests++;
+                upstream.employeesIn(depth, chunk, employee -> fetched.put(employee.id(), employee));
+            }
+            final Set<Integer> leaves = new HashSet<>(differing);
+            final Set<String> stored = new HashSet<>();
+            final List<String> removals = new ArrayList<>();
+            for (final Employee employee : local) {
+                if (leaves.contains(RangeDigestTree.node(RangeDigestTree.token(employee.id()), depth))) {
+                    stored.add(employee.id());
+                    if (!fetched.containsKey(employee.id())) {
+                        removals.add(employee.id());
+                    }
+                }
+            }
+            final List<Employee> additions = new ArrayList<>();
+            final List<Employee> replacements = new ArrayList<>();
+            for (final Employee employee : fetched.values()) {
+                if (stored.contains(employee.id())) {
+                    replacements.add(employee);
+                } else if (!waiting.contains(employee.id())) {
+                    additions.add(employee);
+                }
+            }
+            final int changed = employeeService.repair(additions, replacements, removals);
+            return result(differing.size(), changed, fetched.size());
+        }
+
+        /**
+         * @return the nodes at {@code level} whose upstream digest differs from the local one
+         */
+        private List<Integer> differing(int level, List<Integer> nodes) {
+            final List<Integer> differing = new ArrayList<>();
+            for (final List<Integer> chunk : chunks(nodes)) {
+                requests++;
+                final List<UpstreamRangeDigest> digests = upstream.digests(level, chunk);
+                digestsFetched += digests.size();
+                for (final UpstreamRangeDigest digest : digests) {
+                    if (!tree.matches(level, digest.node(), digest.count(), digest.hash())) {
+                        differing.add(digest.node());
+                    }
+                }
+            }
+            return differing;
+        }
+
+        private List<List<Integer>> chunks(List<Integer> nodes) {
+            final List<List<Integer>> chunks = new ArrayList<>();
+            for (int from = 0; from < nodes.size(); from += properties.maxNodesPerRequest()) {
+                chunks.add(nodes.subList(from, Math.min(nodes.size(), from + properties.maxNodesPerRequest())));
+            }
+            return chunks;
+        }
+
+        private Result result(int differingRanges, int changed, int employeesFetched) {
+            return new Result(
+                    differingRanges,
+                    changed,
+                    requests,
+                    digestsFetched,
+                    employeesFetched,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+}
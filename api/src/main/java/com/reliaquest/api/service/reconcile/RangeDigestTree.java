@@ -0,0 +1,108 @@
+package com.reliaquest.api.service.reconcile;
+
+import com.reliaquest.api.model.Employee;
+import java.util.Collection;
+
+/**
+ * Merkle tree over a set of employees, matching the digests the mock server computes for its own store. Each id is
+ * hashed to a 64-bit token; the ranges at level {@code L} are the {@code 2^L} token ranges sharing their top
+ * {@code L} bits, so range {@code n} covers ranges {@code 2n} and {@code 2n + 1} one level down. A range's digest is
+ * its employee count and the sum, wrapping on overflow, of its employees' content hashes. Sums do not depend on order,
+ * so every level is computed from the leaves in one pass. Token and content hashes must stay identical to the mock
+ * server's.
+ */
+class RangeDigestTree {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final int depth;
+    private final int[][] counts;
+    private final long[][] hashes;
+
+    /**
+     * @param depth level of the leaves; the tree has {@code 2^depth} of them
+     */
+    RangeDigestTree(Collection<Employee> employees, int depth) {
+        this.depth = depth;
+        this.counts = new int[depth + 1][];
+        this.hashes = new long[depth + 1][];
+        for (int level = 0; level <= depth; level++) {
+            counts[level] = new int[1 << level];
+            hashes[level] = new long[1 << level];
+        }
+        for (final Employee employee : employees) {
+            final int leaf = node(token(employee.id()), depth);
+            counts[depth][leaf]++;
+            hashes[depth][leaf] += hash(employee);
+        }
+        for (int level = depth - 1; level >= 0; level--) {
+            for (int node = 0; node < 1 << level; node++) {
+                counts[level][node] = counts[level + 1][2 * node] + counts[level + 1][2 * node + 1];
+                hashes[level][node] = hashes[level + 1][2 * node] + hashes[level + 1][2 * node + 1];
+            }
+        }
+    }
+
+    int depth() {
+        return depth;
+    }
+
+    /**
+     * @return {@code true} if this tree's range {@code node} at {@code level} has the given digest
+     */
+    boolean matches(int level, int node, int count, long hash) {
+        return counts[level][node] == count && hashes[level][node] == hash;
+    }
+
+    /**
+     * @return 64-bit token placing an id among the ranges
+     */
+    static long token(String id) {
+        return mix(append(FNV_OFFSET, id));
+    }
+
+    /**
+     * @return the range at {@code level} holding {@code token}
+     */
+    static int node(long token, int level) {
+        return level == 0 ? 0 : (int) (token >>> (64 - level));
+    }
+
+    /**
+     * @return 64-bit hash of every field of an employee
+     */
+    static long hash(Employee employee) {
+        long hash = FNV_OFFSET;
+        hash = append(hash, employee.id());
+        hash = append(hash, employee.employee_name());
+        hash = append(hash, employee.employee_salary());
+        hash = append(hash, employee.employee_age());
+        hash = append(hash, employee.employee_title());
+        hash = append(hash, employee.employee_email());
+        return mix(hash);
+    }
+
+    private static long append(long hash, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        // U+FFFF never occurs in text, so it separates fields unambiguously
+        return (hash ^ 0xFFFF) * FNV_PRIME;
+    }
+
+    private static long append(long hash, int value) {
+        for (int shift = 0; shift < 32; shift += 8) {
+            hash = (hash ^ ((value >>> shift) & 0xFF)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+}
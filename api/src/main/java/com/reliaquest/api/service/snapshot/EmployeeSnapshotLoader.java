@@ -0,0 +1,147 @@
+package com.reliaquest.api.service.snapshot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.client.EmployeeUpstreamClient;
+import com.reliaquest.api.client.StreamingEmployeeParser;
+import com.reliaquest.api.cluster.ClusterProperties;
+import com.reliaquest.api.cluster.ConsistentHashRing;
+import com.reliaquest.api.config.SnapshotProperties;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.impl.EmployeeServiceImpl;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills the employee store before the instance starts serving, so its first requests are not answered from an empty
+ * store. Loading runs once all singletons exist and before the web server starts accepting connections. A local
+ * snapshot file is preferred; otherwise the full list is fetched from upstream in one call. Either source is parsed
+ * as a stream straight into the snapshot builder. A failed load is logged and the instance starts empty. The store is
+ * written back to the snapshot file on shutdown.
+ *
+ * <p>Whether to load is checked at runtime rather than through a bean condition, so that the decision is not fixed at
+ * build time by Spring AOT processing.
+ */
+@Slf4j
+@Component
+public class EmployeeSnapshotLoader implements SmartInitializingSingleton {
+
+    private final EmployeeServiceImpl employeeService;
+    private final EmployeeUpstreamClient upstreamClient;
+    private final SnapshotProperties properties;
+    private final ClusterProperties clusterProperties;
+    private final ObjectMapper objectMapper;
+    private final StreamingEmployeeParser parser;
+
+    public EmployeeSnapshotLoader(
+            EmployeeServiceImpl employeeService,
+            EmployeeUpstreamClient upstreamClient,
+            SnapshotProperties properties,
+            ClusterProperties clusterProperties,
+            ObjectMapper objectMapper) {
+        this.employeeService = employeeService;
+        this.upstreamClient = upstreamClient;
+        this.properties = properties;
+        this.clusterProperties = clusterProperties;
+        this.objectMapper = objectMapper;
+        this.parser = new StreamingEmployeeParser(objectMapper.getFactory());
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!properties.enabled()) {
+            return;
+        }
+        final long start = System.nanoTime();
+        final Predicate<Employee> owned = ownedByThisInstance();
+        EmployeeServiceImpl.SnapshotBuilder snapshot = null;
+        String source = null;
+        if (properties.path() != null && Files.isReadable(properties.path())) {
+            source = properties.path().toString();
+            snapshot = readSnapshot(properties.path(), owned);
+        }
+        if (snapshot == null && properties.fetchUpstream()) {
+            source = "upstream";
+            snapshot = fetchUpstream(owned);
+        }
+        if (snapshot == null) {
+            log.warn("No employee snapshot loaded; starting with an empty store");
+            return;
+        }
+
+        final int loaded = snapshot.commit();
+        log.info(
+                "Warm-loaded {} employees from {} in {} ms",
+                loaded,
+                source,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    @PreDestroy
+    public void saveSnapshot() {
+        if (!properties.enabled() || !properties.saveOnShutdown() || properties.path() == null) {
+            return;
+        }
+        final Path path = properties.path().toAbsolutePath();
+        try {
+            Files.createDirectories(path.getParent());
+            final Path temporary = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+            objectMapper.writeValue(temporary.toFile(), employeeService.getAllEmployees());
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Saved employee snapshot to {}", path);
+        } catch (IOException e) {
+            log.warn("Failed to save employee snapshot to {}", path, e);
+        }
+    }
+
+    private EmployeeServiceImpl.SnapshotBuilder readSnapshot(Path path, Predicate<Employee> owned) {
+        final EmployeeServiceImpl.SnapshotBuilder snapshot = employeeService.newSnapshot();
+        try (InputStream in = Files.newInputStream(path)) {
+            parser.readArray(in, addIfOwned(snapshot, owned));
+            return snapshot;
+        } catch (IOException e) {
+            log.warn("Failed to read employee snapshot {}", path, e);
+            return null;
+        }
+    }
+
+    private EmployeeServiceImpl.SnapshotBuilder fetchUpstream(Predicate<Employee> owned) {
+        final EmployeeServiceImpl.SnapshotBuilder snapshot = employeeService.newSnapshot();
+        try {
+            upstreamClient.getAllEmployees(addIfOwned(snapshot, owned));
+            return snapshot;
+        } catch (Exception e) {
+            log.warn("Failed to fetch employees from upstream", e);
+            return null;
+        }
+    }
+
+    private static Consumer<Employee> addIfOwned(
+            EmployeeServiceImpl.SnapshotBuilder snapshot, Predicate<Employee> owned) {
+        return employee -> {
+            if (owned.test(employee)) {
+                snapshot.add(employee);
+            }
+        };
+    }
+
+    /**
+     * In cluster mode each member keeps only the employees it owns.
+     */
+    private Predicate<Employee> ownedByThisInstance() {
+        if (!clusterProperties.enabled()) {
+            return employee -> true;
+        }
+        final var ring = new ConsistentHashRing(clusterProperties.members(), clusterProperties.virtualNodes());
+        return employee -> clusterProperties.self().equals(ring.ownerOf(employee.id()));
+    }
+}
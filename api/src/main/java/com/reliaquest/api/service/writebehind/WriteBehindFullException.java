@@ -0,0 +1,31 @@
+package com.reliaquest.api.service.writebehind;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a create cannot be queued because {@code capacity} creates are already waiting for upstream. Callers
+ * answer {@code 503 Service Unavailable}, since the queue drains on its own.
+ */
+public class WriteBehindFullException extends IllegalStateException {
+
+    private final Duration retryAfter;
+
+    public WriteBehindFullException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * @return roughly how long until the queue next sends creates to upstream
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * @return {@link #getRetryAfter()} in whole seconds, rounded up, as a {@code Retry-After} header value
+     */
+    public String getRetryAfterSeconds() {
+        return String.valueOf(Math.max(1, retryAfter.plusMillis(999).toSeconds()));
+    }
+}
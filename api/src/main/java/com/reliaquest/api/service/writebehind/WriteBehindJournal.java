@@ -0,0 +1,170 @@
+package com.reliaquest.api.service.writebehind;
+
+import com.reliaquest.api.client.StreamingEmployeeParser;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.export.ExportFormat;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only file of the creates and deletes waiting for upstream. A line {@code + <employee as NDJSON>} records an
+ * accepted create and a line {@code - <id>} records that it no longer needs sending. A line {@code x <id>} records a
+ * delete, which supersedes any create of the same id, and a line {@code -x <id>} records that upstream has applied it.
+ * Replaying the lines in order yields the creates and deletes still waiting. The file is rewritten with only those
+ * when it is opened and whenever completed lines come to dominate it. Not thread-safe.
+ */
+@Slf4j
+class WriteBehindJournal implements Closeable {
+
+    private final Path path;
+    private final boolean fsync;
+    private final StreamingEmployeeParser parser;
+    private final StringBuilder line = new StringBuilder(256);
+
+    private FileChannel channel;
+    private long records;
+
+    WriteBehindJournal(Path path, boolean fsync, StreamingEmployeeParser parser) {
+        this.path = path.toAbsolutePath();
+        this.fsync = fsync;
+        this.parser = parser;
+    }
+
+    /**
+     * Replays the journal, compacts it and opens it for appending.
+     *
+     * @param deletes receives the ids of the deletes still waiting, in the order they were accepted
+     * @return the creates still waiting, by id, in the order they were accepted
+     */
+    LinkedHashMap<String, Employee> open(Set<String> deletes) throws IOException {
+        final LinkedHashMap<String, Employee> pending = new LinkedHashMap<>();
+        Files.createDirectories(path.getParent());
+        if (Files.exists(path)) {
+            try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                String text;
+                int lineNumber = 0;
+                while ((text = reader.readLine()) != null) {
+                    lineNumber++;
+                    if (text.startsWith("+ ")) {
+                        try {
+                            final Employee employee = parser.readEmployee(text.substring(2));
+                            pending.put(employee.id(), employee);
+                        } catch (IOException e) {
+                            // Most likely the last line, cut short by a crash before it was acknowledged
+                            log.warn("Skipping unreadable line {} of write-behind journal {}", lineNumber, path);
+                        }
+                    } else if (text.startsWith("- ")) {
+                        pending.remove(text.substring(2));
+                    } else if (text.startsWith("x ")) {
+                        pending.remove(text.substring(2));
+                        deletes.add(text.substring(2));
+                    } else if (text.startsWith("-x ")) {
+                        deletes.remove(text.substring(3));
+                    } else if (!text.isEmpty()) {
+                        log.warn("Skipping unreadable line {} of write-behind journal {}", lineNumber, path);
+                    }
+                }
+            }
+        }
+        compact(pending.values(), deletes);
+        return pending;
+    }
+
+    void accepted(Employee employee) throws IOException {
+        line.setLength(0);
+        line.append("+ ");
+        ExportFormat.NDJSON.appendLine(line, employee);
+        append(1);
+    }
+
+    void completed(Collection<String> ids) throws IOException {
+        line.setLength(0);
+        for (final String id : ids) {
+            line.append("- ").append(id).append('\n');
+        }
+        append(ids.size());
+    }
+
+    void deleted(String id) throws IOException {
+        line.setLength(0);
+        line.append("x ").append(id).append('\n');
+        append(1);
+    }
+
+    void deleteCompleted(String id) throws IOException {
+        line.setLength(0);
+        line.append("-x ").append(id).append('\n');
+        append(1);
+    }
+
+    /**
+     * Replaces the journal with one recording only {@code pending} and {@code deletes}.
+     */
+    void compact(Collection<Employee> pending, Collection<String> deletes) throws IOException {
+        final Path temporary = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+        try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+            for (final Employee employee : pending) {
+                line.setLength(0);
+                line.append("+ ");
+                ExportFormat.NDJSON.appendLine(line, employee);
+                write(out);
+            }
+            for (final String id : deletes) {
+                line.setLength(0);
+                line.append("x ").append(id).append('\n');
+                write(out);
+            }
+            out.force(false);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        close();
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        records = pending.size() + deletes.size();
+    }
+
+    /**
+     * @return number of lines in the journal
+     */
+    long records() {
+        return records;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private void append(int lines) throws IOException {
+        write(channel);
+        if (fsync) {
+            channel.force(false);
+        }
+        records += lines;
+    }
+
+    private void write(FileChannel target) throws IOException {
+        final ByteBuffer bytes = StandardCharsets.UTF_8.encode(CharBuffer.wrap(line));
+        while (bytes.hasRemaining()) {
+            target.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,421 @@
+package com.reliaquest.api.service.writebehind;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.client.EmployeeUpstreamClient;
+import com.reliaquest.api.client.StreamingEmployeeParser;
+import com.reliaquest.api.client.UpstreamBatchResult;
+import com.reliaquest.api.config.WriteBehindProperties;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.SyncStatus;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded, durable queue of creates accepted locally and not yet confirmed by upstream. {@link #enqueue} records a
+ * create in the {@link WriteBehindJournal} and returns; a single background thread sends queued creates to upstream in
+ * batches, in the order they were accepted. A batch that fails as a whole, e.g. while upstream is rate-limiting, is
+ * retried after an exponential backoff with jitter. Creates upstream rejects individually are reported as
+ * {@link SyncStatus.State#FAILED} and not retried. Upstream applies a create for an id it already holds only once, so
+ * a batch that reached upstream but whose answer was lost is safe to send again.
+ *
+ * <p>Deletes made locally are queued too, by {@link #delete}, and sent one at a time after the creates waiting with
+ * them. A delete cancels the create of the same id if that was never handed to upstream. Upstream answers the delete
+ * of an id it does not hold without error, so a delete is safe to send again too. Deletes are ids only and do not
+ * count against {@code capacity}.
+ *
+ * <p>When disabled, nothing is queued and {@link #status} reports nothing. Whether to queue is checked at runtime
+ * rather than through a bean condition, so that the decision is not fixed at build time by Spring AOT processing.
+ */
+@Slf4j
+@Component
+public class WriteBehindQueue implements SmartInitializingSingleton {
+
+    /**
+     * @param pending creates waiting for upstream
+     * @param pendingDeletes deletes waiting for upstream
+     * @param synced creates upstream confirmed since startup
+     * @param failed creates upstream rejected since startup
+     * @param failedRequests requests to upstream that failed as a whole since startup
+     * @param consecutiveFailures requests that failed as a whole since the last one that succeeded
+     * @param journalRecords lines in the journal file
+     */
+    public record Stats(
+            boolean enabled,
+            int pending,
+            int pendingDeletes,
+            int capacity,
+            long synced,
+            long failed,
+            long failedRequests,
+            int consecutiveFailures,
+            long journalRecords) {}
+
+    private final WriteBehindProperties properties;
+    private final Function<List<Employee>, List<UpstreamBatchResult>> sender;
+    private final Predicate<String> deleter;
+    private final LongSupplier nanoClock;
+    private final WriteBehindJournal journal;
+
+    private final LinkedHashMap<String, Employee> pending;
+    private final Map<String, Integer> attempts = new LinkedHashMap<>();
+    private final Set<String> deletes = new LinkedHashSet<>();
+    /**
+     * Ids of the creates in the batch being sent.
+     */
+    private final Set<String> sending = new HashSet<>();
+    private final Map<String, SyncStatus> failed;
+
+    private final LongAdder synced = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAdder failedRequests = new LongAdder();
+    private volatile int consecutiveFailures;
+    private volatile long retryAtNanos;
+
+    private ScheduledExecutorService worker;
+
+    @Autowired
+    public WriteBehindQueue(
+            WriteBehindProperties properties, EmployeeUpstreamClient upstreamClient, ObjectMapper objectMapper) {
+        this(
+                properties,
+                upstreamClient::createEmployees,
+                upstreamClient::deleteEmployeeById,
+                objectMapper.getFactory(),
+                System::nanoTime);
+    }
+
+    WriteBehindQueue(
+            WriteBehindProperties properties,
+            Function<List<Employee>, List<UpstreamBatchResult>> sender,
+            Predicate<String> deleter,
+            JsonFactory jsonFactory,
+            LongSupplier nanoClock) {
+        this.properties = properties;
+        this.sender = sender;
+        this.deleter = deleter;
+        this.nanoClock = nanoClock;
+        this.retryAtNanos = nanoClock.getAsLong();
+        this.failed = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SyncStatus> eldest) {
+                return size() > properties.capacity();
+            }
+        };
+        if (!properties.enabled()) {
+            this.journal = null;
+            this.pending = new LinkedHashMap<>();
+            return;
+        }
+        this.journal = new WriteBehindJournal(
+                properties.journal(), properties.fsync(), new StreamingEmployeeParser(jsonFactory));
+        try {
+            this.pending = journal.open(deletes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open write-behind journal " + properties.journal(), e);
+        }
+        if (!pending.isEmpty() || !deletes.isEmpty()) {
+            log.info(
+                    "Resuming {} creates and {} deletes not yet sent to upstream", pending.size(), deletes.size());
+        }
+    }
+
+    /**
+     * @return a queue that accepts nothing
+     */
+    public static WriteBehindQueue disabled() {
+        return new WriteBehindQueue(
+                new WriteBehindProperties(
+                        false, Path.of(""), false, 0, 1, Duration.ZERO, Duration.ZERO, Duration.ZERO),
+                batch -> List.of(),
+                id -> false,
+                null,
+                System::nanoTime);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!isEnabled()) {
+            return;
+        }
+        worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final var thread = new Thread(runnable, "write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final long interval = properties.flushInterval().toMillis();
+        worker.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("Write-behind enabled: {}", properties);
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException, InterruptedException {
+        if (worker != null) {
+            worker.shutdown();
+            worker.awaitTermination(properties.flushInterval().toMillis() + 5000, TimeUnit.MILLISECONDS);
+        }
+        if (journal != null) {
+            synchronized (this) {
+                journal.close();
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return journal != null;
+    }
+
+    /**
+     * Records {@code employee} in the journal for sending to upstream. Does nothing when disabled.
+     *
+     * @throws WriteBehindFullException if {@code capacity} creates are already waiting
+     * @throws UncheckedIOException if the journal cannot be written; the create is then not queued
+     */
+    public synchronized void enqueue(Employee employee) {
+        if (!isEnabled()) {
+            return;
+        }
+        if (pending.size() >= properties.capacity()) {
+            throw new WriteBehindFullException(
+                    "Write-behind queue is full with " + pending.size() + " creates", untilNextFlush());
+        }
+        try {
+            journal.accepted(employee);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to journal create of " + employee.id(), e);
+        }
+        pending.put(employee.id(), employee);
+    }
+
+    /**
+     * Records the delete of {@code id} in the journal for sending to upstream, because the employee was deleted here.
+     * If its create is still waiting and was never handed to upstream, the create is cancelled instead and nothing is
+     * sent. Does nothing when disabled.
+     *
+     * @return {@code true} if a delete was queued, {@code false} if a create was cancelled or nothing was done
+     * @throws UncheckedIOException if the journal cannot be written; nothing is queued or cancelled then
+     */
+    public synchronized boolean delete(String id) {
+        if (!isEnabled()) {
+            return false;
+        }
+        final boolean neverSent = pending.containsKey(id) && !attempts.containsKey(id) && !sending.contains(id);
+        try {
+            if (neverSent) {
+                journal.completed(List.of(id));
+            } else {
+                journal.deleted(id);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to journal delete of " + id, e);
+        }
+        pending.remove(id);
+        attempts.remove(id);
+        return !neverSent && deletes.add(id);
+    }
+
+    /**
+     * @return the creates waiting for upstream, in the order they were accepted
+     */
+    public synchronized List<Employee> pending() {
+        return new ArrayList<>(pending.values());
+    }
+
+    /**
+     * @return the ids of the deletes waiting for upstream, in the order they were accepted
+     */
+    public synchronized List<String> pendingDeletes() {
+        return new ArrayList<>(deletes);
+    }
+
+    /**
+     * @return the status of a create still waiting for upstream or rejected by it, or {@code null} if this queue
+     *     holds neither for {@code id}
+     */
+    public synchronized SyncStatus status(String id) {
+        if (pending.containsKey(id)) {
+            return new SyncStatus(id, SyncStatus.State.PENDING, attempts.getOrDefault(id, 0), null);
+        }
+        return failed.get(id);
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(
+                isEnabled(),
+                pending.size(),
+                deletes.size(),
+                properties.capacity(),
+                synced.sum(),
+                failedCount.sum(),
+                failedRequests.sum(),
+                consecutiveFailures,
+                journal == null ? 0 : journal.records());
+    }
+
+    /**
+     * Sends waiting creates to upstream, batch after batch, then waiting deletes, until the queue is drained or a
+     * request fails. Does nothing while backing off after a failed request.
+     *
+     * @return number of creates and deletes upstream answered for
+     */
+    int flush() {
+        if (nanoClock.getAsLong() - retryAtNanos < 0) {
+            return 0;
+        }
+        int answered = 0;
+        while (true) {
+            final List<Employee> batch = nextBatch();
+            if (batch.isEmpty()) {
+                break;
+            }
+            final List<UpstreamBatchResult> results;
+            try {
+                results = sender.apply(batch);
+                if (results.size() != batch.size()) {
+                    throw new IllegalStateException(
+                            "Upstream answered " + results.size() + " of " + batch.size() + " creates");
+                }
+            } catch (RuntimeException e) {
+                backOff(batch.stream().map(Employee::id).toList(), "creates", e);
+                return answered;
+            }
+            complete(batch, results);
+            answered += batch.size();
+            if (batch.size() < properties.batchSize()) {
+                break;
+            }
+        }
+        // Sent after the creates, so the delete of an employee whose create was in flight reaches upstream after it
+        for (final String id : pendingDeletes()) {
+            try {
+                deleter.test(id);
+            } catch (RuntimeException e) {
+                backOff(List.of(id), "deletes", e);
+                return answered;
+            }
+            completeDelete(id);
+            answered++;
+        }
+        return answered;
+    }
+
+    private Duration untilNextFlush() {
+        final long backoffNanos = retryAtNanos - nanoClock.getAsLong();
+        return backoffNanos > 0 ? Duration.ofNanos(backoffNanos) : properties.flushInterval();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Write-behind flush failed", e);
+        }
+    }
+
+    private synchronized List<Employee> nextBatch() {
+        final List<Employee> batch = new ArrayList<>(Math.min(pending.size(), properties.batchSize()));
+        for (final Employee employee : pending.values()) {
+            if (batch.size() == properties.batchSize()) {
+                break;
+            }
+            batch.add(employee);
+            sending.add(employee.id());
+        }
+        return batch;
+    }
+
+    private synchronized void complete(List<Employee> batch, List<UpstreamBatchResult> results) {
+        final List<String> ids = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            final String id = batch.get(i).id();
+            final String error = results.get(i).error();
+            if (error == null) {
+                synced.increment();
+            } else {
+                log.warn("Upstream rejected create of employee {}: {}", id, error);
+                failed.put(id, new SyncStatus(id, SyncStatus.State.FAILED, attempts.getOrDefault(id, 0), error));
+                failedCount.increment();
+            }
+            pending.remove(id);
+            attempts.remove(id);
+            ids.add(id);
+        }
+        sending.clear();
+        consecutiveFailures = 0;
+        try {
+            journal.completed(ids);
+            compactIfNeeded();
+        } catch (IOException e) {
+            // Harmless: the creates are sent again after a restart and upstream applies them once
+            log.warn("Failed to journal completed creates", e);
+        }
+    }
+
+    private synchronized void completeDelete(String id) {
+        deletes.remove(id);
+        consecutiveFailures = 0;
+        try {
+            journal.deleteCompleted(id);
+            compactIfNeeded();
+        } catch (IOException e) {
+            // Harmless: the delete is sent again after a restart and upstream answers it without error
+            log.warn("Failed to journal completed delete", e);
+        }
+    }
+
+    private void compactIfNeeded() throws IOException {
+        if (journal.records() > Math.max(1024, 4L * (pending.size() + deletes.size()))) {
+            journal.compact(pending.values(), deletes);
+        }
+    }
+
+    /**
+     * @param ids the creates or deletes the failed request was sending
+     */
+    private synchronized void backOff(List<String> ids, String kind, RuntimeException cause) {
+        for (final String id : ids) {
+            // A create deleted while it was being sent is no longer waiting
+            if (pending.containsKey(id)) {
+                attempts.merge(id, 1, Integer::sum);
+            }
+        }
+        sending.clear();
+        failedRequests.increment();
+        final int failures = ++consecutiveFailures;
+        final long ceiling = Math.min(
+                properties.maxBackoff().toNanos(),
+                properties.initialBackoff().toNanos() << Math.min(failures - 1, 20));
+        // Equal jitter: at least half the backoff, so instances that failed together do not retry together
+        final long delay = ceiling / 2 + ThreadLocalRandom.current().nextLong(ceiling / 2 + 1);
+        retryAtNanos = nanoClock.getAsLong() + delay;
+        log.warn(
+                "Failed to send {} {} to upstream ({} in a row), retrying in {} ms: {}",
+                ids.size(),
+                kind,
+                failures,
+                TimeUnit.NANOSECONDS.toMillis(delay),
+                cause.getMessage());
+    }
+}
@@ -0,0 +1,164 @@
+package com.reliaquest.api.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counting Bloom filter over strings with 4-bit counters, so keys can be removed as well as added. A key that was
+ * never added is reported as absent with probability {@code 1 - falsePositiveRate} while at most {@code capacity} keys
+ * are present; a key that was added is never reported as absent.
+ *
+ * <p>Counters are packed sixteen to a {@code long} and updated with compare-and-set, so {@link #mightContain} is
+ * lock-free and safe alongside writers. A counter that reaches 15 sticks there: it is never decremented again, which
+ * keeps removals of other keys from producing false negatives at the cost of a slightly higher false-positive rate.
+ */
+public class CountingBloomFilter {
+
+    private static final int COUNTERS_PER_WORD = 16;
+    private static final long COUNTER_MASK = 0xF;
+    private static final long SATURATED = 0xF;
+
+    private final AtomicLongArray words;
+    private final long counters;
+    private final int hashFunctions;
+    private final int capacity;
+    private final LongAdder size = new LongAdder();
+
+    /**
+     * @param capacity number of keys the filter is sized for
+     * @param falsePositiveRate target false-positive rate at {@code capacity} keys, between 0 and 1 exclusive
+     */
+    public CountingBloomFilter(int capacity, double falsePositiveRate) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1");
+        }
+        final double ln2 = Math.log(2);
+        final long optimalCounters = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (ln2 * ln2));
+        final int wordCount = Math.toIntExact((optimalCounters + COUNTERS_PER_WORD - 1) / COUNTERS_PER_WORD);
+        this.words = new AtomicLongArray(wordCount);
+        this.counters = (long) wordCount * COUNTERS_PER_WORD;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) counters / capacity * ln2));
+        this.capacity = capacity;
+    }
+
+    public void add(String key) {
+        final long hash = hash(key);
+        final long step = step(hash);
+        for (int i = 0; i < hashFunctions; i++) {
+            increment(index(hash, step, i));
+        }
+        size.increment();
+    }
+
+    /**
+     * Removes a key that was previously {@link #add added}. Removing a key that is not present corrupts the filter.
+     */
+    public void remove(String key) {
+        final long hash = hash(key);
+        final long step = step(hash);
+        for (int i = 0; i < hashFunctions; i++) {
+            decrement(index(hash, step, i));
+        }
+        size.decrement();
+    }
+
+    public boolean mightContain(String key) {
+        final long hash = hash(key);
+        final long step = step(hash);
+        for (int i = 0; i < hashFunctions; i++) {
+            if (counter(index(hash, step, i)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return number of keys currently added
+     */
+    public long size() {
+        return size.sum();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int hashFunctions() {
+        return hashFunctions;
+    }
+
+    public long memoryBytes() {
+        return (long) words.length() * Long.BYTES;
+    }
+
+    /**
+     * @return false-positive rate expected at the current number of keys, {@code (1 - e^(-kn/m))^k}
+     */
+    public double expectedFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-hashFunctions * (double) size() / counters), hashFunctions);
+    }
+
+    private int counter(long index) {
+        return (int) ((words.get((int) (index >>> 4)) >>> shift(index)) & COUNTER_MASK);
+    }
+
+    private void increment(long index) {
+        final int word = (int) (index >>> 4);
+        final int shift = shift(index);
+        while (true) {
+            final long current = words.get(word);
+            final long value = (current >>> shift) & COUNTER_MASK;
+            if (value == SATURATED || words.compareAndSet(word, current, current + (1L << shift))) {
+                return;
+            }
+        }
+    }
+
+    private void decrement(long index) {
+        final int word = (int) (index >>> 4);
+        final int shift = shift(index);
+        while (true) {
+            final long current = words.get(word);
+            final long value = (current >>> shift) & COUNTER_MASK;
+            if (value == 0 || value == SATURATED || words.compareAndSet(word, current, current - (1L << shift))) {
+                return;
+            }
+        }
+    }
+
+    private static int shift(long index) {
+        return (int) (index & (COUNTERS_PER_WORD - 1)) * 4;
+    }
+
+    /*
+     * Double hashing: the i-th counter is (hash + i * step) mod counters, with both derived from one 64-bit hash.
+     */
+    private long index(long hash, long step, int i) {
+        return Math.floorMod(hash + i * step, counters);
+    }
+
+    private static long step(long hash) {
+        return mix(hash ^ 0x9E3779B97F4A7C15L) | 1;
+    }
+
+    /**
+     * FNV-1a over the characters, finished with the MurmurHash3 mixer so every output bit depends on every input bit.
+     */
+    private static long hash(String key) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash = (hash ^ key.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long hash) {
+        hash = (hash ^ (hash >>> 33)) * 0xFF51AFD7ED558CCDL;
+        hash = (hash ^ (hash >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return hash ^ (hash >>> 33);
+    }
+}
@@ -0,0 +1,95 @@
+package com.reliaquest.api.util;
+
+/**
+ * Count-min sketch estimating how often each key was seen recently, with 4-bit counters. An estimate never
+ * undercounts, saturates at 15 and overcounts only through hash collisions, which are rare while the sketch is sized
+ * for the number of distinct keys of interest.
+ *
+ * <p>Once the number of increments reaches ten times the width, every counter is halved, so the sketch follows
+ * changes in popularity instead of remembering old bursts forever. Not thread-safe.
+ */
+public class FrequencySketch {
+
+    private static final int DEPTH = 4;
+    private static final int COUNTERS_PER_WORD = 16;
+    private static final long MAX_COUNT = 15;
+    private static final long HALVE_MASK = 0x7777777777777777L;
+    private static final long[] SEEDS = {
+        0x97CB3127C15B8E45L, 0xB492B66FBE98F273L, 0x9AE16A3B2F90404FL, 0xCBF29CE484222325L
+    };
+
+    private final long[][] rows;
+    private final int widthMask;
+    private final int sampleSize;
+    private int additions;
+
+    /**
+     * @param expectedKeys number of distinct keys whose frequencies should be told apart
+     */
+    public FrequencySketch(int expectedKeys) {
+        if (expectedKeys <= 0) {
+            throw new IllegalArgumentException("expectedKeys must be positive");
+        }
+        final int width = Math.max(COUNTERS_PER_WORD, Integer.highestOneBit(Math.min(expectedKeys, 1 << 29) - 1) << 1);
+        this.rows = new long[DEPTH][width / COUNTERS_PER_WORD];
+        this.widthMask = width - 1;
+        this.sampleSize = 10 * width;
+    }
+
+    /**
+     * @return estimated number of recent occurrences of the key with this hash code, from 0 to 15
+     */
+    public int frequency(int hashCode) {
+        int frequency = (int) MAX_COUNT;
+        for (int row = 0; row < DEPTH; row++) {
+            final int index = index(hashCode, row);
+            frequency = Math.min(frequency, (int) ((rows[row][index >>> 4] >>> shift(index)) & MAX_COUNT));
+        }
+        return frequency;
+    }
+
+    /**
+     * Records one occurrence of the key with this hash code.
+     */
+    public void increment(int hashCode) {
+        boolean incremented = false;
+        for (int row = 0; row < DEPTH; row++) {
+            final int index = index(hashCode, row);
+            final int word = index >>> 4;
+            final int shift = shift(index);
+            if (((rows[row][word] >>> shift) & MAX_COUNT) != MAX_COUNT) {
+                rows[row][word] += 1L << shift;
+                incremented = true;
+            }
+        }
+        if (incremented && ++additions == sampleSize) {
+            halve();
+        }
+    }
+
+    /**
+     * @return memory held by the counters
+     */
+    public long memoryBytes() {
+        return (long) DEPTH * rows[0].length * Long.BYTES;
+    }
+
+    private void halve() {
+        for (final long[] row : rows) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] = (row[i] >>> 1) & HALVE_MASK;
+            }
+        }
+        additions /= 2;
+    }
+
+    private int index(int hashCode, int row) {
+        long hash = (hashCode + SEEDS[row]) * SEEDS[row];
+        hash ^= hash >>> 32;
+        return (int) hash & widthMask;
+    }
+
+    private static int shift(int index) {
+        return (index & (COUNTERS_PER_WORD - 1)) * 4;
+    }
+}
@@ -0,0 +1,158 @@
+package com.reliaquest.api.util;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
+
+/**
+ * Per-call-site log limiter for paths that can fire on every request, such as lookups of unknown ids. At most
+ * {@code permits} messages are written per {@code interval}; the rest are counted and reported in a single summary
+ * line by the first call of a later interval, or by a shared background thread within about a second of the interval
+ * ending if no call comes. Suppressed calls cost an atomic read and a counter increment: no message formatting, no
+ * argument arrays and no appender work. Thread-safe and lock-free. Counts still pending at shutdown are written by
+ * {@link #flushAll()}.
+ *
+ * <p>Declare one instance per call site, next to the class's logger:
+ *
+ * <pre>{@code
+ * private static final RateLimitedLog MISSING_ID_LOG = new RateLimitedLog(log, Level.WARN, 10, Duration.ofSeconds(1));
+ * }</pre>
+ */
+public final class RateLimitedLog {
+
+    private static final Set<RateLimitedLog> INSTANCES = ConcurrentHashMap.newKeySet();
+
+    private final Logger logger;
+    private final Level level;
+    private final int permits;
+    private final long intervalNanos;
+    private final LongSupplier nanoClock;
+
+    private final AtomicLong intervalStart;
+    private final AtomicLong remaining;
+    private final LongAdder suppressed = new LongAdder();
+
+    public RateLimitedLog(Logger logger, Level level, int permits, Duration interval) {
+        this(logger, level, permits, interval, System::nanoTime);
+        INSTANCES.add(this);
+        Flusher.start();
+    }
+
+    RateLimitedLog(Logger logger, Level level, int permits, Duration interval, LongSupplier nanoClock) {
+        if (permits < 0 || interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("permits must be >= 0 and interval must be positive");
+        }
+        this.logger = logger;
+        this.level = level;
+        this.permits = permits;
+        this.intervalNanos = interval.toNanos();
+        this.nanoClock = nanoClock;
+        this.intervalStart = new AtomicLong(nanoClock.getAsLong());
+        this.remaining = new AtomicLong(permits);
+    }
+
+    public void log(String format, Object argument) {
+        if (acquire()) {
+            logger.atLevel(level).log(format, argument);
+        }
+    }
+
+    public void log(String format, Object first, Object second) {
+        if (acquire()) {
+            logger.atLevel(level).log(format, first, second);
+        }
+    }
+
+    /**
+     * Writes the summary of every instance's suppressed messages now, without waiting for their intervals to end. Call
+     * once logging is about to stop.
+     */
+    public static void flushAll() {
+        INSTANCES.forEach(RateLimitedLog::flush);
+    }
+
+    /**
+     * @return number of messages suppressed in the current interval so far
+     */
+    public long getSuppressed() {
+        return suppressed.sum();
+    }
+
+    private boolean acquire() {
+        if (!logger.isEnabledForLevel(level)) {
+            return false;
+        }
+        rollOver(nanoClock.getAsLong());
+        if (remaining.get() > 0 && remaining.getAndDecrement() > 0) {
+            return true;
+        }
+        suppressed.increment();
+        return false;
+    }
+
+    /**
+     * Starts a new interval if the current one has ended, reporting what it suppressed.
+     */
+    void flushElapsed() {
+        rollOver(nanoClock.getAsLong());
+    }
+
+    void flush() {
+        final long now = nanoClock.getAsLong();
+        report(suppressed.sumThenReset(), now - intervalStart.get());
+    }
+
+    private void rollOver(long now) {
+        final long start = intervalStart.get();
+        if (now - start >= intervalNanos && intervalStart.compareAndSet(start, now)) {
+            final long dropped = suppressed.sumThenReset();
+            remaining.set(permits);
+            report(dropped, now - start);
+        }
+    }
+
+    private void report(long dropped, long elapsedNanos) {
+        if (dropped > 0) {
+            logger.atLevel(level)
+                    .log("Suppressed {} similar messages in the last {} ms", dropped, elapsedNanos / 1_000_000);
+        }
+    }
+
+    /**
+     * Reports suppressed counts of intervals that ended without a later call. Started with the first instance, on a
+     * daemon thread, since instances live in static fields for the life of the JVM.
+     */
+    private static final class Flusher {
+
+        private static final ScheduledExecutorService EXECUTOR =
+                Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    final var thread = new Thread(runnable, "rate-limited-log-flush");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        static {
+            EXECUTOR.scheduleAtFixedRate(Flusher::flushElapsed, 1, 1, TimeUnit.SECONDS);
+        }
+
+        private static void flushElapsed() {
+            try {
+                INSTANCES.forEach(RateLimitedLog::flushElapsed);
+            } catch (RuntimeException e) {
+                // A failure would cancel the schedule; the next call of each instance reports its count anyway
+            }
+        }
+
+        static void start() {
+            // Loading the class schedules the flush
+        }
+    }
+}
@@ -0,0 +1,375 @@
+package com.reliaquest.api.util;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Map keyed by UUID strings that stores each key as its two 64-bit halves instead of as a {@code String} in a
+ * {@code HashMap.Node}. Entries live in dense parallel arrays ({@code long} halves and values) addressed by an
+ * open-addressing {@code int} table with linear probing, so an entry costs about 28 bytes against roughly 40 for
+ * {@code HashMap}, and {@link #get} parses the key in place and allocates nothing.
+ *
+ * <p>Only canonical keys, as produced by {@link UUID#toString()} (36 characters, lower-case hex), are stored this way;
+ * any other key is kept in a small overflow {@code HashMap} so the map still behaves as a general
+ * {@code Map<String, V>}. Iteration order is unspecified. Not thread-safe.
+ */
+public class UuidKeyedMap<V> extends AbstractMap<String, V> {
+
+    private static final int UUID_LENGTH = 36;
+    private static final int MIN_CAPACITY = 16;
+    private static final int NON_CANONICAL = -2;
+    private static final byte[] HEX_DIGITS = new byte['f' + 1];
+
+    static {
+        Arrays.fill(HEX_DIGITS, (byte) -1);
+        for (int digit = 0; digit < 16; digit++) {
+            HEX_DIGITS[Character.forDigit(digit, 16)] = (byte) digit;
+        }
+    }
+
+    private long[] mostSignificant;
+    private long[] leastSignificant;
+    private Object[] values;
+    private int size;
+
+    /**
+     * Open-addressing table of dense entry positions plus one; {@code 0} marks an empty slot. Kept at most half full.
+     */
+    private int[] slots;
+
+    private final Map<String, V> overflow = new HashMap<>();
+    private int modCount;
+
+    public UuidKeyedMap() {
+        this(MIN_CAPACITY);
+    }
+
+    public UuidKeyedMap(int expectedSize) {
+        final int capacity = Math.max(MIN_CAPACITY, expectedSize);
+        mostSignificant = new long[capacity];
+        leastSignificant = new long[capacity];
+        values = new Object[capacity];
+        slots = new int[tableSizeFor(capacity)];
+    }
+
+    /**
+     * @return {@code true} if {@code key} is in the canonical form of {@link UUID#toString()}
+     */
+    public static boolean isCanonical(String key) {
+        return hasLayout(key)
+                && (hex(key, 0, 8) | hex(key, 9, 13) | hex(key, 14, 18) | hex(key, 19, 23) | hex(key, 24, 36)) >= 0;
+    }
+
+    /**
+     * @return the most significant 64 bits of a key for which {@link #isCanonical} holds
+     */
+    public static long mostSignificantBits(String key) {
+        return hex(key, 0, 8) << 32 | hex(key, 9, 13) << 16 | hex(key, 14, 18);
+    }
+
+    /**
+     * @return the least significant 64 bits of a key for which {@link #isCanonical} holds
+     */
+    public static long leastSignificantBits(String key) {
+        return hex(key, 19, 23) << 48 | hex(key, 24, 36);
+    }
+
+    @Override
+    public int size() {
+        return size + overflow.size();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        final int slot = slotOf(key);
+        return slot == NON_CANONICAL ? overflow.containsKey(key) : slot >= 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        final int slot = slotOf(key);
+        if (slot == NON_CANONICAL) {
+            return overflow.get(key);
+        }
+        return slot < 0 ? null : (V) values[slots[slot] - 1];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(String key, V value) {
+        Objects.requireNonNull(key);
+        if (!isCanonical(key)) {
+            return overflow.put(key, value);
+        }
+        final long msb = mostSignificantBits(key);
+        final long lsb = leastSignificantBits(key);
+        int slot = home(msb, lsb);
+        while (slots[slot] != 0) {
+            final int entry = slots[slot] - 1;
+            if (mostSignificant[entry] == msb && leastSignificant[entry] == lsb) {
+                final V previous = (V) values[entry];
+                values[entry] = value;
+                return previous;
+            }
+            slot = (slot + 1) & (slots.length - 1);
+        }
+        if (size == values.length) {
+            grow();
+            slot = home(msb, lsb);
+            while (slots[slot] != 0) slot = (slot + 1) & (slots.length - 1);
+        }
+        mostSignificant[size] = msb;
+        leastSignificant[size] = lsb;
+        values[size] = value;
+        slots[slot] = ++size;
+        modCount++;
+        return null;
+    }
+
+    @Override
+    public V remove(Object key) {
+        final int slot = slotOf(key);
+        if (slot == NON_CANONICAL) {
+            return overflow.remove(key);
+        }
+        return slot < 0 ? null : removeSlot(slot);
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(values, 0, size, null);
+        Arrays.fill(slots, 0);
+        size = 0;
+        overflow.clear();
+        modCount++;
+    }
+
+    @Override
+    public Collection<V> values() {
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<V> iterator() {
+                return new DenseThenOverflowIterator<>(overflow.values().iterator()) {
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    V dense(int entry) {
+                        return (V) values[entry];
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return UuidKeyedMap.this.size();
+            }
+        };
+    }
+
+    @Override
+    public Set<Entry<String, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, V>> iterator() {
+                return new DenseThenOverflowIterator<>(overflow.entrySet().iterator()) {
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    Entry<String, V> dense(int entry) {
+                        final String key = new UUID(mostSignificant[entry], leastSignificant[entry]).toString();
+                        return new SimpleImmutableEntry<>(key, (V) values[entry]);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return UuidKeyedMap.this.size();
+            }
+        };
+    }
+
+    /**
+     * Validates and parses the key in a single pass and probes for it.
+     *
+     * @return the slot holding the key, {@code -1} if it is canonical but absent, or {@link #NON_CANONICAL}
+     */
+    private int slotOf(Object key) {
+        if (!(key instanceof String s) || !hasLayout(s)) {
+            return NON_CANONICAL;
+        }
+        final long timeHigh = hex(s, 0, 8);
+        final long timeMid = hex(s, 9, 13);
+        final long timeLow = hex(s, 14, 18);
+        final long sequence = hex(s, 19, 23);
+        final long node = hex(s, 24, 36);
+        if ((timeHigh | timeMid | timeLow | sequence | node) < 0) {
+            return NON_CANONICAL;
+        }
+        return findSlot(timeHigh << 32 | timeMid << 16 | timeLow, sequence << 48 | node);
+    }
+
+    private int findSlot(long msb, long lsb) {
+        int slot = home(msb, lsb);
+        while (slots[slot] != 0) {
+            final int entry = slots[slot] - 1;
+            if (mostSignificant[entry] == msb && leastSignificant[entry] == lsb) {
+                return slot;
+            }
+            slot = (slot + 1) & (slots.length - 1);
+        }
+        return -1;
+    }
+
+    /**
+     * Empties {@code slot} with backward-shift deletion, so no tombstones are needed, then moves the last dense entry
+     * into the freed position to keep the entry arrays dense.
+     */
+    @SuppressWarnings("unchecked")
+    private V removeSlot(int slot) {
+        final int mask = slots.length - 1;
+        final int entry = slots[slot] - 1;
+        final V removed = (V) values[entry];
+
+        int hole = slot;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            if (slots[next] == 0) break;
+            final int moved = slots[next] - 1;
+            final int home = home(mostSignificant[moved], leastSignificant[moved]);
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                slots[hole] = slots[next];
+                hole = next;
+            }
+        }
+        slots[hole] = 0;
+
+        final int last = --size;
+        if (entry != last) {
+            mostSignificant[entry] = mostSignificant[last];
+            leastSignificant[entry] = leastSignificant[last];
+            values[entry] = values[last];
+            slots[findSlot(mostSignificant[entry], leastSignificant[entry])] = entry + 1;
+        }
+        values[last] = null;
+        modCount++;
+        return removed;
+    }
+
+    private void grow() {
+        final int capacity = values.length + (values.length >> 1);
+        mostSignificant = Arrays.copyOf(mostSignificant, capacity);
+        leastSignificant = Arrays.copyOf(leastSignificant, capacity);
+        values = Arrays.copyOf(values, capacity);
+        slots = new int[tableSizeFor(capacity)];
+        for (int entry = 0; entry < size; entry++) {
+            int slot = home(mostSignificant[entry], leastSignificant[entry]);
+            while (slots[slot] != 0) slot = (slot + 1) & (slots.length - 1);
+            slots[slot] = entry + 1;
+        }
+    }
+
+    private int home(long msb, long lsb) {
+        long h = msb ^ Long.rotateLeft(lsb, 32);
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h & (slots.length - 1);
+    }
+
+    private static int tableSizeFor(int capacity) {
+        return Integer.highestOneBit(capacity * 2 - 1) << 1;
+    }
+
+    private static boolean hasLayout(String key) {
+        return key.length() == UUID_LENGTH
+                && key.charAt(8) == '-'
+                && key.charAt(13) == '-'
+                && key.charAt(18) == '-'
+                && key.charAt(23) == '-';
+    }
+
+    /**
+     * Parses up to 15 lower-case hex digits.
+     *
+     * @return the parsed value, or a negative number if any character is not a lower-case hex digit
+     */
+    private static long hex(String key, int from, int to) {
+        long value = 0;
+        int invalid = 0;
+        for (int i = from; i < to; i++) {
+            final char c = key.charAt(i);
+            final int digit = c < HEX_DIGITS.length ? HEX_DIGITS[c] : -1;
+            invalid |= digit;
+            value = value << 4 | (digit & 0xf);
+        }
+        return invalid < 0 ? -1 : value;
+    }
+
+    /**
+     * Iterates the dense entries, then the overflow map. Removal through the iterator is supported for dense entries;
+     * since removal moves the last entry into the removed position, that position is visited again.
+     */
+    private abstract class DenseThenOverflowIterator<T> implements Iterator<T> {
+
+        private final Iterator<T> overflowIterator;
+        private int next;
+        private int current = -1;
+        private boolean inOverflow;
+        private int expectedModCount = modCount;
+
+        DenseThenOverflowIterator(Iterator<T> overflowIterator) {
+            this.overflowIterator = overflowIterator;
+        }
+
+        abstract T dense(int entry);
+
+        @Override
+        public boolean hasNext() {
+            return next < size || overflowIterator.hasNext();
+        }
+
+        @Override
+        public T next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next < size) {
+                current = next++;
+                return dense(current);
+            }
+            if (!overflowIterator.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            inOverflow = true;
+            current = -1;
+            return overflowIterator.next();
+        }
+
+        @Override
+        public void remove() {
+            if (inOverflow) {
+                overflowIterator.remove();
+                return;
+            }
+            if (current < 0) {
+                throw new IllegalStateException();
+            }
+            removeSlot(findSlot(mostSignificant[current], leastSignificant[current]));
+            next = current;
+            current = -1;
+            expectedModCount = modCount;
+        }
+    }
+}
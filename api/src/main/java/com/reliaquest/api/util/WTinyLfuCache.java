@@ -0,0 +1,335 @@
+package com.reliaquest.api.util;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Size-bounded cache with Window TinyLFU admission and eviction. New entries enter a small LRU window, about 1% of the
+ * capacity, which absorbs bursts of keys seen once. An entry evicted from the window competes for a place in the main
+ * segmented LRU with that region's own eviction candidate, and whichever a {@link FrequencySketch} has seen more often
+ * recently stays. Main-region entries start on probation and are promoted to the protected segment, 80% of the main
+ * region, when read again. A key that is read often therefore keeps its place against a scan of keys read once, and a
+ * key that has gone cold makes room for one that is now hot.
+ *
+ * <p>The capacity is a total weight: with a weigher returning 1 it bounds the number of entries, with one returning an
+ * estimate of the retained bytes it bounds memory. An entry heavier than the whole capacity is never stored. Entries
+ * expire a fixed time after they were written and are dropped when next read. Every operation takes a single lock and
+ * runs in constant time.
+ */
+public class WTinyLfuCache<K, V> {
+
+    /**
+     * @param entries entries currently held
+     * @param weightedSize sum of the weights of those entries
+     * @param maximumWeight capacity the weights are bounded by
+     * @param evictions entries dropped to stay within the capacity, including candidates not admitted
+     * @param expirations entries dropped because they were read after expiring
+     * @param sketchBytes memory held by the frequency sketch
+     */
+    public record Stats(
+            int entries,
+            long weightedSize,
+            long maximumWeight,
+            long hits,
+            long misses,
+            double hitRate,
+            long evictions,
+            long expirations,
+            long sketchBytes) {}
+
+    private enum Region {
+        WINDOW,
+        PROBATION,
+        PROTECTED
+    }
+
+    private static final class Node<K, V> {
+        final K key;
+        V value;
+        long weight;
+        long writtenAtNanos;
+        Region region;
+        Node<K, V> previous;
+        Node<K, V> next;
+
+        Node(K key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * Doubly-linked list from least to most recently used.
+     */
+    private static final class AccessOrder<K, V> {
+        Node<K, V> head;
+        Node<K, V> tail;
+        long weight;
+
+        void addLast(Node<K, V> node) {
+            node.previous = tail;
+            node.next = null;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+            weight += node.weight;
+        }
+
+        void remove(Node<K, V> node) {
+            if (node.previous == null) {
+                head = node.next;
+            } else {
+                node.previous.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.previous;
+            } else {
+                node.next.previous = node.previous;
+            }
+            node.previous = null;
+            node.next = null;
+            weight -= node.weight;
+        }
+
+        void clear() {
+            head = null;
+            tail = null;
+            weight = 0;
+        }
+
+        void moveToLast(Node<K, V> node) {
+            if (node != tail) {
+                remove(node);
+                addLast(node);
+            }
+        }
+    }
+
+    private final long maximumWeight;
+    private final long windowMaximum;
+    private final long protectedMaximum;
+    private final ToLongFunction<V> weigher;
+    private final long expireAfterWriteNanos;
+    private final LongSupplier nanoClock;
+    private final FrequencySketch sketch;
+
+    private final Map<K, Node<K, V>> nodes = new HashMap<>();
+    private final AccessOrder<K, V> window = new AccessOrder<>();
+    private final AccessOrder<K, V> probation = new AccessOrder<>();
+    private final AccessOrder<K, V> protectedSegment = new AccessOrder<>();
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+
+    /**
+     * @param maximumWeight capacity, as a sum of weights
+     * @param weigher weight of a value, at least zero; called once per write
+     * @param expectedEntries number of entries the capacity is expected to hold, which sizes the frequency sketch
+     * @param expireAfterWrite how long an entry is served after it was written
+     * @param nanoClock source of {@link System#nanoTime}-like timestamps
+     */
+    public WTinyLfuCache(
+            long maximumWeight,
+            ToLongFunction<V> weigher,
+            int expectedEntries,
+            Duration expireAfterWrite,
+            LongSupplier nanoClock) {
+        if (maximumWeight <= 0) {
+            throw new IllegalArgumentException("maximumWeight must be positive");
+        }
+        if (expireAfterWrite.isNegative() || expireAfterWrite.isZero()) {
+            throw new IllegalArgumentException("expireAfterWrite must be positive");
+        }
+        this.maximumWeight = maximumWeight;
+        this.windowMaximum = Math.max(1, maximumWeight / 100);
+        this.protectedMaximum = (long) ((maximumWeight - windowMaximum) * 0.8);
+        this.weigher = weigher;
+        this.expireAfterWriteNanos = expireAfterWrite.toNanos();
+        this.nanoClock = nanoClock;
+        this.sketch = new FrequencySketch(expectedEntries);
+    }
+
+    /**
+     * @return the value stored for {@code key}, or {@code null} if there is none or it has expired
+     */
+    public synchronized V get(K key) {
+        sketch.increment(key.hashCode());
+        final Node<K, V> node = nodes.get(key);
+        if (node == null) {
+            misses++;
+            return null;
+        }
+        if (nanoClock.getAsLong() - node.writtenAtNanos >= expireAfterWriteNanos) {
+            unlink(node);
+            expirations++;
+            misses++;
+            return null;
+        }
+        hits++;
+        onAccess(node);
+        return node.value;
+    }
+
+    /**
+     * Stores {@code value} for {@code key}, replacing any value stored before, then evicts down to the capacity. An
+     * entry pushed out of the window is dropped at once unless it has been seen more often than the entry it would
+     * displace.
+     */
+    public synchronized void put(K key, V value) {
+        final long weight = weigher.applyAsLong(value);
+        if (weight < 0) {
+            throw new IllegalArgumentException("Negative weight " + weight + " for " + key);
+        }
+        Node<K, V> node = nodes.get(key);
+        if (weight > maximumWeight) {
+            if (node != null) {
+                unlink(node);
+            }
+            evictions++;
+            return;
+        }
+        if (node == null) {
+            sketch.increment(key.hashCode());
+            node = new Node<>(key);
+            node.value = value;
+            node.weight = weight;
+            node.writtenAtNanos = nanoClock.getAsLong();
+            node.region = Region.WINDOW;
+            nodes.put(key, node);
+            window.addLast(node);
+        } else {
+            final AccessOrder<K, V> order = orderOf(node);
+            order.remove(node);
+            node.value = value;
+            node.weight = weight;
+            node.writtenAtNanos = nanoClock.getAsLong();
+            order.addLast(node);
+            onAccess(node);
+        }
+        evict();
+    }
+
+    /**
+     * Removes the entry for {@code key}, if any.
+     */
+    public synchronized void invalidate(K key) {
+        final Node<K, V> node = nodes.get(key);
+        if (node != null) {
+            unlink(node);
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        nodes.clear();
+        window.clear();
+        probation.clear();
+        protectedSegment.clear();
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(
+                nodes.size(),
+                weightedSize(),
+                maximumWeight,
+                hits,
+                misses,
+                hits + misses == 0 ? 0 : (double) hits / (hits + misses),
+                evictions,
+                expirations,
+                sketch.memoryBytes());
+    }
+
+    /**
+     * @return sum of {@code measure} over every value held, e.g. their estimated bytes in a cache bounded by count;
+     *     visits every entry under the lock, so is meant for diagnostics
+     */
+    public synchronized long sumOf(ToLongFunction<V> measure) {
+        long sum = 0;
+        for (final Node<K, V> node : nodes.values()) {
+            sum += measure.applyAsLong(node.value);
+        }
+        return sum;
+    }
+
+    private long weightedSize() {
+        return window.weight + probation.weight + protectedSegment.weight;
+    }
+
+    private void onAccess(Node<K, V> node) {
+        switch (node.region) {
+            case WINDOW -> window.moveToLast(node);
+            case PROTECTED -> protectedSegment.moveToLast(node);
+            case PROBATION -> {
+                probation.remove(node);
+                node.region = Region.PROTECTED;
+                protectedSegment.addLast(node);
+                // Demoted entries get another chance on probation rather than being evicted outright
+                while (protectedSegment.weight > protectedMaximum && protectedSegment.head != node) {
+                    final Node<K, V> demoted = protectedSegment.head;
+                    protectedSegment.remove(demoted);
+                    demoted.region = Region.PROBATION;
+                    probation.addLast(demoted);
+                }
+            }
+        }
+    }
+
+    private void evict() {
+        // Entries leaving the window become candidates at the most recently used end of probation
+        Node<K, V> firstCandidate = null;
+        while (window.weight > windowMaximum && window.head != null) {
+            final Node<K, V> candidate = window.head;
+            window.remove(candidate);
+            candidate.region = Region.PROBATION;
+            probation.addLast(candidate);
+            if (firstCandidate == null) {
+                firstCandidate = candidate;
+            }
+        }
+        while (weightedSize() > maximumWeight) {
+            Node<K, V> victim = probation.head;
+            if (victim == null) {
+                victim = protectedSegment.head != null ? protectedSegment.head : window.head;
+                evictEntry(victim);
+                continue;
+            }
+            final Node<K, V> candidate = firstCandidate != null ? firstCandidate : probation.tail;
+            if (candidate == victim) {
+                firstCandidate = null;
+                evictEntry(victim);
+                continue;
+            }
+            if (sketch.frequency(candidate.key.hashCode()) > sketch.frequency(victim.key.hashCode())) {
+                evictEntry(victim);
+            } else {
+                firstCandidate = candidate.next;
+                evictEntry(candidate);
+            }
+        }
+    }
+
+    private void evictEntry(Node<K, V> node) {
+        unlink(node);
+        evictions++;
+    }
+
+    private void unlink(Node<K, V> node) {
+        orderOf(node).remove(node);
+        nodes.remove(node.key);
+    }
+
+    private AccessOrder<K, V> orderOf(Node<K, V> node) {
+        return switch (node.region) {
+            case WINDOW -> window;
+            case PROBATION -> probation;
+            case PROTECTED -> protectedSegment;
+        };
+    }
+}
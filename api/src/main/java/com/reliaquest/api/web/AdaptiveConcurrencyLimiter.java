@@ -0,0 +1,122 @@
+package com.reliaquest.api.web;
+
+import com.reliaquest.api.config.ConcurrencyLimitProperties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that adapts to observed latency, following the gradient2 approach. Each completed request is
+ * compared with a baseline latency, an exponential average over roughly the last {@code baselineWindow} requests.
+ * Requests slower than the baseline (beyond {@code tolerance}) shrink the limit in proportion, because the extra time
+ * is queueing; while latency stays near the baseline the limit grows by a small queue allowance, probing for more
+ * capacity.
+ *
+ * <p>The baseline is learned from ordinary traffic, so the limit is never pinned to {@code minLimit} to re-measure it.
+ * Requests slower than the tolerance only count towards it when they ran with at most {@code minLimit}, or half the
+ * limit, in flight: otherwise the delay may be queueing the limit itself let in, and averaging it in would let the
+ * limit creep up under sustained overload. A backend that really got slower shrinks the limit until such requests
+ * appear, and the baseline then follows it. When latency falls well below the baseline, as after an overload clears,
+ * the baseline is pulled down faster than the average alone would, so the limit recovers quickly.
+ *
+ * <p>Admission is a lock-free check against the current limit; the limit itself is recalculated under a lock on
+ * every completed request, which is cheap compared to the requests being measured.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    /**
+     * Requests averaged with equal weight to seed the baseline, before the limit starts to move.
+     */
+    static final int WARMUP_SAMPLES = 10;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final double baselineWeight;
+    private final double shedFirstShare;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+
+    /*
+     * Guarded by this.
+     */
+    private double baselineRttNanos;
+
+    private int warmupSamples;
+
+    public AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties) {
+        this.minLimit = properties.minLimit();
+        this.maxLimit = properties.maxLimit();
+        this.tolerance = properties.tolerance();
+        this.smoothing = properties.smoothing();
+        this.baselineWeight = 2.0 / (Math.max(1, properties.baselineWindow()) + 1);
+        this.shedFirstShare = properties.shedFirstShare();
+        this.limit = Math.max(minLimit, Math.min(maxLimit, properties.initialLimit()));
+    }
+
+    /**
+     * Attempts to admit a request. Every successful call must be paired with {@link #release(long)}.
+     *
+     * @param shedFirst whether the request is low priority and may only use {@code shedFirstShare} of the limit
+     * @return {@code true} if the request was admitted
+     */
+    public boolean tryAcquire(boolean shedFirst) {
+        final int allowed = (int) (shedFirst ? Math.max(1, limit * shedFirstShare) : limit);
+        while (true) {
+            final int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases an admitted request and feeds its latency into the limit.
+     *
+     * @param rttNanos time the request spent in the handler
+     */
+    public void release(long rttNanos) {
+        final int concurrency = inFlight.getAndDecrement();
+        update(Math.max(1, rttNanos), concurrency);
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void update(long rttNanos, int concurrency) {
+        if (warmupSamples < WARMUP_SAMPLES) {
+            baselineRttNanos += (rttNanos - baselineRttNanos) / ++warmupSamples;
+            return;
+        }
+        final double current = limit;
+        // A slow request with the limit in use may be slow from queueing the limit let in; averaging it in would
+        // raise the baseline until the limit ran away. Only requests that could not have queued behind this limit,
+        // with at most minLimit or half the limit in flight, may show that the backend itself got slower.
+        if (rttNanos <= baselineRttNanos * tolerance || concurrency <= Math.max(minLimit, current / 2)) {
+            baselineRttNanos += (rttNanos - baselineRttNanos) * baselineWeight;
+        }
+        if (baselineRttNanos > 2 * rttNanos) {
+            // Latency is back well below the baseline, typically after an overload; don't wait for the average.
+            baselineRttNanos *= 0.95;
+        }
+
+        // Don't grow the limit while it isn't the bottleneck.
+        if (concurrency < current / 2 && rttNanos <= baselineRttNanos * tolerance) {
+            return;
+        }
+        final double gradient = Math.max(0.5, Math.min(1.0, tolerance * baselineRttNanos / rttNanos));
+        final double queueAllowance = Math.sqrt(current);
+        final double target = current * gradient + queueAllowance;
+        final double next = current * (1 - smoothing) + target * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+}
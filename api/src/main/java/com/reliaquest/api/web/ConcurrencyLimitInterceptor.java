@@ -0,0 +1,76 @@
+package com.reliaquest.api.web;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Admits requests through an {@link AdaptiveConcurrencyLimiter} and rejects the excess immediately with
+ * {@code 503 Service Unavailable} and a {@code Retry-After} header, instead of letting it queue on the servlet
+ * container's thread pool. Handlers annotated with {@link ShedFirst} are rejected before any others.
+ *
+ * <p>A request that continues asynchronously, such as a streamed export, gives its permit back as soon as it leaves
+ * the container thread: the limit protects that thread pool, and a long stream would otherwise skew the latency
+ * samples the limit is adjusted from. Such streams need a bound of their own; exports have theirs in
+ * {@link com.reliaquest.api.controller.impl.EmployeeExportController}.
+ */
+@Slf4j
+public class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".start";
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final String retryAfterSeconds;
+
+    public ConcurrencyLimitInterceptor(AdaptiveConcurrencyLimiter limiter, Duration retryAfter) {
+        this.limiter = limiter;
+        this.retryAfterSeconds = String.valueOf(Math.max(1, retryAfter.toSeconds()));
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        final boolean shedFirst =
+                handler instanceof HandlerMethod handlerMethod && handlerMethod.hasMethodAnnotation(ShedFirst.class);
+        if (!limiter.tryAcquire(shedFirst)) {
+            log.debug(
+                    "Shedding {} {} at limit {} with {} in flight",
+                    request.getMethod(),
+                    request.getRequestURI(),
+                    limiter.getLimit(),
+                    limiter.getInFlight());
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            return false;
+        }
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(
+            HttpServletRequest request, HttpServletResponse response, Object handler) {
+        release(request);
+    }
+
+    @Override
+    public void afterCompletion(
+            HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        release(request);
+    }
+
+    private void release(HttpServletRequest request) {
+        if (request.getAttribute(START_ATTRIBUTE) instanceof Long start) {
+            request.removeAttribute(START_ATTRIBUTE);
+            limiter.release(System.nanoTime() - start);
+        }
+    }
+}
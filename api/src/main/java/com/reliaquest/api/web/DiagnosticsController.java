@@ -0,0 +1,143 @@
+package com.reliaquest.api.web;
+
+import com.reliaquest.api.service.cache.EmployeeNearCache;
+import com.reliaquest.api.service.cache.NegativeLookupCache;
+import com.reliaquest.api.service.reconcile.EmployeeReconciler;
+import com.reliaquest.api.service.writebehind.WriteBehindQueue;
+import jakarta.servlet.http.HttpServletRequest;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Operational diagnostics for this instance. Only answers requests from the local host.
+ */
+@RestController
+@RequestMapping(DiagnosticsController.BASE_PATH)
+public class DiagnosticsController {
+
+    static final String BASE_PATH = "/internal/diagnostics";
+
+    private final SlowRequestLog slowRequestLog;
+    private final StartupTimer startupTimer;
+    private final NegativeLookupCache negativeLookupCache;
+    private final WriteBehindQueue writeBehindQueue;
+    private final EmployeeNearCache employeeNearCache;
+    private final EmployeeReconciler employeeReconciler;
+
+    public DiagnosticsController(
+            SlowRequestLog slowRequestLog,
+            StartupTimer startupTimer,
+            NegativeLookupCache negativeLookupCache,
+            WriteBehindQueue writeBehindQueue,
+            EmployeeNearCache employeeNearCache,
+            EmployeeReconciler employeeReconciler) {
+        this.slowRequestLog = slowRequestLog;
+        this.startupTimer = startupTimer;
+        this.negativeLookupCache = negativeLookupCache;
+        this.writeBehindQueue = writeBehindQueue;
+        this.employeeNearCache = employeeNearCache;
+        this.employeeReconciler = employeeReconciler;
+    }
+
+    /**
+     * @return the slowest requests since startup, slowest first
+     */
+    @GetMapping("/slow-requests")
+    public ResponseEntity<List<SlowRequestLog.SlowRequest>> getSlowRequests(HttpServletRequest request) {
+        if (!isLocal(request)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(slowRequestLog.snapshot());
+    }
+
+    @GetMapping("/startup")
+    public ResponseEntity<Map<String, Long>> getStartup(HttpServletRequest request) {
+        if (!isLocal(request)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        final Map<String, Long> startup = new LinkedHashMap<>();
+        startup.put("readyAtMillis", startupTimer.getReadyAtMillis());
+        startup.put("firstGoodResponseAtMillis", startupTimer.getFirstGoodResponseAtMillis());
+        return ResponseEntity.ok(startup);
+    }
+
+    /**
+     * @return Bloom filter size and memory, expected and observed false-positive rates and hit counts
+     */
+    @GetMapping("/negative-lookups")
+    public ResponseEntity<NegativeLookupCache.Stats> getNegativeLookups(HttpServletRequest request) {
+        if (!isLocal(request)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(negativeLookupCache.stats());
+    }
+
+    /**
+     * @return creates waiting for upstream, synced and rejected counts and the state of the retry backoff
+     */
+    @GetMapping("/write-behind")
+    public ResponseEntity<WriteBehindQueue.Stats> getWriteBehind(HttpServletRequest request) {
+        if (!isLocal(request)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(writeBehindQueue.stats());
+    }
+
+    /**
+     * @return near cache size and estimated memory, hit rate and eviction, expiry and invalidation counts
+     */
+    @GetMapping("/near-cache")
+    public ResponseEntity<EmployeeNearCache.Stats> getNearCache(HttpServletRequest request) {
+        if (!isLocal(request)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(employeeNearCache.stats());
+    }
+
+    /**
+     * @return number of reconciliation runs and failures, and what the last completed run compared and repaired
+     */
+    @GetMapping("/reconcile")
+    public ResponseEntity<EmployeeReconciler.Stats> getReconcile(HttpServletRequest request) {
+        if (!isLocal(request)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(employeeReconciler.stats());
+    }
+
+    /**
+     * Reconciles the store with upstream now, without waiting for the next scheduled run.
+     */
+    @PostMapping("/reconcile")
+    public ResponseEntity<EmployeeReconciler.Result> reconcile(HttpServletRequest request) {
+        if (!isLocal(request)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        if (!employeeReconciler.isEnabled()) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            return ResponseEntity.ok(employeeReconciler.reconcile());
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_GATEWAY).build();
+        }
+    }
+
+    static boolean isLocal(HttpServletRequest request) {
+        try {
+            // getRemoteAddr is a literal address, so this does not resolve anything
+            return InetAddress.getByName(request.getRemoteAddr()).isLoopbackAddress();
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.reliaquest.api.web;
+
+import java.util.Arrays;
+
+/**
+ * Phase timings of the request being handled on the current thread, reported in the {@code Server-Timing} header by
+ * {@link ServerTimingFilter}. Code that wants a phase timed brackets it with {@link #start()} and
+ * {@link #stop(Phase, long)}; outside a request, or on threads other than the request thread, {@code stop} does
+ * nothing. One instance is reused per thread, so timing a request allocates nothing beyond the header value.
+ *
+ * <pre>{@code
+ * final long start = RequestTiming.start();
+ * validate(input);
+ * RequestTiming.stop(RequestTiming.Phase.VALIDATION, start);
+ * }</pre>
+ */
+public final class RequestTiming {
+
+    /**
+     * Explicitly timed phases. Time not attributed to any of them is reported as {@code service}.
+     */
+    public enum Phase {
+        VALIDATION("validation"),
+        UPSTREAM("upstream");
+
+        private final String metricName;
+
+        Phase(String metricName) {
+            this.metricName = metricName;
+        }
+
+        public String metricName() {
+            return metricName;
+        }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final ThreadLocal<RequestTiming> CURRENT = ThreadLocal.withInitial(RequestTiming::new);
+
+    private final long[] phaseNanos = new long[PHASES.length];
+    private boolean active;
+    private long startNanos;
+    private long writeStartNanos;
+
+    private RequestTiming() {}
+
+    public static long start() {
+        return System.nanoTime();
+    }
+
+    public static void stop(Phase phase, long startNanos) {
+        final RequestTiming timing = CURRENT.get();
+        if (timing.active) {
+            timing.phaseNanos[phase.ordinal()] += System.nanoTime() - startNanos;
+        }
+    }
+
+    static RequestTiming begin() {
+        final RequestTiming timing = CURRENT.get();
+        Arrays.fill(timing.phaseNanos, 0);
+        timing.active = true;
+        timing.startNanos = System.nanoTime();
+        timing.writeStartNanos = 0;
+        return timing;
+    }
+
+    void end() {
+        active = false;
+    }
+
+    /**
+     * Marks the start of the response body. Called once, when the response is about to be committed.
+     */
+    void markWriteStart() {
+        if (writeStartNanos == 0) {
+            writeStartNanos = System.nanoTime();
+        }
+    }
+
+    long startNanos() {
+        return startNanos;
+    }
+
+    long phaseNanos(Phase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    /**
+     * @return time from the start of the request until the response body started, or until {@code now} if it has not
+     */
+    long appNanos(long now) {
+        return (writeStartNanos == 0 ? now : writeStartNanos) - startNanos;
+    }
+
+    /**
+     * @return time spent writing the response body, or {@code 0} if there was none
+     */
+    long writeNanos(long now) {
+        return writeStartNanos == 0 ? 0 : now - writeStartNanos;
+    }
+
+    long serviceNanos(long now) {
+        long service = appNanos(now);
+        for (final long nanos : phaseNanos) {
+            service -= nanos;
+        }
+        return Math.max(0, service);
+    }
+
+    /**
+     * @return the {@code Server-Timing} header value, e.g. {@code validation;dur=0.041, service;dur=1.2, app;dur=1.3}
+     */
+    String headerValue(long now) {
+        final StringBuilder header = new StringBuilder(96);
+        for (final Phase phase : PHASES) {
+            final long nanos = phaseNanos[phase.ordinal()];
+            if (nanos > 0) {
+                appendMetric(header, phase.metricName(), nanos);
+            }
+        }
+        appendMetric(header, "service", serviceNanos(now));
+        appendMetric(header, "app", appNanos(now));
+        return header.toString();
+    }
+
+    /**
+     * Appends {@code name;dur=<millis>} with microsecond precision, without going through a {@code Formatter}.
+     */
+    private static void appendMetric(StringBuilder header, String name, long nanos) {
+        if (!header.isEmpty()) {
+            header.append(", ");
+        }
+        final long micros = nanos / 1_000;
+        final long fraction = micros % 1_000;
+        header.append(name).append(";dur=").append(micros / 1_000).append('.');
+        if (fraction < 100) header.append('0');
+        if (fraction < 10) header.append('0');
+        header.append(fraction);
+    }
+}
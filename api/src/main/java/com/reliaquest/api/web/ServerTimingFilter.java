@@ -0,0 +1,133 @@
+package com.reliaquest.api.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Times every request and adds a {@code Server-Timing} header with its {@link RequestTiming} phases. The header is
+ * added just before the response is committed, i.e. when the body starts or the response is flushed without one; the
+ * time spent writing the body is recorded only in the {@link SlowRequestLog}.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Server-Timing";
+
+    private final SlowRequestLog slowRequests;
+
+    public ServerTimingFilter(SlowRequestLog slowRequests) {
+        this.slowRequests = slowRequests;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/internal/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        final RequestTiming timing = RequestTiming.begin();
+        final long startedAtMillis = System.currentTimeMillis();
+        final TimingResponse timingResponse = new TimingResponse(response, timing);
+        try {
+            filterChain.doFilter(request, timingResponse);
+            timingResponse.addHeader();
+        } finally {
+            timing.end();
+            record(request, response, timing, startedAtMillis);
+        }
+    }
+
+    private void record(
+            HttpServletRequest request, HttpServletResponse response, RequestTiming timing, long startedAtMillis) {
+        final long now = System.nanoTime();
+        final long totalNanos = now - timing.startNanos();
+        if (!slowRequests.qualifies(totalNanos)) {
+            return;
+        }
+        slowRequests.record(new SlowRequestLog.SlowRequest(
+                Instant.ofEpochMilli(startedAtMillis),
+                request.getMethod(),
+                request.getRequestURI(),
+                response.getStatus(),
+                millis(totalNanos),
+                millis(timing.phaseNanos(RequestTiming.Phase.VALIDATION)),
+                millis(timing.phaseNanos(RequestTiming.Phase.UPSTREAM)),
+                millis(timing.serviceNanos(now)),
+                millis(timing.writeNanos(now))));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Adds the header on the first call that can commit the response.
+     */
+    private static class TimingResponse extends HttpServletResponseWrapper {
+
+        private final RequestTiming timing;
+        private boolean headerAdded;
+
+        TimingResponse(HttpServletResponse response, RequestTiming timing) {
+            super(response);
+            this.timing = timing;
+        }
+
+        void addHeader() {
+            if (headerAdded) {
+                return;
+            }
+            headerAdded = true;
+            timing.markWriteStart();
+            if (!isCommitted()) {
+                setHeader(HEADER, timing.headerValue(System.nanoTime()));
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addHeader();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            addHeader();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addHeader();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            addHeader();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.reliaquest.api.web;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a handler method as expensive and low priority. Under overload the {@link ConcurrencyLimitInterceptor}
+ * rejects these requests before it starts rejecting unmarked ones such as point lookups.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ShedFirst {}
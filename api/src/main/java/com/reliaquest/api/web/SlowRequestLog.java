@@ -0,0 +1,113 @@
+package com.reliaquest.api.web;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The slowest requests seen so far, kept in a fixed number of slots. Recording is lock-free: a request is only turned
+ * into a {@link SlowRequest} once {@link #qualifies(long)} says it is slower than the fastest one retained, and it then
+ * replaces that one with a compare-and-set. Under contention the admission floor can lag behind the slots for a moment,
+ * so the retained set is the slowest requests to within a few near-ties.
+ */
+public class SlowRequestLog {
+
+    /**
+     * Durations are in milliseconds. {@code write} is the time spent writing the response body, which is not part of
+     * the {@code Server-Timing} header because the header has been sent by then.
+     */
+    public record SlowRequest(
+            Instant startedAt,
+            String method,
+            String uri,
+            int status,
+            double totalMs,
+            double validationMs,
+            double upstreamMs,
+            double serviceMs,
+            double writeMs) {}
+
+    private final AtomicReferenceArray<SlowRequest> slots;
+
+    /*
+     * Total duration a request must exceed to be admitted, or -1 while there is an empty slot.
+     */
+    private volatile double floorMs = -1;
+
+    public SlowRequestLog(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    public boolean qualifies(long totalNanos) {
+        return totalNanos / 1_000_000.0 > floorMs;
+    }
+
+    /**
+     * @return whether the request was retained
+     */
+    public boolean record(SlowRequest request) {
+        while (true) {
+            int minIndex = -1;
+            SlowRequest min = null;
+            boolean raced = false;
+            for (int i = 0; i < slots.length(); i++) {
+                final SlowRequest current = slots.get(i);
+                if (current == null) {
+                    if (slots.compareAndSet(i, null, request)) {
+                        updateFloor();
+                        return true;
+                    }
+                    raced = true;
+                    break;
+                }
+                if (min == null || current.totalMs() < min.totalMs()) {
+                    min = current;
+                    minIndex = i;
+                }
+            }
+            if (raced) {
+                continue;
+            }
+            if (request.totalMs() <= min.totalMs()) {
+                return false;
+            }
+            if (slots.compareAndSet(minIndex, min, request)) {
+                updateFloor();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @return the retained requests, slowest first
+     */
+    public List<SlowRequest> snapshot() {
+        final List<SlowRequest> requests = new ArrayList<>(slots.length());
+        for (int i = 0; i < slots.length(); i++) {
+            final SlowRequest request = slots.get(i);
+            if (request != null) {
+                requests.add(request);
+            }
+        }
+        requests.sort(Comparator.comparingDouble(SlowRequest::totalMs).reversed());
+        return requests;
+    }
+
+    private void updateFloor() {
+        double floor = Double.MAX_VALUE;
+        for (int i = 0; i < slots.length(); i++) {
+            final SlowRequest request = slots.get(i);
+            if (request == null) {
+                floorMs = -1;
+                return;
+            }
+            floor = Math.min(floor, request.totalMs());
+        }
+        floorMs = floor;
+    }
+}
@@ -0,0 +1,65 @@
+package com.reliaquest.api.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Reports how long after JVM start the instance became ready and served its first successful response, the two
+ * numbers that matter when new instances are added under load.
+ */
+@Slf4j
+@Component
+public class StartupTimer implements HandlerInterceptor, ApplicationListener<ApplicationReadyEvent> {
+
+    private final AtomicLong readyAtMillis = new AtomicLong(-1);
+    private final AtomicLong firstGoodResponseAtMillis = new AtomicLong(-1);
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        readyAtMillis.set(uptimeMillis());
+        log.info(
+                "Ready {} ms after JVM start; application startup took {} ms",
+                readyAtMillis.get(),
+                event.getTimeTaken().toMillis());
+    }
+
+    @Override
+    public void afterCompletion(
+            HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (firstGoodResponseAtMillis.get() < 0
+                && ex == null
+                && response.getStatus() < 400
+                && firstGoodResponseAtMillis.compareAndSet(-1, uptimeMillis())) {
+            log.info(
+                    "First successful response ({} {}) {} ms after JVM start",
+                    request.getMethod(),
+                    request.getRequestURI(),
+                    firstGoodResponseAtMillis.get());
+        }
+    }
+
+    /**
+     * @return milliseconds from JVM start until the application was ready, or {@code -1} if it is not yet
+     */
+    public long getReadyAtMillis() {
+        return readyAtMillis.get();
+    }
+
+    /**
+     * @return milliseconds from JVM start until the first successful response, or {@code -1} if none was sent yet
+     */
+    public long getFirstGoodResponseAtMillis() {
+        return firstGoodResponseAtMillis.get();
+    }
+
+    private static long uptimeMillis() {
+        return ManagementFactory.getRuntimeMXBean().getUptime();
+    }
+}
@@ -0,0 +1,25 @@
+package com.reliaquest.api.web;
+
+import java.io.IOException;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Adds outgoing calls made on a request thread to its {@link RequestTiming.Phase#UPSTREAM} phase, from sending the
+ * request until the response headers arrive. Reading the response body counts towards {@code service}.
+ */
+public class UpstreamTimingInterceptor implements ClientHttpRequestInterceptor {
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        final long start = RequestTiming.start();
+        try {
+            return execution.execute(request, body);
+        } finally {
+            RequestTiming.stop(RequestTiming.Phase.UPSTREAM, start);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.reliaquest.api.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingEmployeeParserTest {
+
+    private static final String ALICE_JSON = "{\"id\":\"a\",\"employee_name\":\"Alice\",\"employee_salary\":50000,"
+            + "\"employee_age\":30,\"employee_title\":\"Engineer\",\"employee_email\":\"alice@mail.com\"}";
+    private static final Employee ALICE = new Employee("a", "Alice", 50000, 30, "Engineer", "alice@mail.com");
+
+    private final StreamingEmployeeParser parser = new StreamingEmployeeParser(new JsonFactory());
+    private final List<Employee> sink = new ArrayList<>();
+
+    private static InputStream json(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void readEnvelope_streamsEveryEmployeeAndReturnsStatus() throws IOException {
+        UpstreamResponse<Integer> response = parser.readEnvelope(
+                json("{\"data\":[" + ALICE_JSON + "," + ALICE_JSON.replace("\"a\"", "\"b\"")
+                        + "],\"status\":\"Successfully processed request.\"}"),
+                sink::add);
+        assertEquals(2, response.data());
+        assertEquals("Successfully processed request.", response.status());
+        assertNull(response.error());
+        assertEquals(ALICE, sink.get(0));
+        assertEquals("b", sink.get(1).id());
+    }
+
+    @Test
+    void readEnvelope_skipsUnknownFieldsAtAnyDepth() throws IOException {
+        String employee = "{\"extra\":{\"nested\":[1,{\"id\":\"x\"}]},"
+                + ALICE_JSON.substring(1, ALICE_JSON.length() - 1) + ",\"tags\":[\"a\",\"b\"]}";
+        UpstreamResponse<Integer> response = parser.readEnvelope(
+                json("{\"meta\":{\"page\":1},\"status\":\"ok\",\"data\":[" + employee + "]}"), sink::add);
+        assertEquals(1, response.data());
+        assertEquals(List.of(ALICE), sink);
+    }
+
+    @Test
+    void readEnvelope_fieldOrderAndNumericStrings_areAccepted() throws IOException {
+        parser.readEnvelope(
+                json("{\"data\":[{\"employee_email\":\"alice@mail.com\",\"employee_age\":\"30\",\"employee_title\":"
+                        + "\"Engineer\",\"employee_salary\":50000,\"employee_name\":\"Alice\",\"id\":\"a\"}]}"),
+                sink::add);
+        assertEquals(List.of(ALICE), sink);
+    }
+
+    @Test
+    void readEnvelope_nullData_returnsErrorWithoutEmployees() throws IOException {
+        UpstreamResponse<Integer> response =
+                parser.readEnvelope(json("{\"data\":null,\"status\":\"Failed\",\"error\":\"Too many requests\"}"),
+                        sink::add);
+        assertNull(response.data());
+        assertEquals("Too many requests", response.error());
+        assertTrue(sink.isEmpty());
+    }
+
+    @Test
+    void readEnvelope_missingRequiredField_throws() {
+        assertThrows(JsonParseException.class, () -> parser.readEnvelope(
+                json("{\"data\":[{\"id\":\"a\",\"employee_name\":\"Alice\"}]}"), sink::add));
+    }
+
+    @Test
+    void readEnvelope_notAnObject_throws() {
+        assertThrows(JsonParseException.class, () -> parser.readEnvelope(json("[" + ALICE_JSON + "]"), sink::add));
+    }
+
+    @Test
+    void readEnvelope_truncated_throwsAfterStreamingCompleteEmployees() {
+        assertThrows(IOException.class, () -> parser.readEnvelope(
+                json("{\"data\":[" + ALICE_JSON + ",{\"id\":\"b\""), sink::add));
+        assertEquals(List.of(ALICE), sink);
+    }
+
+    @Test
+    void readArray_bareArray_streamsEmployees() throws IOException {
+        assertEquals(1, parser.readArray(json("[" + ALICE_JSON + "]"), sink::add));
+        assertEquals(List.of(ALICE), sink);
+        assertEquals(0, parser.readArray(json("[]"), sink::add));
+    }
+}
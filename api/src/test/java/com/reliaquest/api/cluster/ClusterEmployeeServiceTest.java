@@ -0,0 +1,253 @@
+package com.reliaquest.api.cluster;
+
+import com.reliaquest.api.controller.dto.EmployeeCreationInput;
+import com.reliaquest.api.controller.dto.EmployeeQuery;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeLookup;
+import com.reliaquest.api.model.SyncStatus;
+import com.reliaquest.api.model.TitleAggregate;
+import com.reliaquest.api.model.TitleTotals;
+import com.reliaquest.api.service.impl.EmployeeServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ClusterEmployeeServiceTest {
+
+    private static final String SELF = "http://localhost:8111";
+    private static final String PEER = "http://localhost:8121";
+
+    @Mock
+    private EmployeeServiceImpl localEmployeeService;
+
+    @Mock
+    private ClusterPeerClient peerClient;
+
+    private ConsistentHashRing ring;
+    private ClusterEmployeeService service;
+
+    @BeforeEach
+    void setUp() {
+        ClusterProperties properties = new ClusterProperties(true, SELF, List.of(SELF, PEER), 64, Duration.ofSeconds(1));
+        ring = new ConsistentHashRing(properties.members(), properties.virtualNodes());
+        service = new ClusterEmployeeService(localEmployeeService, peerClient, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    private String idOwnedBy(String member) {
+        while (true) {
+            String id = UUID.randomUUID().toString();
+            if (ring.ownerOf(id).equals(member)) return id;
+        }
+    }
+
+    private Employee employee(String name, int salary) {
+        return new Employee(UUID.randomUUID().toString(), name, salary, 30, "Engineer", name + "@mail.com");
+    }
+
+    @Test
+    void constructor_selfNotAMember_throws() {
+        ClusterProperties properties = new ClusterProperties(true, "http://elsewhere", List.of(SELF, PEER), 64,
+                Duration.ofSeconds(1));
+        assertThrows(IllegalStateException.class,
+                () -> new ClusterEmployeeService(localEmployeeService, peerClient, properties));
+    }
+
+    @Test
+    void getEmployeeById_ownedLocally_readsLocalPartition() {
+        String id = idOwnedBy(SELF);
+        Employee employee = employee("Alice", 1);
+        when(localEmployeeService.getEmployeeById(id)).thenReturn(employee);
+        assertEquals(employee, service.getEmployeeById(id));
+        verifyNoInteractions(peerClient);
+    }
+
+    @Test
+    void getEmployeeById_ownedByPeer_forwardsToPeer() {
+        String id = idOwnedBy(PEER);
+        Employee employee = employee("Alice", 1);
+        when(peerClient.getEmployeeById(PEER, id)).thenReturn(employee);
+        assertEquals(employee, service.getEmployeeById(id));
+        verify(localEmployeeService, never()).getEmployeeById(any());
+    }
+
+    @Test
+    void createEmployee_storesOnOwner() {
+        Employee created = service.createEmployee(
+                new EmployeeCreationInput("Alice", 50000, 30, "Engineer", "alice@mail.com"));
+        if (ring.ownerOf(created.id()).equals(SELF)) {
+            verify(localEmployeeService).addCreatedEmployee(created);
+            verifyNoInteractions(peerClient);
+        } else {
+            verify(peerClient).addCreatedEmployee(PEER, created);
+            verify(localEmployeeService, never()).addCreatedEmployee(any());
+        }
+    }
+
+    @Test
+    void getSyncStatus_ownedByPeer_asksOwner() {
+        String id = idOwnedBy(PEER);
+        SyncStatus pending = new SyncStatus(id, SyncStatus.State.PENDING, 0, null);
+        when(peerClient.getSyncStatus(PEER, id)).thenReturn(pending);
+        assertEquals(pending, service.getSyncStatus(id));
+        verify(localEmployeeService, never()).getSyncStatus(any());
+    }
+
+    @Test
+    void getSyncStatus_ownedLocally_readsLocalQueue() {
+        String id = idOwnedBy(SELF);
+        when(localEmployeeService.getSyncStatus(id)).thenReturn(SyncStatus.synced(id));
+        assertEquals(SyncStatus.synced(id), service.getSyncStatus(id));
+        verifyNoInteractions(peerClient);
+    }
+
+    @Test
+    void deleteEmployeeById_ownedByPeer_forwardsToPeer() {
+        String id = idOwnedBy(PEER);
+        when(peerClient.deleteEmployeeById(PEER, id)).thenReturn(true);
+        assertTrue(service.deleteEmployeeById(id));
+        verify(localEmployeeService, never()).deleteEmployeeById(any());
+    }
+
+    @Test
+    void getAllEmployees_mergesEveryPartition() {
+        Employee local = employee("Alice", 1);
+        Employee remote = employee("Bob", 2);
+        when(localEmployeeService.getAllEmployees()).thenReturn(List.of(local));
+        when(peerClient.getAllEmployees(PEER)).thenReturn(List.of(remote));
+        assertEquals(List.of(local, remote), service.getAllEmployees());
+    }
+
+    @Test
+    void getAllEmployees_peerFails_returnsPartialResults() {
+        Employee local = employee("Alice", 1);
+        when(localEmployeeService.getAllEmployees()).thenReturn(List.of(local));
+        when(peerClient.getAllEmployees(PEER)).thenThrow(new IllegalStateException("down"));
+        assertEquals(List.of(local), service.getAllEmployees());
+    }
+
+    @Test
+    void getTopTenHighestEarningEmployeeNames_mergesAcrossPartitions() {
+        when(localEmployeeService.getTopEarners(10)).thenReturn(List.of(employee("Alice", 300), employee("Carol", 100)));
+        when(peerClient.getTopEarners(PEER, 10)).thenReturn(List.of(employee("Bob", 200)));
+        assertEquals(List.of("Alice", "Bob", "Carol"), service.getTopTenHighestEarningEmployeeNames());
+    }
+
+    @Test
+    void getEmployeesByFuzzyNameSearch_ranksPartitionsTogetherByDistance() {
+        Employee alice = employee("Alice", 1);
+        Employee alicx = employee("Alicx", 2);
+        when(localEmployeeService.getEmployeesByFuzzyNameSearch("alice", 2, 2))
+                .thenReturn(List.of(alicx, employee("Alxxe", 3)));
+        when(peerClient.getEmployeesByFuzzyNameSearch(PEER, "alice", 2, 2)).thenReturn(List.of(alice));
+        assertEquals(List.of(alice, alicx), service.getEmployeesByFuzzyNameSearch("alice", 2, 2));
+    }
+
+    @Test
+    void queryEmployees_mergesPartitionsInQueryOrder() {
+        EmployeeQuery query = new EmployeeQuery(null, null, null, null, null, null, EmployeeQuery.SortField.SALARY,
+                true, 2);
+        Employee alice = employee("Alice", 300);
+        Employee bob = employee("Bob", 200);
+        when(localEmployeeService.queryEmployees(query)).thenReturn(List.of(alice, employee("Carol", 100)));
+        when(peerClient.queryEmployees(PEER, query)).thenReturn(List.of(bob));
+        assertEquals(List.of(alice, bob), service.queryEmployees(query));
+    }
+
+    @Test
+    void getEmployeesCreatedBetween_mergesPartitionsByIdUpToLimit() {
+        Employee first = new Employee("0001", "Alice", 1, 30, "Engineer", "a@mail.com");
+        Employee second = new Employee("0002", "Bob", 2, 30, "Engineer", "b@mail.com");
+        Employee third = new Employee("0003", "Carol", 3, 30, "Engineer", "c@mail.com");
+        Employee fourth = new Employee("0004", "Dan", 4, 30, "Engineer", "d@mail.com");
+        when(localEmployeeService.getEmployeesCreatedBetween(0, 100, 3)).thenReturn(List.of(second));
+        when(peerClient.getEmployeesCreatedBetween(PEER, 0, 100, 3)).thenReturn(List.of(first, third, fourth));
+        assertEquals(List.of(first, second, third), service.getEmployeesCreatedBetween(0, 100, 3));
+    }
+
+    @Test
+    void getTitleAggregates_mergesTotalsOfPartitions() {
+        when(localEmployeeService.getTitleTotals()).thenReturn(List.of(
+                new TitleTotals("Engineer", 1, 50000, 50000, 50000, 30),
+                new TitleTotals("Manager", 1, 90000, 90000, 90000, 50)));
+        when(peerClient.getTitleTotals(PEER)).thenReturn(List.of(
+                new TitleTotals("Director", 1, 120000, 120000, 120000, 60),
+                new TitleTotals("Engineer", 2, 150000, 70000, 80000, 90)));
+
+        assertEquals(
+                List.of(
+                        new TitleAggregate("Director", 1, 120000.0, 120000, 120000, 60.0),
+                        new TitleAggregate("Engineer", 3, 200000 / 3.0, 50000, 80000, 40.0),
+                        new TitleAggregate("Manager", 1, 90000.0, 90000, 90000, 50.0)),
+                service.getTitleAggregates());
+    }
+
+    @Test
+    void getTitleAggregate_titleOnlyOnPeer_usesPeerTotals() {
+        when(localEmployeeService.getTitleTotals("Director")).thenReturn(null);
+        when(peerClient.getTitleTotals(PEER, "Director"))
+                .thenReturn(new TitleTotals("Director", 2, 240000, 110000, 130000, 100));
+        assertEquals(
+                new TitleAggregate("Director", 2, 120000.0, 110000, 130000, 50.0),
+                service.getTitleAggregate("Director"));
+    }
+
+    @Test
+    void getHighestSalaryOfEmployees_takesMaximumOfPartitions() {
+        when(localEmployeeService.getHighestSalaryOfEmployees()).thenReturn(null);
+        when(peerClient.getHighestSalaryOfEmployees(PEER)).thenReturn(90000);
+        assertEquals(90000, service.getHighestSalaryOfEmployees());
+    }
+
+    @Test
+    void rebalance_movesEmployeesOwnedByPeer() {
+        Employee stays = new Employee(idOwnedBy(SELF), "Alice", 1, 30, "Engineer", "a@mail.com");
+        Employee moves = new Employee(idOwnedBy(PEER), "Bob", 2, 30, "Engineer", "b@mail.com");
+        when(localEmployeeService.getAllEmployees()).thenReturn(List.of(stays, moves));
+        assertEquals(1, service.rebalance());
+        verify(peerClient).putEmployee(PEER, moves);
+        verify(localEmployeeService).removeEmployee(moves.id());
+        verify(localEmployeeService, never()).removeEmployee(stays.id());
+        verify(localEmployeeService, never()).deleteEmployeeById(any());
+    }
+
+    @Test
+    void getEmployeesByIds_resolvesEachOwnerWithOneCall() {
+        Employee local = new Employee(idOwnedBy(SELF), "Alice", 1, 30, "Engineer", "a@mail.com");
+        Employee remote = new Employee(idOwnedBy(PEER), "Bob", 2, 30, "Engineer", "b@mail.com");
+        String missingRemote = idOwnedBy(PEER);
+        when(localEmployeeService.getEmployeesByIds(List.of(local.id())))
+                .thenReturn(new EmployeeLookup(Map.of(local.id(), local), List.of()));
+        when(peerClient.getEmployeesByIds(PEER, List.of(missingRemote, remote.id())))
+                .thenReturn(new EmployeeLookup(Map.of(remote.id(), remote), List.of(missingRemote)));
+
+        EmployeeLookup lookup = service.getEmployeesByIds(List.of(missingRemote, local.id(), remote.id()));
+        assertEquals(List.of(local.id(), remote.id()), List.copyOf(lookup.found().keySet()));
+        assertEquals(List.of(missingRemote), lookup.missing());
+        verify(peerClient, times(1)).getEmployeesByIds(any(), any());
+    }
+
+    @Test
+    void getEmployeesByIds_peerFails_throws() {
+        String remote = idOwnedBy(PEER);
+        when(peerClient.getEmployeesByIds(PEER, List.of(remote))).thenThrow(new IllegalStateException("down"));
+        assertThrows(RuntimeException.class, () -> service.getEmployeesByIds(List.of(remote)));
+    }
+}
@@ -0,0 +1,42 @@
+package com.reliaquest.api.cluster;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClusterMemberInterceptorTest {
+
+    private final ClusterMemberInterceptor interceptor =
+            new ClusterMemberInterceptor(List.of("http://10.1.2.3:8111", "http://[fd00::7]:8121"));
+
+    private static MockHttpServletRequest request(String remoteAddress) {
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/internal/cluster/employees");
+        request.setRemoteAddr(remoteAddress);
+        return request;
+    }
+
+    @Test
+    void preHandle_member_isAdmitted() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertTrue(interceptor.preHandle(request("10.1.2.3"), response, null));
+        assertTrue(interceptor.preHandle(request("fd00:0:0:0:0:0:0:7"), response, null));
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    void preHandle_loopback_isAdmitted() {
+        assertTrue(interceptor.preHandle(request("127.0.0.1"), new MockHttpServletResponse(), null));
+        assertTrue(interceptor.preHandle(request("0:0:0:0:0:0:0:1"), new MockHttpServletResponse(), null));
+    }
+
+    @Test
+    void preHandle_otherAddress_isForbidden() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(request("10.1.2.4"), response, null));
+        assertEquals(403, response.getStatus());
+    }
+}
@@ -0,0 +1,70 @@
+package com.reliaquest.api.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsistentHashRingTest {
+
+    private static final List<String> THREE_MEMBERS =
+            List.of("http://localhost:8111", "http://localhost:8121", "http://localhost:8131");
+
+    @Test
+    void ownerOf_sameKey_alwaysSameOwner() {
+        ConsistentHashRing ring = new ConsistentHashRing(THREE_MEMBERS, 128);
+        ConsistentHashRing rebuilt = new ConsistentHashRing(THREE_MEMBERS, 128);
+        for (int i = 0; i < 1000; i++) {
+            String key = UUID.randomUUID().toString();
+            assertEquals(ring.ownerOf(key), rebuilt.ownerOf(key));
+        }
+    }
+
+    @Test
+    void ownerOf_spreadsKeysAcrossMembers() {
+        ConsistentHashRing ring = new ConsistentHashRing(THREE_MEMBERS, 128);
+        Map<String, Integer> counts = new HashMap<>();
+        int keys = 30_000;
+        for (int i = 0; i < keys; i++) {
+            counts.merge(ring.ownerOf(UUID.randomUUID().toString()), 1, Integer::sum);
+        }
+        assertEquals(3, counts.size());
+        counts.values().forEach(count -> assertTrue(count > keys / 3 * 0.7, "unbalanced: " + counts));
+    }
+
+    @Test
+    void addingMember_movesOnlyItsShareOfKeys() {
+        ConsistentHashRing before = new ConsistentHashRing(THREE_MEMBERS, 128);
+        List<String> fourMembers = new ArrayList<>(THREE_MEMBERS);
+        fourMembers.add("http://localhost:8141");
+        ConsistentHashRing after = new ConsistentHashRing(fourMembers, 128);
+
+        int keys = 20_000;
+        int moved = 0;
+        for (int i = 0; i < keys; i++) {
+            String key = UUID.randomUUID().toString();
+            String newOwner = after.ownerOf(key);
+            if (!before.ownerOf(key).equals(newOwner)) {
+                assertEquals("http://localhost:8141", newOwner);
+                moved++;
+            }
+        }
+        assertTrue(moved < keys * 0.35, "moved " + moved + " of " + keys);
+    }
+
+    @Test
+    void singleMember_ownsEverything() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("http://localhost:8111"), 8);
+        assertEquals("http://localhost:8111", ring.ownerOf("anything"));
+    }
+
+    @Test
+    void noMembers_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new ConsistentHashRing(List.of(), 8));
+    }
+}
@@ -1,17 +1,27 @@
 package com.reliaquest.api.controller.impl;
 
 import com.reliaquest.api.controller.dto.EmployeeCreationInput;
+import com.reliaquest.api.controller.dto.EmployeeQuery;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeLookup;
+import com.reliaquest.api.model.SyncStatus;
+import com.reliaquest.api.model.TitleAggregate;
 import com.reliaquest.api.service.IEmployeeService;
+import com.reliaquest.api.service.writebehind.WriteBehindFullException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -115,6 +125,29 @@ class EmployeeControllerImplTest {
         assertNull(response.getBody());
     }
 
+    @Test
+    void getSyncStatus_knownEmployee_returnsOk() {
+        SyncStatus status = new SyncStatus("123", SyncStatus.State.PENDING, 2, null);
+        when(employeeService.getSyncStatus("123")).thenReturn(status);
+        ResponseEntity<SyncStatus> response = controller.getSyncStatus("123");
+        assertTrue(response.getStatusCode().is2xxSuccessful());
+        assertEquals(status, response.getBody());
+    }
+
+    @Test
+    void getSyncStatus_unknownEmployee_returnsNotFound() {
+        when(employeeService.getSyncStatus("123")).thenReturn(null);
+        ResponseEntity<SyncStatus> response = controller.getSyncStatus("123");
+        assertEquals(404, response.getStatusCode().value());
+    }
+
+    @Test
+    void getSyncStatus_blankId_returnsBadRequest() {
+        ResponseEntity<SyncStatus> response = controller.getSyncStatus(" ");
+        assertTrue(response.getStatusCode().is4xxClientError());
+        verifyNoInteractions(employeeService);
+    }
+
     @Test
     void getHighestSalary_returnsOk() {
         when(employeeService.getHighestSalaryOfEmployees()).thenReturn(90000);
@@ -165,6 +198,16 @@ class EmployeeControllerImplTest {
         assertEquals(employee, response.getBody());
     }
 
+    @Test
+    void createEmployee_writeBehindFull_returns503WithRetryAfter() {
+        EmployeeCreationInput input = new EmployeeCreationInput("John", 90000, 35, "Manager", "test@gmail.com");
+        when(employeeService.createEmployee(input))
+                .thenThrow(new WriteBehindFullException("full", Duration.ofMillis(2500)));
+        ResponseEntity<Employee> response = controller.createEmployee(input);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("3", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
     @Test
     void createEmployee_invalidSalary_returnsBadRequest() {
         EmployeeCreationInput input = new EmployeeCreationInput("John", 0, 35, "Manager", "test@gmail.com");
@@ -251,4 +294,129 @@ class EmployeeControllerImplTest {
         assertTrue(response.getStatusCode().is5xxServerError());
         assertEquals("Failed to delete employee with id 123", response.getBody());
     }
+
+    @Test
+    void queryEmployees_validCriteria_returnsOk() {
+        List<Employee> employees = List.of(mock(Employee.class));
+        when(employeeService.queryEmployees(any(EmployeeQuery.class))).thenReturn(employees);
+        ResponseEntity<List<Employee>> response =
+                controller.queryEmployees(1000, 5000, null, null, "dev", null, "salary", true, 5);
+        assertTrue(response.getStatusCode().is2xxSuccessful());
+        assertEquals(employees, response.getBody());
+        verify(employeeService).queryEmployees(new EmployeeQuery(1000, 5000, null, null, "dev", null,
+                EmployeeQuery.SortField.SALARY, true, 5));
+    }
+
+    @Test
+    void queryEmployees_invertedRange_returnsBadRequest() {
+        ResponseEntity<List<Employee>> response =
+                controller.queryEmployees(5000, 1000, null, null, null, null, null, false, 5);
+        assertEquals(400, response.getStatusCode().value());
+        verifyNoInteractions(employeeService);
+    }
+
+    @Test
+    void queryEmployees_unknownSortField_returnsBadRequest() {
+        ResponseEntity<List<Employee>> response =
+                controller.queryEmployees(null, null, null, null, null, null, "height", false, 5);
+        assertEquals(400, response.getStatusCode().value());
+    }
+
+    @Test
+    void queryEmployees_unsupportedByService_returnsNotImplemented() {
+        when(employeeService.queryEmployees(any(EmployeeQuery.class)))
+                .thenThrow(new UnsupportedOperationException("Employee queries are not supported"));
+        ResponseEntity<List<Employee>> response =
+                controller.queryEmployees(null, null, 20, 30, null, null, null, false, 5);
+        assertEquals(501, response.getStatusCode().value());
+    }
+
+    @Test
+    void queryEmployees_noMatches_returnsNotFound() {
+        when(employeeService.queryEmployees(any(EmployeeQuery.class))).thenReturn(new ArrayList<>());
+        ResponseEntity<List<Employee>> response =
+                controller.queryEmployees(null, null, 20, 30, null, null, null, false, 5);
+        assertEquals(404, response.getStatusCode().value());
+    }
+
+    @Test
+    void getEmployeesByFuzzyNameSearch_validInput_returnsOk() {
+        List<Employee> employees = List.of(mock(Employee.class));
+        when(employeeService.getEmployeesByFuzzyNameSearch("jhon", 2, 20)).thenReturn(employees);
+        ResponseEntity<List<Employee>> response = controller.getEmployeesByFuzzyNameSearch("jhon", 2, 20);
+        assertTrue(response.getStatusCode().is2xxSuccessful());
+        assertEquals(employees, response.getBody());
+    }
+
+    @Test
+    void getEmployeesByFuzzyNameSearch_distanceTooLarge_returnsBadRequest() {
+        ResponseEntity<List<Employee>> response = controller.getEmployeesByFuzzyNameSearch("jhon", 4, 20);
+        assertEquals(400, response.getStatusCode().value());
+        verifyNoInteractions(employeeService);
+    }
+
+    @Test
+    void getTitleAggregates_returnsOkWithList() {
+        List<TitleAggregate> aggregates = List.of(new TitleAggregate("Engineer", 1, 50000.0, 50000, 50000, 30.0));
+        when(employeeService.getTitleAggregates()).thenReturn(aggregates);
+        ResponseEntity<List<TitleAggregate>> response = controller.getTitleAggregates();
+        assertTrue(response.getStatusCode().is2xxSuccessful());
+        assertEquals(aggregates, response.getBody());
+    }
+
+    @Test
+    void getTitleAggregate_unknownTitle_returnsNotFound() {
+        when(employeeService.getTitleAggregate("Astronaut")).thenReturn(null);
+        ResponseEntity<TitleAggregate> response = controller.getTitleAggregate("Astronaut");
+        assertEquals(404, response.getStatusCode().value());
+    }
+
+    @Test
+    void getEmployeesCreatedBetween_validRange_returnsOk() {
+        List<Employee> employees = List.of(mock(Employee.class));
+        when(employeeService.getEmployeesCreatedBetween(1_700_000_000_000L, Long.MAX_VALUE, 100))
+                .thenReturn(employees);
+        ResponseEntity<List<Employee>> response =
+                controller.getEmployeesCreatedBetween("2023-11-14T22:13:20Z", null, 100);
+        assertTrue(response.getStatusCode().is2xxSuccessful());
+        assertEquals(employees, response.getBody());
+    }
+
+    @Test
+    void getEmployeesCreatedBetween_malformedInstant_returnsBadRequest() {
+        ResponseEntity<List<Employee>> response = controller.getEmployeesCreatedBetween("yesterday", null, 100);
+        assertEquals(400, response.getStatusCode().value());
+        verifyNoInteractions(employeeService);
+    }
+
+    @Test
+    void getEmployeesByIds_validIds_returnsOkWithLookup() {
+        Employee employee = mock(Employee.class);
+        EmployeeLookup lookup = new EmployeeLookup(Map.of("1", employee), List.of("2"));
+        when(employeeService.getEmployeesByIds(List.of("1", "2"))).thenReturn(lookup);
+        ResponseEntity<EmployeeLookup> response = controller.getEmployeesByIds(List.of("1", "2"));
+        assertTrue(response.getStatusCode().is2xxSuccessful());
+        assertEquals(lookup, response.getBody());
+    }
+
+    @Test
+    void getEmployeesByIds_emptyOrBlankIds_returnsBadRequest() {
+        assertEquals(400, controller.getEmployeesByIds(List.of()).getStatusCode().value());
+        assertEquals(400, controller.getEmployeesByIds(List.of("1", " ")).getStatusCode().value());
+        verifyNoInteractions(employeeService);
+    }
+
+    @Test
+    void getEmployeesByIds_tooManyIds_returnsBadRequest() {
+        List<String> ids = Collections.nCopies(EmployeeControllerImpl.MAX_LOOKUP_IDS + 1, "1");
+        assertEquals(400, controller.getEmployeesByIds(ids).getStatusCode().value());
+        verifyNoInteractions(employeeService);
+    }
+
+    @Test
+    void getEmployeesByIds_whenServiceThrows_returns500() {
+        when(employeeService.getEmployeesByIds(List.of("1"))).thenThrow(new RuntimeException());
+        ResponseEntity<EmployeeLookup> response = controller.getEmployeesByIds(List.of("1"));
+        assertTrue(response.getStatusCode().is5xxServerError());
+    }
 }
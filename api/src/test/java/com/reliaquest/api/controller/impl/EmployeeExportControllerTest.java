@@ -0,0 +1,120 @@
+package com.reliaquest.api.controller.impl;
+
+import com.reliaquest.api.config.ExportProperties;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.export.EmployeeExporter;
+import com.reliaquest.api.service.export.ExportFormat;
+import com.reliaquest.api.service.impl.EmployeeServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeExportControllerTest {
+
+    private static final Employee ALICE = new Employee("a", "Alice", 50000, 30, "Engineer", "alice@mail.com");
+
+    @TempDir
+    private Path directory;
+
+    private EmployeeExporter exporter;
+    private EmployeeExportController controller;
+
+    @BeforeEach
+    void setUp() {
+        EmployeeServiceImpl employeeService = new EmployeeServiceImpl();
+        employeeService.putEmployee(ALICE);
+        ExportProperties properties = new ExportProperties(directory, 65536, 1, Duration.ofSeconds(5));
+        exporter = new EmployeeExporter(employeeService, properties);
+        controller = new EmployeeExportController(exporter, properties);
+    }
+
+    private static String body(ResponseEntity<StreamingResponseBody> response) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void exportEmployees_unknownFormat_returns400() {
+        assertEquals(400, controller.exportEmployees("xml").getStatusCode().value());
+    }
+
+    @Test
+    void exportEmployees_csv_streamsEveryEmployee() throws Exception {
+        ResponseEntity<StreamingResponseBody> response = controller.exportEmployees("csv");
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals("text/csv", response.getHeaders().getContentType().toString());
+        assertTrue(body(response).endsWith("a,Alice,50000,30,Engineer,alice@mail.com\r\n"));
+    }
+
+    @Test
+    void exportEmployees_overMaxStreams_returns503UntilOneFinishes() throws Exception {
+        ResponseEntity<StreamingResponseBody> first = controller.exportEmployees("ndjson");
+
+        ResponseEntity<StreamingResponseBody> rejected = controller.exportEmployees("ndjson");
+        assertEquals(503, rejected.getStatusCode().value());
+        assertEquals("5", rejected.getHeaders().getFirst("Retry-After"));
+
+        body(first);
+        assertEquals(200, controller.exportEmployees("ndjson").getStatusCode().value());
+    }
+
+    @Test
+    void exportEmployees_failedWrite_releasesStream() {
+        ResponseEntity<StreamingResponseBody> failing = controller.exportEmployees("ndjson");
+        assertThrows(IOException.class, () -> failing.getBody().writeTo(new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        }));
+
+        assertEquals(200, controller.exportEmployees("ndjson").getStatusCode().value());
+    }
+
+    @Test
+    void getExportFile_noneWritten_returns404() {
+        assertEquals(404, controller.getExportFile("csv", new MockHttpServletRequest()).getStatusCode().value());
+    }
+
+    @Test
+    void getExportFile_withoutSendfile_copiesLatestFile() throws Exception {
+        EmployeeExporter.ExportFile file = exporter.exportToFile(ExportFormat.NDJSON);
+
+        ResponseEntity<StreamingResponseBody> response =
+                controller.getExportFile("ndjson", new MockHttpServletRequest());
+
+        assertEquals(file.bytes(), response.getHeaders().getContentLength());
+        assertEquals(Files.readString(file.path(), StandardCharsets.UTF_8), body(response));
+    }
+
+    @Test
+    void getExportFile_withSendfile_handsFileToContainer() throws Exception {
+        EmployeeExporter.ExportFile file = exporter.exportToFile(ExportFormat.CSV);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(EmployeeExportController.SENDFILE_SUPPORT, true);
+
+        ResponseEntity<StreamingResponseBody> response = controller.getExportFile("csv", request);
+
+        assertNull(response.getBody());
+        assertEquals(
+                file.path().toRealPath().toString(), request.getAttribute(EmployeeExportController.SENDFILE_FILENAME));
+        assertEquals(file.bytes(), request.getAttribute(EmployeeExportController.SENDFILE_END));
+        // Not counted against maxStreams
+        assertEquals(200, controller.exportEmployees("csv").getStatusCode().value());
+    }
+}
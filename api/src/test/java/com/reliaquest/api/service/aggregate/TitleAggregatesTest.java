@@ -0,0 +1,85 @@
+package com.reliaquest.api.service.aggregate;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.TitleAggregate;
+import com.reliaquest.api.model.TitleTotals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TitleAggregatesTest {
+
+    private TitleAggregates aggregates;
+
+    @BeforeEach
+    void setUp() {
+        aggregates = new TitleAggregates();
+    }
+
+    private Employee employee(String id, int salary, int age, String title) {
+        Employee employee = new Employee(id, "Emp" + id, salary, age, title, id + "@mail.com");
+        aggregates.add(employee);
+        return employee;
+    }
+
+    @Test
+    void get_computesStatisticsPerTitle() {
+        employee("1", 50000, 30, "Engineer");
+        employee("2", 70000, 40, "Engineer");
+        employee("3", 90000, 50, "Manager");
+        assertEquals(new TitleAggregate("Engineer", 2, 60000.0, 50000, 70000, 35.0), aggregates.get("Engineer"));
+        assertEquals(new TitleAggregate("Manager", 1, 90000.0, 90000, 90000, 50.0), aggregates.get("Manager"));
+        assertNull(aggregates.get("Director"));
+    }
+
+    @Test
+    void remove_currentExtremes_keepsMinAndMaxCorrect() {
+        Employee lowest = employee("1", 50000, 30, "Engineer");
+        employee("2", 60000, 30, "Engineer");
+        employee("3", 60000, 30, "Engineer");
+        Employee highest = employee("4", 80000, 30, "Engineer");
+        aggregates.remove(lowest);
+        aggregates.remove(highest);
+        TitleAggregate aggregate = aggregates.get("Engineer");
+        assertEquals(60000, aggregate.minSalary());
+        assertEquals(60000, aggregate.maxSalary());
+        assertEquals(2, aggregate.headcount());
+    }
+
+    @Test
+    void remove_lastEmployee_dropsTitle() {
+        Employee only = employee("1", 50000, 30, "Engineer");
+        aggregates.remove(only);
+        assertNull(aggregates.get("Engineer"));
+        assertTrue(aggregates.getAll().isEmpty());
+    }
+
+    @Test
+    void getTotals_mergedAcrossStores_matchOneStoreHoldingEveryEmployee() {
+        employee("1", 50000, 30, "Engineer");
+        employee("2", 90000, 50, "Engineer");
+        TitleAggregates other = new TitleAggregates();
+        other.add(new Employee("3", "Emp3", 70000, 40, "Engineer", "3@mail.com"));
+
+        TitleTotals merged = aggregates.getTotals("Engineer").merge(other.getTotals("Engineer"));
+
+        assertEquals(new TitleTotals("Engineer", 3, 210000, 50000, 90000, 120), merged);
+        assertEquals(new TitleAggregate("Engineer", 3, 70000.0, 50000, 90000, 40.0), merged.toAggregate());
+        assertEquals(List.of(aggregates.getTotals("Engineer")), aggregates.getAllTotals());
+        assertNull(aggregates.getTotals("Manager"));
+    }
+
+    @Test
+    void getAll_orderedByTitle_andRefreshedAfterMutation() {
+        employee("1", 50000, 30, "Manager");
+        employee("2", 70000, 40, "Engineer");
+        List<TitleAggregate> first = aggregates.getAll();
+        assertEquals(List.of("Engineer", "Manager"), first.stream().map(TitleAggregate::title).toList());
+        assertSame(first, aggregates.getAll());
+        employee("3", 90000, 50, "Director");
+        assertEquals(3, aggregates.getAll().size());
+    }
+}
@@ -0,0 +1,107 @@
+package com.reliaquest.api.service.cache;
+
+import com.reliaquest.api.config.NearCacheProperties;
+import com.reliaquest.api.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeNearCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private EmployeeNearCache cache(int maxEntries, long maxBytes) {
+        return new EmployeeNearCache(
+                new NearCacheProperties(true, maxEntries, maxBytes, Duration.ofSeconds(30), 16), clock::get);
+    }
+
+    private static Employee employee(int i) {
+        return new Employee("id-" + i, "Employee " + i, 50000, 30, "Engineer", "employee" + i + "@mail.com");
+    }
+
+    @Test
+    void put_thenGet_returnsEmployee() {
+        EmployeeNearCache cache = cache(100, 0);
+        cache.put(employee(1), cache.stamp());
+        assertEquals(employee(1), cache.get("id-1"));
+        assertEquals(1, cache.stats().hits());
+    }
+
+    @Test
+    void put_readStartedBeforeInvalidate_isNotCached() {
+        EmployeeNearCache cache = cache(100, 0);
+        long stamp = cache.stamp();
+        cache.invalidate("id-1");
+        cache.put(employee(1), stamp);
+        assertNull(cache.get("id-1"));
+        assertEquals(1, cache.stats().invalidations());
+    }
+
+    @Test
+    void put_readStartedBeforeInvalidateOfOtherId_isCached() {
+        EmployeeNearCache cache = cache(100, 0);
+        long stamp = cache.stamp();
+        cache.invalidate("id-2");
+        cache.put(employee(1), stamp);
+        assertEquals(employee(1), cache.get("id-1"));
+    }
+
+    @Test
+    void put_readStartedBeforeDroppedTombstone_isNotCached() {
+        EmployeeNearCache cache = cache(100, 0);
+        long stamp = cache.stamp();
+        for (int i = 0; i <= EmployeeNearCache.MAX_TOMBSTONES; i++) {
+            cache.invalidate("deleted-" + i);
+        }
+        cache.put(employee(1), stamp);
+        assertNull(cache.get("id-1"));
+        cache.put(employee(1), cache.stamp());
+        assertEquals(employee(1), cache.get("id-1"));
+    }
+
+    @Test
+    void invalidate_dropsCachedEmployee() {
+        EmployeeNearCache cache = cache(100, 0);
+        cache.put(employee(1), cache.stamp());
+        cache.invalidate("id-1");
+        assertNull(cache.get("id-1"));
+    }
+
+    @Test
+    void maxBytes_boundsEstimatedBytes() {
+        long perEmployee = EmployeeNearCache.estimateBytes(employee(100));
+        EmployeeNearCache cache = cache(1_000, 50 * perEmployee);
+        for (int i = 100; i < 400; i++) {
+            cache.put(employee(i), cache.stamp());
+        }
+        EmployeeNearCache.Stats stats = cache.stats();
+        assertEquals("bytes", stats.boundedBy());
+        assertEquals(50, stats.entries());
+        assertTrue(stats.estimatedBytes() <= 50 * perEmployee);
+        assertEquals(250, stats.evictions());
+    }
+
+    @Test
+    void maxEntries_reportsEstimatedBytesOfEntriesHeld() {
+        EmployeeNearCache cache = cache(10, 0);
+        for (int i = 100; i < 120; i++) {
+            cache.put(employee(i), cache.stamp());
+        }
+        EmployeeNearCache.Stats stats = cache.stats();
+        assertEquals("entries", stats.boundedBy());
+        assertEquals(10, stats.entries());
+        assertEquals(10 * EmployeeNearCache.estimateBytes(employee(100)), stats.estimatedBytes());
+    }
+
+    @Test
+    void disabled_cachesNothing() {
+        EmployeeNearCache cache = EmployeeNearCache.disabled();
+        cache.put(employee(1), cache.stamp());
+        assertFalse(cache.isEnabled());
+        assertNull(cache.get("id-1"));
+        assertFalse(cache.stats().enabled());
+    }
+}
@@ -0,0 +1,99 @@
+package com.reliaquest.api.service.cache;
+
+import com.reliaquest.api.config.NegativeLookupProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NegativeLookupCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private NegativeLookupCache cache(int maxCachedMisses) {
+        return new NegativeLookupCache(
+                new NegativeLookupProperties(true, 100, 0.01, Duration.ofSeconds(5), maxCachedMisses), clock::get);
+    }
+
+    @Test
+    void isKnownAbsent_addedId_isNeverAbsent() {
+        NegativeLookupCache cache = cache(10);
+        cache.added("alice");
+        assertFalse(cache.isKnownAbsent("alice"));
+        assertTrue(cache.isKnownAbsent("bob"));
+        assertEquals(1, cache.stats().definiteMisses());
+    }
+
+    @Test
+    void recordMiss_answeredAbsentUntilTtlExpires() {
+        NegativeLookupCache cache = cache(10);
+        cache.added("ghost");
+        // "ghost" passes the filter; pretend the store did not have it, as for a false positive
+        cache.recordMiss("ghost");
+        assertTrue(cache.isKnownAbsent("ghost"));
+        assertEquals(1, cache.stats().negativeCacheHits());
+
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+        assertFalse(cache.isKnownAbsent("ghost"));
+        assertEquals(0, cache.stats().cachedMisses());
+    }
+
+    @Test
+    void added_clearsRecordedMiss() {
+        NegativeLookupCache cache = cache(10);
+        cache.added("other");
+        cache.recordMiss("late");
+        cache.added("late");
+        assertFalse(cache.isKnownAbsent("late"));
+    }
+
+    @Test
+    void recordMiss_atBound_dropsNewMissesUntilOldOnesExpire() {
+        NegativeLookupCache cache = cache(2);
+        cache.recordMiss("a");
+        cache.recordMiss("b");
+        cache.recordMiss("c");
+        assertEquals(2, cache.stats().cachedMisses());
+
+        clock.addAndGet(Duration.ofSeconds(6).toNanos());
+        cache.recordMiss("d");
+        assertEquals(1, cache.stats().cachedMisses());
+    }
+
+    @Test
+    void added_beyondCapacity_requestsRebuild() {
+        NegativeLookupCache cache = cache(10);
+        boolean full = false;
+        for (int i = 0; i <= 100; i++) {
+            full = cache.added("id-" + i);
+        }
+        assertTrue(full);
+        cache.rebuild(List.of("x", "y"));
+        NegativeLookupCache.Stats stats = cache.stats();
+        assertEquals(2, stats.trackedIds());
+        assertEquals(100, stats.capacity());
+        assertTrue(cache.isKnownAbsent("id-1"));
+        assertFalse(cache.isKnownAbsent("x"));
+    }
+
+    @Test
+    void stats_observedFalsePositiveRate_isShareOfMissesPastFilter() {
+        NegativeLookupCache cache = cache(10);
+        cache.isKnownAbsent("a");
+        cache.isKnownAbsent("b");
+        cache.isKnownAbsent("c");
+        cache.recordMiss("d");
+        assertEquals(0.25, cache.stats().observedFalsePositiveRate(), 1e-9);
+    }
+
+    @Test
+    void disabled_neverReportsAbsent() {
+        NegativeLookupCache cache = NegativeLookupCache.disabled();
+        cache.recordMiss("a");
+        assertFalse(cache.isKnownAbsent("a"));
+        assertFalse(cache.stats().enabled());
+    }
+}
@@ -0,0 +1,162 @@
+package com.reliaquest.api.service.export;
+
+import com.reliaquest.api.config.ExportProperties;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.impl.EmployeeServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeExporterTest {
+
+    private static final Employee ALICE = new Employee("a", "Alice", 50000, 30, "Engineer", "alice@mail.com");
+
+    @TempDir
+    private Path directory;
+
+    private EmployeeServiceImpl employeeService;
+    private EmployeeExporter exporter;
+
+    @BeforeEach
+    void setUp() {
+        employeeService = new EmployeeServiceImpl();
+        exporter = new EmployeeExporter(employeeService, properties(65536));
+    }
+
+    private ExportProperties properties(int chunkBytes) {
+        return new ExportProperties(directory, chunkBytes, 4, Duration.ofSeconds(5));
+    }
+
+    private String write(EmployeeExporter exporter, List<Employee> employees, ExportFormat format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long bytes = exporter.write(employees, format, Channels.newChannel(out));
+        assertEquals(out.size(), bytes);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void write_csv_writesHeaderAndQuotesFieldsWithDelimiters() throws Exception {
+        Employee smith = new Employee("b", "Smith, \"Jo\"", 70000, 40, "Line\nManager", "jo@mail.com");
+        assertEquals(
+                "id,employee_name,employee_salary,employee_age,employee_title,employee_email\r\n"
+                        + "a,Alice,50000,30,Engineer,alice@mail.com\r\n"
+                        + "b,\"Smith, \"\"Jo\"\"\",70000,40,\"Line\nManager\",jo@mail.com\r\n",
+                write(exporter, List.of(ALICE, smith), ExportFormat.CSV));
+    }
+
+    @Test
+    void write_ndjson_writesOneEscapedObjectPerLine() throws Exception {
+        Employee quoted = new Employee("b", "Jo \"Q\" \\", 70000, 40, "Tab\tbell\u0007", "jo@mail.com");
+        assertEquals(
+                "{\"id\":\"a\",\"employee_name\":\"Alice\",\"employee_salary\":50000,\"employee_age\":30,"
+                        + "\"employee_title\":\"Engineer\",\"employee_email\":\"alice@mail.com\"}\n"
+                        + "{\"id\":\"b\",\"employee_name\":\"Jo \\\"Q\\\" \\\\\",\"employee_salary\":70000,"
+                        + "\"employee_age\":40,\"employee_title\":\"Tab\\tbell\\u0007\","
+                        + "\"employee_email\":\"jo@mail.com\"}\n",
+                write(exporter, List.of(ALICE, quoted), ExportFormat.NDJSON));
+    }
+
+    @Test
+    void write_smallChunks_splitsMultiByteCharactersCorrectly() throws Exception {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            employees.add(new Employee("id-" + i, "Zoë 日本 😀 " + i, 1000 + i, 30, "Ingénieur", "z@mail.com"));
+        }
+        EmployeeExporter smallChunks = new EmployeeExporter(employeeService, properties(16));
+        for (ExportFormat format : ExportFormat.values()) {
+            assertEquals(write(exporter, employees, format), write(smallChunks, employees, format));
+        }
+    }
+
+    @Test
+    void exportToFile_writesSnapshotAndBecomesLatest() throws Exception {
+        employeeService.putEmployee(ALICE);
+        assertNull(exporter.latest(ExportFormat.CSV));
+
+        EmployeeExporter.ExportFile file = exporter.exportToFile(ExportFormat.CSV);
+
+        assertEquals(file, exporter.latest(ExportFormat.CSV));
+        assertNull(exporter.latest(ExportFormat.NDJSON));
+        assertEquals(1, file.employees());
+        assertEquals(Files.size(file.path()), file.bytes());
+        assertTrue(file.path().getFileName().toString().endsWith(".csv"));
+        assertEquals(
+                write(exporter, List.of(ALICE), ExportFormat.CSV),
+                Files.readString(file.path(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void exportToFile_repeated_keepsOnlyLatestAndPreviousFiles() throws Exception {
+        employeeService.putEmployee(ALICE);
+        Path first = exporter.exportToFile(ExportFormat.NDJSON).path();
+        Path second = exporter.exportToFile(ExportFormat.NDJSON).path();
+        Path third = exporter.exportToFile(ExportFormat.NDJSON).path();
+
+        assertFalse(Files.exists(first));
+        assertTrue(Files.exists(second));
+        assertTrue(Files.exists(third));
+        assertEquals(third, exporter.latest(ExportFormat.NDJSON).path());
+        try (var files = Files.list(directory)) {
+            assertEquals(2, files.count());
+        }
+    }
+
+    @Test
+    void exportToFile_first_deletesFilesLeftByEarlierRuns() throws Exception {
+        Path leftover = Files.writeString(directory.resolve("employees-old.ndjson"), "{}\n");
+        Path partial = Files.writeString(directory.resolve("employees-123.csv.tmp"), "id");
+        Path unrelated = Files.writeString(directory.resolve("notes.txt"), "keep");
+        Files.setLastModifiedTime(leftover, FileTime.from(Instant.now().minusSeconds(3600)));
+        Files.setLastModifiedTime(partial, FileTime.from(Instant.now().minusSeconds(3600)));
+        exporter = new EmployeeExporter(employeeService, properties(65536));
+
+        Path written = exporter.exportToFile(ExportFormat.NDJSON).path();
+
+        assertFalse(Files.exists(leftover));
+        assertFalse(Files.exists(partial));
+        assertTrue(Files.exists(unrelated));
+        assertTrue(Files.exists(written));
+    }
+
+    @Test
+    void transfer_copiesWholeFile() throws Exception {
+        employeeService.putEmployee(ALICE);
+        EmployeeExporter.ExportFile file = exporter.exportToFile(ExportFormat.NDJSON);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (FileChannel channel = FileChannel.open(file.path(), StandardOpenOption.READ)) {
+            EmployeeExporter.transfer(channel, file.bytes(), Channels.newChannel(out));
+        }
+
+        assertArrayEquals(Files.readAllBytes(file.path()), out.toByteArray());
+    }
+
+    @Test
+    void parse_ignoresCaseAndRejectsUnknownFormats() {
+        assertEquals(ExportFormat.CSV, ExportFormat.parse(" Csv "));
+        assertEquals(ExportFormat.NDJSON, ExportFormat.parse("ndjson"));
+        assertThrows(IllegalArgumentException.class, () -> ExportFormat.parse("xml"));
+    }
+
+    @Test
+    void constructor_tinyChunk_throws() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new EmployeeExporter(employeeService, properties(8)));
+    }
+}
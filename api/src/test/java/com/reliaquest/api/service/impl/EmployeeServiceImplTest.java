@@ -1,19 +1,36 @@
 package com.reliaquest.api.service.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.client.EmployeeUpstreamClient;
+import com.reliaquest.api.config.NegativeLookupProperties;
+import com.reliaquest.api.config.WriteBehindProperties;
 import com.reliaquest.api.controller.dto.EmployeeCreationInput;
+import com.reliaquest.api.controller.dto.EmployeeQuery;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeLookup;
+import com.reliaquest.api.model.SyncStatus;
+import com.reliaquest.api.model.TitleAggregate;
 import com.reliaquest.api.service.IEmployeeService;
+import com.reliaquest.api.service.cache.NegativeLookupCache;
+import com.reliaquest.api.service.writebehind.WriteBehindQueue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
 
 @ExtendWith(MockitoExtension.class)
 class EmployeeServiceImplTest {
@@ -21,6 +38,9 @@ class EmployeeServiceImplTest {
     private Map<String,Employee> mockEmployeeTable;
     private IEmployeeService service;
 
+    @TempDir
+    private Path journalDirectory;
+
     @BeforeEach
     void setUp() {
         mockEmployeeTable = new HashMap<>();
@@ -48,6 +68,13 @@ class EmployeeServiceImplTest {
         assertTrue(result.isEmpty());
     }
 
+    @Test
+    void getAllEmployees_isUnmodifiable() {
+        createMockEmployee("1", "Alice", 50000);
+        List<Employee> result = service.getAllEmployees();
+        assertThrows(UnsupportedOperationException.class, () -> result.set(0, result.get(0)));
+    }
+
     @Test
     void getEmployeesByNameSearch_returnsMatchingEmployees() {
         createMockEmployee("1", "Alice", 50000);
@@ -115,6 +142,20 @@ class EmployeeServiceImplTest {
         assertEquals("Alice", result.get(1));
     }
 
+    @Test
+    void getTopEarners_manyTies_matchesStableSort() {
+        Random random = new Random(42);
+        for (int i = 0; i < 500; i++) {
+            createMockEmployee(String.valueOf(i), "Emp" + i, 1000 + random.nextInt(100));
+        }
+        List<Employee> expected = mockEmployeeTable.values().stream()
+                .sorted(Comparator.comparingInt(Employee::employee_salary).reversed())
+                .limit(25)
+                .toList();
+        assertEquals(expected, ((EmployeeServiceImpl) service).getTopEarners(25));
+        assertTrue(((EmployeeServiceImpl) service).getTopEarners(0).isEmpty());
+    }
+
     @Test
     void createEmployee_storesAndReturnsEmployee() {
         Employee created = service.createEmployee(new EmployeeCreationInput("Alice", 50000, 30,
@@ -138,4 +179,275 @@ class EmployeeServiceImplTest {
         assertTrue(result);
         assertTrue(mockEmployeeTable.isEmpty());
     }
+
+    @Test
+    void queryEmployees_combinesCriteriaSortAndLimit() {
+        service.createEmployee(new EmployeeCreationInput("Alice", 50000, 30, "Engineer", "alice@mail.com"));
+        service.createEmployee(new EmployeeCreationInput("Bob", 70000, 45, "Senior Engineer", "bob@mail.com"));
+        service.createEmployee(new EmployeeCreationInput("Carol", 90000, 38, "Engineer", "carol@mail.com"));
+        service.createEmployee(new EmployeeCreationInput("Dave", 95000, 50, "Manager", "dave@mail.com"));
+        EmployeeQuery query = new EmployeeQuery(60000, null, null, 48, "engineer", null,
+                EmployeeQuery.SortField.SALARY, true, 10);
+        List<Employee> result = service.queryEmployees(query);
+        assertEquals(List.of("Carol", "Bob"), result.stream().map(Employee::employee_name).toList());
+    }
+
+    @Test
+    void queryEmployees_afterDelete_excludesRemovedEmployee() {
+        Employee alice = service.createEmployee(new EmployeeCreationInput("Alice", 50000, 30, "Engineer",
+                "alice@mail.com"));
+        service.deleteEmployeeById(alice.id());
+        EmployeeQuery query = new EmployeeQuery(null, null, null, null, "Engineer", null, null, false, 10);
+        assertTrue(service.queryEmployees(query).isEmpty());
+    }
+
+    @Test
+    void getEmployeesByFuzzyNameSearch_findsMisspelledName() {
+        service.createEmployee(new EmployeeCreationInput("Katherine", 50000, 30, "Engineer", "kate@mail.com"));
+        service.createEmployee(new EmployeeCreationInput("Bob", 60000, 30, "Engineer", "bob@mail.com"));
+        List<Employee> result = service.getEmployeesByFuzzyNameSearch("Catherine", 2, 10);
+        assertEquals(List.of("Katherine"), result.stream().map(Employee::employee_name).toList());
+    }
+
+    @Test
+    void getEmployeesByFuzzyNameSearch_afterDelete_excludesRemovedEmployee() {
+        Employee created = service.createEmployee(new EmployeeCreationInput("Katherine", 50000, 30, "Engineer",
+                "kate@mail.com"));
+        service.deleteEmployeeById(created.id());
+        assertTrue(service.getEmployeesByFuzzyNameSearch("Katherine", 0, 10).isEmpty());
+    }
+
+    @Test
+    void getTitleAggregates_followsCreatesAndDeletes() {
+        service.createEmployee(new EmployeeCreationInput("Alice", 50000, 30, "Engineer", "alice@mail.com"));
+        Employee bob = service.createEmployee(new EmployeeCreationInput("Bob", 90000, 50, "Engineer",
+                "bob@mail.com"));
+        service.createEmployee(new EmployeeCreationInput("Carol", 70000, 40, "Manager", "carol@mail.com"));
+        assertEquals(new TitleAggregate("Engineer", 2, 70000.0, 50000, 90000, 40.0),
+                service.getTitleAggregate("Engineer"));
+        service.deleteEmployeeById(bob.id());
+        List<TitleAggregate> result = service.getTitleAggregates();
+        assertEquals(List.of(new TitleAggregate("Engineer", 1, 50000.0, 50000, 50000, 30.0),
+                new TitleAggregate("Manager", 1, 70000.0, 70000, 70000, 40.0)), result);
+    }
+
+    @Test
+    void getEmployeesCreatedBetween_returnsRecentlyCreatedOldestFirst() {
+        long before = System.currentTimeMillis();
+        Employee first = service.createEmployee(new EmployeeCreationInput("Alice", 50000, 30, "Engineer",
+                "alice@mail.com"));
+        Employee second = service.createEmployee(new EmployeeCreationInput("Bob", 60000, 30, "Engineer",
+                "bob@mail.com"));
+        assertEquals(List.of(first, second), service.getEmployeesCreatedBetween(before, Long.MAX_VALUE, 10));
+        assertEquals(List.of(first), service.getEmployeesCreatedBetween(before, Long.MAX_VALUE, 1));
+        assertTrue(service.getEmployeesCreatedBetween(0, before, 10).isEmpty());
+    }
+
+    @Test
+    void newSnapshot_commit_replacesStoreAndIndexes() {
+        service.createEmployee(new EmployeeCreationInput("Old", 10000, 30, "Clerk", "old@mail.com"));
+        Employee alice = new Employee("a", "Alice", 50000, 30, "Engineer", "alice@mail.com");
+        Employee bob = new Employee("b", "Bob", 70000, 40, "Engineer", "bob@mail.com");
+        int loaded = ((EmployeeServiceImpl) service).newSnapshot().add(alice).add(bob).commit();
+        assertEquals(2, loaded);
+        assertEquals(2, service.getAllEmployees().size());
+        assertEquals(bob, service.getEmployeeById("b"));
+        assertNull(service.getTitleAggregate("Clerk"));
+        assertEquals(2, service.getTitleAggregate("Engineer").headcount());
+    }
+
+    @Test
+    void newSnapshot_beforeCommit_leavesStoreAndIndexesUntouched() {
+        Employee old = service.createEmployee(new EmployeeCreationInput("Old", 10000, 30, "Clerk", "old@mail.com"));
+        EmployeeServiceImpl.SnapshotBuilder snapshot = ((EmployeeServiceImpl) service).newSnapshot()
+                .add(new Employee("a", "Alice", 50000, 30, "Engineer", "alice@mail.com"));
+
+        assertEquals(List.of(old), service.getAllEmployees());
+        assertNull(service.getEmployeeById("a"));
+        assertNull(service.getTitleAggregate("Engineer"));
+        assertEquals(1, service.getTitleAggregate("Clerk").headcount());
+
+        snapshot.commit();
+        assertNull(service.getEmployeeById(old.id()));
+        assertEquals(1, service.getTitleAggregate("Engineer").headcount());
+    }
+
+    private static NegativeLookupCache negativeLookupCache() {
+        return new NegativeLookupCache(new NegativeLookupProperties(true, 100, 0.01, Duration.ofMinutes(1), 100));
+    }
+
+    @Test
+    void getEmployeeById_negativeLookupsEnabled_answersUnknownIdsAndFindsCreatedOnes() {
+        NegativeLookupCache negativeLookups = negativeLookupCache();
+        EmployeeServiceImpl cached = new EmployeeServiceImpl(negativeLookups);
+        Employee alice = cached.createEmployee(new EmployeeCreationInput("Alice", 50000, 30, "Engineer",
+                "alice@mail.com"));
+        for (int i = 0; i < 100; i++) {
+            assertNull(cached.getEmployeeById("unknown-" + i));
+        }
+        assertEquals(alice, cached.getEmployeeById(alice.id()));
+        NegativeLookupCache.Stats stats = negativeLookups.stats();
+        assertEquals(100, stats.definiteMisses() + stats.falsePositives());
+        assertTrue(stats.definiteMisses() > 90);
+    }
+
+    @Test
+    void deleteEmployeeById_negativeLookupsEnabled_deletedIdIsAnsweredAbsent() {
+        NegativeLookupCache negativeLookups = negativeLookupCache();
+        EmployeeServiceImpl cached = new EmployeeServiceImpl(negativeLookups);
+        Employee alice = cached.createEmployee(new EmployeeCreationInput("Alice", 50000, 30, "Engineer",
+                "alice@mail.com"));
+        assertTrue(cached.deleteEmployeeById(alice.id()));
+        assertTrue(negativeLookups.isKnownAbsent(alice.id()));
+        assertNull(cached.getEmployeeById(alice.id()));
+    }
+
+    @Test
+    void createEmployee_negativeLookupsEnabled_growsFilterPastExpectedSize() {
+        NegativeLookupCache negativeLookups = negativeLookupCache();
+        EmployeeServiceImpl cached = new EmployeeServiceImpl(negativeLookups);
+        List<Employee> created = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            created.add(cached.createEmployee(new EmployeeCreationInput("Employee " + i, 50000, 30, "Engineer",
+                    "e" + i + "@mail.com")));
+        }
+        created.forEach(employee -> assertEquals(employee, cached.getEmployeeById(employee.id())));
+        assertTrue(negativeLookups.stats().capacity() >= 250);
+    }
+
+    @Test
+    void newSnapshot_commit_negativeLookupsEnabled_rebuildsFilter() {
+        NegativeLookupCache negativeLookups = negativeLookupCache();
+        EmployeeServiceImpl cached = new EmployeeServiceImpl(negativeLookups);
+        Employee old = cached.createEmployee(new EmployeeCreationInput("Old", 10000, 30, "Clerk", "old@mail.com"));
+        Employee alice = new Employee("a", "Alice", 50000, 30, "Engineer", "alice@mail.com");
+        cached.newSnapshot().add(alice).commit();
+        assertEquals(1, negativeLookups.stats().trackedIds());
+        assertEquals(alice, cached.getEmployeeById("a"));
+        assertNull(cached.getEmployeeById(old.id()));
+    }
+
+    @Test
+    void getEmployeesByIds_splitsFoundAndMissingInRequestOrder() {
+        createMockEmployee("1", "Alice", 50000);
+        createMockEmployee("2", "Bob", 60000);
+        EmployeeLookup lookup = service.getEmployeesByIds(List.of("2", "x", "1", "2", "y"));
+        assertEquals(List.of("2", "1"), List.copyOf(lookup.found().keySet()));
+        assertEquals("Bob", lookup.found().get("2").employee_name());
+        assertEquals(List.of("x", "y"), lookup.missing());
+    }
+
+    @Test
+    void getEmployeesByIds_negativeLookupsEnabled_unknownIdsReportedMissing() {
+        EmployeeServiceImpl cached = new EmployeeServiceImpl(negativeLookupCache());
+        Employee alice = cached.createEmployee(new EmployeeCreationInput("Alice", 50000, 30, "Engineer",
+                "alice@mail.com"));
+        EmployeeLookup lookup = cached.getEmployeesByIds(List.of("unknown", alice.id()));
+        assertEquals(Map.of(alice.id(), alice), lookup.found());
+        assertEquals(List.of("unknown"), lookup.missing());
+    }
+
+    private WriteBehindQueue writeBehindQueue() {
+        return new WriteBehindQueue(
+                new WriteBehindProperties(true, journalDirectory.resolve("journal.log"), false, 100, 10,
+                        Duration.ofMillis(200), Duration.ofSeconds(1), Duration.ofMinutes(1)),
+                mock(EmployeeUpstreamClient.class),
+                new ObjectMapper());
+    }
+
+    @Test
+    void createEmployee_writeBehindEnabled_storesAndReportsPending() {
+        WriteBehindQueue writeBehind = writeBehindQueue();
+        EmployeeServiceImpl writeBehindService = new EmployeeServiceImpl(NegativeLookupCache.disabled(), writeBehind);
+        Employee alice = writeBehindService.createEmployee(new EmployeeCreationInput("Alice", 50000, 30, "Engineer",
+                "alice@mail.com"));
+        assertEquals(alice, writeBehindService.getEmployeeById(alice.id()));
+        assertEquals(List.of(alice), writeBehind.pending());
+        assertEquals(SyncStatus.State.PENDING, writeBehindService.getSyncStatus(alice.id()).state());
+        assertNull(writeBehindService.getSyncStatus("unknown"));
+    }
+
+    @Test
+    void getSyncStatus_storedEmployeeNotQueued_reportsSynced() {
+        EmployeeServiceImpl writeBehindService = new EmployeeServiceImpl(NegativeLookupCache.disabled(),
+                writeBehindQueue());
+        writeBehindService.putEmployee(new Employee("a", "Alice", 50000, 30, "Engineer", "alice@mail.com"));
+        assertEquals(SyncStatus.synced("a"), writeBehindService.getSyncStatus("a"));
+    }
+
+    @Test
+    void getSyncStatus_writeBehindDisabled_returnsNull() {
+        createMockEmployee("1", "Alice", 50000);
+        assertNull(service.getSyncStatus("1"));
+    }
+
+    @Test
+    void newSnapshot_commit_writeBehindEnabled_keepsCreatesNotYetSynced() {
+        EmployeeServiceImpl writeBehindService = new EmployeeServiceImpl(NegativeLookupCache.disabled(),
+                writeBehindQueue());
+        Employee created = writeBehindService.createEmployee(new EmployeeCreationInput("New", 10000, 30, "Clerk",
+                "new@mail.com"));
+        Employee alice = new Employee("a", "Alice", 50000, 30, "Engineer", "alice@mail.com");
+        assertEquals(2, writeBehindService.newSnapshot().add(alice).commit());
+        assertEquals(created, writeBehindService.getEmployeeById(created.id()));
+    }
+
+    @Test
+    void deleteEmployeeById_createStillQueued_cancelsItAcrossRestart() {
+        EmployeeServiceImpl writeBehindService = new EmployeeServiceImpl(NegativeLookupCache.disabled(),
+                writeBehindQueue());
+        Employee created = writeBehindService.createEmployee(new EmployeeCreationInput("New", 10000, 30, "Clerk",
+                "new@mail.com"));
+        assertTrue(writeBehindService.deleteEmployeeById(created.id()));
+        assertNull(writeBehindService.getSyncStatus(created.id()));
+
+        EmployeeServiceImpl restarted = new EmployeeServiceImpl(NegativeLookupCache.disabled(), writeBehindQueue());
+        assertNull(restarted.getEmployeeById(created.id()));
+    }
+
+    @Test
+    void deleteEmployeeById_employeeUpstreamHas_queuesDeleteAndSnapshotLeavesItOut() {
+        WriteBehindQueue writeBehind = writeBehindQueue();
+        EmployeeServiceImpl writeBehindService = new EmployeeServiceImpl(NegativeLookupCache.disabled(), writeBehind);
+        Employee alice = new Employee("a", "Alice", 50000, 30, "Engineer", "alice@mail.com");
+        writeBehindService.putEmployee(alice);
+
+        assertTrue(writeBehindService.deleteEmployeeById("a"));
+        assertEquals(List.of("a"), writeBehind.pendingDeletes());
+        assertEquals(0, writeBehindService.newSnapshot().add(alice).commit());
+        assertNull(writeBehindService.getEmployeeById("a"));
+    }
+
+    @Test
+    void removeEmployee_createStillQueued_keepsItQueued() {
+        WriteBehindQueue writeBehind = writeBehindQueue();
+        EmployeeServiceImpl writeBehindService = new EmployeeServiceImpl(NegativeLookupCache.disabled(), writeBehind);
+        Employee created = writeBehindService.createEmployee(new EmployeeCreationInput("New", 10000, 30, "Clerk",
+                "new@mail.com"));
+        assertEquals(created, writeBehindService.removeEmployee(created.id()));
+        assertNull(writeBehindService.getEmployeeById(created.id()));
+        assertEquals(List.of(created), writeBehind.pending());
+    }
+
+    @Test
+    void constructor_journalHasPendingCreates_storesThem() {
+        Employee created = new EmployeeServiceImpl(NegativeLookupCache.disabled(), writeBehindQueue())
+                .createEmployee(new EmployeeCreationInput("New", 10000, 30, "Clerk", "new@mail.com"));
+        EmployeeServiceImpl restarted = new EmployeeServiceImpl(NegativeLookupCache.disabled(), writeBehindQueue());
+        assertEquals(created, restarted.getEmployeeById(created.id()));
+        assertEquals(SyncStatus.State.PENDING, restarted.getSyncStatus(created.id()).state());
+    }
+
+    @Test
+    void constructor_journalHasPendingCreates_doesNotCallOverridablePutEmployee() {
+        Employee created = new EmployeeServiceImpl(NegativeLookupCache.disabled(), writeBehindQueue())
+                .createEmployee(new EmployeeCreationInput("New", 10000, 30, "Clerk", "new@mail.com"));
+        EmployeeServiceImpl restarted = new EmployeeServiceImpl(negativeLookupCache(), writeBehindQueue()) {
+            @Override
+            public void putEmployee(Employee employee) {
+                fail("putEmployee called from the constructor");
+            }
+        };
+        assertEquals(created, restarted.getEmployeeById(created.id()));
+    }
 }
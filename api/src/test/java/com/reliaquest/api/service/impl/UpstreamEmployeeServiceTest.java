@@ -0,0 +1,146 @@
+package com.reliaquest.api.service.impl;
+
+import com.reliaquest.api.client.EmployeeUpstreamClient;
+import com.reliaquest.api.config.NearCacheProperties;
+import com.reliaquest.api.controller.dto.EmployeeCreationInput;
+import com.reliaquest.api.controller.dto.EmployeeQuery;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeLookup;
+import com.reliaquest.api.service.cache.EmployeeNearCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UpstreamEmployeeServiceTest {
+
+    private static final Employee ALICE = new Employee("a", "Alice", 50000, 30, "Engineer", "alice@mail.com");
+    private static final Employee BOB = new Employee("b", "Bob", 60000, 40, "Manager", "bob@mail.com");
+
+    @Mock
+    private EmployeeUpstreamClient upstreamClient;
+
+    private UpstreamEmployeeService service;
+
+    @BeforeEach
+    void setUp() {
+        NearCacheProperties properties = new NearCacheProperties(true, 100, 0, Duration.ofSeconds(30), 4);
+        service = new UpstreamEmployeeService(upstreamClient, new EmployeeNearCache(properties), properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void getEmployeeById_repeated_readsUpstreamOnce() {
+        when(upstreamClient.getEmployeeById("a")).thenReturn(ALICE);
+        assertEquals(ALICE, service.getEmployeeById("a"));
+        assertEquals(ALICE, service.getEmployeeById("a"));
+        verify(upstreamClient, times(1)).getEmployeeById("a");
+    }
+
+    @Test
+    void createEmployee_cachesEmployeeAsUpstreamReturnedIt() {
+        when(upstreamClient.createEmployee(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        Employee created = service.createEmployee(
+                new EmployeeCreationInput("Alice", 50000, 30, "Engineer", "alice@mail.com"));
+
+        assertEquals(created, service.getEmployeeById(created.id()));
+        verify(upstreamClient, never()).getEmployeeById(any());
+    }
+
+    @Test
+    void createEmployee_duringUnrelatedRead_doesNotKeepItFromBeingCached() {
+        when(upstreamClient.createEmployee(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(upstreamClient.getEmployeeById("a")).thenAnswer(invocation -> {
+            service.createEmployee(new EmployeeCreationInput("Bob", 60000, 40, "Manager", "bob@mail.com"));
+            return ALICE;
+        });
+
+        assertEquals(ALICE, service.getEmployeeById("a"));
+        assertEquals(ALICE, service.getEmployeeById("a"));
+        verify(upstreamClient, times(1)).getEmployeeById("a");
+    }
+
+    @Test
+    void deleteEmployeeById_invalidatesCachedEmployee() {
+        when(upstreamClient.getEmployeeById("a")).thenReturn(ALICE, (Employee) null);
+        when(upstreamClient.deleteEmployeeById("a")).thenReturn(true);
+        service.getEmployeeById("a");
+
+        assertTrue(service.deleteEmployeeById("a"));
+
+        assertNull(service.getEmployeeById("a"));
+        verify(upstreamClient, times(2)).getEmployeeById("a");
+    }
+
+    @Test
+    void deleteEmployeeById_upstreamFails_stillInvalidates() {
+        when(upstreamClient.getEmployeeById("a")).thenReturn(ALICE);
+        when(upstreamClient.deleteEmployeeById("a")).thenThrow(new IllegalStateException("timeout"));
+        service.getEmployeeById("a");
+
+        assertThrows(IllegalStateException.class, () -> service.deleteEmployeeById("a"));
+
+        service.getEmployeeById("a");
+        verify(upstreamClient, times(2)).getEmployeeById("a");
+    }
+
+    @Test
+    void getEmployeesByIds_fetchesUncachedIdsInParallel() throws Exception {
+        when(upstreamClient.getEmployeeById("a")).thenReturn(ALICE);
+        service.getEmployeeById("a");
+        // Each fetch waits for the other, so the lookup only completes if both run at once
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        when(upstreamClient.getEmployeeById("b")).thenAnswer(invocation -> {
+            bothStarted.countDown();
+            assertTrue(bothStarted.await(5, TimeUnit.SECONDS));
+            return BOB;
+        });
+        when(upstreamClient.getEmployeeById("missing")).thenAnswer(invocation -> {
+            bothStarted.countDown();
+            assertTrue(bothStarted.await(5, TimeUnit.SECONDS));
+            return null;
+        });
+
+        EmployeeLookup lookup = service.getEmployeesByIds(List.of("missing", "b", "a", "b"));
+
+        assertEquals(List.of("b", "a"), List.copyOf(lookup.found().keySet()));
+        assertEquals(Map.of("a", ALICE, "b", BOB), lookup.found());
+        assertEquals(List.of("missing"), lookup.missing());
+        verify(upstreamClient, times(1)).getEmployeeById("a");
+        verify(upstreamClient, times(1)).getEmployeeById("b");
+    }
+
+    @Test
+    void getEmployeesByIds_fetchFails_throws() {
+        when(upstreamClient.getEmployeeById("a")).thenThrow(new IllegalStateException("429 Too Many Requests"));
+        assertThrows(RuntimeException.class, () -> service.getEmployeesByIds(List.of("a")));
+    }
+
+    @Test
+    void queriesNeedingEveryEmployee_areRejected() {
+        assertThrows(UnsupportedOperationException.class, () -> service.queryEmployees(
+                new EmployeeQuery(null, null, null, null, null, null, null, false, 10)));
+        assertThrows(UnsupportedOperationException.class, () -> service.getEmployeesByFuzzyNameSearch("Alice", 1, 10));
+        assertThrows(UnsupportedOperationException.class, () -> service.getEmployeesCreatedBetween(0, 1, 10));
+        assertThrows(UnsupportedOperationException.class, () -> service.getTitleAggregates());
+        assertThrows(UnsupportedOperationException.class, () -> service.getTitleAggregate("Engineer"));
+        verifyNoInteractions(upstreamClient);
+    }
+}
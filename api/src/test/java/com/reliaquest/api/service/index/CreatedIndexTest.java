@@ -0,0 +1,62 @@
+package com.reliaquest.api.service.index;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.util.UuidV7Generator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CreatedIndexTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+    private final UuidV7Generator generator = new UuidV7Generator(clock::get);
+    private CreatedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CreatedIndex();
+    }
+
+    private Employee employeeAt(long millis, String name) {
+        clock.set(millis);
+        Employee employee = new Employee(generator.next(), name, 50000, 30, "Engineer", name + "@mail.com");
+        index.add(employee);
+        return employee;
+    }
+
+    private List<String> names(long since, long until) {
+        return index.stream(since, until).map(Employee::employee_name).toList();
+    }
+
+    @Test
+    void stream_returnsHalfOpenIntervalOldestFirst() {
+        employeeAt(1_000_000L, "a");
+        employeeAt(2_000_000L, "b");
+        employeeAt(2_000_000L, "c");
+        employeeAt(3_000_000L, "d");
+        assertEquals(List.of("b", "c"), names(2_000_000L, 3_000_000L));
+        assertEquals(List.of("a", "b", "c", "d"), names(0, Long.MAX_VALUE));
+        assertEquals(List.of("d"), names(2_000_001L, Long.MAX_VALUE));
+        assertTrue(names(3_000_000L, 2_000_000L).isEmpty());
+    }
+
+    @Test
+    void add_ignoresIdsWithoutTimestamp() {
+        index.add(new Employee(UUID.randomUUID().toString(), "random", 50000, 30, "Engineer", "r@mail.com"));
+        index.add(new Employee("1", "legacy", 50000, 30, "Engineer", "l@mail.com"));
+        assertTrue(names(0, Long.MAX_VALUE).isEmpty());
+    }
+
+    @Test
+    void remove_dropsEmployee() {
+        Employee removed = employeeAt(1_000_000L, "a");
+        employeeAt(1_000_001L, "b");
+        index.remove(removed);
+        assertEquals(List.of("b"), names(0, Long.MAX_VALUE));
+    }
+}
@@ -0,0 +1,92 @@
+package com.reliaquest.api.service.index;
+
+import com.reliaquest.api.controller.dto.EmployeeQuery;
+import com.reliaquest.api.model.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeIndexesTest {
+
+    private List<Employee> table;
+    private EmployeeIndexes indexes;
+
+    @BeforeEach
+    void setUp() {
+        table = new ArrayList<>();
+        indexes = new EmployeeIndexes();
+        for (int i = 0; i < 100; i++) {
+            String title = i % 50 == 0 ? "Director" : "Engineer";
+            Employee employee = new Employee(String.valueOf(i), "Emp" + i, 1000 * (i + 1), 20 + i % 40, title,
+                    "emp" + i + "@mail.com");
+            table.add(employee);
+            indexes.add(employee);
+        }
+    }
+
+    private static EmployeeQuery query(Integer minSalary, Integer maxSalary, Integer minAge, Integer maxAge,
+                                       String title) {
+        return new EmployeeQuery(minSalary, maxSalary, minAge, maxAge, title, null, null, false, 100);
+    }
+
+    @Test
+    void plan_noIndexedCriteria_fullScan() {
+        EmployeeIndexes.QueryPlan plan = indexes.plan(query(null, null, null, null, null), table);
+        assertEquals(EmployeeIndexes.AccessPath.FULL_SCAN, plan.accessPath());
+        assertEquals(100, plan.estimatedRows());
+    }
+
+    @Test
+    void plan_picksMostSelectiveIndex() {
+        // salary matches 11 employees, age matches 80 and title matches 2
+        assertEquals(EmployeeIndexes.AccessPath.SALARY_RANGE,
+                indexes.plan(query(10000, 20000, 20, 49, null), table).accessPath());
+        assertEquals(EmployeeIndexes.AccessPath.TITLE,
+                indexes.plan(query(10000, 20000, 20, 49, "direct"), table).accessPath());
+        assertEquals(EmployeeIndexes.AccessPath.AGE_RANGE,
+                indexes.plan(query(null, null, 59, 59, "engineer"), table).accessPath());
+    }
+
+    @Test
+    void plan_unselectiveIndex_fallsBackToFullScan() {
+        EmployeeIndexes.QueryPlan plan = indexes.plan(query(0, null, 20, null, null), table);
+        assertEquals(EmployeeIndexes.AccessPath.FULL_SCAN, plan.accessPath());
+    }
+
+    @Test
+    void execute_matchesFullScanForEveryAccessPath() {
+        List<EmployeeQuery> queries = List.of(
+                query(10000, 20000, 20, 49, null),
+                query(10000, 60000, 20, 49, "direct"),
+                query(null, null, 59, 59, "engineer"),
+                query(null, 50000, 30, null, null));
+        for (EmployeeQuery query : queries) {
+            List<Employee> expected = table.stream().filter(query::matches).toList();
+            List<Employee> actual = indexes.execute(query, table);
+            assertEquals(expected.size(), actual.size());
+            assertTrue(actual.containsAll(expected));
+        }
+    }
+
+    @Test
+    void execute_sortedWithLimit_returnsTopN() {
+        EmployeeQuery query = new EmployeeQuery(null, null, 30, 39, null, null, EmployeeQuery.SortField.SALARY,
+                true, 3);
+        List<String> ids = indexes.execute(query, table).stream().map(Employee::id).toList();
+        assertEquals(List.of("99", "98", "97"), ids);
+    }
+
+    @Test
+    void remove_dropsEmployeeFromEveryIndex() {
+        Employee director = table.get(50);
+        indexes.remove(director);
+        table.remove(director);
+        List<Employee> result = indexes.execute(query(null, null, null, null, "Director"), table);
+        assertEquals(List.of("0"), result.stream().map(Employee::id).toList());
+        assertTrue(indexes.execute(query(51000, 51000, null, null, null), table).isEmpty());
+    }
+}
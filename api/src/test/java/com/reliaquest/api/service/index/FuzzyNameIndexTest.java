@@ -0,0 +1,100 @@
+package com.reliaquest.api.service.index;
+
+import com.reliaquest.api.model.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FuzzyNameIndexTest {
+
+    private FuzzyNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new FuzzyNameIndex();
+    }
+
+    private Employee employee(String id, String name) {
+        Employee employee = new Employee(id, name, 50000, 30, "Engineer", id + "@mail.com");
+        index.add(employee);
+        return employee;
+    }
+
+    private List<String> names(List<Employee> employees) {
+        return employees.stream().map(Employee::employee_name).toList();
+    }
+
+    @Test
+    void search_toleratesTyposAndCase_closestFirst() {
+        employee("1", "Jonathan Smith");
+        employee("2", "Jonathon Smyth");
+        employee("3", "Mary Jones");
+        assertEquals(List.of("Jonathan Smith", "Jonathon Smyth"), names(index.search("jonathan smtih", 2, 10)));
+    }
+
+    @Test
+    void search_everySearchTokenMustMatch() {
+        employee("1", "Jonathan Smith");
+        employee("2", "Jonathan Jones");
+        assertEquals(List.of("Jonathan Jones"), names(index.search("Jonathon Jone", 2, 10)));
+    }
+
+    @Test
+    void search_zeroDistance_matchesWholeTokensOnly() {
+        employee("1", "Alice Cooper");
+        employee("2", "Alicia Keys");
+        assertEquals(List.of("Alice Cooper"), names(index.search("ALICE", 0, 10)));
+    }
+
+    @Test
+    void search_distanceOutOfRange_throws() {
+        assertThrows(IllegalArgumentException.class, () -> index.search("alice", FuzzyNameIndex.MAX_DISTANCE + 1, 10));
+    }
+
+    @Test
+    void search_afterManyRemovals_matchesBruteForce() {
+        Random random = new Random(42);
+        List<Employee> live = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            live.add(employee(String.valueOf(i), randomWord(random) + " " + randomWord(random)));
+        }
+        for (int i = 0; i < 1500; i++) {
+            index.remove(live.remove(random.nextInt(live.size())));
+        }
+        for (int i = 0; i < 50; i++) {
+            String query = randomWord(random);
+            List<String> expected = live.stream()
+                    .filter(employee -> minDistance(query, employee.employee_name()) <= 1)
+                    .sorted(Comparator.comparing(Employee::id))
+                    .map(Employee::id)
+                    .toList();
+            List<String> actual = index.search(query, 1, Integer.MAX_VALUE).stream()
+                    .map(Employee::id)
+                    .sorted()
+                    .toList();
+            assertEquals(expected, actual);
+        }
+    }
+
+    private static int minDistance(String query, String name) {
+        int min = Integer.MAX_VALUE;
+        for (String token : name.toLowerCase().split(" ")) {
+            min = Math.min(min, BkTree.levenshtein(query, token));
+        }
+        return min;
+    }
+
+    private static String randomWord(Random random) {
+        char[] word = new char[3 + random.nextInt(3)];
+        for (int i = 0; i < word.length; i++) {
+            word[i] = (char) ('a' + random.nextInt(4));
+        }
+        return new String(word);
+    }
+}
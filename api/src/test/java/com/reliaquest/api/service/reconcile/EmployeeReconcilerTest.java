@@ -0,0 +1,225 @@
+package com.reliaquest.api.service.reconcile;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.client.EmployeeUpstreamClient;
+import com.reliaquest.api.client.UpstreamRangeDigest;
+import com.reliaquest.api.config.ReconcileProperties;
+import com.reliaquest.api.config.WriteBehindProperties;
+import com.reliaquest.api.controller.dto.EmployeeCreationInput;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.cache.NegativeLookupCache;
+import com.reliaquest.api.service.impl.EmployeeServiceImpl;
+import com.reliaquest.api.service.writebehind.WriteBehindQueue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class EmployeeReconcilerTest {
+
+    @TempDir
+    private Path journalDirectory;
+
+    /**
+     * Upstream's store, summarized the way the mock server does.
+     */
+    private final Map<String, Employee> upstreamEmployees = new LinkedHashMap<>();
+    private int upstreamRequests;
+
+    private final EmployeeReconciler.Upstream upstream = new EmployeeReconciler.Upstream() {
+        @Override
+        public List<UpstreamRangeDigest> digests(int level, List<Integer> nodes) {
+            upstreamRequests++;
+            List<UpstreamRangeDigest> digests = new ArrayList<>();
+            for (int node : nodes) {
+                int count = 0;
+                long hash = 0;
+                for (Employee employee : upstreamEmployees.values()) {
+                    if (RangeDigestTree.node(RangeDigestTree.token(employee.id()), level) == node) {
+                        count++;
+                        hash += RangeDigestTree.hash(employee);
+                    }
+                }
+                digests.add(new UpstreamRangeDigest(node, count, hash));
+            }
+            return digests;
+        }
+
+        @Override
+        public void employeesIn(int level, List<Integer> nodes, Consumer<Employee> sink) {
+            upstreamRequests++;
+            Set<Integer> requested = new HashSet<>(nodes);
+            upstreamEmployees.values().stream()
+                    .filter(employee -> requested.contains(
+                            RangeDigestTree.node(RangeDigestTree.token(employee.id()), level)))
+                    .forEach(sink);
+        }
+    };
+
+    private static ReconcileProperties properties() {
+        return new ReconcileProperties(true, Duration.ofMinutes(1), 12, 4, 256);
+    }
+
+    private static Employee employee(int i) {
+        return new Employee(
+                new UUID(0, i).toString(), "Employee " + i, 50000 + i, 30, "Engineer", "employee" + i + "@mail.com");
+    }
+
+    private EmployeeServiceImpl storeMatchingUpstream(int employees) {
+        EmployeeServiceImpl employeeService = new EmployeeServiceImpl();
+        for (int i = 0; i < employees; i++) {
+            Employee employee = employee(i);
+            upstreamEmployees.put(employee.id(), employee);
+            employeeService.putEmployee(employee);
+        }
+        return employeeService;
+    }
+
+    @Test
+    void reconcile_inSync_comparesRootOnly() {
+        EmployeeServiceImpl employeeService = storeMatchingUpstream(2_000);
+        EmployeeReconciler reconciler =
+                new EmployeeReconciler(properties(), true, employeeService, WriteBehindQueue.disabled(), upstream);
+
+        EmployeeReconciler.Result result = reconciler.reconcile();
+
+        assertEquals(0, result.differingRanges());
+        assertEquals(0, result.changed());
+        assertEquals(1, result.requests());
+        assertEquals(1, result.digestsFetched());
+        assertEquals(0, result.employeesFetched());
+    }
+
+    @Test
+    void reconcile_fewDifferences_repairsThemFetchingOnlyTheirRanges() {
+        EmployeeServiceImpl employeeService = storeMatchingUpstream(2_000);
+        Employee changed = new Employee(employee(7).id(), "Renamed", 1, 30, "Engineer", "employee7@mail.com");
+        upstreamEmployees.put(changed.id(), changed);
+        Employee createdUpstream = employee(5_000);
+        upstreamEmployees.put(createdUpstream.id(), createdUpstream);
+        upstreamEmployees.remove(employee(11).id());
+        EmployeeReconciler reconciler =
+                new EmployeeReconciler(properties(), true, employeeService, WriteBehindQueue.disabled(), upstream);
+
+        EmployeeReconciler.Result result = reconciler.reconcile();
+
+        assertEquals(3, result.differingRanges());
+        assertEquals(3, result.changed());
+        // Leaves of 4096 ranges over 2000 employees hold about one employee each
+        assertTrue(result.employeesFetched() < 10, "employees fetched: " + result.employeesFetched());
+        assertTrue(result.digestsFetched() < 200, "digests fetched: " + result.digestsFetched());
+        assertEquals(changed, employeeService.getEmployeeById(changed.id()));
+        assertEquals(createdUpstream, employeeService.getEmployeeById(createdUpstream.id()));
+        assertNull(employeeService.getEmployeeById(employee(11).id()));
+        assertEquals(upstreamEmployees.size(), employeeService.getAllEmployees().size());
+
+        upstreamRequests = 0;
+        assertEquals(0, reconciler.reconcile().differingRanges());
+        assertEquals(1, upstreamRequests);
+    }
+
+    @Test
+    void reconcile_smallRequestLimit_splitsRequests() {
+        EmployeeServiceImpl employeeService = new EmployeeServiceImpl();
+        for (int i = 0; i < 300; i++) {
+            upstreamEmployees.put(employee(i).id(), employee(i));
+        }
+        EmployeeReconciler reconciler = new EmployeeReconciler(
+                new ReconcileProperties(true, Duration.ofMinutes(1), 8, 8, 50),
+                true,
+                employeeService,
+                WriteBehindQueue.disabled(),
+                upstream);
+
+        EmployeeReconciler.Result result = reconciler.reconcile();
+
+        assertEquals(300, result.changed());
+        assertEquals(300, employeeService.getAllEmployees().size());
+        // Root, then 256 leaf digests in requests of 50, then the differing leaves' employees likewise
+        assertEquals(1 + 6 + (result.differingRanges() + 49) / 50, result.requests());
+    }
+
+    private WriteBehindQueue writeBehindQueue() {
+        return new WriteBehindQueue(
+                new WriteBehindProperties(true, journalDirectory.resolve("journal.log"), false, 100, 10,
+                        Duration.ofMillis(200), Duration.ofSeconds(1), Duration.ofMinutes(1)),
+                mock(EmployeeUpstreamClient.class),
+                new ObjectMapper());
+    }
+
+    @Test
+    void reconcile_createPendingWriteBehind_isKept() {
+        WriteBehindQueue writeBehind = writeBehindQueue();
+        EmployeeServiceImpl employeeService = new EmployeeServiceImpl(NegativeLookupCache.disabled(), writeBehind);
+        Employee employee = employee(1);
+        upstreamEmployees.put(employee.id(), employee);
+        employeeService.putEmployee(employee);
+        Employee pending = employeeService.createEmployee(
+                new EmployeeCreationInput("Alice", 50000, 30, "Engineer", "alice@mail.com"));
+        EmployeeReconciler reconciler = new EmployeeReconciler(properties(), true, employeeService, writeBehind, upstream);
+
+        EmployeeReconciler.Result result = reconciler.reconcile();
+
+        assertEquals(0, result.differingRanges());
+        assertEquals(pending, employeeService.getEmployeeById(pending.id()));
+    }
+
+    @Test
+    void reconcile_deletePendingWriteBehind_isNotRestored() {
+        WriteBehindQueue writeBehind = writeBehindQueue();
+        EmployeeServiceImpl employeeService = new EmployeeServiceImpl(NegativeLookupCache.disabled(), writeBehind);
+        for (int i = 0; i < 100; i++) {
+            upstreamEmployees.put(employee(i).id(), employee(i));
+            employeeService.putEmployee(employee(i));
+        }
+        employeeService.deleteEmployeeById(employee(7).id());
+        EmployeeReconciler reconciler = new EmployeeReconciler(properties(), true, employeeService, writeBehind, upstream);
+
+        EmployeeReconciler.Result result = reconciler.reconcile();
+
+        assertEquals(1, result.differingRanges());
+        assertEquals(0, result.changed());
+        assertNull(employeeService.getEmployeeById(employee(7).id()));
+        assertEquals(List.of(employee(7).id()), writeBehind.pendingDeletes());
+    }
+
+    @Test
+    void reconcile_upstreamFails_countsFailureAndChangesNothing() {
+        EmployeeServiceImpl employeeService = storeMatchingUpstream(10);
+        EmployeeReconciler reconciler = new EmployeeReconciler(
+                properties(), true, employeeService, WriteBehindQueue.disabled(), new EmployeeReconciler.Upstream() {
+                    @Override
+                    public List<UpstreamRangeDigest> digests(int level, List<Integer> nodes) {
+                        throw new IllegalStateException("429 Too Many Requests");
+                    }
+
+                    @Override
+                    public void employeesIn(int level, List<Integer> nodes, Consumer<Employee> sink) {}
+                });
+
+        assertThrows(IllegalStateException.class, reconciler::reconcile);
+        assertEquals(1, reconciler.stats().failures());
+        assertNull(reconciler.stats().lastResult());
+        assertEquals(10, employeeService.getAllEmployees().size());
+    }
+
+    @Test
+    void constructor_notSupported_staysDisabled() {
+        EmployeeReconciler reconciler = new EmployeeReconciler(
+                properties(), false, new EmployeeServiceImpl(), WriteBehindQueue.disabled(), upstream);
+        assertFalse(reconciler.isEnabled());
+        assertFalse(reconciler.stats().enabled());
+    }
+}
@@ -0,0 +1,46 @@
+package com.reliaquest.api.service.reconcile;
+
+import com.reliaquest.api.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The expected values are the mock server's; MockEmployeeDigestsTest checks the same employee against the same values,
+ * so a change to either side's hashing fails one of them.
+ */
+class RangeDigestTreeTest {
+
+    private static final Employee EMPLOYEE = new Employee(
+            "0b8f7d6e-2a8c-4c57-9d5e-3f1a2b4c6d8e",
+            "Jill Jenkins",
+            139_082,
+            48,
+            "Financial Advisor",
+            "jillj@company.com");
+
+    @Test
+    void token_matchesMockServer() {
+        assertEquals(0x95b4afbbc91cc434L, RangeDigestTree.token(EMPLOYEE.id()));
+        assertEquals(2395, RangeDigestTree.node(RangeDigestTree.token(EMPLOYEE.id()), 12));
+    }
+
+    @Test
+    void hash_matchesMockServer() {
+        assertEquals(0x862f1ca8b411a230L, RangeDigestTree.hash(EMPLOYEE));
+        // The mock server hashes missing fields as empty strings and zeros
+        assertEquals(0x81e76e9701c33210L, RangeDigestTree.hash(new Employee(EMPLOYEE.id(), "", 0, 0, "", "")));
+    }
+
+    @Test
+    void matches_digestOfRangeHoldingEmployee() {
+        RangeDigestTree tree = new RangeDigestTree(List.of(EMPLOYEE), 12);
+
+        assertTrue(tree.matches(12, 2395, 1, 0x862f1ca8b411a230L));
+        assertTrue(tree.matches(0, 0, 1, 0x862f1ca8b411a230L));
+        assertTrue(tree.matches(12, 0, 0, 0));
+        assertFalse(tree.matches(12, 2395, 1, 0));
+    }
+}
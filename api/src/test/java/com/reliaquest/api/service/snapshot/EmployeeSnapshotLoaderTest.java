@@ -0,0 +1,125 @@
+package com.reliaquest.api.service.snapshot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.client.EmployeeUpstreamClient;
+import com.reliaquest.api.cluster.ClusterProperties;
+import com.reliaquest.api.config.SnapshotProperties;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.impl.EmployeeServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeSnapshotLoaderTest {
+
+    private static final Employee ALICE = new Employee("a", "Alice", 50000, 30, "Engineer", "alice@mail.com");
+    private static final Employee BOB = new Employee("b", "Bob", 70000, 40, "Manager", "bob@mail.com");
+    private static final ClusterProperties STANDALONE =
+            new ClusterProperties(false, null, List.of(), 128, Duration.ofSeconds(2));
+
+    @Mock
+    private EmployeeUpstreamClient upstreamClient;
+
+    @TempDir
+    private Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private EmployeeServiceImpl employeeService;
+
+    @BeforeEach
+    void setUp() {
+        employeeService = new EmployeeServiceImpl();
+    }
+
+    private EmployeeSnapshotLoader loader(SnapshotProperties properties) {
+        return new EmployeeSnapshotLoader(employeeService, upstreamClient, properties, STANDALONE, objectMapper);
+    }
+
+    @Test
+    void disabled_loadsNothing() {
+        loader(new SnapshotProperties(false, null, true, true)).afterSingletonsInstantiated();
+        assertTrue(employeeService.getAllEmployees().isEmpty());
+        verifyNoInteractions(upstreamClient);
+    }
+
+    @Test
+    void snapshotFilePresent_loadsFileWithoutCallingUpstream() throws Exception {
+        Path snapshot = directory.resolve("employees.json");
+        objectMapper.writeValue(snapshot.toFile(), List.of(ALICE, BOB));
+        loader(new SnapshotProperties(true, snapshot, true, true)).afterSingletonsInstantiated();
+        assertEquals(BOB, employeeService.getEmployeeById("b"));
+        assertEquals(2, employeeService.getAllEmployees().size());
+        verifyNoInteractions(upstreamClient);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void upstreamStreams(Employee... employees) {
+        when(upstreamClient.getAllEmployees(any(Consumer.class))).thenAnswer(invocation -> {
+            Consumer<Employee> sink = invocation.getArgument(0);
+            for (Employee employee : employees) sink.accept(employee);
+            return employees.length;
+        });
+    }
+
+    @Test
+    void noSnapshotFile_fetchesUpstreamOnce() {
+        upstreamStreams(ALICE);
+        loader(new SnapshotProperties(true, directory.resolve("missing.json"), true, true))
+                .afterSingletonsInstantiated();
+        assertEquals(ALICE, employeeService.getEmployeeById("a"));
+        verify(upstreamClient, times(1)).getAllEmployees(any());
+    }
+
+    @Test
+    void upstreamFails_startsEmpty() {
+        when(upstreamClient.getAllEmployees(any())).thenThrow(new IllegalStateException("down"));
+        loader(new SnapshotProperties(true, null, true, true)).afterSingletonsInstantiated();
+        assertTrue(employeeService.getAllEmployees().isEmpty());
+    }
+
+    @Test
+    void upstreamFailsMidStream_keepsExistingStore() {
+        employeeService.putEmployee(BOB);
+        when(upstreamClient.getAllEmployees(any())).thenAnswer(invocation -> {
+            Consumer<Employee> sink = invocation.getArgument(0);
+            sink.accept(ALICE);
+            throw new IllegalStateException("connection reset");
+        });
+        loader(new SnapshotProperties(true, null, true, true)).afterSingletonsInstantiated();
+        assertEquals(List.of(BOB), employeeService.getAllEmployees());
+    }
+
+    @Test
+    void corruptSnapshotFile_fallsBackToUpstream() throws Exception {
+        Path snapshot = directory.resolve("employees.json");
+        Files.writeString(snapshot, "[{\"id\":\"b\",\"employee_name\":\"Bob\"},");
+        upstreamStreams(ALICE);
+        loader(new SnapshotProperties(true, snapshot, true, true)).afterSingletonsInstantiated();
+        assertEquals(List.of(ALICE), employeeService.getAllEmployees());
+    }
+
+    @Test
+    void saveSnapshot_writesStoreForNextStart() throws Exception {
+        Path snapshot = directory.resolve("nested/employees.json");
+        employeeService.putEmployee(ALICE);
+        loader(new SnapshotProperties(true, snapshot, false, true)).saveSnapshot();
+        assertTrue(Files.exists(snapshot));
+
+        employeeService = new EmployeeServiceImpl();
+        loader(new SnapshotProperties(true, snapshot, false, true)).afterSingletonsInstantiated();
+        assertEquals(ALICE, employeeService.getEmployeeById("a"));
+    }
+}
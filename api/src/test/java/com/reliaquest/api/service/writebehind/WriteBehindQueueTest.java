@@ -0,0 +1,252 @@
+package com.reliaquest.api.service.writebehind;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.reliaquest.api.client.UpstreamBatchResult;
+import com.reliaquest.api.config.WriteBehindProperties;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.SyncStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteBehindQueueTest {
+
+    @TempDir
+    private Path directory;
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private final List<List<String>> sentBatches = new ArrayList<>();
+    private final List<String> sentDeletes = new ArrayList<>();
+
+    private WriteBehindProperties properties(int capacity, int batchSize) {
+        return new WriteBehindProperties(
+                true,
+                directory.resolve("journal.log"),
+                false,
+                capacity,
+                batchSize,
+                Duration.ofMillis(200),
+                Duration.ofSeconds(1),
+                Duration.ofSeconds(8));
+    }
+
+    private WriteBehindQueue queue(
+            WriteBehindProperties properties, Function<List<Employee>, List<UpstreamBatchResult>> upstream) {
+        return new WriteBehindQueue(
+                properties,
+                batch -> {
+                    sentBatches.add(batch.stream().map(Employee::id).toList());
+                    return upstream.apply(batch);
+                },
+                id -> {
+                    sentDeletes.add(id);
+                    return true;
+                },
+                new JsonFactory(),
+                clock::get);
+    }
+
+    private static List<UpstreamBatchResult> accepted(List<Employee> batch) {
+        List<UpstreamBatchResult> results = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            results.add(new UpstreamBatchResult(i, batch.get(i), null));
+        }
+        return results;
+    }
+
+    private static Employee employee(String id) {
+        return new Employee(id, "Employee " + id, 50000, 30, "Engineer", id + "@mail.com");
+    }
+
+    @Test
+    void flush_sendsQueuedCreatesInBatchesInOrder() {
+        WriteBehindQueue queue = queue(properties(100, 2), WriteBehindQueueTest::accepted);
+        for (String id : List.of("a", "b", "c", "d", "e")) queue.enqueue(employee(id));
+        assertEquals(SyncStatus.State.PENDING, queue.status("c").state());
+
+        assertEquals(5, queue.flush());
+
+        assertEquals(List.of(List.of("a", "b"), List.of("c", "d"), List.of("e")), sentBatches);
+        assertNull(queue.status("c"));
+        assertTrue(queue.pending().isEmpty());
+        assertEquals(5, queue.stats().synced());
+        assertEquals(0, queue.flush());
+    }
+
+    @Test
+    void flush_upstreamFails_backsOffThenRetries() {
+        List<Boolean> failNext = new ArrayList<>(List.of(true, true));
+        WriteBehindQueue queue = queue(properties(100, 10), batch -> {
+            if (!failNext.isEmpty() && failNext.remove(0)) throw new IllegalStateException("429 Too Many Requests");
+            return accepted(batch);
+        });
+        queue.enqueue(employee("a"));
+
+        assertEquals(0, queue.flush());
+        assertEquals(new SyncStatus("a", SyncStatus.State.PENDING, 1, null), queue.status("a"));
+        assertEquals(0, queue.flush());
+        assertEquals(1, sentBatches.size());
+
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertEquals(0, queue.flush());
+        assertEquals(2, queue.stats().consecutiveFailures());
+
+        clock.addAndGet(Duration.ofSeconds(2).toNanos());
+        assertEquals(1, queue.flush());
+        assertEquals(3, sentBatches.size());
+        assertNull(queue.status("a"));
+        assertEquals(0, queue.stats().consecutiveFailures());
+        assertEquals(2, queue.stats().failedRequests());
+    }
+
+    @Test
+    void flush_createRejectedByUpstream_reportsFailedAndDoesNotRetry() {
+        WriteBehindQueue queue = queue(properties(100, 10), batch -> List.of(
+                new UpstreamBatchResult(0, batch.get(0), null),
+                new UpstreamBatchResult(1, null, "age must be less than or equal to 75")));
+        queue.enqueue(employee("a"));
+        queue.enqueue(employee("b"));
+
+        assertEquals(2, queue.flush());
+
+        assertNull(queue.status("a"));
+        assertEquals(
+                new SyncStatus("b", SyncStatus.State.FAILED, 0, "age must be less than or equal to 75"),
+                queue.status("b"));
+        assertEquals(0, queue.flush());
+        assertEquals(1, sentBatches.size());
+        assertEquals(1, queue.stats().failed());
+    }
+
+    @Test
+    void enqueue_atCapacity_throws() {
+        WriteBehindQueue queue = queue(properties(2, 10), WriteBehindQueueTest::accepted);
+        queue.enqueue(employee("a"));
+        queue.enqueue(employee("b"));
+        WriteBehindFullException e = assertThrows(WriteBehindFullException.class, () -> queue.enqueue(employee("c")));
+        assertEquals(Duration.ofMillis(200), e.getRetryAfter());
+        assertEquals("1", e.getRetryAfterSeconds());
+        assertEquals(2, queue.pending().size());
+    }
+
+    @Test
+    void enqueue_fullWhileBackingOff_retryAfterIsRemainingBackoff() {
+        WriteBehindQueue queue = queue(properties(1, 10), batch -> {
+            throw new IllegalStateException("429 Too Many Requests");
+        });
+        queue.enqueue(employee("a"));
+        queue.flush();
+
+        WriteBehindFullException e = assertThrows(WriteBehindFullException.class, () -> queue.enqueue(employee("b")));
+        assertTrue(e.getRetryAfter().compareTo(Duration.ofMillis(500)) >= 0, e.getRetryAfter().toString());
+        assertTrue(e.getRetryAfter().compareTo(Duration.ofSeconds(1)) <= 0, e.getRetryAfter().toString());
+    }
+
+    @Test
+    void delete_createNeverSent_cancelsItEvenAfterRestart() throws Exception {
+        WriteBehindProperties properties = properties(100, 10);
+        WriteBehindQueue queue = queue(properties, WriteBehindQueueTest::accepted);
+        queue.enqueue(employee("a"));
+        queue.enqueue(employee("b"));
+
+        assertFalse(queue.delete("a"));
+        assertNull(queue.status("a"));
+        assertTrue(queue.pendingDeletes().isEmpty());
+        queue.shutdown();
+        assertTrue(Files.readAllLines(properties.journal(), StandardCharsets.UTF_8).contains("- a"));
+
+        WriteBehindQueue restarted = queue(properties, WriteBehindQueueTest::accepted);
+        assertEquals(List.of(employee("b")), restarted.pending());
+        assertEquals(1, restarted.flush());
+        assertEquals(List.of(List.of("b")), sentBatches);
+        assertTrue(sentDeletes.isEmpty());
+    }
+
+    @Test
+    void delete_employeeUpstreamHas_isSentAfterCreatesEvenAfterRestart() throws Exception {
+        WriteBehindProperties properties = properties(100, 10);
+        WriteBehindQueue queue = queue(properties, WriteBehindQueueTest::accepted);
+        queue.enqueue(employee("a"));
+        queue.flush();
+
+        assertTrue(queue.delete("a"));
+        queue.enqueue(employee("b"));
+        assertEquals(List.of("a"), queue.pendingDeletes());
+        assertEquals(1, queue.stats().pendingDeletes());
+        queue.shutdown();
+
+        WriteBehindQueue restarted = queue(properties, WriteBehindQueueTest::accepted);
+        assertEquals(List.of("a"), restarted.pendingDeletes());
+        assertEquals(2, restarted.flush());
+        assertEquals(List.of(List.of("a"), List.of("b")), sentBatches);
+        assertEquals(List.of("a"), sentDeletes);
+        assertTrue(restarted.pendingDeletes().isEmpty());
+        restarted.shutdown();
+        assertTrue(queue(properties, WriteBehindQueueTest::accepted).pendingDeletes().isEmpty());
+    }
+
+    @Test
+    void delete_createThatFailedToSend_queuesDeleteInsteadOfCreate() {
+        List<Boolean> failNext = new ArrayList<>(List.of(true));
+        WriteBehindQueue queue = queue(properties(100, 10), batch -> {
+            if (!failNext.isEmpty() && failNext.remove(0)) throw new IllegalStateException("Read timed out");
+            return accepted(batch);
+        });
+        queue.enqueue(employee("a"));
+        queue.flush();
+
+        // The failed request may have reached upstream, so the create cannot simply be dropped
+        assertTrue(queue.delete("a"));
+        assertTrue(queue.pending().isEmpty());
+
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertEquals(1, queue.flush());
+        assertEquals(List.of(List.of("a")), sentBatches);
+        assertEquals(List.of("a"), sentDeletes);
+    }
+
+    @Test
+    void restart_resumesCreatesNotYetSent() throws Exception {
+        WriteBehindProperties properties = properties(100, 2);
+        WriteBehindQueue queue = queue(properties, WriteBehindQueueTest::accepted);
+        Employee quoted = new Employee("c", "O'Brien, \"Pat\"", 60000, 40, "Lead\nEngineer", "pat@mail.com");
+        queue.enqueue(employee("a"));
+        queue.enqueue(employee("b"));
+        queue.flush();
+        queue.enqueue(quoted);
+        queue.enqueue(employee("d"));
+        queue.shutdown();
+        // A create cut short by a crash is dropped; it was never acknowledged
+        Files.writeString(properties.journal(), "+ {\"id\":\"e\",\"empl", StandardOpenOption.APPEND);
+
+        WriteBehindQueue restarted = queue(properties, WriteBehindQueueTest::accepted);
+
+        assertEquals(List.of(quoted, employee("d")), restarted.pending());
+        assertEquals(2, restarted.stats().journalRecords());
+        assertEquals(2, Files.readAllLines(properties.journal(), StandardCharsets.UTF_8).size());
+        assertEquals(2, restarted.flush());
+        assertEquals(List.of("c", "d"), sentBatches.get(sentBatches.size() - 1));
+    }
+
+    @Test
+    void disabled_queuesNothing() {
+        WriteBehindQueue queue = WriteBehindQueue.disabled();
+        queue.enqueue(employee("a"));
+        assertFalse(queue.isEnabled());
+        assertTrue(queue.pending().isEmpty());
+        assertNull(queue.status("a"));
+        assertFalse(queue.delete("a"));
+        assertTrue(queue.pendingDeletes().isEmpty());
+    }
+}
@@ -0,0 +1,84 @@
+package com.reliaquest.api.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CountingBloomFilterTest {
+
+    @Test
+    void mightContain_addedKeys_neverFalseNegative() {
+        CountingBloomFilter filter = new CountingBloomFilter(1_000, 0.01);
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            String key = UUID.randomUUID().toString();
+            keys.add(key);
+            filter.add(key);
+        }
+        keys.forEach(key -> assertTrue(filter.mightContain(key), key));
+        assertEquals(1_000, filter.size());
+    }
+
+    @Test
+    void mightContain_unknownKeys_falsePositiveRateNearTarget() {
+        CountingBloomFilter filter = new CountingBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add(UUID.randomUUID().toString());
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) falsePositives++;
+        }
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+        assertEquals(0.01, filter.expectedFalsePositiveRate(), 0.005);
+    }
+
+    @Test
+    void remove_addedKey_isReportedAbsentAndOthersKept() {
+        CountingBloomFilter filter = new CountingBloomFilter(100, 0.01);
+        filter.add("kept");
+        filter.add("removed");
+        filter.remove("removed");
+        assertFalse(filter.mightContain("removed"));
+        assertTrue(filter.mightContain("kept"));
+        assertEquals(1, filter.size());
+    }
+
+    @Test
+    void add_sameKeyTwice_survivesOneRemove() {
+        CountingBloomFilter filter = new CountingBloomFilter(100, 0.01);
+        filter.add("twice");
+        filter.add("twice");
+        filter.remove("twice");
+        assertTrue(filter.mightContain("twice"));
+        filter.remove("twice");
+        assertFalse(filter.mightContain("twice"));
+    }
+
+    @Test
+    void add_saturatedCounters_neverDecrementedToFalseNegative() {
+        CountingBloomFilter filter = new CountingBloomFilter(1, 0.5);
+        for (int i = 0; i < 20; i++) filter.add("hot");
+        filter.add("other");
+        for (int i = 0; i < 20; i++) filter.remove("hot");
+        assertTrue(filter.mightContain("other"));
+    }
+
+    @Test
+    void memoryBytes_isHalfABytePerCounter() {
+        CountingBloomFilter filter = new CountingBloomFilter(10_000, 0.01);
+        // ~9.6 counters per key at 1% and 4 bits per counter
+        assertTrue(filter.memoryBytes() >= 47_000 && filter.memoryBytes() <= 49_000, "bytes: " + filter.memoryBytes());
+        assertEquals(7, filter.hashFunctions());
+    }
+
+    @Test
+    void constructor_invalidArguments_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new CountingBloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new CountingBloomFilter(10, 1));
+    }
+}
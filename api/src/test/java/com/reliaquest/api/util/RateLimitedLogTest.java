@@ -0,0 +1,151 @@
+package com.reliaquest.api.util;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Marker;
+import org.slf4j.event.Level;
+import org.slf4j.helpers.LegacyAbstractLogger;
+import org.slf4j.helpers.MessageFormatter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitedLogTest {
+
+    private final RecordingLogger logger = new RecordingLogger(Level.INFO);
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void log_withinPermits_writesEveryMessage() {
+        RateLimitedLog limited = new RateLimitedLog(logger, Level.WARN, 3, Duration.ofSeconds(1), clock::get);
+        for (int i = 0; i < 3; i++) limited.log("missing {}", i);
+        assertEquals(List.of("WARN missing 0", "WARN missing 1", "WARN missing 2"), logger.messages);
+        assertEquals(0, limited.getSuppressed());
+    }
+
+    @Test
+    void log_overPermits_suppressesAndSummarisesInNextInterval() {
+        RateLimitedLog limited = new RateLimitedLog(logger, Level.WARN, 2, Duration.ofSeconds(1), clock::get);
+        for (int i = 0; i < 10; i++) limited.log("missing {}", i);
+        assertEquals(2, logger.messages.size());
+        assertEquals(8, limited.getSuppressed());
+
+        clock.addAndGet(Duration.ofMillis(1_500).toNanos());
+        limited.log("missing {} of {}", "a", "b");
+        assertEquals(
+                List.of(
+                        "WARN missing 0",
+                        "WARN missing 1",
+                        "WARN Suppressed 8 similar messages in the last 1500 ms",
+                        "WARN missing a of b"),
+                logger.messages);
+        assertEquals(0, limited.getSuppressed());
+    }
+
+    @Test
+    void flushElapsed_intervalEndedWithoutLaterCall_summarises() {
+        RateLimitedLog limited = new RateLimitedLog(logger, Level.WARN, 1, Duration.ofSeconds(1), clock::get);
+        for (int i = 0; i < 4; i++) limited.log("missing {}", i);
+
+        limited.flushElapsed();
+        assertEquals(List.of("WARN missing 0"), logger.messages);
+
+        clock.addAndGet(Duration.ofMillis(1_200).toNanos());
+        limited.flushElapsed();
+        limited.flushElapsed();
+        assertEquals(
+                List.of("WARN missing 0", "WARN Suppressed 3 similar messages in the last 1200 ms"), logger.messages);
+        assertEquals(0, limited.getSuppressed());
+    }
+
+    @Test
+    void flush_midInterval_summarisesImmediately() {
+        RateLimitedLog limited = new RateLimitedLog(logger, Level.WARN, 0, Duration.ofSeconds(10), clock::get);
+        limited.log("missing {}", 1);
+        limited.log("missing {}", 2);
+        clock.addAndGet(Duration.ofMillis(300).toNanos());
+
+        limited.flush();
+        limited.flush();
+        assertEquals(List.of("WARN Suppressed 2 similar messages in the last 300 ms"), logger.messages);
+    }
+
+    @Test
+    void log_levelDisabled_neitherWritesNorCounts() {
+        RateLimitedLog limited = new RateLimitedLog(logger, Level.DEBUG, 5, Duration.ofSeconds(1), clock::get);
+        limited.log("missing {}", 1);
+        assertTrue(logger.messages.isEmpty());
+        assertEquals(0, limited.getSuppressed());
+    }
+
+    @Test
+    void log_suppressedCall_doesNotFormatArguments() {
+        RateLimitedLog limited = new RateLimitedLog(logger, Level.WARN, 0, Duration.ofSeconds(1), clock::get);
+        Object argument = new Object() {
+            @Override
+            public String toString() {
+                throw new AssertionError("suppressed argument was formatted");
+            }
+        };
+        limited.log("missing {}", argument);
+        assertTrue(logger.messages.isEmpty());
+        assertEquals(1, limited.getSuppressed());
+    }
+
+    @Test
+    void constructor_invalidArguments_throws() {
+        assertThrows(
+                IllegalArgumentException.class, () -> new RateLimitedLog(logger, Level.WARN, -1, Duration.ofSeconds(1)));
+        assertThrows(IllegalArgumentException.class, () -> new RateLimitedLog(logger, Level.WARN, 1, Duration.ZERO));
+    }
+
+    private static final class RecordingLogger extends LegacyAbstractLogger {
+
+        private final Level threshold;
+        private final List<String> messages = new ArrayList<>();
+
+        RecordingLogger(Level threshold) {
+            this.threshold = threshold;
+            this.name = "recording";
+        }
+
+        @Override
+        public boolean isTraceEnabled() {
+            return Level.TRACE.toInt() >= threshold.toInt();
+        }
+
+        @Override
+        public boolean isDebugEnabled() {
+            return Level.DEBUG.toInt() >= threshold.toInt();
+        }
+
+        @Override
+        public boolean isInfoEnabled() {
+            return Level.INFO.toInt() >= threshold.toInt();
+        }
+
+        @Override
+        public boolean isWarnEnabled() {
+            return Level.WARN.toInt() >= threshold.toInt();
+        }
+
+        @Override
+        public boolean isErrorEnabled() {
+            return true;
+        }
+
+        @Override
+        protected String getFullyQualifiedCallerName() {
+            return null;
+        }
+
+        @Override
+        protected void handleNormalizedLoggingCall(
+                Level level, Marker marker, String messagePattern, Object[] arguments, Throwable throwable) {
+            messages.add(level + " " + MessageFormatter.basicArrayFormat(messagePattern, arguments));
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.reliaquest.api.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidKeyedMapTest {
+
+    @Test
+    void bitsOfCanonicalKey_matchUuid() {
+        for (int i = 0; i < 100; i++) {
+            UUID uuid = UUID.randomUUID();
+            String key = uuid.toString();
+            assertTrue(UuidKeyedMap.isCanonical(key));
+            assertEquals(uuid.getMostSignificantBits(), UuidKeyedMap.mostSignificantBits(key));
+            assertEquals(uuid.getLeastSignificantBits(), UuidKeyedMap.leastSignificantBits(key));
+        }
+    }
+
+    @Test
+    void isCanonical_rejectsOtherForms() {
+        String key = UUID.randomUUID().toString();
+        assertFalse(UuidKeyedMap.isCanonical(key.toUpperCase()));
+        assertFalse(UuidKeyedMap.isCanonical(key.replace('-', '_')));
+        assertFalse(UuidKeyedMap.isCanonical(key.substring(1)));
+        assertFalse(UuidKeyedMap.isCanonical("1"));
+    }
+
+    @Test
+    void nonCanonicalKeys_behaveLikeHashMap() {
+        Map<String, String> map = new UuidKeyedMap<>();
+        map.put("1", "one");
+        String upper = UUID.randomUUID().toString().toUpperCase();
+        map.put(upper, "upper");
+        assertEquals("one", map.get("1"));
+        assertEquals("upper", map.get(upper));
+        assertNull(map.get(upper.toLowerCase()));
+        assertEquals(2, map.size());
+        assertEquals("one", map.remove("1"));
+        assertFalse(map.containsKey("1"));
+    }
+
+    @Test
+    void randomOperations_matchHashMap() {
+        Random random = new Random(7);
+        Map<String, Integer> expected = new HashMap<>();
+        Map<String, Integer> actual = new UuidKeyedMap<>();
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            int operation = random.nextInt(10);
+            if (operation < 5 || keys.isEmpty()) {
+                String key = random.nextInt(20) == 0 ? "legacy-" + i : new UUID(random.nextLong(),
+                        random.nextLong()).toString();
+                keys.add(key);
+                assertEquals(expected.put(key, i), actual.put(key, i));
+            } else if (operation < 7) {
+                String key = keys.get(random.nextInt(keys.size()));
+                assertEquals(expected.put(key, -i), actual.put(key, -i));
+            } else {
+                String key = keys.get(random.nextInt(keys.size()));
+                assertEquals(expected.remove(key), actual.remove(key));
+            }
+        }
+        assertEquals(expected.size(), actual.size());
+        for (String key : keys) {
+            assertEquals(expected.get(key), actual.get(key));
+            assertEquals(expected.containsKey(key), actual.containsKey(key));
+        }
+        assertEquals(expected, actual);
+        assertEquals(new HashSet<>(expected.values()), new HashSet<>(actual.values()));
+    }
+
+    @Test
+    void iteratorRemove_visitsEveryEntryOnce() {
+        Map<String, Integer> map = new UuidKeyedMap<>();
+        for (int i = 0; i < 1000; i++) {
+            map.put(UUID.randomUUID().toString(), i);
+        }
+        map.put("legacy", -1);
+        int visited = 0;
+        for (Iterator<Integer> iterator = map.values().iterator(); iterator.hasNext(); ) {
+            int value = iterator.next();
+            visited++;
+            if (value % 2 == 0) iterator.remove();
+        }
+        assertEquals(1001, visited);
+        assertEquals(501, map.size());
+        assertTrue(map.values().stream().allMatch(value -> value % 2 != 0));
+    }
+}
@@ -0,0 +1,68 @@
+package com.reliaquest.api.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    void next_setsVersionVariantAndTimestamp() {
+        UuidV7Generator generator = new UuidV7Generator(() -> 1_700_000_000_123L);
+        String id = generator.next();
+        UUID uuid = UUID.fromString(id);
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertEquals(1_700_000_000_123L, UuidV7Generator.timestampOf(id));
+    }
+
+    @Test
+    void next_sameMillisecondOrClockStepBack_staysIncreasing() {
+        AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+        UuidV7Generator generator = new UuidV7Generator(clock::get);
+        String previous = generator.next();
+        for (int i = 0; i < 10_000; i++) {
+            if (i == 5_000) clock.addAndGet(-1_000);
+            String id = generator.next();
+            assertTrue(id.compareTo(previous) > 0, id + " should sort after " + previous);
+            previous = id;
+        }
+    }
+
+    @Test
+    void next_concurrentCallers_produceUniqueIds() throws InterruptedException {
+        UuidV7Generator generator = new UuidV7Generator(System::currentTimeMillis);
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) ids.add(generator.next());
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) thread.join();
+        assertEquals(40_000, new HashSet<>(ids).size());
+    }
+
+    @Test
+    void lowerBound_sortsBeforeEveryIdOfThatMillisecond() {
+        UuidV7Generator generator = new UuidV7Generator(() -> 1_700_000_000_500L);
+        String id = generator.next();
+        assertTrue(UuidV7Generator.lowerBound(1_700_000_000_500L).compareTo(id) <= 0);
+        assertTrue(UuidV7Generator.lowerBound(1_700_000_000_501L).compareTo(id) > 0);
+    }
+
+    @Test
+    void timestampOf_otherIds_returnsMinusOne() {
+        assertEquals(-1, UuidV7Generator.timestampOf(UUID.randomUUID().toString()));
+        assertEquals(-1, UuidV7Generator.timestampOf("1"));
+    }
+}
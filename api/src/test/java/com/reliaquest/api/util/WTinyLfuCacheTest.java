@@ -0,0 +1,128 @@
+package com.reliaquest.api.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WTinyLfuCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private WTinyLfuCache<Integer, String> cache(long maximumWeight) {
+        return new WTinyLfuCache<>(maximumWeight, value -> 1, (int) maximumWeight, Duration.ofSeconds(30), clock::get);
+    }
+
+    @Test
+    void get_afterPut_returnsValueAndCountsHit() {
+        WTinyLfuCache<Integer, String> cache = cache(100);
+        assertNull(cache.get(1));
+        cache.put(1, "one");
+        assertEquals("one", cache.get(1));
+
+        WTinyLfuCache.Stats stats = cache.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(0.5, stats.hitRate());
+        assertEquals(1, stats.entries());
+    }
+
+    @Test
+    void put_beyondCapacity_staysWithinMaximumWeight() {
+        WTinyLfuCache<Integer, String> cache = cache(100);
+        for (int i = 0; i < 1_000; i++) {
+            cache.put(i, "value " + i);
+        }
+        WTinyLfuCache.Stats stats = cache.stats();
+        assertEquals(100, stats.entries());
+        assertEquals(100, stats.weightedSize());
+        assertEquals(900, stats.evictions());
+    }
+
+    @Test
+    void put_scanOfNewKeys_doesNotDisplaceFrequentlyReadKeys() {
+        WTinyLfuCache<Integer, String> cache = cache(100);
+        for (int round = 0; round < 5; round++) {
+            for (int hot = 0; hot < 50; hot++) {
+                if (cache.get(hot) == null) cache.put(hot, "hot " + hot);
+            }
+        }
+        // Keys read once, interleaved with continued reads of the hot keys
+        for (int cold = 1_000; cold < 11_000; cold++) {
+            if (cache.get(cold) == null) cache.put(cold, "cold " + cold);
+            int hot = cold % 50;
+            if (cache.get(hot) == null) cache.put(hot, "hot " + hot);
+        }
+        long missesAfterScan = cache.stats().misses();
+        for (int hot = 0; hot < 50; hot++) {
+            assertNotNull(cache.get(hot), "hot key " + hot);
+        }
+        assertEquals(missesAfterScan, cache.stats().misses());
+    }
+
+    @Test
+    void get_skewedKeys_hitRateAboveShareOfKeysHeld() {
+        WTinyLfuCache<Integer, String> cache = cache(1_000);
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            // Zipf-like: key k is read about 1/k as often as key 1
+            int key = (int) Math.floor(Math.pow(100_000, random.nextDouble()));
+            if (cache.get(key) == null) cache.put(key, "value " + key);
+        }
+        // Holding 1% of the keys, a frequency-aware cache answers far more than 1% of these reads
+        assertTrue(cache.stats().hitRate() > 0.5, "hit rate: " + cache.stats().hitRate());
+    }
+
+    @Test
+    void get_afterExpireAfterWrite_missesAndCountsExpiration() {
+        WTinyLfuCache<Integer, String> cache = cache(100);
+        cache.put(1, "one");
+        clock.addAndGet(Duration.ofSeconds(29).toNanos());
+        assertEquals("one", cache.get(1));
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertNull(cache.get(1));
+        assertEquals(1, cache.stats().expirations());
+        assertEquals(0, cache.stats().entries());
+    }
+
+    @Test
+    void put_existingKey_replacesValueAndRestartsExpiry() {
+        WTinyLfuCache<Integer, String> cache = cache(100);
+        cache.put(1, "one");
+        clock.addAndGet(Duration.ofSeconds(20).toNanos());
+        cache.put(1, "uno");
+        clock.addAndGet(Duration.ofSeconds(20).toNanos());
+        assertEquals("uno", cache.get(1));
+        assertEquals(1, cache.stats().entries());
+    }
+
+    @Test
+    void invalidate_removesEntry() {
+        WTinyLfuCache<Integer, String> cache = cache(100);
+        cache.put(1, "one");
+        cache.put(2, "two");
+        cache.invalidate(1);
+        assertNull(cache.get(1));
+        assertEquals("two", cache.get(2));
+        cache.invalidateAll();
+        assertNull(cache.get(2));
+        assertEquals(0, cache.stats().weightedSize());
+    }
+
+    @Test
+    void put_weighedByLength_boundsTotalWeight() {
+        WTinyLfuCache<Integer, String> cache =
+                new WTinyLfuCache<>(1_000, String::length, 100, Duration.ofSeconds(30), clock::get);
+        for (int i = 0; i < 500; i++) {
+            cache.put(i, "x".repeat(1 + i % 40));
+        }
+        assertTrue(cache.stats().weightedSize() <= 1_000);
+        assertEquals(cache.stats().weightedSize(), cache.sumOf(String::length));
+
+        cache.put(-1, "x".repeat(1_001));
+        assertNull(cache.get(-1));
+    }
+}
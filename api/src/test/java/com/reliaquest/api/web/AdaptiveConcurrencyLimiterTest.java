@@ -0,0 +1,144 @@
+package com.reliaquest.api.web;
+
+import com.reliaquest.api.config.ConcurrencyLimitProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.function.IntToLongFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = Duration.ofMillis(5).toNanos();
+
+    private static AdaptiveConcurrencyLimiter unwarmed(int initialLimit, int maxLimit) {
+        return new AdaptiveConcurrencyLimiter(new ConcurrencyLimitProperties(
+                true, initialLimit, 2, maxLimit, 1.5, 0.2, 600, 0.5, Duration.ofSeconds(1)));
+    }
+
+    /*
+     * Builds a limiter whose baseline has been seeded at FAST latency.
+     */
+    private static AdaptiveConcurrencyLimiter limiter(int initialLimit, int maxLimit) {
+        AdaptiveConcurrencyLimiter limiter = unwarmed(initialLimit, maxLimit);
+        for (int i = 0; i < AdaptiveConcurrencyLimiter.WARMUP_SAMPLES; i++) {
+            assertTrue(limiter.tryAcquire(false));
+            limiter.release(FAST);
+        }
+        return limiter;
+    }
+
+    @Test
+    void tryAcquire_beforeWarmup_admitsInitialLimit() {
+        AdaptiveConcurrencyLimiter limiter = unwarmed(20, 100);
+        for (int i = 0; i < 20; i++) {
+            assertTrue(limiter.tryAcquire(false));
+        }
+        assertFalse(limiter.tryAcquire(false));
+    }
+
+    @Test
+    void tryAcquire_rejectsBeyondLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(4, 100);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire(false));
+        }
+        assertFalse(limiter.tryAcquire(false));
+        assertEquals(4, limiter.getInFlight());
+    }
+
+    @Test
+    void tryAcquire_shedFirstRequestsRejectedEarlier() {
+        AdaptiveConcurrencyLimiter limiter = limiter(4, 100);
+        assertTrue(limiter.tryAcquire(true));
+        assertTrue(limiter.tryAcquire(true));
+        assertFalse(limiter.tryAcquire(true));
+        assertTrue(limiter.tryAcquire(false));
+        assertTrue(limiter.tryAcquire(false));
+        assertFalse(limiter.tryAcquire(false));
+    }
+
+    @Test
+    void release_freesCapacity() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 100);
+        assertTrue(limiter.tryAcquire(false));
+        assertTrue(limiter.tryAcquire(false));
+        assertFalse(limiter.tryAcquire(false));
+        limiter.release(FAST);
+        assertTrue(limiter.tryAcquire(false));
+    }
+
+    @Test
+    void release_steadyLatencyUnderLoadGrowsLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 100);
+        saturate(limiter, concurrency -> FAST, 50);
+        assertTrue(limiter.getLimit() > 10);
+    }
+
+    @Test
+    void release_queueingLatencyKeepsLimitNearCapacity() {
+        // Beyond 10 concurrent requests, latency grows in proportion to concurrency: pure queueing.
+        int capacity = 10;
+        AdaptiveConcurrencyLimiter limiter = limiter(20, 200);
+        saturate(limiter, concurrency -> concurrency > capacity ? FAST * concurrency / capacity : FAST, 400);
+        assertTrue(limiter.getLimit() < capacity * 4, "limit " + limiter.getLimit() + " ran away from capacity");
+    }
+
+    @Test
+    void release_steadyLatency_neverDropsLimitToMinimum() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 100);
+        for (int round = 0; round < 200; round++) {
+            saturate(limiter, concurrency -> FAST, 1);
+            assertTrue(limiter.getLimit() >= 10, "limit dropped to " + limiter.getLimit() + " in round " + round);
+        }
+    }
+
+    @Test
+    void release_latencyDropsAfterOverload_limitRecovers() {
+        int capacity = 10;
+        AdaptiveConcurrencyLimiter limiter = limiter(20, 200);
+        saturate(limiter, concurrency -> FAST * 20 * Math.max(1, concurrency / capacity), 100);
+        int overloaded = limiter.getLimit();
+
+        saturate(limiter, concurrency -> FAST, 20);
+        assertTrue(limiter.getLimit() > overloaded * 2, overloaded + " -> " + limiter.getLimit());
+    }
+
+    @Test
+    void release_backendSlowsDownForGood_limitGrowsBackOnceBaselineFollows() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 100);
+        saturate(limiter, concurrency -> FAST * 4, 2);
+        int shrunk = limiter.getLimit();
+        assertTrue(shrunk < 10, "limit " + shrunk + " did not shrink");
+
+        saturate(limiter, concurrency -> FAST * 4, 2_000);
+        assertTrue(limiter.getLimit() > 10, "limit stuck at " + limiter.getLimit());
+    }
+
+    @Test
+    void release_neverLeavesConfiguredBounds() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 100);
+        saturate(limiter, concurrency -> FAST, 1_000);
+        assertTrue(limiter.getLimit() <= 100);
+        saturate(limiter, concurrency -> FAST * 1_000, 1_000);
+        assertTrue(limiter.getLimit() >= 2);
+    }
+
+    /*
+     * Fills the limiter to its current limit, then completes every admitted request with a latency that depends on
+     * how many were admitted.
+     */
+    private static void saturate(AdaptiveConcurrencyLimiter limiter, IntToLongFunction rttNanos, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            int admitted = 0;
+            while (limiter.tryAcquire(false)) {
+                admitted++;
+            }
+            long rtt = rttNanos.applyAsLong(admitted);
+            for (int i = 0; i < admitted; i++) {
+                limiter.release(rtt);
+            }
+        }
+    }
+}
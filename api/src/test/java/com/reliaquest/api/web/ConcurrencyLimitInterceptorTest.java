@@ -0,0 +1,59 @@
+package com.reliaquest.api.web;
+
+import com.reliaquest.api.config.ConcurrencyLimitProperties;
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitInterceptorTest {
+
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+            new ConcurrencyLimitProperties(true, 1, 1, 1, 1.5, 0.2, 600, 1.0, Duration.ofSeconds(1)));
+    private final ConcurrencyLimitInterceptor interceptor =
+            new ConcurrencyLimitInterceptor(limiter, Duration.ofSeconds(2));
+
+    @Test
+    void preHandle_overLimit_rejectsWithRetryAfter() {
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), null));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(new MockHttpServletRequest(), response, null));
+        assertEquals(503, response.getStatus());
+        assertEquals("2", response.getHeader("Retry-After"));
+    }
+
+    @Test
+    void afterCompletion_releasesPermitOnce() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertTrue(interceptor.preHandle(request, response, null));
+
+        interceptor.afterCompletion(request, response, null, null);
+        interceptor.afterCompletion(request, response, null, null);
+
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void asyncRequest_releasesPermitWhenLeavingContainerThread() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertTrue(interceptor.preHandle(request, response, null));
+
+        interceptor.afterConcurrentHandlingStarted(request, response, null);
+        assertEquals(0, limiter.getInFlight());
+        MockHttpServletRequest other = new MockHttpServletRequest();
+        assertTrue(interceptor.preHandle(other, new MockHttpServletResponse(), null));
+
+        // The dispatch that completes the response is admitted without a permit and releases none
+        request.setDispatcherType(DispatcherType.ASYNC);
+        assertTrue(interceptor.preHandle(request, response, null));
+        interceptor.afterCompletion(request, response, null, null);
+        assertEquals(1, limiter.getInFlight());
+    }
+}
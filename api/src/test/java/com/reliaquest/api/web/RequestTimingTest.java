@@ -0,0 +1,72 @@
+package com.reliaquest.api.web;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestTimingTest {
+
+    private static final long TWO_MS = TimeUnit.MILLISECONDS.toNanos(2);
+
+    @AfterEach
+    void tearDown() {
+        RequestTiming.begin().end();
+    }
+
+    @Test
+    void stop_duringRequest_addsToPhase() {
+        RequestTiming timing = RequestTiming.begin();
+        RequestTiming.stop(RequestTiming.Phase.UPSTREAM, System.nanoTime() - TWO_MS);
+        RequestTiming.stop(RequestTiming.Phase.UPSTREAM, System.nanoTime() - TWO_MS);
+        assertTrue(timing.phaseNanos(RequestTiming.Phase.UPSTREAM) >= 2 * TWO_MS);
+        assertEquals(0, timing.phaseNanos(RequestTiming.Phase.VALIDATION));
+    }
+
+    @Test
+    void stop_outsideRequest_isIgnored() {
+        RequestTiming timing = RequestTiming.begin();
+        timing.end();
+        RequestTiming.stop(RequestTiming.Phase.VALIDATION, System.nanoTime() - TWO_MS);
+        assertEquals(0, RequestTiming.begin().phaseNanos(RequestTiming.Phase.VALIDATION));
+    }
+
+    @Test
+    void begin_resetsPreviousRequest() {
+        RequestTiming.begin();
+        RequestTiming.stop(RequestTiming.Phase.VALIDATION, System.nanoTime() - TWO_MS);
+        RequestTiming timing = RequestTiming.begin();
+        assertEquals(0, timing.phaseNanos(RequestTiming.Phase.VALIDATION));
+    }
+
+    @Test
+    void headerValue_listsTimedPhasesThenServiceAndApp() {
+        RequestTiming timing = RequestTiming.begin();
+        RequestTiming.stop(RequestTiming.Phase.VALIDATION, System.nanoTime() - TWO_MS);
+        String header = timing.headerValue(System.nanoTime());
+        assertTrue(
+                header.matches("validation;dur=\\d+\\.\\d{3}, service;dur=\\d+\\.\\d{3}, app;dur=\\d+\\.\\d{3}"),
+                header);
+    }
+
+    @Test
+    void serviceNanos_isAppTimeMinusTimedPhases() {
+        RequestTiming timing = RequestTiming.begin();
+        long now = timing.startNanos() + 5 * TWO_MS;
+        RequestTiming.stop(RequestTiming.Phase.UPSTREAM, System.nanoTime() - TWO_MS);
+        long upstream = timing.phaseNanos(RequestTiming.Phase.UPSTREAM);
+        assertEquals(5 * TWO_MS - upstream, timing.serviceNanos(now));
+    }
+
+    @Test
+    void writeNanos_afterWriteStart_measuresFromFirstMark() {
+        RequestTiming timing = RequestTiming.begin();
+        assertEquals(0, timing.writeNanos(System.nanoTime()));
+        timing.markWriteStart();
+        long app = timing.appNanos(Long.MAX_VALUE);
+        timing.markWriteStart();
+        assertEquals(app, timing.appNanos(Long.MAX_VALUE));
+    }
+}
@@ -0,0 +1,84 @@
+package com.reliaquest.api.web;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowRequestLogTest {
+
+    private static SlowRequestLog.SlowRequest request(double totalMs) {
+        return new SlowRequestLog.SlowRequest(Instant.EPOCH, "GET", "/" + totalMs, 200, totalMs, 0, 0, totalMs, 0);
+    }
+
+    private static long nanos(double millis) {
+        return (long) (millis * TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    @Test
+    void record_keepsSlowestRequestsSlowestFirst() {
+        SlowRequestLog log = new SlowRequestLog(3);
+        for (double totalMs : new double[] {5, 1, 9, 3, 7, 2}) {
+            log.record(request(totalMs));
+        }
+        assertEquals(
+                List.of(9.0, 7.0, 5.0),
+                log.snapshot().stream().map(SlowRequestLog.SlowRequest::totalMs).toList());
+    }
+
+    @Test
+    void qualifies_notFull_admitsEverything() {
+        SlowRequestLog log = new SlowRequestLog(2);
+        log.record(request(10));
+        assertTrue(log.qualifies(nanos(0.5)));
+    }
+
+    @Test
+    void qualifies_full_admitsOnlySlowerThanFastestRetained() {
+        SlowRequestLog log = new SlowRequestLog(2);
+        log.record(request(10));
+        log.record(request(20));
+        assertFalse(log.qualifies(nanos(10)));
+        assertTrue(log.qualifies(nanos(11)));
+        assertFalse(log.record(request(9)));
+    }
+
+    @Test
+    void record_concurrentWriters_retainsGlobalTopN() throws InterruptedException {
+        SlowRequestLog log = new SlowRequestLog(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            final int offset = t;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = offset; i < 4_000; i += 4) {
+                    log.record(request(i));
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) thread.join();
+
+        List<Double> retained = log.snapshot().stream().map(SlowRequestLog.SlowRequest::totalMs).toList();
+        assertEquals(16, retained.size());
+        assertEquals(3_999.0, retained.get(0));
+        assertEquals(3_984.0, retained.get(15));
+    }
+
+    @Test
+    void constructor_nonPositiveCapacity_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new SlowRequestLog(0));
+    }
+}
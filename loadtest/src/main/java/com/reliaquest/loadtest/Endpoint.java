@@ -0,0 +1,33 @@
+package com.reliaquest.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * The seven {@code IEmployeeController} endpoints, keyed by the short names used in {@code --mix}.
+ */
+enum Endpoint {
+    GET_ALL("getAll"),
+    SEARCH("search"),
+    GET_BY_ID("getById"),
+    HIGHEST_SALARY("highestSalary"),
+    TOP_TEN("topTen"),
+    CREATE("create"),
+    DELETE("delete");
+
+    private final String key;
+
+    Endpoint(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+
+    static Endpoint fromKey(String key) {
+        return Arrays.stream(values())
+                .filter(endpoint -> endpoint.key.equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown endpoint: " + key));
+    }
+}
@@ -0,0 +1,83 @@
+package com.reliaquest.loadtest;
+
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Latency and outcome counters for one endpoint. Latencies are recorded in microseconds from each request's
+ * <em>intended</em> start time, which corrects for coordinated omission: a stalled api shows up as queueing delay
+ * instead of silently lowering the send rate.
+ */
+class EndpointStats {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Endpoint endpoint;
+    private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS);
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder clientErrors = new LongAdder();
+    private final LongAdder serverErrors = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    EndpointStats(Endpoint endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    Endpoint endpoint() {
+        return endpoint;
+    }
+
+    void recordResponse(long latencyNanos, int status) {
+        recorder.recordValue(Math.max(1, latencyNanos / 1_000));
+        if (status >= 500) {
+            serverErrors.increment();
+        } else if (status >= 400) {
+            clientErrors.increment();
+        } else {
+            succeeded.increment();
+        }
+    }
+
+    void recordFailure(long latencyNanos) {
+        recorder.recordValue(Math.max(1, latencyNanos / 1_000));
+        failures.increment();
+    }
+
+    void recordDropped() {
+        dropped.increment();
+    }
+
+    /**
+     * Discards everything recorded so far, e.g. at the end of warmup.
+     */
+    void reset() {
+        recorder.reset();
+        succeeded.reset();
+        clientErrors.reset();
+        serverErrors.reset();
+        failures.reset();
+        dropped.reset();
+    }
+
+    Snapshot snapshot() {
+        return new Snapshot(
+                endpoint,
+                recorder.getIntervalHistogram(),
+                succeeded.sum(),
+                clientErrors.sum(),
+                serverErrors.sum(),
+                failures.sum(),
+                dropped.sum());
+    }
+
+    record Snapshot(
+            Endpoint endpoint,
+            Histogram latencyMicros,
+            long succeeded,
+            long clientErrors,
+            long serverErrors,
+            long failures,
+            long dropped) {}
+}
@@ -0,0 +1,41 @@
+package com.reliaquest.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.random.RandomGenerator;
+
+/**
+ * Ids of employees known to exist in the api, so reads and deletes hit real data. Falls back to random ids, which
+ * exercise the miss path, when the pool runs dry.
+ */
+class IdPool {
+
+    private final List<String> ids = new ArrayList<>();
+
+    synchronized void add(String id) {
+        ids.add(id);
+    }
+
+    synchronized int size() {
+        return ids.size();
+    }
+
+    synchronized String pick(RandomGenerator random) {
+        if (ids.isEmpty()) {
+            return UUID.randomUUID().toString();
+        }
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    synchronized String take(RandomGenerator random) {
+        if (ids.isEmpty()) {
+            return UUID.randomUUID().toString();
+        }
+        final int index = random.nextInt(ids.size());
+        final String id = ids.get(index);
+        ids.set(index, ids.get(ids.size() - 1));
+        ids.remove(ids.size() - 1);
+        return id;
+    }
+}
@@ -0,0 +1,68 @@
+package com.reliaquest.loadtest;
+
+import com.reliaquest.api.ApiApplication;
+import com.reliaquest.server.ServerApplication;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * End-to-end load test of the api module against the mock server. See {@link LoadTestOptions} for arguments, e.g.
+ * {@code ./gradlew loadtest:bootRun --args='--rate=500 --duration=2m --slo-p99=250ms'}.
+ */
+@Slf4j
+public class LoadTestApplication {
+
+    public static void main(String[] args) throws Exception {
+        final LoadTestOptions options = LoadTestOptions.parse(args);
+        final List<ConfigurableApplicationContext> applications = new ArrayList<>();
+        int exitCode = 0;
+        try {
+            if (options.inProcess()) {
+                applications.add(start(ServerApplication.class, "--server.port=8112"));
+                applications.add(start(ApiApplication.class, "--server.port=" + options.target().getPort()));
+            }
+
+            final OpenModelDriver driver = new OpenModelDriver(options);
+            driver.seedEmployees();
+            final OpenModelDriver.Result result = driver.run();
+            final LoadTestReport report = LoadTestReport.of(options, result);
+            report.write(options.reportDir(), result);
+            report.endpoints()
+                    .forEach(summary -> log.info(
+                            "{}: {} requests, {} req/s, p50={}ms p99={}ms p99.9={}ms",
+                            summary.endpoint(),
+                            summary.requests(),
+                            "%.1f".formatted(summary.throughputPerSecond()),
+                            summary.p50Millis(),
+                            summary.p99Millis(),
+                            summary.p999Millis()));
+            log.info("Report written to {}", options.reportDir().toAbsolutePath());
+
+            if (options.sloP99() != null) {
+                final var violations = report.violations(options.sloP99());
+                if (!violations.isEmpty()) {
+                    violations.forEach(summary -> log.error(
+                            "{} p99 {}ms exceeds SLO {}", summary.endpoint(), summary.p99Millis(), options.sloP99()));
+                    exitCode = 1;
+                }
+            }
+        } finally {
+            for (int i = applications.size() - 1; i >= 0; i--) {
+                applications.get(i).close();
+            }
+        }
+        System.exit(exitCode);
+    }
+
+    /*
+     * Both modules ship an application.yml, and only one of them wins on a shared classpath, so anything that differs
+     * between the two is passed as a command line argument, which takes precedence over either file.
+     */
+    private static ConfigurableApplicationContext start(Class<?> application, String... args) {
+        log.info("Starting {} in-process", application.getSimpleName());
+        return new SpringApplicationBuilder(application).run(args);
+    }
+}
@@ -0,0 +1,83 @@
+package com.reliaquest.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * Command line options, given as {@code --name=value}. Every option has a default so the harness can run with no
+ * arguments at all.
+ *
+ * @param inProcess start server (8112) and api (8111) inside this JVM instead of targeting running instances
+ * @param target base URL of the api under test
+ * @param rate constant arrival rate in requests per second, across all endpoints
+ * @param warmup load applied before recording starts
+ * @param duration recorded load after warmup
+ * @param mix relative weight of each endpoint
+ * @param seedEmployees employees created through the api before the run so reads have data to hit
+ * @param maxInFlight requests outstanding at once before new arrivals are counted as dropped
+ * @param seed seed for endpoint selection and request data
+ * @param reportDir where the JSON, HTML and .hgrm reports are written
+ * @param sloP99 optional release gate; the run fails if any endpoint's p99 exceeds it
+ */
+record LoadTestOptions(
+        boolean inProcess,
+        URI target,
+        int rate,
+        Duration warmup,
+        Duration duration,
+        Map<Endpoint, Integer> mix,
+        int seedEmployees,
+        int maxInFlight,
+        long seed,
+        Path reportDir,
+        Duration sloP99) {
+
+    static final String DEFAULT_MIX =
+            "getAll:2,search:10,getById:50,highestSalary:5,topTen:5,create:18,delete:10";
+
+    static LoadTestOptions parse(String[] args) {
+        final Map<String, String> values = new HashMap<>();
+        for (final String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            final int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return new LoadTestOptions(
+                Boolean.parseBoolean(values.getOrDefault("in-process", "true")),
+                URI.create(values.getOrDefault("target", "http://localhost:8111")),
+                Integer.parseInt(values.getOrDefault("rate", "200")),
+                DurationStyle.detectAndParse(values.getOrDefault("warmup", "10s")),
+                DurationStyle.detectAndParse(values.getOrDefault("duration", "60s")),
+                parseMix(values.getOrDefault("mix", DEFAULT_MIX)),
+                Integer.parseInt(values.getOrDefault("seed-employees", "1000")),
+                Integer.parseInt(values.getOrDefault("max-in-flight", "10000")),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                Path.of(values.getOrDefault("report-dir", "loadtest/build/reports/loadtest")),
+                values.containsKey("slo-p99") ? DurationStyle.detectAndParse(values.get("slo-p99")) : null);
+    }
+
+    private static Map<Endpoint, Integer> parseMix(String mix) {
+        final Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        for (final String entry : mix.split(",")) {
+            final String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected endpoint:weight but got: " + entry);
+            }
+            final int weight = Integer.parseInt(parts[1]);
+            if (weight > 0) {
+                weights.put(Endpoint.fromKey(parts[0]), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Workload mix is empty: " + mix);
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,149 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Summarizes a run per endpoint and writes it as {@code report.json}, {@code report.html} and one HdrHistogram
+ * percentile distribution ({@code .hgrm}) per endpoint. Latencies are reported in milliseconds.
+ */
+record LoadTestReport(Instant finishedAt, int targetRate, double measuredSeconds, List<EndpointSummary> endpoints) {
+
+    private static final double MICROS_PER_MILLI = 1_000.0;
+
+    static LoadTestReport of(LoadTestOptions options, OpenModelDriver.Result result) {
+        final double seconds = result.measuredNanos() / 1e9;
+        final List<EndpointSummary> endpoints = new ArrayList<>();
+        final Histogram overall = new Histogram(3);
+        long succeeded = 0, clientErrors = 0, serverErrors = 0, failures = 0, dropped = 0;
+        for (final EndpointStats.Snapshot snapshot : result.endpoints()) {
+            endpoints.add(EndpointSummary.of(snapshot.endpoint().key(), snapshot, seconds));
+            overall.add(snapshot.latencyMicros());
+            succeeded += snapshot.succeeded();
+            clientErrors += snapshot.clientErrors();
+            serverErrors += snapshot.serverErrors();
+            failures += snapshot.failures();
+            dropped += snapshot.dropped();
+        }
+        endpoints.add(EndpointSummary.of(
+                "overall",
+                new EndpointStats.Snapshot(null, overall, succeeded, clientErrors, serverErrors, failures, dropped),
+                seconds));
+        return new LoadTestReport(Instant.now(), options.rate(), seconds, endpoints);
+    }
+
+    void write(Path directory, OpenModelDriver.Result result) throws IOException {
+        Files.createDirectories(directory);
+        new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .writerWithDefaultPrettyPrinter()
+                .writeValue(directory.resolve("report.json").toFile(), this);
+        Files.writeString(directory.resolve("report.html"), html());
+        for (final EndpointStats.Snapshot snapshot : result.endpoints()) {
+            try (PrintStream out = new PrintStream(
+                    directory.resolve(snapshot.endpoint().key() + ".hgrm").toFile())) {
+                snapshot.latencyMicros().outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+    }
+
+    /**
+     * @return endpoints whose p99 exceeds {@code slo}, excluding the overall row
+     */
+    List<EndpointSummary> violations(Duration slo) {
+        final double sloMillis = slo.toNanos() / 1e6;
+        return endpoints.stream()
+                .filter(summary -> !"overall".equals(summary.endpoint()))
+                .filter(summary -> summary.requests() > 0 && summary.p99Millis() > sloMillis)
+                .toList();
+    }
+
+    private String html() {
+        final StringBuilder rows = new StringBuilder();
+        for (final EndpointSummary summary : endpoints) {
+            rows.append("<tr><td>%s</td><td>%d</td><td>%.1f</td><td>%.3f</td><td>%.3f</td><td>%.3f</td><td>%.3f</td><td>%.3f</td><td>%d</td><td>%d</td><td>%d</td><td>%d</td></tr>\n"
+                    .formatted(
+                            summary.endpoint(),
+                            summary.requests(),
+                            summary.throughputPerSecond(),
+                            summary.p50Millis(),
+                            summary.p99Millis(),
+                            summary.p999Millis(),
+                            summary.maxMillis(),
+                            summary.meanMillis(),
+                            summary.clientErrors(),
+                            summary.serverErrors(),
+                            summary.failures(),
+                            summary.dropped()));
+        }
+        return """
+                <!DOCTYPE html>
+                <html>
+                <head>
+                <meta charset="utf-8">
+                <title>Employee API load test</title>
+                <style>
+                body { font-family: sans-serif; }
+                table { border-collapse: collapse; }
+                th, td { border: 1px solid #ccc; padding: 4px 8px; text-align: right; }
+                th:first-child, td:first-child { text-align: left; }
+                </style>
+                </head>
+                <body>
+                <h1>Employee API load test</h1>
+                <p>Finished %s &middot; target rate %d req/s &middot; measured %.1f s &middot; latency in ms,
+                corrected for coordinated omission</p>
+                <table>
+                <tr><th>endpoint</th><th>requests</th><th>req/s</th><th>p50</th><th>p99</th><th>p99.9</th><th>max</th><th>mean</th><th>4xx</th><th>5xx</th><th>failed</th><th>dropped</th></tr>
+                %s</table>
+                </body>
+                </html>
+                """
+                .formatted(finishedAt, targetRate, measuredSeconds, rows);
+    }
+
+    record EndpointSummary(
+            String endpoint,
+            long requests,
+            double throughputPerSecond,
+            double p50Millis,
+            double p99Millis,
+            double p999Millis,
+            double maxMillis,
+            double meanMillis,
+            long succeeded,
+            long clientErrors,
+            long serverErrors,
+            long failures,
+            long dropped) {
+
+        static EndpointSummary of(String endpoint, EndpointStats.Snapshot snapshot, double seconds) {
+            final Histogram latencyMicros = snapshot.latencyMicros();
+            final long requests = latencyMicros.getTotalCount();
+            return new EndpointSummary(
+                    endpoint,
+                    requests,
+                    seconds > 0 ? requests / seconds : 0,
+                    latencyMicros.getValueAtPercentile(50) / MICROS_PER_MILLI,
+                    latencyMicros.getValueAtPercentile(99) / MICROS_PER_MILLI,
+                    latencyMicros.getValueAtPercentile(99.9) / MICROS_PER_MILLI,
+                    latencyMicros.getMaxValue() / MICROS_PER_MILLI,
+                    latencyMicros.getMean() / MICROS_PER_MILLI,
+                    snapshot.succeeded(),
+                    snapshot.clientErrors(),
+                    snapshot.serverErrors(),
+                    snapshot.failures(),
+                    snapshot.dropped());
+        }
+    }
+}
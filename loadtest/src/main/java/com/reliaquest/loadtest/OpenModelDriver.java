@@ -0,0 +1,228 @@
+package com.reliaquest.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Issues requests at a constant arrival rate regardless of how quickly the api answers (an open workload model).
+ * A single thread schedules arrivals and hands them to the asynchronous {@link HttpClient}, so slow responses never
+ * delay later arrivals.
+ */
+@Slf4j
+class OpenModelDriver {
+
+    private static final Pattern ID_PATTERN = Pattern.compile("\"id\"\\s*:\\s*\"([^\"]+)\"");
+    private static final String[] FIRST_NAMES = {
+        "Ada", "Alan", "Barbara", "Claude", "Donald", "Edsger", "Frances", "Grace", "John", "Margaret"
+    };
+    private static final String[] LAST_NAMES = {
+        "Lovelace", "Turing", "Liskov", "Shannon", "Knuth", "Dijkstra", "Allen", "Hopper", "Backus", "Hamilton"
+    };
+    private static final String[] TITLES = {"Engineer", "Analyst", "Manager", "Director", "Designer"};
+
+    /**
+     * Sends a request asynchronously. The {@link HttpClient} in a real run; tests substitute a simulated api.
+     */
+    interface Transport {
+
+        CompletableFuture<Reply> send(HttpRequest request);
+    }
+
+    record Reply(int status, String body) {}
+
+    private final LoadTestOptions options;
+    private final Transport transport;
+    private final SplittableRandom random;
+    private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+    private final Endpoint[] weightedEndpoints;
+    private final IdPool idPool = new IdPool();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile long measureFromNanos = Long.MAX_VALUE;
+
+    OpenModelDriver(LoadTestOptions options) {
+        this(options, httpTransport());
+    }
+
+    OpenModelDriver(LoadTestOptions options, Transport transport) {
+        this.options = options;
+        this.transport = transport;
+        this.random = new SplittableRandom(options.seed());
+        final List<Endpoint> weighted = new ArrayList<>();
+        options.mix().forEach((endpoint, weight) -> {
+            stats.put(endpoint, new EndpointStats(endpoint));
+            for (int i = 0; i < weight; i++) {
+                weighted.add(endpoint);
+            }
+        });
+        this.weightedEndpoints = weighted.toArray(Endpoint[]::new);
+    }
+
+    /**
+     * Creates the configured number of employees synchronously so the measured run starts against a populated store.
+     */
+    void seedEmployees() throws InterruptedException {
+        log.info("Seeding {} employees through {}", options.seedEmployees(), options.target());
+        for (int i = 0; i < options.seedEmployees(); i++) {
+            try {
+                rememberCreatedId(transport.send(request(Endpoint.CREATE)).get());
+            } catch (ExecutionException e) {
+                log.warn("Failed to seed employee: {}", e.getCause().getMessage());
+            }
+        }
+        log.info("Seeded {} employees", idPool.size());
+    }
+
+    /**
+     * Runs warmup followed by the measured window and waits for outstanding requests to finish.
+     *
+     * @return per-endpoint results of the measured window, plus the window's length in nanoseconds
+     */
+    Result run() throws InterruptedException {
+        final long intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate();
+        final long startNanos = System.nanoTime();
+        final long measureFrom = startNanos + options.warmup().toNanos();
+        final long endNanos = measureFrom + options.duration().toNanos();
+        log.info(
+                "Driving {} req/s for {} warmup + {} measured", options.rate(), options.warmup(), options.duration());
+
+        boolean measuring = false;
+        for (long i = 0; ; i++) {
+            final long intended = startNanos + i * intervalNanos;
+            if (intended >= endNanos) {
+                break;
+            }
+            final long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (!measuring && intended >= measureFrom) {
+                stats.values().forEach(EndpointStats::reset);
+                measureFromNanos = measureFrom;
+                measuring = true;
+            }
+            send(weightedEndpoints[random.nextInt(weightedEndpoints.length)], intended);
+        }
+
+        final long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        if (inFlight.get() > 0) {
+            log.warn("{} requests still outstanding after drain timeout", inFlight.get());
+        }
+        final List<EndpointStats.Snapshot> snapshots = new ArrayList<>();
+        stats.values().forEach(endpointStats -> snapshots.add(endpointStats.snapshot()));
+        return new Result(snapshots, options.duration().toNanos());
+    }
+
+    private void send(Endpoint endpoint, long intendedNanos) {
+        final EndpointStats endpointStats = stats.get(endpoint);
+        if (inFlight.get() >= options.maxInFlight()) {
+            if (intendedNanos >= measureFromNanos) {
+                endpointStats.recordDropped();
+            }
+            return;
+        }
+        final HttpRequest request = request(endpoint);
+        inFlight.incrementAndGet();
+        transport.send(request).whenComplete((reply, error) -> {
+            final long latency = System.nanoTime() - intendedNanos;
+            inFlight.decrementAndGet();
+            if (reply != null && endpoint == Endpoint.CREATE) {
+                rememberCreatedId(reply);
+            }
+            if (intendedNanos < measureFromNanos) {
+                return;
+            }
+            if (error != null) {
+                endpointStats.recordFailure(latency);
+            } else {
+                endpointStats.recordResponse(latency, reply.status());
+            }
+        });
+    }
+
+    private HttpRequest request(Endpoint endpoint) {
+        final HttpRequest.Builder builder =
+                switch (endpoint) {
+                    case GET_ALL -> HttpRequest.newBuilder(uri("")).GET();
+                    case SEARCH -> HttpRequest.newBuilder(uri("/search/" + nameFragment()))
+                            .GET();
+                    case GET_BY_ID -> HttpRequest.newBuilder(uri("/" + idPool.pick(random)))
+                            .GET();
+                    case HIGHEST_SALARY -> HttpRequest.newBuilder(uri("/highestSalary"))
+                            .GET();
+                    case TOP_TEN -> HttpRequest.newBuilder(uri("/topTenHighestEarningEmployeeNames"))
+                            .GET();
+                    case CREATE -> HttpRequest.newBuilder(uri(""))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(creationInput()));
+                    case DELETE -> HttpRequest.newBuilder(uri("/" + idPool.take(random)))
+                            .DELETE();
+                };
+        return builder.timeout(Duration.ofSeconds(30)).build();
+    }
+
+    private URI uri(String path) {
+        return options.target().resolve(options.target().getPath() + path);
+    }
+
+    private String nameFragment() {
+        final String name = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        final int start = random.nextInt(name.length() - 2);
+        return name.substring(start, start + 3);
+    }
+
+    private String creationInput() {
+        final String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        final String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        return """
+                {"name":"%s %s","salary":%d,"age":%d,"title":"%s","email":"%s.%s@company.com"}"""
+                .formatted(
+                        first,
+                        last,
+                        random.nextInt(30_000, 500_000),
+                        random.nextInt(16, 76),
+                        TITLES[random.nextInt(TITLES.length)],
+                        first.toLowerCase(),
+                        last.toLowerCase());
+    }
+
+    private void rememberCreatedId(Reply reply) {
+        if (reply.status() / 100 != 2) {
+            return;
+        }
+        final Matcher matcher = ID_PATTERN.matcher(reply.body());
+        if (matcher.find()) {
+            idPool.add(matcher.group(1));
+        }
+    }
+
+    private static Transport httpTransport() {
+        final HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        return request -> client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> new Reply(response.statusCode(), response.body()));
+    }
+
+    record Result(List<EndpointStats.Snapshot> endpoints, long measuredNanos) {}
+}
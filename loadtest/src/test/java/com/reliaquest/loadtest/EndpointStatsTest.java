@@ -0,0 +1,54 @@
+package com.reliaquest.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EndpointStatsTest {
+
+    @Test
+    void recordResponse_classifiesByStatus() {
+        EndpointStats stats = new EndpointStats(Endpoint.GET_BY_ID);
+        stats.recordResponse(1_000_000, 200);
+        stats.recordResponse(1_000_000, 404);
+        stats.recordResponse(1_000_000, 429);
+        stats.recordResponse(1_000_000, 503);
+        stats.recordFailure(1_000_000);
+        stats.recordDropped();
+
+        EndpointStats.Snapshot snapshot = stats.snapshot();
+        assertEquals(1, snapshot.succeeded());
+        assertEquals(2, snapshot.clientErrors());
+        assertEquals(1, snapshot.serverErrors());
+        assertEquals(1, snapshot.failures());
+        assertEquals(1, snapshot.dropped());
+        // Dropped arrivals never got a response, so they have no latency
+        assertEquals(5, snapshot.latencyMicros().getTotalCount());
+    }
+
+    @Test
+    void recordResponse_recordsMicrosecondsAndNeverZero() {
+        EndpointStats stats = new EndpointStats(Endpoint.GET_BY_ID);
+        stats.recordResponse(250_000_000, 200);
+        stats.recordResponse(10, 200);
+
+        EndpointStats.Snapshot snapshot = stats.snapshot();
+        assertEquals(250_000, snapshot.latencyMicros().getMaxValue(), 250);
+        assertEquals(1, snapshot.latencyMicros().getMinValue());
+    }
+
+    @Test
+    void reset_discardsWarmup() {
+        EndpointStats stats = new EndpointStats(Endpoint.CREATE);
+        stats.recordResponse(1_000_000, 200);
+        stats.recordDropped();
+        stats.reset();
+        stats.recordResponse(2_000_000, 500);
+
+        EndpointStats.Snapshot snapshot = stats.snapshot();
+        assertEquals(0, snapshot.succeeded());
+        assertEquals(1, snapshot.serverErrors());
+        assertEquals(0, snapshot.dropped());
+        assertEquals(1, snapshot.latencyMicros().getTotalCount());
+    }
+}
@@ -0,0 +1,113 @@
+package com.reliaquest.loadtest;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpenModelDriverTest {
+
+    private final ScheduledExecutorService api = Executors.newScheduledThreadPool(2);
+    private final List<Long> sendTimes = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        api.shutdownNow();
+    }
+
+    private static LoadTestOptions options(int rate, Duration warmup, Duration duration, int maxInFlight) {
+        return new LoadTestOptions(
+                false,
+                URI.create("http://localhost:8111/api/v1/employee"),
+                rate,
+                warmup,
+                duration,
+                Map.of(Endpoint.GET_BY_ID, 1),
+                0,
+                maxInFlight,
+                42,
+                Path.of("build"),
+                null);
+    }
+
+    /**
+     * Simulated api that answers each request {@code delay} after {@code readyAt}, or after it was sent if later.
+     */
+    private OpenModelDriver.Transport api(long readyAtNanos, Duration delay) {
+        return request -> {
+            long now = System.nanoTime();
+            synchronized (sendTimes) {
+                sendTimes.add(now);
+            }
+            CompletableFuture<OpenModelDriver.Reply> reply = new CompletableFuture<>();
+            long answerIn = Math.max(readyAtNanos - now, 0) + delay.toNanos();
+            api.schedule(() -> reply.complete(new OpenModelDriver.Reply(200, "{}")), answerIn, TimeUnit.NANOSECONDS);
+            return reply;
+        };
+    }
+
+    private static EndpointStats.Snapshot getById(OpenModelDriver.Result result) {
+        return result.endpoints().stream()
+                .filter(snapshot -> snapshot.endpoint() == Endpoint.GET_BY_ID)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    void run_stalledApi_keepsArrivalScheduleAndRecordsQueueingDelay() throws Exception {
+        // The api answers nothing for the first 300ms, then everything immediately
+        long stallEnd = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(300);
+        OpenModelDriver driver = new OpenModelDriver(
+                options(200, Duration.ZERO, Duration.ofSeconds(1), 10_000), api(stallEnd, Duration.ZERO));
+
+        EndpointStats.Snapshot snapshot = getById(driver.run());
+
+        assertEquals(200, sendTimes.size(), 2);
+        long longestGap = 0;
+        for (int i = 1; i < sendTimes.size(); i++) {
+            longestGap = Math.max(longestGap, sendTimes.get(i) - sendTimes.get(i - 1));
+        }
+        assertTrue(longestGap < TimeUnit.MILLISECONDS.toNanos(50), "arrivals held back: " + longestGap);
+        // Every arrival is recorded, timed from when it was due; a closed-loop client would record one slow request
+        assertEquals(sendTimes.size(), snapshot.latencyMicros().getTotalCount());
+        assertEquals(sendTimes.size(), snapshot.succeeded());
+        // Arrivals due in the first 150ms of the stall, 15% of the run, waited at least 150ms
+        assertTrue(snapshot.latencyMicros().getMaxValue() >= 250_000);
+        assertTrue(snapshot.latencyMicros().getValueAtPercentile(85) >= 100_000);
+    }
+
+    @Test
+    void run_warmup_isNotRecorded() throws Exception {
+        OpenModelDriver driver = new OpenModelDriver(
+                options(100, Duration.ofMillis(300), Duration.ofMillis(300), 10_000),
+                api(0, Duration.ofMillis(1)));
+
+        EndpointStats.Snapshot snapshot = getById(driver.run());
+
+        assertEquals(60, sendTimes.size(), 1);
+        assertEquals(30, snapshot.latencyMicros().getTotalCount(), 1);
+    }
+
+    @Test
+    void run_maxInFlightReached_countsLaterArrivalsAsDropped() throws Exception {
+        OpenModelDriver driver = new OpenModelDriver(
+                options(100, Duration.ZERO, Duration.ofMillis(300), 5), api(0, Duration.ofMillis(500)));
+
+        EndpointStats.Snapshot snapshot = getById(driver.run());
+
+        assertEquals(5, sendTimes.size());
+        assertEquals(5, snapshot.succeeded());
+        assertEquals(25, snapshot.dropped(), 1);
+    }
+}
@@ -0,0 +1,52 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.server.web.FaultInjectionInterceptor;
+import com.reliaquest.server.web.SlowDripFilter;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(FaultInjectionProperties.class)
+@ConditionalOnProperty(prefix = "mock.fault-injection", name = "enabled", havingValue = "true")
+public class FaultInjectionConfiguration implements WebMvcConfigurer {
+
+    private final FaultInjectionProperties properties;
+
+    /*
+     * Routes share one arrival sequence, used to key the draws of requests without an X-Request-Id header.
+     */
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Bean
+    public FilterRegistrationBean<SlowDripFilter> slowDripFilter() {
+        final var registration = new FilterRegistrationBean<>(new SlowDripFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        for (final var route : properties.routes()) {
+            final var profile = properties.profiles().get(route.profile());
+            if (profile == null) {
+                throw new IllegalStateException("Unknown fault injection profile: " + route.profile());
+            }
+            log.info("Injecting faults from profile '{}' into {} {}", route.profile(), route.method(), route.path());
+            registry.addInterceptor(
+                            new FaultInjectionInterceptor(route.method(), profile, properties.seed(), sequence))
+                    .addPathPatterns(route.path())
+                    .order(Ordered.HIGHEST_PRECEDENCE);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.reliaquest.server.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Latency and fault injection settings. Each {@link Route} selects the requests a {@link Profile} applies to; a
+ * profile may combine latency, errors, slow-drip bodies and stalls. All draws derive from {@code seed} and a
+ * per-request key, so requests with the same {@code X-Request-Id} header see the same faults on every run; see
+ * {@link com.reliaquest.server.web.FaultInjectionInterceptor}.
+ */
+@ConfigurationProperties(prefix = "mock.fault-injection")
+public record FaultInjectionProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("42") long seed,
+        Map<String, Profile> profiles,
+        List<Route> routes) {
+
+    public FaultInjectionProperties {
+        profiles = profiles == null ? Map.of() : Map.copyOf(profiles);
+        routes = routes == null ? List.of() : List.copyOf(routes);
+    }
+
+    /**
+     * Routes are matched in order and only the first route matching a request applies, so list more specific paths
+     * first.
+     *
+     * @param method HTTP method to match, or {@code null} to match any method
+     * @param path Spring MVC path pattern, e.g. {@code /api/v1/employee/**}
+     * @param profile key into {@link FaultInjectionProperties#profiles()}
+     */
+    public record Route(String method, @DefaultValue("/**") String path, String profile) {}
+
+    public record Profile(Latency latency, Failure failure, SlowDrip slowDrip, Stall stall) {}
+
+    public record Latency(
+            @DefaultValue("NONE") Distribution distribution,
+            @DefaultValue("0ms") Duration fixed,
+            @DefaultValue("0ms") Duration min,
+            @DefaultValue("0ms") Duration max,
+            @DefaultValue("0ms") Duration median,
+            @DefaultValue("0.5") double sigma,
+            @DefaultValue("0") double spikeRate,
+            @DefaultValue("0ms") Duration spike) {}
+
+    public enum Distribution {
+        NONE,
+        FIXED,
+        UNIFORM,
+        LOG_NORMAL
+    }
+
+    public record Failure(@DefaultValue("0") double rate, @DefaultValue("503") int status) {}
+
+    public record SlowDrip(
+            @DefaultValue("1") double rate,
+            @DefaultValue("256") int chunkBytes,
+            @DefaultValue("50ms") Duration interval) {}
+
+    public record Stall(@DefaultValue("0") double rate, @DefaultValue("30s") Duration duration) {}
+}
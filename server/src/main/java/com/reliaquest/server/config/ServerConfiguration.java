@@ -2,7 +2,9 @@ package com.reliaquest.server.config;
 
 import com.reliaquest.server.model.MockEmployee;
 import com.reliaquest.server.web.RandomRequestLimitInterceptor;
+import com.reliaquest.server.web.ServerTimingFilter;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.UUID;
@@ -14,8 +16,10 @@ import net.datafaker.transformations.Field;
 import net.datafaker.transformations.JavaObjectTransformer;
 import net.datafaker.transformations.Schema;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -31,7 +35,8 @@ public class ServerConfiguration implements WebMvcConfigurer {
     }
 
     /*
-     * This list is modifiable by design for CRUD operations.
+     * This list is modifiable by design for CRUD operations. Requests mutate and read it concurrently, so it is
+     * synchronized, and anything that iterates it or checks and then changes it holds its monitor for the whole access.
      */
     @Bean
     public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
@@ -46,10 +51,19 @@ public class ServerConfiguration implements WebMvcConfigurer {
                         "email",
                         () -> EMAIL_TEMPLATE.formatted(
                                 faker.twitter().userName().toLowerCase())));
-        return IntStream.rangeClosed(1, maxEmployees)
+        final var mockEmployees = IntStream.rangeClosed(1, maxEmployees)
                 .mapToObj(ignored -> (MockEmployee) transformer.apply(MockEmployee.class, schema))
-                .peek(mockEmployee -> log.debug("Created employee: {}", mockEmployee))
+                .peek(mockEmployee -> log.trace("Created employee: {}", mockEmployee))
                 .collect(Collectors.toCollection(ArrayList::new));
+        log.info("Created {} mock employees", mockEmployees.size());
+        return Collections.synchronizedList(mockEmployees);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter() {
+        final var registration = new FilterRegistrationBean<>(new ServerTimingFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
     }
 
     @Override
@@ -1,34 +1,93 @@
 package com.reliaquest.server.controller;
 
+import com.reliaquest.server.model.BatchItemResult;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.RangeDigest;
 import com.reliaquest.server.model.Response;
+import com.reliaquest.server.service.MockEmployeeDigests;
+import com.reliaquest.server.service.MockEmployeeEventPublisher;
+import com.reliaquest.server.service.MockEmployeeListCache;
 import com.reliaquest.server.service.MockEmployeeService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/v1/employee")
 @RequiredArgsConstructor
 public class MockEmployeeController {
 
+    /**
+     * Version of the last change event the list response includes, to pass as {@code Last-Event-ID} to
+     * {@code /events}. Events after it may already be reflected in the list, so clients apply them by id.
+     */
+    public static final String EVENT_VERSION_HEADER = "X-Event-Version";
+
     private final MockEmployeeService mockEmployeeService;
 
+    private final MockEmployeeEventPublisher mockEmployeeEventPublisher;
+
+    private final MockEmployeeListCache mockEmployeeListCache;
+
+    private final MockEmployeeDigests mockEmployeeDigests;
+
+    /*
+     * Serves pre-serialized bytes from MockEmployeeListCache. Bodies that are already gzipped carry Content-Encoding,
+     * which keeps the servlet container from compressing them again.
+     */
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
-        return Response.handledWith(mockEmployeeService.getMockEmployees());
+    public ResponseEntity<byte[]> getEmployees(WebRequest request) {
+        final var body = mockEmployeeListCache.get();
+        // The gzip and identity bodies are distinct representations, so each has its own ETag
+        final var acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        final boolean gzip = body.gzip() != null && MockEmployeeListCache.acceptsGzip(acceptEncoding);
+        if (request.checkNotModified(gzip ? body.gzipEtag() : body.etag())) {
+            return null;
+        }
+        final var response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .header(EVENT_VERSION_HEADER, String.valueOf(body.eventVersion()));
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(body.gzip());
+        }
+        return response.body(body.json());
+    }
+
+    /*
+     * Merkle digests of id ranges for clients reconciling a copy of the store; see MockEmployeeDigests.
+     * nodes is a comma-separated list of ranges at the given level.
+     */
+    @GetMapping("/digest")
+    public Response<List<RangeDigest>> getDigests(
+            @RequestParam("level") int level, @RequestParam("nodes") List<Integer> nodes) {
+        return Response.handledWith(mockEmployeeDigests.digests(level, nodes));
+    }
+
+    @GetMapping("/range")
+    public Response<List<MockEmployee>> getEmployeesInRanges(
+            @RequestParam("level") int level, @RequestParam("nodes") List<Integer> nodes) {
+        return Response.handledWith(mockEmployeeDigests.employeesIn(level, nodes));
     }
 
     @GetMapping("/{id}")
@@ -48,4 +107,29 @@ public class MockEmployeeController {
     public Response<Boolean> deleteEmployee(@Valid @RequestBody DeleteMockEmployeeInput input) {
         return Response.handledWith(mockEmployeeService.delete(input));
     }
+
+    @DeleteMapping("/{id}")
+    public Response<Boolean> deleteEmployeeById(@PathVariable("id") UUID uuid) {
+        return Response.handledWith(mockEmployeeService.deleteById(uuid));
+    }
+
+    @PostMapping("/batch")
+    public Response<List<BatchItemResult<MockEmployee>>> createEmployees(
+            @RequestBody List<CreateMockEmployeeInput> inputs) {
+        return Response.handledWith(mockEmployeeService.createAll(inputs));
+    }
+
+    @DeleteMapping("/batch")
+    public Response<List<BatchItemResult<Boolean>>> deleteEmployees(@RequestBody List<DeleteMockEmployeeInput> inputs) {
+        return Response.handledWith(mockEmployeeService.deleteAll(inputs));
+    }
+
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public void streamEvents(
+            @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId,
+            HttpServletRequest request,
+            HttpServletResponse response)
+            throws IOException {
+        mockEmployeeEventPublisher.subscribe(lastEventId, request, response);
+    }
 }
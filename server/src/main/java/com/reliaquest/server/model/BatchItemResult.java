@@ -0,0 +1,18 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of a single item within a batch request. {@code index} refers to the item's position in the request body.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchItemResult<T>(int index, T data, String error) {
+
+    public static <T> BatchItemResult<T> succeeded(int index, T data) {
+        return new BatchItemResult<>(index, data, null);
+    }
+
+    public static <T> BatchItemResult<T> failed(int index, String error) {
+        return new BatchItemResult<>(index, null, error);
+    }
+}
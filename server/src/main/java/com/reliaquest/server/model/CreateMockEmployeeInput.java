@@ -1,15 +1,23 @@
 package com.reliaquest.server.model;
 
+import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import java.util.UUID;
 import lombok.Data;
 
+/**
+ * Input for creating an employee. {@code id} and {@code email} are optional: a client that generates its own ids, and
+ * may send the same create more than once, supplies them; otherwise both are generated.
+ */
 @Data
 public class CreateMockEmployeeInput {
 
+    private UUID id;
+
     @NotBlank
     private String name;
 
@@ -21,4 +29,7 @@ public class CreateMockEmployeeInput {
 
     @NotBlank
     private String title;
+
+    @Email
+    private String email;
 }
@@ -23,7 +23,7 @@ public class MockEmployee {
 
     public static MockEmployee from(@NonNull String email, @NonNull CreateMockEmployeeInput input) {
         return MockEmployee.builder()
-                .id(UUID.randomUUID())
+                .id(input.getId() != null ? input.getId() : UUID.randomUUID())
                 .email(email)
                 .name(input.getName())
                 .salary(input.getSalary())
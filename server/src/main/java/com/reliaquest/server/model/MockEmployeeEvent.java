@@ -0,0 +1,13 @@
+package com.reliaquest.server.model;
+
+/**
+ * A single mutation of the mock employee store. {@code version} increases by one with every event, so a subscriber
+ * can resume from the last version it saw.
+ */
+public record MockEmployeeEvent(long version, Type type, MockEmployee employee) {
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+}
@@ -0,0 +1,8 @@
+package com.reliaquest.server.model;
+
+/**
+ * Summary of the employees whose ids fall in one range. {@code node} numbers the range among the
+ * {@code 2^level} equal ranges of the level it was requested at; {@code hash} is the sum, wrapping on overflow, of the
+ * employees' content hashes, so it does not depend on their order.
+ */
+public record RangeDigest(int node, int count, long hash) {}
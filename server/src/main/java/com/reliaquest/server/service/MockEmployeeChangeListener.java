@@ -0,0 +1,14 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+
+/**
+ * Notified by {@link MockEmployeeService} after employees are added to or removed from the store. Called on the
+ * request thread, so implementations must return quickly.
+ */
+public interface MockEmployeeChangeListener {
+
+    void onCreated(MockEmployee mockEmployee);
+
+    void onDeleted(MockEmployee mockEmployee);
+}
@@ -0,0 +1,134 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.RangeDigest;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Summarizes the store by ranges of employee ids, so that a client holding a copy can find the ranges where its copy
+ * differs without downloading the store. Each id is hashed to a 64-bit token, and the ranges at level {@code L} are
+ * the {@code 2^L} token ranges sharing their top {@code L} bits. Range {@code n} at level {@code L} covers ranges
+ * {@code 2n} and {@code 2n + 1} at level {@code L + 1}, so the digests form a Merkle tree. Clients must hash ids and
+ * contents exactly as {@link #token} and {@link #hash} do.
+ */
+@Service
+@RequiredArgsConstructor
+public class MockEmployeeDigests {
+
+    public static final int MAX_LEVEL = 20;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final List<MockEmployee> mockEmployees;
+
+    /**
+     * @return one digest per requested range, in the order requested; ranges without employees have count zero
+     */
+    public List<RangeDigest> digests(int level, @NonNull List<Integer> nodes) {
+        final Set<Integer> requested = validate(level, nodes);
+        final Map<Integer, long[]> sums = new HashMap<>();
+        // The store is shared with request threads; see ServerConfiguration#mockEmployees
+        synchronized (mockEmployees) {
+            for (final MockEmployee employee : mockEmployees) {
+                final int node = node(token(employee.getId().toString()), level);
+                if (requested.contains(node)) {
+                    final long[] sum = sums.computeIfAbsent(node, ignored -> new long[2]);
+                    sum[0]++;
+                    sum[1] += hash(employee);
+                }
+            }
+        }
+        final List<RangeDigest> digests = new ArrayList<>(nodes.size());
+        for (final int node : nodes) {
+            final long[] sum = sums.getOrDefault(node, new long[2]);
+            digests.add(new RangeDigest(node, (int) sum[0], sum[1]));
+        }
+        return digests;
+    }
+
+    /**
+     * @return the employees whose ids fall in any of the requested ranges
+     */
+    public List<MockEmployee> employeesIn(int level, @NonNull List<Integer> nodes) {
+        final Set<Integer> requested = validate(level, nodes);
+        synchronized (mockEmployees) {
+            return mockEmployees.stream()
+                    .filter(employee -> requested.contains(node(token(employee.getId().toString()), level)))
+                    .toList();
+        }
+    }
+
+    /**
+     * @return 64-bit token placing an id among the ranges
+     */
+    public static long token(String id) {
+        return mix(append(FNV_OFFSET, id));
+    }
+
+    /**
+     * @return the range at {@code level} holding {@code token}
+     */
+    public static int node(long token, int level) {
+        return level == 0 ? 0 : (int) (token >>> (64 - level));
+    }
+
+    /**
+     * @return 64-bit hash of every field of an employee, as the api sees them
+     */
+    public static long hash(MockEmployee employee) {
+        long hash = FNV_OFFSET;
+        hash = append(hash, employee.getId().toString());
+        hash = append(hash, Objects.requireNonNullElse(employee.getName(), ""));
+        hash = append(hash, Objects.requireNonNullElse(employee.getSalary(), 0));
+        hash = append(hash, Objects.requireNonNullElse(employee.getAge(), 0));
+        hash = append(hash, Objects.requireNonNullElse(employee.getTitle(), ""));
+        hash = append(hash, Objects.requireNonNullElse(employee.getEmail(), ""));
+        return mix(hash);
+    }
+
+    private static Set<Integer> validate(int level, List<Integer> nodes) {
+        if (level < 0 || level > MAX_LEVEL) {
+            throw new IllegalArgumentException("level must be between 0 and " + MAX_LEVEL);
+        }
+        final Set<Integer> requested = new HashSet<>(nodes);
+        for (final int node : requested) {
+            if (node < 0 || node >= 1 << level) {
+                throw new IllegalArgumentException("node " + node + " does not exist at level " + level);
+            }
+        }
+        return requested;
+    }
+
+    private static long append(long hash, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        // U+FFFF never occurs in text, so it separates fields unambiguously
+        return (hash ^ 0xFFFF) * FNV_PRIME;
+    }
+
+    private static long append(long hash, int value) {
+        for (int shift = 0; shift < 32; shift += 8) {
+            hash = (hash ^ ((value >>> shift) & 0xFF)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+}
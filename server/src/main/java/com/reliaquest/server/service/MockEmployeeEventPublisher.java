@@ -0,0 +1,318 @@
+package com.reliaquest.server.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeEvent;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+/**
+ * Pushes store mutations to Server-Sent Events subscribers. Versions are assigned as mutations are reported, under a
+ * lock that also queues the event for every subscriber, so every subscriber sees the same order. Each event is
+ * serialized once and queued to every subscriber; a fixed pool of {@code dispatchers} threads writes the queues with
+ * non-blocking servlet output, so a client whose socket is full parks no thread: its queue waits until the container
+ * reports it writable again, and one that falls more than {@code subscriberBuffer} events behind is disconnected and
+ * can resume.
+ *
+ * <p>Recent events are kept so a reconnecting client can resume from its {@code Last-Event-ID}; if it has fallen
+ * further behind than the history reaches, it is sent a {@code RESET} event and must reload the full list, whose
+ * response carries the version to resume from (see {@link #version()}). A comment is sent to every subscriber each
+ * {@code heartbeat}, so connections that died silently are detected by the failed write and dropped.
+ */
+@Slf4j
+@Service
+public class MockEmployeeEventPublisher implements MockEmployeeChangeListener {
+
+    static final String RESET_EVENT = "RESET";
+    static final String HEARTBEAT_COMMENT = "heartbeat";
+    static final String DISPATCHER_THREAD = "mock-employee-events";
+
+    private static final byte[] HEARTBEAT = (":" + HEARTBEAT_COMMENT + "\n\n").getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper;
+    private final int historySize;
+    private final int subscriberBuffer;
+    private final Duration subscriberTimeout;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ExecutorService dispatchers;
+    private final ScheduledExecutorService heartbeat =
+            Executors.newSingleThreadScheduledExecutor(daemon(DISPATCHER_THREAD + "-heartbeat"));
+
+    /*
+     * Guarded by this, together with history and the order in which events are queued to subscribers.
+     */
+    private final Deque<MockEmployeeEvent> history = new ArrayDeque<>();
+    private long version;
+
+    public MockEmployeeEventPublisher(
+            ObjectMapper objectMapper,
+            @Value("${mock.events.history:1024}") int historySize,
+            @Value("${mock.events.subscriber-buffer:256}") int subscriberBuffer,
+            @Value("${mock.events.subscriber-timeout:30m}") Duration subscriberTimeout,
+            @Value("${mock.events.heartbeat:15s}") Duration heartbeatInterval,
+            @Value("${mock.events.dispatchers:2}") int dispatchers) {
+        this.objectMapper = objectMapper;
+        this.historySize = historySize;
+        this.subscriberBuffer = subscriberBuffer;
+        this.subscriberTimeout = subscriberTimeout;
+        this.dispatchers = Executors.newFixedThreadPool(dispatchers, daemon(DISPATCHER_THREAD));
+        final long interval = heartbeatInterval.toMillis();
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeat, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void onCreated(MockEmployee mockEmployee) {
+        publish(MockEmployeeEvent.Type.CREATED, mockEmployee);
+    }
+
+    @Override
+    public void onDeleted(MockEmployee mockEmployee) {
+        publish(MockEmployeeEvent.Type.DELETED, mockEmployee);
+    }
+
+    /**
+     * Version of the latest event. Mutations are reported after they are applied, so a list read after this call
+     * includes at least every change up to the returned version; it may include later ones too, whose events a client
+     * resuming from this version then receives again.
+     */
+    public synchronized long version() {
+        return version;
+    }
+
+    /**
+     * Puts the request in async mode and registers it as a subscriber, first replaying every retained event after
+     * {@code lastEventId}.
+     *
+     * @param lastEventId last version the client has seen, or {@code null} to receive only new events
+     */
+    public void subscribe(Long lastEventId, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        response.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        final AsyncContext async = request.startAsync(request, response);
+        async.setTimeout(subscriberTimeout.toMillis());
+        subscribe(lastEventId, async, response.getOutputStream());
+    }
+
+    void subscribe(Long lastEventId, AsyncContext async, ServletOutputStream out) {
+        final var subscriber = new Subscriber(async, out);
+        async.addListener(subscriber.asyncListener());
+        synchronized (this) {
+            if (lastEventId != null) {
+                replay(subscriber, lastEventId);
+            }
+            subscribers.add(subscriber);
+        }
+        // The container calls onWritePossible once the stream can take the first write
+        out.setWriteListener(subscriber);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        dispatchers.shutdownNow();
+        subscribers.forEach(Subscriber::close);
+    }
+
+    private synchronized void publish(MockEmployeeEvent.Type type, MockEmployee mockEmployee) {
+        final var event = new MockEmployeeEvent(++version, type, mockEmployee);
+        history.addLast(event);
+        if (history.size() > historySize) {
+            history.removeFirst();
+        }
+        final byte[] sse = toSse(event);
+        for (final var subscriber : subscribers) {
+            subscriber.offer(sse, true);
+        }
+    }
+
+    /*
+     * Called with the lock held, so no event can be published between the replay and the registration.
+     */
+    private void replay(Subscriber subscriber, long lastEventId) {
+        final var oldest = history.peekFirst();
+        final boolean retained = lastEventId == version
+                || (lastEventId < version && oldest != null && oldest.version() <= lastEventId + 1);
+        if (!retained) {
+            subscriber.offer(sse(String.valueOf(version), RESET_EVENT, String.valueOf(version)), false);
+            return;
+        }
+        for (final var event : history) {
+            if (event.version() > lastEventId) {
+                subscriber.offer(toSse(event), false);
+            }
+        }
+    }
+
+    private void sendHeartbeat() {
+        for (final var subscriber : subscribers) {
+            subscriber.offer(HEARTBEAT, true);
+        }
+    }
+
+    private byte[] toSse(MockEmployeeEvent event) {
+        try {
+            return sse(
+                    String.valueOf(event.version()), event.type().name(), objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] sse(String id, String name, String data) {
+        return ("id:" + id + "\nevent:" + name + "\ndata:" + data + "\n\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            final var thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Events queued for one client. Writes happen with the subscriber's monitor held, on a dispatcher or in the
+     * container's {@link #onWritePossible()}, and stop as soon as the stream is not ready; the container calls
+     * {@link #onWritePossible()} again once the client has caught up, so a stalled client holds no thread meanwhile.
+     */
+    private final class Subscriber implements WriteListener {
+
+        private final AsyncContext async;
+        private final ServletOutputStream out;
+        private final Deque<byte[]> pending = new ArrayDeque<>();
+        private boolean writable;
+        private boolean scheduled;
+        private boolean closed;
+
+        Subscriber(AsyncContext async, ServletOutputStream out) {
+            this.async = async;
+            this.out = out;
+        }
+
+        /**
+         * @param bounded whether the event counts against {@code subscriberBuffer}; replayed history does not
+         */
+        void offer(byte[] event, boolean bounded) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (bounded && pending.size() >= subscriberBuffer) {
+                    log.debug("Dropping event subscriber that fell {} events behind", pending.size());
+                } else {
+                    pending.addLast(event);
+                    if (!writable || scheduled) {
+                        return;
+                    }
+                    scheduled = true;
+                    dispatchers.execute(this::write);
+                    return;
+                }
+            }
+            // The client resumes from its Last-Event-ID when it reconnects
+            close();
+        }
+
+        @Override
+        public void onWritePossible() {
+            synchronized (this) {
+                writable = true;
+            }
+            write();
+        }
+
+        @Override
+        public void onError(Throwable failure) {
+            log.debug("Dropping event subscriber: {}", failure.getMessage());
+            close();
+        }
+
+        private void write() {
+            synchronized (this) {
+                scheduled = false;
+                try {
+                    while (!closed) {
+                        if (!out.isReady()) {
+                            // Not ready, so the container calls onWritePossible once it is
+                            writable = false;
+                            return;
+                        }
+                        final byte[] next = pending.pollFirst();
+                        if (next == null) {
+                            out.flush();
+                            return;
+                        }
+                        out.write(next);
+                    }
+                    return;
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Dropping event subscriber: {}", e.getMessage());
+                }
+            }
+            close();
+        }
+
+        void close() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                pending.clear();
+            }
+            subscribers.remove(this);
+            try {
+                async.complete();
+            } catch (IllegalStateException e) {
+                // Already completed by the container
+            }
+        }
+
+        AsyncListener asyncListener() {
+            return new AsyncListener() {
+                @Override
+                public void onComplete(AsyncEvent event) {
+                    close();
+                }
+
+                @Override
+                public void onTimeout(AsyncEvent event) {
+                    close();
+                }
+
+                @Override
+                public void onError(AsyncEvent event) {
+                    close();
+                }
+
+                @Override
+                public void onStartAsync(AsyncEvent event) {}
+            };
+        }
+    }
+}
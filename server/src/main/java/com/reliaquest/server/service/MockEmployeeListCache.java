@@ -0,0 +1,152 @@
+package com.reliaquest.server.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Serialized, and optionally gzipped, body of the employee list response. The bytes are built once and reused until
+ * the next create or delete, so repeated reads of an unchanged list cost neither Jackson nor compression work.
+ */
+@Slf4j
+@Service
+public class MockEmployeeListCache implements MockEmployeeChangeListener {
+
+    private final List<MockEmployee> mockEmployees;
+    private final ObjectMapper objectMapper;
+    private final MockEmployeeEventPublisher eventPublisher;
+    private final boolean compress;
+    private final AtomicLong generation = new AtomicLong();
+    private final String instanceTag = Long.toHexString(ThreadLocalRandom.current().nextLong());
+
+    private volatile Body body;
+
+    public MockEmployeeListCache(
+            List<MockEmployee> mockEmployees,
+            ObjectMapper objectMapper,
+            MockEmployeeEventPublisher eventPublisher,
+            @Value("${server.compression.enabled:false}") boolean compress) {
+        this.mockEmployees = mockEmployees;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.compress = compress;
+    }
+
+    public Body get() {
+        final var cached = body;
+        if (cached != null && cached.generation() == generation.get()) {
+            return cached;
+        }
+        synchronized (this) {
+            final long observed = generation.get();
+            if (body != null && body.generation() == observed) {
+                return body;
+            }
+            // A body is only served while its generation is current, so one built across a mutation, or stored just
+            // after an invalidation, is never served again.
+            body = build(observed);
+            return body;
+        }
+    }
+
+    /**
+     * Whether an {@code Accept-Encoding} header value admits gzip: it names {@code gzip}, or failing that {@code *},
+     * with a non-zero {@code q}.
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean wildcard = null;
+        for (final String entry : acceptEncoding.split(",")) {
+            final String[] parts = entry.split(";");
+            final String coding = parts[0].trim();
+            final boolean accepted = quality(parts) > 0;
+            if (coding.equalsIgnoreCase("gzip")) {
+                return accepted;
+            }
+            if (coding.equals("*")) {
+                wildcard = accepted;
+            }
+        }
+        return Boolean.TRUE.equals(wildcard);
+    }
+
+    private static double quality(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            final String parameter = parameters[i].trim();
+            if (parameter.length() > 2 && parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                try {
+                    return Double.parseDouble(parameter.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    @Override
+    public void onCreated(MockEmployee mockEmployee) {
+        generation.incrementAndGet();
+    }
+
+    @Override
+    public void onDeleted(MockEmployee mockEmployee) {
+        generation.incrementAndGet();
+    }
+
+    private Body build(long version) {
+        try {
+            // Read before serializing, so the list holds at least every change up to this event
+            final long eventVersion = eventPublisher.version();
+            final List<MockEmployee> employees;
+            synchronized (mockEmployees) {
+                // Serialized outside the lock, so writers only wait for the copy
+                employees = List.copyOf(mockEmployees);
+            }
+            final byte[] json = objectMapper.writeValueAsBytes(Response.handledWith(employees));
+            final byte[] gzip = compress ? gzip(json) : null;
+            log.debug(
+                    "Cached employee list response: {} bytes, {} gzipped",
+                    json.length,
+                    gzip == null ? 0 : gzip.length);
+            final String tag = instanceTag + "-" + Long.toHexString(version);
+            return new Body(json, gzip, "\"" + tag + "\"", "\"" + tag + "-gzip\"", eventVersion, version);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize employee list", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        final var out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (var gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @param json serialized {@link Response} wrapping the employee list
+     * @param gzip gzip of {@code json}, or {@code null} when response compression is disabled
+     * @param etag strong entity tag identifying this version of the list, served as {@code json}
+     * @param gzipEtag strong entity tag of the same version served as {@code gzip}
+     * @param eventVersion version of the last change event the list is known to include; a client resumes the event
+     *     stream from it with {@code Last-Event-ID}
+     * @param generation count of mutations the body was built after; it is only served while this is current
+     */
+    public record Body(byte[] json, byte[] gzip, String etag, String gzipEtag, long eventVersion, long generation) {}
+}
@@ -1,13 +1,22 @@
 package com.reliaquest.server.service;
 
 import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.BatchItemResult;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -22,37 +31,198 @@ public class MockEmployeeService {
 
     private final Faker faker;
 
+    private final Validator validator;
+
+    /**
+     * Shared with the list cache and the digests and used from request threads concurrently, so every access that is
+     * more than a single call holds the list's monitor; see {@link ServerConfiguration#mockEmployees}.
+     */
     @Getter
     private final List<MockEmployee> mockEmployees;
 
+    private final List<MockEmployeeChangeListener> changeListeners;
+
     public Optional<MockEmployee> findById(@NonNull UUID uuid) {
-        return mockEmployees.stream()
-                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
-                        && mockEmployee.getId().equals(uuid))
-                .findFirst();
+        synchronized (mockEmployees) {
+            return mockEmployees.stream()
+                    .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
+                            && mockEmployee.getId().equals(uuid))
+                    .findFirst();
+        }
     }
 
+    /**
+     * Creates an employee. An input that carries the id of an existing employee returns that employee unchanged, so a
+     * create retried by its client is applied once.
+     */
     public MockEmployee create(@NonNull CreateMockEmployeeInput input) {
-        final var mockEmployee = MockEmployee.from(
-                ServerConfiguration.EMAIL_TEMPLATE.formatted(
-                        faker.twitter().userName().toLowerCase()),
-                input);
-        mockEmployees.add(mockEmployee);
+        final var mockEmployee = newMockEmployee(input);
+        synchronized (mockEmployees) {
+            if (input.getId() != null) {
+                final var existing = findById(input.getId());
+                if (existing.isPresent()) {
+                    log.debug("Employee {} already exists.", input.getId());
+                    return existing.get();
+                }
+            }
+            mockEmployees.add(mockEmployee);
+        }
         log.debug("Added employee: {}", mockEmployee);
+        changeListeners.forEach(listener -> listener.onCreated(mockEmployee));
         return mockEmployee;
     }
 
+    /**
+     * Validates every input individually and adds all valid ones to the store in a single call. Invalid inputs are
+     * reported in place and do not prevent the rest of the batch from being applied. As with
+     * {@link #create(CreateMockEmployeeInput)}, an input carrying the id of an existing employee, or of an earlier
+     * input in the same batch, returns that employee instead of creating another.
+     */
+    public List<BatchItemResult<MockEmployee>> createAll(@NonNull List<CreateMockEmployeeInput> inputs) {
+        final var results = new ArrayList<BatchItemResult<MockEmployee>>(inputs.size());
+        for (int i = 0; i < inputs.size(); i++) {
+            final var error = validate(inputs.get(i));
+            results.add(error == null ? null : BatchItemResult.failed(i, error));
+        }
+        final var created = new ArrayList<MockEmployee>(inputs.size());
+        final var byId = new HashMap<UUID, MockEmployee>();
+        synchronized (mockEmployees) {
+            if (inputs.stream().anyMatch(input -> input != null && input.getId() != null)) {
+                mockEmployees.forEach(employee -> byId.put(employee.getId(), employee));
+            }
+            for (int i = 0; i < inputs.size(); i++) {
+                if (results.get(i) != null) {
+                    continue;
+                }
+                final var input = inputs.get(i);
+                final var existing = input.getId() == null ? null : byId.get(input.getId());
+                if (existing != null) {
+                    results.set(i, BatchItemResult.succeeded(i, existing));
+                    continue;
+                }
+                final var mockEmployee = newMockEmployee(input);
+                byId.put(mockEmployee.getId(), mockEmployee);
+                created.add(mockEmployee);
+                results.set(i, BatchItemResult.succeeded(i, mockEmployee));
+            }
+            mockEmployees.addAll(created);
+        }
+        log.debug("Added {} of {} employees in batch.", created.size(), inputs.size());
+        created.forEach(mockEmployee -> changeListeners.forEach(listener -> listener.onCreated(mockEmployee)));
+        return results;
+    }
+
     public boolean delete(@NonNull DeleteMockEmployeeInput input) {
-        final var mockEmployee = mockEmployees.stream()
-                .filter(employee -> Objects.nonNull(employee.getName())
-                        && employee.getName().equalsIgnoreCase(input.getName()))
-                .findFirst();
+        final Optional<MockEmployee> mockEmployee;
+        synchronized (mockEmployees) {
+            mockEmployee = mockEmployees.stream()
+                    .filter(employee -> Objects.nonNull(employee.getName())
+                            && employee.getName().equalsIgnoreCase(input.getName()))
+                    .findFirst();
+            mockEmployee.ifPresent(mockEmployees::remove);
+        }
         if (mockEmployee.isPresent()) {
-            mockEmployees.remove(mockEmployee.get());
             log.debug("Removed employee: {}", mockEmployee.get());
+            changeListeners.forEach(listener -> listener.onDeleted(mockEmployee.get()));
             return true;
         }
 
         return false;
     }
+
+    /**
+     * Removes the employee with the given id. Unlike {@link #delete(DeleteMockEmployeeInput)}, this can never remove a
+     * different employee who happens to share the name.
+     */
+    public boolean deleteById(@NonNull UUID uuid) {
+        final Optional<MockEmployee> mockEmployee;
+        synchronized (mockEmployees) {
+            mockEmployee = findById(uuid);
+            mockEmployee.ifPresent(mockEmployees::remove);
+        }
+        if (mockEmployee.isPresent()) {
+            log.debug("Removed employee: {}", mockEmployee.get());
+            changeListeners.forEach(listener -> listener.onDeleted(mockEmployee.get()));
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Batch counterpart of {@link #delete(DeleteMockEmployeeInput)}. Each valid input removes at most one employee
+     * with a matching name, exactly as a single delete would, but all removals happen in one pass over the store.
+     * Names are matched ignoring case as {@link String#equalsIgnoreCase} does, like the single delete.
+     */
+    public List<BatchItemResult<Boolean>> deleteAll(@NonNull List<DeleteMockEmployeeInput> inputs) {
+        final var results = new ArrayList<BatchItemResult<Boolean>>(inputs.size());
+        final var requested = new TreeMap<String, Integer>(String.CASE_INSENSITIVE_ORDER);
+        for (int i = 0; i < inputs.size(); i++) {
+            final var input = inputs.get(i);
+            final var error = validate(input);
+            if (error != null) {
+                results.add(BatchItemResult.failed(i, error));
+                continue;
+            }
+            requested.merge(input.getName(), 1, Integer::sum);
+            results.add(null);
+        }
+
+        final Map<String, Integer> remaining = new TreeMap<>(requested);
+        final var deleted = new ArrayList<MockEmployee>();
+        synchronized (mockEmployees) {
+            mockEmployees.removeIf(employee -> {
+                if (Objects.isNull(employee.getName())) {
+                    return false;
+                }
+                final var count = remaining.get(employee.getName());
+                if (count == null || count == 0) {
+                    return false;
+                }
+                remaining.put(employee.getName(), count - 1);
+                log.debug("Removed employee: {}", employee);
+                deleted.add(employee);
+                return true;
+            });
+        }
+        deleted.forEach(mockEmployee -> changeListeners.forEach(listener -> listener.onDeleted(mockEmployee)));
+
+        // Removals are attributed to inputs in request order, mirroring repeated single deletes.
+        final Map<String, Integer> removed = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        requested.forEach((name, count) -> removed.put(name, count - remaining.get(name)));
+        for (int i = 0; i < inputs.size(); i++) {
+            if (results.get(i) != null) {
+                continue;
+            }
+            final var name = inputs.get(i).getName();
+            final int available = removed.get(name);
+            if (available > 0) {
+                removed.put(name, available - 1);
+            }
+            results.set(i, BatchItemResult.succeeded(i, available > 0));
+        }
+        return results;
+    }
+
+    private MockEmployee newMockEmployee(CreateMockEmployeeInput input) {
+        final var email = input.getEmail() != null
+                ? input.getEmail()
+                : ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                        faker.twitter().userName().toLowerCase());
+        return MockEmployee.from(email, input);
+    }
+
+    private String validate(Object input) {
+        if (input == null) {
+            return "Missing input.";
+        }
+        final Set<ConstraintViolation<Object>> violations = validator.validate(input);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
 }
@@ -0,0 +1,121 @@
+package com.reliaquest.server.web;
+
+import com.reliaquest.server.config.FaultInjectionProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Applies a {@link FaultInjectionProperties.Profile} to matching requests: stalls, latency, errors and slow-drip
+ * response bodies, in that order. Only the first route matching a request applies; later interceptors skip it.
+ *
+ * <p>Every request draws from its own generator seeded by the configured seed and a key. A request carrying an
+ * {@value #REQUEST_ID_HEADER} header is keyed on that header, so it sees the same faults on every run however
+ * requests interleave. Other requests are keyed on their arrival order, which is only reproducible when requests are
+ * sent one at a time.
+ */
+@Slf4j
+public class FaultInjectionInterceptor implements HandlerInterceptor {
+
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+
+    private static final String APPLIED_ATTRIBUTE = FaultInjectionInterceptor.class.getName() + ".applied";
+    private static final long SEQUENCE_MIX = 0x9E3779B97F4A7C15L;
+    private static final long FNV_OFFSET_BASIS = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    private final String method;
+    private final FaultInjectionProperties.Profile profile;
+    private final long seed;
+    private final AtomicLong sequence;
+
+    public FaultInjectionInterceptor(
+            String method, FaultInjectionProperties.Profile profile, long seed, AtomicLong sequence) {
+        this.method = method;
+        this.profile = profile;
+        this.seed = seed;
+        this.sequence = sequence;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws InterruptedException {
+        if (method != null && !method.equalsIgnoreCase(request.getMethod())) {
+            return true;
+        }
+        if (request.getAttribute(APPLIED_ATTRIBUTE) != null) {
+            return true;
+        }
+        request.setAttribute(APPLIED_ATTRIBUTE, Boolean.TRUE);
+        final String requestId = request.getHeader(REQUEST_ID_HEADER);
+        final long key = requestId == null ? sequence.getAndIncrement() : hash(requestId);
+        final RandomGenerator random = new SplittableRandom(seed + key * SEQUENCE_MIX);
+
+        final var stall = profile.stall();
+        if (stall != null && random.nextDouble() < stall.rate()) {
+            log.debug("Stalling {} {} for {}", request.getMethod(), request.getRequestURI(), stall.duration());
+            sleep(stall.duration().toNanos());
+        }
+
+        final var latency = profile.latency();
+        if (latency != null) {
+            sleep(sampleLatencyNanos(latency, random));
+        }
+
+        final var failure = profile.failure();
+        if (failure != null && random.nextDouble() < failure.rate()) {
+            response.setStatus(failure.status());
+            return false;
+        }
+
+        final var slowDrip = profile.slowDrip();
+        if (slowDrip != null && random.nextDouble() < slowDrip.rate()) {
+            request.setAttribute(SlowDripFilter.SLOW_DRIP_ATTRIBUTE, slowDrip);
+        }
+        return true;
+    }
+
+    static long sampleLatencyNanos(FaultInjectionProperties.Latency latency, RandomGenerator random) {
+        long nanos =
+                switch (latency.distribution()) {
+                    case NONE -> 0L;
+                    case FIXED -> latency.fixed().toNanos();
+                    case UNIFORM -> {
+                        final long min = latency.min().toNanos();
+                        final long max = latency.max().toNanos();
+                        yield max > min ? random.nextLong(min, max + 1) : min;
+                    }
+                    case LOG_NORMAL -> {
+                        final long sample =
+                                (long) (latency.median().toNanos() * Math.exp(latency.sigma() * random.nextGaussian()));
+                        yield latency.max().isZero() ? sample : Math.min(sample, latency.max().toNanos());
+                    }
+                };
+        if (latency.spikeRate() > 0 && random.nextDouble() < latency.spikeRate()) {
+            nanos += latency.spike().toNanos();
+        }
+        return nanos;
+    }
+
+    /**
+     * 64-bit FNV-1a over the characters of {@code value}; unlike {@link String#hashCode()}, keys rarely collide.
+     */
+    static long hash(String value) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static void sleep(long nanos) throws InterruptedException {
+        if (nanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.reliaquest.server.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Adds a {@code Server-Timing} header with the time spent handling the request until its response started
+ * ({@code app}), so a caller can tell server time from network time. The header is added just before the response is
+ * committed.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Server-Timing";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        final TimingResponse timingResponse = new TimingResponse(response, System.nanoTime());
+        filterChain.doFilter(request, timingResponse);
+        timingResponse.addHeader();
+    }
+
+    private static class TimingResponse extends HttpServletResponseWrapper {
+
+        private final long startNanos;
+        private boolean headerAdded;
+
+        TimingResponse(HttpServletResponse response, long startNanos) {
+            super(response);
+            this.startNanos = startNanos;
+        }
+
+        void addHeader() {
+            if (headerAdded) {
+                return;
+            }
+            headerAdded = true;
+            if (!isCommitted()) {
+                final long micros = (System.nanoTime() - startNanos) / 1_000;
+                setHeader(HEADER, "app;dur=" + micros / 1_000 + "." + String.format("%03d", micros % 1_000));
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addHeader();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            addHeader();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addHeader();
+            super.sendError(sc, msg);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.reliaquest.server.web;
+
+import com.reliaquest.server.config.FaultInjectionProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Drips the response body out in small, delayed chunks for requests that {@link FaultInjectionInterceptor} marked
+ * with {@link #SLOW_DRIP_ATTRIBUTE}. The response is always wrapped because the decision is made later in the chain;
+ * unmarked requests pass straight through.
+ */
+public class SlowDripFilter extends OncePerRequestFilter {
+
+    public static final String SLOW_DRIP_ATTRIBUTE = SlowDripFilter.class.getName() + ".slowDrip";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        filterChain.doFilter(request, new SlowDripResponse(request, response));
+    }
+
+    private static class SlowDripResponse extends HttpServletResponseWrapper {
+
+        private final HttpServletRequest request;
+        private ServletOutputStream outputStream;
+
+        SlowDripResponse(HttpServletRequest request, HttpServletResponse response) {
+            super(response);
+            this.request = request;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (request.getAttribute(SLOW_DRIP_ATTRIBUTE) instanceof FaultInjectionProperties.SlowDrip slowDrip) {
+                if (outputStream == null) {
+                    outputStream = new SlowDripOutputStream(super.getOutputStream(), slowDrip);
+                }
+                return outputStream;
+            }
+            return super.getOutputStream();
+        }
+    }
+
+    private static class SlowDripOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+        private final int chunkBytes;
+        private final long intervalNanos;
+        private int writtenInChunk;
+
+        SlowDripOutputStream(ServletOutputStream delegate, FaultInjectionProperties.SlowDrip slowDrip) {
+            this.delegate = delegate;
+            this.chunkBytes = Math.max(1, slowDrip.chunkBytes());
+            this.intervalNanos = slowDrip.interval().toNanos();
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            if (++writtenInChunk >= chunkBytes) {
+                drip();
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                final int n = Math.min(len, chunkBytes - writtenInChunk);
+                delegate.write(b, off, n);
+                off += n;
+                len -= n;
+                writtenInChunk += n;
+                if (writtenInChunk >= chunkBytes) {
+                    drip();
+                }
+            }
+        }
+
+        private void drip() throws IOException {
+            writtenInChunk = 0;
+            delegate.flush();
+            try {
+                TimeUnit.NANOSECONDS.sleep(intervalNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while dripping response body");
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
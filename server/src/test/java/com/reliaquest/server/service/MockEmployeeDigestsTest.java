@@ -0,0 +1,49 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.RangeDigest;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The expected values are the api's; its RangeDigestTreeTest checks the same employee against the same values, so a
+ * change to either side's hashing fails one of them.
+ */
+class MockEmployeeDigestsTest {
+
+    private static final MockEmployee EMPLOYEE = new MockEmployee(
+            UUID.fromString("0b8f7d6e-2a8c-4c57-9d5e-3f1a2b4c6d8e"),
+            "Jill Jenkins",
+            139_082,
+            48,
+            "Financial Advisor",
+            "jillj@company.com");
+
+    @Test
+    void token_matchesApi() {
+        assertEquals(0x95b4afbbc91cc434L, MockEmployeeDigests.token(EMPLOYEE.getId().toString()));
+        assertEquals(2395, MockEmployeeDigests.node(MockEmployeeDigests.token(EMPLOYEE.getId().toString()), 12));
+    }
+
+    @Test
+    void hash_matchesApi() {
+        assertEquals(0x862f1ca8b411a230L, MockEmployeeDigests.hash(EMPLOYEE));
+        assertEquals(
+                0x81e76e9701c33210L,
+                MockEmployeeDigests.hash(new MockEmployee(EMPLOYEE.getId(), null, null, null, null, null)));
+    }
+
+    @Test
+    void digests_rangeHoldingEmployee_hasItsHash() {
+        MockEmployeeDigests digests = new MockEmployeeDigests(List.of(EMPLOYEE));
+
+        assertEquals(
+                List.of(new RangeDigest(2395, 1, 0x862f1ca8b411a230L), new RangeDigest(0, 0, 0)),
+                digests.digests(12, List.of(2395, 0)));
+        assertEquals(List.of(EMPLOYEE), digests.employeesIn(12, List.of(2395)));
+    }
+}
@@ -0,0 +1,233 @@
+package com.reliaquest.server.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.MockEmployee;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MockEmployeeEventPublisherTest {
+
+    private static final int DISPATCHERS = 2;
+
+    private final Set<Thread> writers = ConcurrentHashMap.newKeySet();
+    private MockEmployeeEventPublisher publisher;
+
+    @AfterEach
+    void tearDown() {
+        if (publisher != null) {
+            publisher.shutdown();
+        }
+    }
+
+    private static MockEmployee employee() {
+        return new MockEmployee(
+                UUID.randomUUID(), "Jill Jenkins", 139_082, 48, "Financial Advisor", "jillj@company.com");
+    }
+
+    private static MockEmployeeEventPublisher publisher(int history, int buffer, Duration heartbeat) {
+        return new MockEmployeeEventPublisher(
+                new ObjectMapper(), history, buffer, Duration.ofMinutes(1), heartbeat, DISPATCHERS);
+    }
+
+    private RecordingStream subscribe(Long lastEventId, boolean ready) {
+        RecordingStream stream = new RecordingStream(ready);
+        MockAsyncContext async = new MockAsyncContext(new MockHttpServletRequest(), new MockHttpServletResponse());
+        async.addListener(stream);
+        publisher.subscribe(lastEventId, async, stream);
+        return stream;
+    }
+
+    @Test
+    void publish_slowSubscriber_doesNotDelayOthers() throws Exception {
+        publisher = publisher(16, 16, Duration.ofMinutes(1));
+        RecordingStream slow = subscribe(null, false);
+        RecordingStream fast = subscribe(null, true);
+
+        for (int i = 0; i < 3; i++) {
+            publisher.onCreated(employee());
+        }
+
+        assertEquals(List.of("1", "2", "3"), fast.ids(3));
+        assertTrue(slow.sent.isEmpty());
+        slow.resume();
+        assertEquals(List.of("1", "2", "3"), slow.ids(3));
+    }
+
+    @Test
+    void publish_manyStalledSubscribers_doNotGrowDispatcherThreads() throws Exception {
+        publisher = publisher(16, 64, Duration.ofMinutes(1));
+        List<RecordingStream> stalled = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            RecordingStream stream = subscribe(null, true);
+            stream.ready = false;
+            stalled.add(stream);
+        }
+        RecordingStream fast = subscribe(null, true);
+
+        for (int i = 0; i < 50; i++) {
+            publisher.onCreated(employee());
+        }
+
+        assertEquals(50, fast.ids(50).size());
+        assertTrue(writers.size() <= DISPATCHERS, "writers: " + writers);
+        for (RecordingStream stream : stalled) {
+            assertTrue(stream.sent.isEmpty());
+        }
+        stalled.get(0).resume();
+        assertEquals(50, stalled.get(0).ids(50).size());
+    }
+
+    @Test
+    void publish_subscriberFallsBehindBuffer_isDisconnected() throws Exception {
+        publisher = publisher(16, 2, Duration.ofMinutes(1));
+        RecordingStream slow = subscribe(null, false);
+
+        for (int i = 0; i < 6; i++) {
+            publisher.onCreated(employee());
+        }
+
+        assertTrue(slow.completed.await(1, TimeUnit.SECONDS));
+        slow.resume();
+        assertTrue(slow.sent.isEmpty(), "sent: " + slow.sent);
+    }
+
+    @Test
+    void subscribe_lastEventIdWithinHistory_replaysMissedEvents() throws Exception {
+        publisher = publisher(16, 16, Duration.ofMinutes(1));
+        for (int i = 0; i < 4; i++) {
+            publisher.onCreated(employee());
+        }
+        RecordingStream stream = subscribe(2L, true);
+        publisher.onDeleted(employee());
+
+        assertEquals(List.of("3", "4", "5"), stream.ids(3));
+        assertEquals(5, publisher.version());
+    }
+
+    @Test
+    void subscribe_lastEventIdOlderThanHistory_sendsReset() throws Exception {
+        publisher = publisher(2, 16, Duration.ofMinutes(1));
+        for (int i = 0; i < 5; i++) {
+            publisher.onCreated(employee());
+        }
+        RecordingStream stream = subscribe(1L, true);
+
+        String reset = stream.sent.poll(1, TimeUnit.SECONDS);
+        assertEquals("id:5\nevent:" + MockEmployeeEventPublisher.RESET_EVENT + "\ndata:5\n\n", reset);
+    }
+
+    @Test
+    void heartbeat_failedWrite_dropsSubscriber() throws Exception {
+        publisher = publisher(16, 16, Duration.ofMillis(20));
+        RecordingStream live = subscribe(null, true);
+        RecordingStream dead = subscribe(null, true);
+        dead.failing = true;
+
+        String heartbeat = live.sent.poll(1, TimeUnit.SECONDS);
+        assertEquals(":" + MockEmployeeEventPublisher.HEARTBEAT_COMMENT + "\n\n", heartbeat);
+        assertTrue(dead.completed.await(1, TimeUnit.SECONDS));
+        int attempts = dead.attempts;
+        Thread.sleep(100);
+        assertEquals(attempts, dead.attempts);
+    }
+
+    /**
+     * Stands in for the container's non-blocking output: records every write and each dispatcher thread that writes,
+     * and while not {@code ready} holds the listener back until {@link #resume()} plays the container calling
+     * {@code onWritePossible}.
+     */
+    private final class RecordingStream extends ServletOutputStream implements AsyncListener {
+
+        private final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private volatile WriteListener listener;
+        private volatile boolean ready;
+        private volatile boolean failing;
+        private volatile int attempts;
+
+        RecordingStream(boolean ready) {
+            this.ready = ready;
+        }
+
+        void resume() {
+            ready = true;
+            listener.onWritePossible();
+        }
+
+        @Override
+        public boolean isReady() {
+            if (Thread.currentThread().getName().equals(MockEmployeeEventPublisher.DISPATCHER_THREAD)) {
+                writers.add(Thread.currentThread());
+            }
+            return ready;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            listener = writeListener;
+            if (ready) {
+                writeListener.onWritePossible();
+            }
+        }
+
+        @Override
+        public void write(byte[] b) throws IOException {
+            attempts++;
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            sent.add(new String(b, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void write(int b) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            completed.countDown();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {}
+
+        @Override
+        public void onError(AsyncEvent event) {}
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {}
+
+        List<String> ids(int count) throws InterruptedException {
+            List<String> ids = new ArrayList<>();
+            while (ids.size() < count) {
+                String event = sent.poll(1, TimeUnit.SECONDS);
+                assertNotNull(event, "received: " + ids);
+                ids.add(event.substring(event.indexOf("id:") + 3, event.indexOf('\n')));
+            }
+            return ids;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.reliaquest.server.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.MockEmployee;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MockEmployeeListCacheTest {
+
+    private final List<MockEmployee> employees = new ArrayList<>();
+    private final MockEmployeeEventPublisher events = new MockEmployeeEventPublisher(
+            new ObjectMapper(), 16, 16, Duration.ofMinutes(1), Duration.ofMinutes(1), 1);
+
+    @AfterEach
+    void tearDown() {
+        events.shutdown();
+    }
+
+    private MockEmployeeListCache cache(ObjectMapper objectMapper) {
+        return new MockEmployeeListCache(employees, objectMapper, events, true);
+    }
+
+    private void create(MockEmployeeListCache cache, String name) {
+        MockEmployee employee = new MockEmployee(UUID.randomUUID(), name, 100_000, 30, "Engineer", "a@company.com");
+        employees.add(employee);
+        cache.onCreated(employee);
+        events.onCreated(employee);
+    }
+
+    private static String json(MockEmployeeListCache.Body body) {
+        return new String(body.json(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void get_unchanged_reusesBody() {
+        MockEmployeeListCache cache = cache(new ObjectMapper());
+        create(cache, "Jill Jenkins");
+
+        assertSame(cache.get(), cache.get());
+    }
+
+    @Test
+    void get_afterCreate_servesNewList() {
+        MockEmployeeListCache cache = cache(new ObjectMapper());
+        create(cache, "Jill Jenkins");
+        MockEmployeeListCache.Body before = cache.get();
+
+        create(cache, "Jack Jenkins");
+        MockEmployeeListCache.Body after = cache.get();
+
+        assertFalse(json(before).contains("Jack Jenkins"));
+        assertTrue(json(after).contains("Jack Jenkins"));
+        assertNotEquals(before.etag(), after.etag());
+        assertEquals(1, before.eventVersion());
+        assertEquals(2, after.eventVersion());
+    }
+
+    @Test
+    void get_mutationDuringSerialization_isServedOnceButNotKept() {
+        List<MockEmployeeListCache> self = new ArrayList<>();
+        MockEmployeeListCache cache = cache(new ObjectMapper() {
+            @Override
+            public byte[] writeValueAsBytes(Object value) throws JsonProcessingException {
+                if (employees.isEmpty()) {
+                    create(self.get(0), "Jill Jenkins");
+                }
+                return super.writeValueAsBytes(value);
+            }
+        });
+        self.add(cache);
+
+        MockEmployeeListCache.Body during = cache.get();
+        MockEmployeeListCache.Body after = cache.get();
+
+        assertNotSame(during, after);
+        assertNotEquals(during.etag(), after.etag());
+        assertSame(after, cache.get());
+    }
+
+    @Test
+    void get_variants_haveDistinctEtags() throws IOException {
+        MockEmployeeListCache cache = cache(new ObjectMapper());
+        create(cache, "Jill Jenkins");
+        MockEmployeeListCache.Body body = cache.get();
+
+        assertNotEquals(body.etag(), body.gzipEtag());
+        try (GZIPInputStream gunzip = new GZIPInputStream(new ByteArrayInputStream(body.gzip()))) {
+            assertArrayEquals(body.json(), gunzip.readAllBytes());
+        }
+    }
+
+    @Test
+    void acceptsGzip_honorsQualityValues() {
+        assertTrue(MockEmployeeListCache.acceptsGzip("gzip, deflate, br"));
+        assertTrue(MockEmployeeListCache.acceptsGzip("GZIP; q=0.5"));
+        assertTrue(MockEmployeeListCache.acceptsGzip("br, *;q=0.1"));
+        assertFalse(MockEmployeeListCache.acceptsGzip("gzip;q=0"));
+        assertFalse(MockEmployeeListCache.acceptsGzip("gzip;q=0.0, *"));
+        assertFalse(MockEmployeeListCache.acceptsGzip("*;q=0"));
+        assertFalse(MockEmployeeListCache.acceptsGzip("identity"));
+        assertFalse(MockEmployeeListCache.acceptsGzip(null));
+    }
+}
@@ -0,0 +1,184 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.BatchItemResult;
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import jakarta.validation.Validation;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MockEmployeeServiceTest {
+
+    private final List<MockEmployee> employees = Collections.synchronizedList(new ArrayList<>());
+    private final List<MockEmployee> createdEvents = Collections.synchronizedList(new ArrayList<>());
+    private final List<MockEmployee> deletedEvents = Collections.synchronizedList(new ArrayList<>());
+
+    private final MockEmployeeService service = new MockEmployeeService(
+            new Faker(),
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            employees,
+            List.of(new MockEmployeeChangeListener() {
+                @Override
+                public void onCreated(MockEmployee mockEmployee) {
+                    createdEvents.add(mockEmployee);
+                }
+
+                @Override
+                public void onDeleted(MockEmployee mockEmployee) {
+                    deletedEvents.add(mockEmployee);
+                }
+            }));
+
+    private static CreateMockEmployeeInput createInput(String name, int age) {
+        CreateMockEmployeeInput input = new CreateMockEmployeeInput();
+        input.setName(name);
+        input.setSalary(100_000);
+        input.setAge(age);
+        input.setTitle("Engineer");
+        return input;
+    }
+
+    private static CreateMockEmployeeInput createInput(UUID id, String name) {
+        CreateMockEmployeeInput input = createInput(name, 30);
+        input.setId(id);
+        return input;
+    }
+
+    private static DeleteMockEmployeeInput deleteInput(String name) {
+        DeleteMockEmployeeInput input = new DeleteMockEmployeeInput();
+        input.setName(name);
+        return input;
+    }
+
+    private MockEmployee store(String name) {
+        MockEmployee employee = new MockEmployee(UUID.randomUUID(), name, 100_000, 30, "Engineer", "a@company.com");
+        employees.add(employee);
+        return employee;
+    }
+
+    @Test
+    void createAll_mixedBatch_appliesValidInputsAndReportsInvalidOnesInPlace() {
+        List<BatchItemResult<MockEmployee>> results = service.createAll(Arrays.asList(
+                createInput("Jill Jenkins", 30), null, createInput("Too Young", 10), createInput("Jack", 40)));
+
+        assertEquals(4, results.size());
+        assertEquals("Jill Jenkins", results.get(0).data().getName());
+        assertEquals("Missing input.", results.get(1).error());
+        assertTrue(results.get(2).error().startsWith("age "), results.get(2).error());
+        assertNull(results.get(2).data());
+        assertEquals("Jack", results.get(3).data().getName());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).index());
+        }
+        assertEquals(List.of(results.get(0).data(), results.get(3).data()), employees);
+        assertEquals(employees, createdEvents);
+    }
+
+    @Test
+    void createAll_inputsCarryingIds_dedupeWithinBatchAndAgainstStore() {
+        MockEmployee existing = store("Jill Jenkins");
+        UUID fresh = UUID.randomUUID();
+
+        List<BatchItemResult<MockEmployee>> results = service.createAll(List.of(
+                createInput(existing.getId(), "Someone Else"),
+                createInput(fresh, "Jack Jenkins"),
+                createInput(fresh, "Jack Jenkins Again")));
+
+        assertSame(existing, results.get(0).data());
+        assertEquals(fresh, results.get(1).data().getId());
+        assertSame(results.get(1).data(), results.get(2).data());
+        assertEquals(List.of(existing, results.get(1).data()), employees);
+        assertEquals(List.of(results.get(1).data()), createdEvents);
+    }
+
+    @Test
+    void create_idOfExistingEmployee_returnsItUnchanged() {
+        MockEmployee existing = store("Jill Jenkins");
+
+        assertSame(existing, service.create(createInput(existing.getId(), "Someone Else")));
+        assertEquals(1, employees.size());
+        assertTrue(createdEvents.isEmpty());
+    }
+
+    @Test
+    void deleteAll_duplicateNames_attributedInRequestOrder() {
+        MockEmployee first = store("Jill Jenkins");
+        MockEmployee second = store("Jill Jenkins");
+        MockEmployee jack = store("Jack");
+        MockEmployee kept = store("Kept");
+
+        List<BatchItemResult<Boolean>> results = service.deleteAll(List.of(
+                deleteInput("jill jenkins"),
+                deleteInput(""),
+                deleteInput("JILL JENKINS"),
+                deleteInput("Jill Jenkins"),
+                deleteInput("Jack"),
+                deleteInput("Nobody")));
+
+        assertEquals(true, results.get(0).data());
+        assertNotNull(results.get(1).error());
+        assertEquals(true, results.get(2).data());
+        assertEquals(false, results.get(3).data());
+        assertEquals(true, results.get(4).data());
+        assertEquals(false, results.get(5).data());
+        assertEquals(List.of(kept), employees);
+        assertEquals(List.of(first, second, jack), deletedEvents);
+    }
+
+    @Test
+    void deleteAll_matchesNamesAsSingleDeleteDoes() {
+        // Dotless i upper-cases to I, so equalsIgnoreCase matches although the lower-cased names differ
+        store("Kırk Demir");
+        store("Kırk Demir");
+
+        assertTrue(service.delete(deleteInput("KIRK DEMIR")));
+        assertEquals(true, service.deleteAll(List.of(deleteInput("KIRK DEMIR"))).get(0).data());
+        assertTrue(employees.isEmpty());
+    }
+
+    @Test
+    void batchesAndReads_concurrently_leaveStoreConsistent() throws Exception {
+        MockEmployeeDigests digests = new MockEmployeeDigests(employees);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 2; thread++) {
+                String name = "Writer " + thread;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 200; i++) {
+                        service.createAll(List.of(createInput(name, 30), createInput(name, 30)));
+                        service.deleteAll(List.of(deleteInput(name)));
+                    }
+                }));
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 200; i++) {
+                        digests.digests(4, List.of(0, 1, 2, 3));
+                        service.findById(UUID.randomUUID());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(400, employees.size());
+        assertEquals(400, digests.digests(0, List.of(0)).get(0).count());
+        assertEquals(800, createdEvents.size());
+        assertEquals(400, deletedEvents.size());
+    }
+}
@@ -0,0 +1,120 @@
+package com.reliaquest.server.web;
+
+import com.reliaquest.server.config.FaultInjectionProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FaultInjectionInterceptorTest {
+
+    private static FaultInjectionProperties.Profile failing(double rate) {
+        return new FaultInjectionProperties.Profile(null, new FaultInjectionProperties.Failure(rate, 503), null, null);
+    }
+
+    private static FaultInjectionProperties.Latency latency(
+            FaultInjectionProperties.Distribution distribution, long minMillis, long maxMillis, long medianMillis) {
+        return new FaultInjectionProperties.Latency(
+                distribution,
+                Duration.ZERO,
+                Duration.ofMillis(minMillis),
+                Duration.ofMillis(maxMillis),
+                Duration.ofMillis(medianMillis),
+                0.5,
+                0,
+                Duration.ZERO);
+    }
+
+    private static int handle(FaultInjectionInterceptor interceptor, String requestId) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/employee");
+        if (requestId != null) {
+            request.addHeader(FaultInjectionInterceptor.REQUEST_ID_HEADER, requestId);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, null);
+        return response.getStatus();
+    }
+
+    @Test
+    void sampleLatencyNanos_uniform_staysWithinBoundsAroundTheMiddle() {
+        FaultInjectionProperties.Latency latency = latency(FaultInjectionProperties.Distribution.UNIFORM, 10, 30, 0);
+        SplittableRandom random = new SplittableRandom(1);
+        long sum = 0;
+        for (int i = 0; i < 20_000; i++) {
+            long nanos = FaultInjectionInterceptor.sampleLatencyNanos(latency, random);
+            assertTrue(nanos >= 10_000_000 && nanos <= 30_000_000, "sample: " + nanos);
+            sum += nanos;
+        }
+        assertEquals(20_000_000, sum / 20_000.0, 500_000);
+    }
+
+    @Test
+    void sampleLatencyNanos_logNormal_hasConfiguredMedianAndCap() {
+        FaultInjectionProperties.Latency latency =
+                latency(FaultInjectionProperties.Distribution.LOG_NORMAL, 0, 100, 40);
+        SplittableRandom random = new SplittableRandom(1);
+        long[] samples = new long[20_001];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = FaultInjectionInterceptor.sampleLatencyNanos(latency, random);
+        }
+        Arrays.sort(samples);
+        assertEquals(40_000_000, samples[samples.length / 2], 2_000_000);
+        assertTrue(samples[samples.length - 1] <= 100_000_000);
+    }
+
+    @Test
+    void preHandle_failureRate_failsThatShareOfRequests() throws Exception {
+        FaultInjectionInterceptor interceptor =
+                new FaultInjectionInterceptor("GET", failing(0.2), 42, new AtomicLong());
+        int failures = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (handle(interceptor, null) == 503) failures++;
+        }
+        assertEquals(2_000, failures, 150);
+    }
+
+    @Test
+    void preHandle_sameRequestId_drawsSameFaultsWhateverTheArrivalOrder() throws Exception {
+        FaultInjectionInterceptor first = new FaultInjectionInterceptor("GET", failing(0.5), 42, new AtomicLong());
+        FaultInjectionInterceptor second = new FaultInjectionInterceptor("GET", failing(0.5), 42, new AtomicLong(777));
+        int failures = 0;
+        for (int i = 0; i < 200; i++) {
+            // Other traffic between the two runs shifts the arrival sequence
+            handle(second, null);
+            int status = handle(first, "request-" + i);
+            assertEquals(status, handle(second, "request-" + i));
+            if (status == 503) failures++;
+        }
+        assertTrue(failures > 50 && failures < 150, "failures: " + failures);
+    }
+
+    @Test
+    void preHandle_laterMatchingRoute_isSkipped() throws Exception {
+        FaultInjectionInterceptor first = new FaultInjectionInterceptor("GET", failing(0), 42, new AtomicLong());
+        FaultInjectionInterceptor second = new FaultInjectionInterceptor("GET", failing(1), 42, new AtomicLong());
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/employee");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(first.preHandle(request, response, null));
+        assertTrue(second.preHandle(request, response, null));
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    void preHandle_otherMethod_leavesRequestToLaterRoutes() throws Exception {
+        FaultInjectionInterceptor post = new FaultInjectionInterceptor("POST", failing(0), 42, new AtomicLong());
+        FaultInjectionInterceptor any = new FaultInjectionInterceptor(null, failing(1), 42, new AtomicLong());
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/employee");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(post.preHandle(request, response, null));
+        assertFalse(any.preHandle(request, response, null));
+        assertEquals(503, response.getStatus());
+    }
+}